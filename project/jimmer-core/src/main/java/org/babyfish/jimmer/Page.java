@@ -1,6 +1,7 @@
 package org.babyfish.jimmer;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import org.jetbrains.annotations.NotNull;
 
@@ -23,15 +24,27 @@ public class Page<T> {
 
     private final long totalPageCount;
 
+    private final boolean totalRowCountApproximate;
+
+    public Page(
+            List<T> rows,
+            long totalRowCount,
+            long totalPageCount
+    ) {
+        this(rows, totalRowCount, totalPageCount, false);
+    }
+
     @JsonCreator
     public Page(
             @JsonProperty("rows") List<T> rows,
             @JsonProperty("totalRowCount") long totalRowCount,
-            @JsonProperty("totalPageCount") long totalPageCount
+            @JsonProperty("totalPageCount") long totalPageCount,
+            @JsonProperty("totalRowCountApproximate") boolean totalRowCountApproximate
     ) {
         this.rows = rows != null && !rows.isEmpty() ? rows : Collections.emptyList();
         this.totalRowCount = totalRowCount;
         this.totalPageCount = totalPageCount;
+        this.totalRowCountApproximate = totalRowCountApproximate;
     }
 
     @NotNull
@@ -47,6 +60,16 @@ public class Page<T> {
         return totalRowCount;
     }
 
+    /**
+     * @return Whether the {@link #getTotalRowCount()} is estimated or cached
+     * rather than counted exactly, in this case, {@link #getTotalPageCount()}
+     * is approximate too.
+     */
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public boolean isTotalRowCountApproximate() {
+        return totalRowCountApproximate;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -56,6 +79,7 @@ public class Page<T> {
 
         if (totalRowCount != page.totalRowCount) return false;
         if (totalPageCount != page.totalPageCount) return false;
+        if (totalRowCountApproximate != page.totalRowCountApproximate) return false;
         return rows.equals(page.rows);
     }
 
@@ -64,6 +88,7 @@ public class Page<T> {
         int result = rows.hashCode();
         result = 31 * result + (int) (totalRowCount ^ (totalRowCount >>> 32));
         result = 31 * result + (int) (totalPageCount ^ (totalPageCount >>> 32));
+        result = 31 * result + (totalRowCountApproximate ? 1 : 0);
         return result;
     }
 
@@ -73,6 +98,7 @@ public class Page<T> {
                 "rows=" + rows +
                 ", totalRowCount=" + totalRowCount +
                 ", totalPageCount=" + totalPageCount +
+                (totalRowCountApproximate ? ", totalRowCountApproximate=true" : "") +
                 '}';
     }
 }
@@ -0,0 +1,77 @@
+package org.babyfish.jimmer;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The result of keyset(seek) pagination.
+ *
+ * <p>Unlike {@link Page}, it does not fetch the row total count
+ * and does not use `offset`, the next page is located by
+ * the opaque cursor which remembers the sort keys of the last row.</p>
+ *
+ * @param <T> The row type
+ *
+ * @see Page
+ * @see Slice
+ */
+public class SeekPage<T> {
+
+    @NotNull
+    private final List<T> rows;
+
+    @Nullable
+    private final String nextCursor;
+
+    public SeekPage(@NotNull List<T> rows, @Nullable String nextCursor) {
+        this.rows = rows;
+        this.nextCursor = nextCursor;
+    }
+
+    @NotNull
+    public List<T> getRows() {
+        return rows;
+    }
+
+    /**
+     * @return The cursor used to fetch the next page,
+     * or null if this is the last page
+     */
+    @Nullable
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isTail() {
+        return nextCursor == null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        SeekPage<?> seekPage = (SeekPage<?>) o;
+
+        if (!rows.equals(seekPage.rows)) return false;
+        return Objects.equals(nextCursor, seekPage.nextCursor);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = rows.hashCode();
+        result = 31 * result + Objects.hashCode(nextCursor);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "SeekPage{" +
+                "rows=" + rows +
+                ", nextCursor='" + nextCursor + '\'' +
+                '}';
+    }
+}
@@ -14,6 +14,7 @@ dependencies {
     compileOnly(libs.spring.boot.starter.web)
     compileOnly(libs.spring.data.redis)
     compileOnly(libs.caffeine)
+    compileOnly(libs.micrometer.core)
     compileOnly(libs.spring.graphql)
     compileOnly(libs.jakartaee.api)
     compileOnly(libs.springdoc.openapi.common)
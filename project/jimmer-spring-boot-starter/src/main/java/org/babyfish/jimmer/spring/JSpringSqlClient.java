@@ -14,7 +14,9 @@ import org.babyfish.jimmer.sql.DraftPreProcessor;
 import org.babyfish.jimmer.sql.JSqlClient;
 import org.babyfish.jimmer.sql.cache.CacheAbandonedCallback;
 import org.babyfish.jimmer.sql.cache.CacheFactory;
+import org.babyfish.jimmer.sql.cache.CacheMetrics;
 import org.babyfish.jimmer.sql.cache.CacheOperator;
+import org.babyfish.jimmer.sql.cache.CacheTracker;
 import org.babyfish.jimmer.sql.di.*;
 import org.babyfish.jimmer.sql.dialect.DefaultDialect;
 import org.babyfish.jimmer.sql.dialect.Dialect;
@@ -102,6 +104,7 @@ class JSpringSqlClient extends JLazyInitializationSqlClient {
         ObjectMapper objectMapper = getOptionalBean(ObjectMapper.class);
         CacheFactory cacheFactory = getOptionalBean(CacheFactory.class);
         CacheOperator cacheOperator = getOptionalBean(CacheOperator.class);
+        CacheMetrics cacheMetrics = getOptionalBean(CacheMetrics.class);
         MicroServiceExchange exchange = getOptionalBean(MicroServiceExchange.class);
         Collection<CacheAbandonedCallback> callbacks = getObjects(CacheAbandonedCallback.class);
         Collection<ScalarProvider<?, ?>> providers = getObjects(ScalarProvider.class);
@@ -181,7 +184,14 @@ class JSpringSqlClient extends JLazyInitializationSqlClient {
                 .setDefaultSerializedTypeObjectMapper(objectMapper)
                 .setCacheFactory(cacheFactory)
                 .setCacheOperator(cacheOperator)
+                .setCacheMetrics(cacheMetrics)
                 .addCacheAbandonedCallbacks(callbacks);
+        if (cacheMetrics != null) {
+            Collection<CacheTracker> trackers = getObjects(CacheTracker.class);
+            for (CacheTracker tracker : trackers) {
+                tracker.addInvalidateListener(cacheMetrics.toInvalidationListener());
+            }
+        }
 
         for (ScalarProvider<?, ?> provider : providers) {
             builder.addScalarProvider(provider);
@@ -0,0 +1,155 @@
+package org.babyfish.jimmer.spring.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.cache.CacheMetrics;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer binding of {@link CacheMetrics}.
+ *
+ * <p>All meters are tagged by `type` and `prop`(empty for object cache),
+ * the meters of binders are tagged by `level` too.</p>
+ *
+ * <ul>
+ *     <li>jimmer.cache.hits: Counter</li>
+ *     <li>jimmer.cache.misses: Counter</li>
+ *     <li>jimmer.cache.latency: Timer with histogram, time spent in each level</li>
+ *     <li>jimmer.cache.loads: Timer with histogram, time spent in cache loader</li>
+ *     <li>jimmer.cache.load.batch.size: DistributionSummary, keys loaded by each call of cache loader</li>
+ *     <li>jimmer.cache.evictions: Counter</li>
+ *     <li>jimmer.cache.invalidations: Counter, invalidations received from other nodes</li>
+ * </ul>
+ */
+public class MicrometerCacheMetrics implements CacheMetrics {
+
+    private final MeterRegistry registry;
+
+    // Key is ImmutableType or ImmutableProp
+    private final ConcurrentMap<Object, CacheMeters> cacheMetersMap = new ConcurrentHashMap<>();
+
+    public MicrometerCacheMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void recordHits(@NotNull ImmutableType type, @Nullable ImmutableProp prop, int level, int count) {
+        if (count != 0) {
+            cacheMeters(type, prop).levelMeters(level).hits.increment(count);
+        }
+    }
+
+    @Override
+    public void recordMisses(@NotNull ImmutableType type, @Nullable ImmutableProp prop, int level, int count) {
+        if (count != 0) {
+            cacheMeters(type, prop).levelMeters(level).misses.increment(count);
+        }
+    }
+
+    @Override
+    public void recordLatency(@NotNull ImmutableType type, @Nullable ImmutableProp prop, int level, long nanos) {
+        cacheMeters(type, prop).levelMeters(level).latency.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordLoad(@NotNull ImmutableType type, @Nullable ImmutableProp prop, int batchSize, long nanos) {
+        CacheMeters cacheMeters = cacheMeters(type, prop);
+        cacheMeters.loads.record(nanos, TimeUnit.NANOSECONDS);
+        cacheMeters.loadBatchSize.record(batchSize);
+    }
+
+    @Override
+    public void recordEvictions(@NotNull ImmutableType type, @Nullable ImmutableProp prop, int count) {
+        cacheMeters(type, prop).evictions.increment(count);
+    }
+
+    @Override
+    public void recordInvalidations(@NotNull ImmutableType type, @Nullable ImmutableProp prop, int count) {
+        cacheMeters(type, prop).invalidations.increment(count);
+    }
+
+    private CacheMeters cacheMeters(ImmutableType type, ImmutableProp prop) {
+        return cacheMetersMap.computeIfAbsent(
+                prop != null ? prop : type,
+                it -> new CacheMeters(type, prop)
+        );
+    }
+
+    private class CacheMeters {
+
+        final Tags tags;
+
+        final ConcurrentMap<Integer, LevelMeters> levelMetersMap = new ConcurrentHashMap<>();
+
+        final Timer loads;
+
+        final DistributionSummary loadBatchSize;
+
+        final Counter evictions;
+
+        final Counter invalidations;
+
+        CacheMeters(ImmutableType type, ImmutableProp prop) {
+            tags = Tags.of(
+                    "type", type.toString(),
+                    "prop", prop != null ? prop.getName() : ""
+            );
+            loads = Timer
+                    .builder("jimmer.cache.loads")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            loadBatchSize = DistributionSummary
+                    .builder("jimmer.cache.load.batch.size")
+                    .tags(tags)
+                    .register(registry);
+            evictions = Counter
+                    .builder("jimmer.cache.evictions")
+                    .tags(tags)
+                    .register(registry);
+            invalidations = Counter
+                    .builder("jimmer.cache.invalidations")
+                    .tags(tags)
+                    .register(registry);
+        }
+
+        LevelMeters levelMeters(int level) {
+            return levelMetersMap.computeIfAbsent(level, it -> new LevelMeters(tags.and("level", Integer.toString(it))));
+        }
+    }
+
+    private class LevelMeters {
+
+        final Counter hits;
+
+        final Counter misses;
+
+        final Timer latency;
+
+        LevelMeters(Tags tags) {
+            hits = Counter
+                    .builder("jimmer.cache.hits")
+                    .tags(tags)
+                    .register(registry);
+            misses = Counter
+                    .builder("jimmer.cache.misses")
+                    .tags(tags)
+                    .register(registry);
+            latency = Timer
+                    .builder("jimmer.cache.latency")
+                    .tags(tags)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+    }
+}
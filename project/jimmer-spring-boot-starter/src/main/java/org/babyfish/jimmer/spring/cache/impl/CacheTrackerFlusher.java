@@ -0,0 +1,59 @@
+package org.babyfish.jimmer.spring.cache.impl;
+
+import org.babyfish.jimmer.sql.cache.spi.AbstractCacheTracker;
+import org.babyfish.jimmer.sql.event.DatabaseEvent;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+
+/**
+ * Publish the invalidation events buffered by the batch window of
+ * {@link AbstractCacheTracker} when the transaction is committed,
+ * rather than waiting for the window to elapse.
+ */
+public class CacheTrackerFlusher {
+
+    private final List<AbstractCacheTracker> trackers;
+
+    private final ThreadLocal<Boolean> dirtyLocal = new ThreadLocal<>();
+
+    public CacheTrackerFlusher(List<AbstractCacheTracker> trackers) {
+        if (trackers.isEmpty()) {
+            throw new IllegalArgumentException("`trackers` cannot be empty");
+        }
+        this.trackers = trackers;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforeCommit(DatabaseEvent e) {
+        dirtyLocal.set(Boolean.TRUE);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void afterCommit(DatabaseEvent e) {
+        if (dirtyLocal.get() != null) {
+            dirtyLocal.remove();
+            flush();
+        }
+    }
+
+    private void flush() {
+        Throwable throwable = null;
+        for (AbstractCacheTracker tracker : trackers) {
+            try {
+                tracker.flush();
+            } catch (RuntimeException | Error ex) {
+                if (throwable == null) {
+                    throwable = ex;
+                }
+            }
+        }
+        if (throwable instanceof RuntimeException) {
+            throw (RuntimeException)throwable;
+        }
+        if (throwable != null) {
+            throw (Error)throwable;
+        }
+    }
+}
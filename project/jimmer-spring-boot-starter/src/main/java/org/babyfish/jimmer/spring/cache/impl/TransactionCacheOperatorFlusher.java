@@ -7,6 +7,7 @@ import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public class TransactionCacheOperatorFlusher {
 
@@ -30,7 +31,9 @@ public class TransactionCacheOperatorFlusher {
     public void afterCommit(DatabaseEvent e) {
         if (dirtyLocal.get() != null) {
             dirtyLocal.remove();
-            flush();
+            // Drained by background thread if the drain executor
+            // of operator is specified, otherwise, flushed immediately
+            flush(TransactionCacheOperator::flushAsync);
         }
     }
 
@@ -39,18 +42,18 @@ public class TransactionCacheOperatorFlusher {
             initialDelay = 0
     )
     public void retry() {
-        flush();
+        flush(TransactionCacheOperator::flush);
     }
 
-    private void flush() {
+    private void flush(Consumer<TransactionCacheOperator> action) {
         if (operators.size() == 1) {
             TransactionCacheOperator operator = operators.get(0);
-            operator.flush();
+            action.accept(operator);
         } else {
             Throwable throwable = null;
             for (TransactionCacheOperator operator : operators) {
                 try {
-                    operator.flush();
+                    action.accept(operator);
                 } catch (RuntimeException | Error ex) {
                     if (throwable == null) {
                         throwable = ex;
@@ -0,0 +1,21 @@
+package org.babyfish.jimmer.spring.cfg;
+
+import org.babyfish.jimmer.spring.cache.impl.CacheTrackerFlusher;
+import org.babyfish.jimmer.sql.cache.spi.AbstractCacheTracker;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@ConditionalOnBean(AbstractCacheTracker.class)
+@Configuration
+public class CacheTrackerFlusherConfig {
+
+    @Bean
+    public CacheTrackerFlusher cacheTrackerFlusher(
+            List<AbstractCacheTracker> cacheTrackers
+    ) {
+        return new CacheTrackerFlusher(cacheTrackers);
+    }
+}
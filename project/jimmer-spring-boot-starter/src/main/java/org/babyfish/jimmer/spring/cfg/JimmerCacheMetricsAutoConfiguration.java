@@ -0,0 +1,27 @@
+package org.babyfish.jimmer.spring.cfg;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.babyfish.jimmer.spring.cache.MicrometerCacheMetrics;
+import org.babyfish.jimmer.sql.cache.CacheMetrics;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+@AutoConfiguration(
+        afterName = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration",
+        before = JimmerAutoConfiguration.class
+)
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnBean(MeterRegistry.class)
+@ConditionalOnProperty(name = "jimmer.cache-metrics-enabled", havingValue = "true", matchIfMissing = true)
+public class JimmerCacheMetricsAutoConfiguration {
+
+    @ConditionalOnMissingBean(CacheMetrics.class)
+    @Bean
+    public CacheMetrics cacheMetrics(MeterRegistry registry) {
+        return new MicrometerCacheMetrics(registry);
+    }
+}
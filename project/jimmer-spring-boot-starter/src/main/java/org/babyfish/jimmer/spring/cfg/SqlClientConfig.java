@@ -14,7 +14,7 @@ import org.springframework.context.annotation.Import;
 import java.util.List;
 
 @Configuration
-@Import({TransactionCacheOperatorFlusherConfig.class, MicroServiceExchangeConfig.class})
+@Import({TransactionCacheOperatorFlusherConfig.class, CacheTrackerFlusherConfig.class, MicroServiceExchangeConfig.class})
 public class SqlClientConfig {
 
     @Bean(name = "sqlClient")
@@ -15,4 +15,6 @@ interface KDeleteCommandDsl {
     fun setDumbBatchAcceptable(acceptable: Boolean)
 
     fun setTransactionRequired(required: Boolean)
+
+    fun setRecursiveCteUsed(used: Boolean = true)
 }
\ No newline at end of file
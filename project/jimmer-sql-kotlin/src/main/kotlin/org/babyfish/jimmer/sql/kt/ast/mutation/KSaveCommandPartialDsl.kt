@@ -179,6 +179,40 @@ interface KSaveCommandPartialDsl {
 
     fun setDumbBatchAcceptable(acceptable: Boolean = true)
 
+    /**
+     * Insert the entities of `SaveMode.INSERT_ONLY` by the bulk loading
+     * protocol of database such as `COPY` of PostgreSQL, instead of JDBC batch.
+     * It is ignored if the dialect does not support it or
+     * the ids are generated by identity column.
+     */
+    fun setBulkInsertEnabled(enabled: Boolean = true)
+
+    /**
+     * Merge the independent queries for existing rows,
+     * by ids and by each key group, into one query.
+     * Only the lookups of one entity type at one level are merged,
+     * sibling associations are still queried separately.
+     * It does not change the behavior but the executed SQL statements.
+     */
+    fun setIdAndKeyLookupMerged(merged: Boolean = true)
+
+    /**
+     * Trust the ids and versions of objects, save them by
+     * native upsert or update statements without querying
+     * the existing rows. Draft interceptors only receive
+     * the new objects. It does not take effect if the
+     * triggers of transaction are enabled.
+     */
+    fun setLookupSkipped(skipped: Boolean = true)
+
+    /**
+     * Query the existing rows and update the changed columns only,
+     * the objects with the same changed properties share one batch statement.
+     * The extra query only selects the columns specified by the saved objects,
+     * and it is not executed if the existing rows are queried for another reason.
+     */
+    fun setChangedPropsOnly(changedPropsOnly: Boolean = true)
+
     fun addExceptionTranslator(translator: ExceptionTranslator<*>?)
 
     fun setDeleteMode(mode: DeleteMode)
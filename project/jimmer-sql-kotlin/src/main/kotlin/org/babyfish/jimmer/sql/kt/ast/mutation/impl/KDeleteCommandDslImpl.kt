@@ -26,4 +26,8 @@ internal class KDeleteCommandDslImpl(
     override fun setTransactionRequired(required: Boolean) {
         javaCommand = javaCommand.setTransactionRequired(required)
     }
+
+    override fun setRecursiveCteUsed(used: Boolean) {
+        javaCommand = javaCommand.setRecursiveCteUsed(used)
+    }
 }
\ No newline at end of file
@@ -169,6 +169,22 @@ internal class KSaveCommandDslImpl(
         javaCommand = javaCommand.setDumbBatchAcceptable(acceptable)
     }
 
+    override fun setBulkInsertEnabled(enabled: Boolean) {
+        javaCommand = javaCommand.setBulkInsertEnabled(enabled)
+    }
+
+    override fun setIdAndKeyLookupMerged(merged: Boolean) {
+        javaCommand = javaCommand.setIdAndKeyLookupMerged(merged)
+    }
+
+    override fun setLookupSkipped(skipped: Boolean) {
+        javaCommand = javaCommand.setLookupSkipped(skipped)
+    }
+
+    override fun setChangedPropsOnly(changedPropsOnly: Boolean) {
+        javaCommand = javaCommand.setChangedPropsOnly(changedPropsOnly)
+    }
+
     override fun addExceptionTranslator(translator: ExceptionTranslator<*>?) {
         javaCommand = javaCommand.addExceptionTranslator(translator)
     }
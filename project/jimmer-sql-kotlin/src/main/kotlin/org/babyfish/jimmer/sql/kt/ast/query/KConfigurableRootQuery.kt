@@ -1,12 +1,15 @@
 package org.babyfish.jimmer.sql.kt.ast.query
 
 import org.babyfish.jimmer.Page
+import org.babyfish.jimmer.SeekPage
 import org.babyfish.jimmer.Slice
 import org.babyfish.jimmer.lang.NewChain
+import org.babyfish.jimmer.sql.ast.query.CountStrategy
 import org.babyfish.jimmer.sql.ast.query.PageFactory
 import org.babyfish.jimmer.sql.kt.ast.expression.constant
 import org.babyfish.jimmer.sql.kt.ast.expression.rowCount
 import java.sql.Connection
+import java.time.Duration
 
 interface KConfigurableRootQuery<E: Any, R> : KTypedRootQuery<R> {
 
@@ -51,6 +54,22 @@ interface KConfigurableRootQuery<E: Any, R> : KTypedRootQuery<R> {
         con: Connection? = null
     ) : Slice<R>
 
+    /**
+     * Keyset(seek) pagination, neither executes the count query nor uses `offset`,
+     * the next page is located by the `order by` clause and the [SeekPage.nextCursor]
+     * of previous page. The id of root table is appended to the `order by` clause
+     * automatically, and the sort keys cannot be null.
+     *
+     * @param afterCursor The [SeekPage.nextCursor] of previous page, null means the first page
+     * @param pageSize The max row count of the page
+     * @param con The explicit jdbc connection, null means using default connection
+     */
+    fun fetchSeekPage(
+        afterCursor: String?,
+        pageSize: Int,
+        con: Connection? = null
+    ): SeekPage<R>
+
     @NewChain
     fun <X> reselect(
         block: KMutableRootQuery<E>.() -> KConfigurableRootQuery<E, X>
@@ -87,4 +106,21 @@ interface KConfigurableRootQuery<E: Any, R> : KTypedRootQuery<R> {
      */
     @NewChain
     fun hint(hint: String?): KConfigurableRootQuery<E, R>
+
+    /**
+     * Set the strategy to get the total row count of `fetchPage`
+     * @param countStrategy Optional strategy, null means the default strategy of sql client
+     * @return A new query object
+     */
+    @NewChain
+    fun countStrategy(countStrategy: CountStrategy?): KConfigurableRootQuery<E, R>
+
+    /**
+     * Cache the result of this query in the local query cache of sql client,
+     * the cached result is evicted when any table used by this query is changed
+     * @param timeToLive Optional time to live, null means not cacheable
+     * @return A new query object
+     */
+    @NewChain
+    fun cacheable(timeToLive: Duration?): KConfigurableRootQuery<E, R>
 }
@@ -3,10 +3,19 @@ package org.babyfish.jimmer.sql.kt.ast.query
 import org.babyfish.jimmer.sql.exception.EmptyResultException
 import org.babyfish.jimmer.sql.exception.TooManyResultsException
 import org.babyfish.jimmer.sql.kt.ast.KExecutable
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor
 import java.sql.Connection
+import java.util.stream.Stream
 
 interface KTypedRootQuery<R> : KExecutable<List<R>> {
 
+    /**
+     * The java sql client used by the coroutine extensions of this query
+     */
+    internal val javaSqlClient: JSqlClientImplementor
+
+    internal val isForUpdate: Boolean
+
     infix fun union(other: KTypedRootQuery<R>): KTypedRootQuery<R>
 
     infix fun unionAll(other: KTypedRootQuery<R>): KTypedRootQuery<R>
@@ -49,4 +58,17 @@ interface KTypedRootQuery<R> : KExecutable<List<R>> {
         batchSize: Int = 0,
         block: (R) -> Unit
     )
-}
\ No newline at end of file
+
+    /**
+     * Execute the query as a lazy cursor, the returned stream must be closed by the caller.
+     *
+     * @param con The JDBC connection owned by the caller,
+     * it must remain open until the stream is closed.
+     * @param batchSize The JDBC fetch size and the batch size of associated object fetching,
+     * non-positive value means the default batch size of the sql client.
+     */
+    fun stream(
+        con: Connection,
+        batchSize: Int = 0
+    ): Stream<R>
+}
@@ -1,17 +1,17 @@
 package org.babyfish.jimmer.sql.kt.ast.query.impl
 
+import org.babyfish.jimmer.SeekPage
 import org.babyfish.jimmer.Slice
-import org.babyfish.jimmer.sql.ast.impl.query.ConfigurableRootQueryImpl
-import org.babyfish.jimmer.sql.ast.impl.query.PageSource
 import org.babyfish.jimmer.sql.ast.impl.query.MutableRootQueryImpl
 import org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery
+import org.babyfish.jimmer.sql.ast.query.CountStrategy
 import org.babyfish.jimmer.sql.ast.query.MutableRootQuery
 import org.babyfish.jimmer.sql.ast.query.PageFactory
 import org.babyfish.jimmer.sql.ast.table.Table
 import org.babyfish.jimmer.sql.kt.ast.query.KConfigurableRootQuery
 import org.babyfish.jimmer.sql.kt.ast.query.KMutableRootQuery
 import java.sql.Connection
-import java.util.Collections
+import java.time.Duration
 import java.util.function.BiFunction
 
 internal class KConfigurableRootQueryImpl<E: Any, R>(
@@ -28,92 +28,15 @@ internal class KConfigurableRootQueryImpl<E: Any, R>(
         pageSize: Int,
         con: Connection?,
         pageFactory: PageFactory<R, P>
-    ): P {
-        if (pageSize == 0 || pageSize == -1 || pageSize == Int.MAX_VALUE) {
-            val rows = this.execute(con)
-            return pageFactory.create(
-                rows,
-                rows.size.toLong(),
-                PageSource.of(
-                    0,
-                    Int.MAX_VALUE,
-                    (javaQuery as ConfigurableRootQueryImpl<*, *>).baseQuery
-                )
-            )
-        }
-        if (pageIndex < 0) {
-            return pageFactory.create(
-                emptyList(),
-                0,
-                PageSource.of(
-                    0,
-                    pageSize,
-                    (javaQuery as ConfigurableRootQueryImpl<*, *>).baseQuery
-                )
-            )
-        }
-
-        val offset = pageIndex.toLong() * pageSize
-        require(offset <= Long.MAX_VALUE - pageSize) { "offset is too big" }
-        val total = this.fetchUnlimitedCount(con)
-        if (offset >= total) {
-            return pageFactory.create(
-                emptyList(),
-                total,
-                PageSource.of(
-                    pageIndex,
-                    pageSize,
-                    (javaQuery as ConfigurableRootQueryImpl<*, *>).baseQuery
-                )
-            )
-        }
-
-        val reversedQuery = this
-            .takeIf { offset + pageSize / 2 > total / 2 }
-            ?.reverseSorting()
-
-        val entities: List<R> =
-            if (reversedQuery != null) {
-                var reversedOffset = total - offset - pageSize
-                val limit = if (reversedOffset < 0) {
-                    (pageSize + reversedOffset.toInt()).also {
-                        reversedOffset = 0
-                    }
-                } else {
-                    pageSize
-                }
-                reversedQuery
-                    .limit(limit, reversedOffset)
-                    .execute(con)
-                    .let {
-                        // Why not `.reversed()`, see #889
-                        if (it.size < 2) {
-                            it
-                        } else {
-                            val newList = it.toMutableList()
-                            newList.reverse()
-                            newList
-                        }
-                    }
-            } else {
-                this
-                    .limit(pageSize, offset)
-                    .execute(con)
-            }
-        return pageFactory.create(
-            entities,
-            total,
-            PageSource.of(
-                pageIndex,
-                pageSize,
-                (javaQuery as ConfigurableRootQueryImpl<*, *>).baseQuery
-            )
-        )
-    }
+    ): P =
+        javaQuery.fetchPage(pageIndex, pageSize, con, pageFactory)
 
     override fun fetchSlice(limit: Int, offset: Int, con: Connection?): Slice<R> =
         javaQuery.fetchSlice(limit, offset, con)
 
+    override fun fetchSeekPage(afterCursor: String?, pageSize: Int, con: Connection?): SeekPage<R> =
+        javaQuery.fetchSeekPage(afterCursor, pageSize, con)
+
     override fun <X> reselect(
         block: KMutableRootQuery<E>.() -> KConfigurableRootQuery<E, X>
     ): KConfigurableRootQuery<E, X> {
@@ -148,4 +71,10 @@ internal class KConfigurableRootQueryImpl<E: Any, R>(
 
     override fun hint(hint: String?): KConfigurableRootQuery<E, R> =
         KConfigurableRootQueryImpl(javaQuery.hint(hint))
-}
\ No newline at end of file
+
+    override fun countStrategy(countStrategy: CountStrategy?): KConfigurableRootQuery<E, R> =
+        KConfigurableRootQueryImpl(javaQuery.countStrategy(countStrategy))
+
+    override fun cacheable(timeToLive: Duration?): KConfigurableRootQuery<E, R> =
+        KConfigurableRootQueryImpl(javaQuery.cacheable(timeToLive))
+}
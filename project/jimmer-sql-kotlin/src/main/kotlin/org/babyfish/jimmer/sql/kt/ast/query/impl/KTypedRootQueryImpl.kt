@@ -1,8 +1,11 @@
 package org.babyfish.jimmer.sql.kt.ast.query.impl
 
+import org.babyfish.jimmer.sql.ast.impl.query.TypedRootQueryImplementor
 import org.babyfish.jimmer.sql.ast.query.TypedRootQuery
 import org.babyfish.jimmer.sql.kt.ast.query.KTypedRootQuery
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor
 import java.sql.Connection
+import java.util.stream.Stream
 
 internal open class KTypedRootQueryImpl<R>(
     private val _javaQuery: TypedRootQuery<R>
@@ -11,6 +14,12 @@ internal open class KTypedRootQueryImpl<R>(
     protected open val javaQuery: TypedRootQuery<R>
         get() = _javaQuery
 
+    override val javaSqlClient: JSqlClientImplementor
+        get() = (_javaQuery as TypedRootQueryImplementor<R>).sqlClient
+
+    override val isForUpdate: Boolean
+        get() = (_javaQuery as TypedRootQueryImplementor<R>).isForUpdate
+
     override fun union(other: KTypedRootQuery<R>): KTypedRootQuery<R> =
         KTypedRootQueryImpl(_javaQuery.union((other as KTypedRootQueryImpl<R>)._javaQuery))
 
@@ -32,4 +41,7 @@ internal open class KTypedRootQueryImpl<R>(
     override fun forEach(con: Connection?, batchSize: Int, block: (R) -> Unit) {
         _javaQuery.forEach(con, batchSize, block)
     }
-}
\ No newline at end of file
+
+    override fun stream(con: Connection, batchSize: Int): Stream<R> =
+        _javaQuery.stream(con, batchSize)
+}
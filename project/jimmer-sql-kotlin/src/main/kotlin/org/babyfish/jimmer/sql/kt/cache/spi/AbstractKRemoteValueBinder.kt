@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper
 import org.babyfish.jimmer.meta.ImmutableProp
 import org.babyfish.jimmer.meta.ImmutableType
 import org.babyfish.jimmer.sql.cache.CacheTracker
+import org.babyfish.jimmer.sql.cache.CacheValueSerializer
 import org.babyfish.jimmer.sql.cache.spi.AbstractRemoteValueBinder
 import java.time.Duration
 
@@ -13,14 +14,20 @@ abstract class AbstractKRemoteValueBinder<K, V>(
     tracker: CacheTracker?,
     objectMapper: ObjectMapper?,
     duration: Duration,
-    randomPercent: Int
+    randomPercent: Int,
+    serializerFactory: CacheValueSerializer.Factory? = null,
+    negativeDuration: Duration? = null,
+    slotGroupCount: Int = 0
 ) : AbstractRemoteValueBinder<K, V>(
     type,
     prop,
     tracker,
     objectMapper,
+    serializerFactory,
     duration,
-    randomPercent
+    randomPercent,
+    negativeDuration,
+    slotGroupCount
 ) {
 
     abstract override fun read(keys: Collection<String>): List<ByteArray?>
@@ -8,6 +8,7 @@ import org.babyfish.jimmer.sql.DraftInterceptor
 import org.babyfish.jimmer.sql.DraftPreProcessor
 import org.babyfish.jimmer.sql.EnumType
 import org.babyfish.jimmer.sql.JSqlClient
+import org.babyfish.jimmer.sql.ast.query.CountStrategy
 import org.babyfish.jimmer.sql.cache.*
 import org.babyfish.jimmer.sql.di.LogicalDeletedValueGeneratorProvider
 import org.babyfish.jimmer.sql.di.TransientResolverProvider
@@ -15,6 +16,7 @@ import org.babyfish.jimmer.sql.di.UserIdGeneratorProvider
 import org.babyfish.jimmer.sql.dialect.Dialect
 import org.babyfish.jimmer.sql.event.TriggerType
 import org.babyfish.jimmer.sql.event.binlog.BinLogPropReader
+import org.babyfish.jimmer.sql.fetcher.BatchSizeStrategy
 import org.babyfish.jimmer.sql.fetcher.ReferenceFetchType
 import org.babyfish.jimmer.sql.kt.KSqlClient
 import org.babyfish.jimmer.sql.kt.cfg.impl.JavaCustomizer
@@ -55,6 +57,22 @@ class KSqlClientDsl constructor(
         javaBuilder.setDefaultListBatchSize(size)
     }
 
+    fun setFetcherExecutor(executor: java.util.concurrent.Executor?) {
+        javaBuilder.setFetcherExecutor(executor)
+    }
+
+    fun setBatchSizeStrategy(strategy: BatchSizeStrategy?) {
+        javaBuilder.setBatchSizeStrategy(strategy)
+    }
+
+    fun setQueryShapeCacheSize(size: Int) {
+        javaBuilder.setQueryShapeCacheSize(size)
+    }
+
+    fun setAsyncExecutor(executor: java.util.concurrent.Executor?) {
+        javaBuilder.setAsyncExecutor(executor)
+    }
+
     fun setInListPaddingEnabled(enabled: Boolean) {
         javaBuilder.setInListPaddingEnabled(enabled)
     }
@@ -224,6 +242,10 @@ class KSqlClientDsl constructor(
         javaBuilder.addCacheAbandonedCallbacks(callbacks)
     }
 
+    fun setCacheMetrics(metrics: CacheMetrics?) {
+        javaBuilder.setCacheMetrics(metrics)
+    }
+
     fun setTriggerType(triggerType: TriggerType) {
         javaBuilder.setTriggerType(triggerType)
     }
@@ -240,6 +262,14 @@ class KSqlClientDsl constructor(
         javaBuilder.setDumbBatchAcceptable(acceptable)
     }
 
+    fun setMultiValuesInsertEnabled(enabled: Boolean = true) {
+        javaBuilder.setMultiValuesInsertEnabled(enabled)
+    }
+
+    fun setCountStrategy(countStrategy: CountStrategy) {
+        javaBuilder.setCountStrategy(countStrategy)
+    }
+
     fun addFilters(filters: Collection<KFilter<*>>) {
         javaBuilder.addFilters(filters.map { it.toJavaFilter() })
     }
@@ -440,6 +470,10 @@ class KSqlClientDsl constructor(
         fun addAbandonedCallbacks(callbacks: List<CacheAbandonedCallback>) {
             javaCfg.addAbandonedCallbacks(callbacks)
         }
+
+        fun setMetrics(metrics: CacheMetrics?) {
+            javaCfg.setMetrics(metrics)
+        }
     }
 
     internal fun buildKSqlClient(): KSqlClient =
@@ -0,0 +1,434 @@
+package org.babyfish.jimmer.sql.kt.coroutines
+
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.NonCancellable
+import kotlinx.coroutines.asCoroutineDispatcher
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.currentCoroutineContext
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.emitAll
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.flowOn
+import kotlinx.coroutines.withContext
+import org.babyfish.jimmer.Page
+import org.babyfish.jimmer.sql.ast.mutation.DeleteMode
+import org.babyfish.jimmer.sql.fetcher.Fetcher
+import org.babyfish.jimmer.sql.kt.KSqlClient
+import org.babyfish.jimmer.sql.kt.ast.mutation.KBatchSaveResult
+import org.babyfish.jimmer.sql.kt.ast.mutation.KDeleteResult
+import org.babyfish.jimmer.sql.kt.ast.mutation.KSaveCommandDsl
+import org.babyfish.jimmer.sql.kt.ast.mutation.KSimpleSaveResult
+import org.babyfish.jimmer.sql.kt.ast.query.KConfigurableRootQuery
+import org.babyfish.jimmer.sql.kt.ast.query.KTypedRootQuery
+import org.babyfish.jimmer.sql.runtime.ConnectionManager
+import org.babyfish.jimmer.sql.runtime.DefaultAsyncExecutor
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor
+import java.lang.ref.WeakReference
+import java.sql.Connection
+import java.util.Collections
+import java.util.WeakHashMap
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.coroutines.AbstractCoroutineContextElement
+import kotlin.coroutines.CoroutineContext
+import kotlin.reflect.KClass
+
+/*
+ * Coroutine support of KSqlClient.
+ *
+ * JDBC is blocking, so all the suspend functions of this file execute
+ * the JDBC work by a bounded dispatcher, the caller coroutine is
+ * suspended but never blocked. If the `asyncExecutor` of the sql client
+ * is specified by `KSqlClientDsl.setAsyncExecutor`, the dispatcher is
+ * based on it, it should be a fixed-size executor; otherwise, a shared
+ * pool of 64 daemon threads is used.
+ *
+ * Transactions and flows hold a connection across suspension points,
+ * the lambda based `ConnectionManager` cannot return it before the
+ * work is done, so each of them occupies one thread of that executor
+ * until it is completed. The executor should have more threads than
+ * the transactions and flows which are open at the same time,
+ * just like the connection pool should have more connections.
+ *
+ * This file requires `org.jetbrains.kotlinx:kotlinx-coroutines-core`,
+ * it is an optional dependency of jimmer-sql-kotlin.
+ */
+
+/**
+ * The transaction started by [suspendTransaction].
+ *
+ * All the suspend functions of this file executed by the coroutines
+ * of the transaction use its connection automatically,
+ * unless the connection is specified explicitly.
+ */
+class KTransactionContext internal constructor(
+    internal val connectionManager: ConnectionManager,
+    val connection: Connection,
+    internal val dispatcher: CoroutineDispatcher
+) : AbstractCoroutineContextElement(KTransactionContext) {
+
+    companion object Key : CoroutineContext.Key<KTransactionContext>
+
+    override fun toString(): String =
+        "KTransactionContext(connection=$connection)"
+}
+
+/**
+ * Execute the [block] in a transaction.
+ *
+ * The transaction is confined to one thread of the bounded executor which
+ * borrows the connection, executes the [block] and commits or rolls back, the
+ * coroutines started by the [block] use that thread to access the
+ * connection even if they switch the dispatcher, so the connection
+ * is never used by two threads concurrently.
+ *
+ * If the current coroutine is already in a transaction of this sql client,
+ * the [block] joins it.
+ */
+suspend fun <R> KSqlClient.suspendTransaction(
+    block: suspend CoroutineScope.() -> R
+): R {
+    val connectionManager = javaClient.connectionManager
+    if (currentTransaction(connectionManager) != null) {
+        return coroutineScope(block)
+    }
+    val confinement = ConnectionConfinement.open(connectionManager, true, javaClient.coroutineExecutor)
+    val result = try {
+        withContext(
+            KTransactionContext(connectionManager, confinement.connection(), confinement.dispatcher) +
+                confinement.dispatcher,
+            block
+        )
+    } catch (ex: Throwable) {
+        withContext(NonCancellable) {
+            confinement.close(ex)
+        }
+        throw ex
+    }
+    confinement.close(null)
+    return result
+}
+
+/**
+ * Execute JDBC operations by the dispatcher of this sql client.
+ *
+ * @param block The lambda whose argument is the connection of current
+ * transaction, or null if there is no transaction.
+ */
+suspend fun <R> KSqlClient.executeSuspend(
+    block: KSqlClient.(con: Connection?) -> R
+): R =
+    javaClient.executeSuspend(null) {
+        this.block(it)
+    }
+
+suspend fun <R> KTypedRootQuery<R>.executeSuspend(con: Connection? = null): List<R> =
+    javaSqlClient.executeSuspend(con) {
+        execute(it)
+    }
+
+suspend fun <R> KTypedRootQuery<R>.fetchOneOrNullSuspend(con: Connection? = null): R? =
+    javaSqlClient.executeSuspend(con) {
+        fetchOneOrNull(it)
+    }
+
+suspend fun <E : Any, R> KConfigurableRootQuery<E, R>.fetchPageSuspend(
+    pageIndex: Int,
+    pageSize: Int,
+    con: Connection? = null
+): Page<R> =
+    javaSqlClient.executeSuspend(con) {
+        fetchPage(pageIndex, pageSize, it)
+    }
+
+/**
+ * Execute the query as a cold flow.
+ *
+ * The rows are read by the lazy cursor of [KTypedRootQuery.stream]
+ * and the associated objects are fetched batch by batch, so the
+ * memory usage is decided by [batchSize], not the size of the result.
+ * The cursor is closed when the flow is completed or cancelled.
+ * Outside a transaction, the cursor is read by one thread of the bounded
+ * executor until the flow is completed, the producer suspends rather
+ * than blocks when the collector is slow.
+ *
+ * @param batchSize The JDBC fetch size and the batch size of associated object fetching,
+ * non-positive value means the default batch size of the sql client.
+ */
+fun <R> KTypedRootQuery<R>.asFlow(batchSize: Int = 0): Flow<R> {
+    val javaClient = javaSqlClient
+    val connectionManager = javaClient.getSlaveConnectionManager(isForUpdate)
+    return flow {
+        val transaction = currentTransaction(javaClient.connectionManager)
+        if (transaction !== null) {
+            emitAll(streamFlow(transaction.connection, batchSize).flowOn(transaction.dispatcher))
+        } else {
+            val confinement = ConnectionConfinement.open(connectionManager, false, javaClient.coroutineExecutor)
+            try {
+                emitAll(streamFlow(confinement.connection(), batchSize).flowOn(confinement.dispatcher))
+            } catch (ex: Throwable) {
+                withContext(NonCancellable) {
+                    confinement.close(ex)
+                }
+                throw ex
+            }
+            confinement.close(null)
+        }
+    }
+}
+
+private fun <R> KTypedRootQuery<R>.streamFlow(con: Connection, batchSize: Int): Flow<R> =
+    flow {
+        val stream = stream(con, batchSize)
+        try {
+            for (row in stream.iterator()) {
+                emit(row)
+            }
+        } finally {
+            stream.close()
+        }
+    }
+
+/**
+ * @param [T] Entity type or output DTO type
+ */
+suspend fun <T : Any> KSqlClient.findByIdSuspend(type: KClass<T>, id: Any): T? =
+    javaClient.executeSuspend(null) {
+        entities.forConnection(it).findById(type, id)
+    }
+
+suspend fun <E : Any> KSqlClient.findByIdSuspend(fetcher: Fetcher<E>, id: Any): E? =
+    javaClient.executeSuspend(null) {
+        entities.forConnection(it).findById(fetcher, id)
+    }
+
+/**
+ * @param [T] Entity type or output DTO type
+ */
+suspend fun <T : Any> KSqlClient.findByIdsSuspend(type: KClass<T>, ids: Iterable<*>): List<T> =
+    javaClient.executeSuspend(null) {
+        entities.forConnection(it).findByIds(type, ids)
+    }
+
+suspend fun <E : Any> KSqlClient.findByIdsSuspend(fetcher: Fetcher<E>, ids: Iterable<*>): List<E> =
+    javaClient.executeSuspend(null) {
+        entities.forConnection(it).findByIds(fetcher, ids)
+    }
+
+suspend fun <E : Any> KSqlClient.saveSuspend(
+    entity: E,
+    con: Connection? = null,
+    block: (KSaveCommandDsl.() -> Unit)? = null
+): KSimpleSaveResult<E> =
+    javaClient.executeSuspend(con) {
+        save(entity, it, block)
+    }
+
+suspend fun <E : Any> KSqlClient.saveEntitiesSuspend(
+    entities: Iterable<E>,
+    con: Connection? = null,
+    block: (KSaveCommandDsl.() -> Unit)? = null
+): KBatchSaveResult<E> =
+    javaClient.executeSuspend(con) {
+        saveEntities(entities, it, block)
+    }
+
+suspend fun <E : Any> KSqlClient.deleteByIdSuspend(
+    type: KClass<E>,
+    id: Any,
+    mode: DeleteMode = DeleteMode.AUTO
+): KDeleteResult =
+    javaClient.executeSuspend(null) {
+        entities.delete(type, id, it) {
+            setMode(mode)
+        }
+    }
+
+suspend fun <E : Any> KSqlClient.deleteByIdsSuspend(
+    type: KClass<E>,
+    ids: Iterable<*>,
+    mode: DeleteMode = DeleteMode.AUTO
+): KDeleteResult =
+    javaClient.executeSuspend(null) {
+        entities.deleteAll(type, ids, it) {
+            setMode(mode)
+        }
+    }
+
+private const val DEFAULT_PARALLELISM = 64
+
+private val DEFAULT_EXECUTOR: Executor by lazy {
+    val sequence = AtomicInteger()
+    Executors.newFixedThreadPool(DEFAULT_PARALLELISM) { runnable ->
+        Thread(runnable, "jimmer-coroutine-${sequence.incrementAndGet()}").apply {
+            isDaemon = true
+        }
+    }
+}
+
+private val DISPATCHER_MAP: MutableMap<Executor, WeakReference<CoroutineDispatcher>> =
+    Collections.synchronizedMap(WeakHashMap())
+
+/*
+ * The default async executor creates threads without limit,
+ * so it is replaced by the bounded default executor of coroutines.
+ */
+private val JSqlClientImplementor.coroutineExecutor: Executor
+    get() = asyncExecutor.takeUnless { it === DefaultAsyncExecutor.INSTANCE } ?: DEFAULT_EXECUTOR
+
+/*
+ * The dispatcher references the executor, so it is referenced weakly
+ * to let the weak key of the map be collected.
+ */
+private val JSqlClientImplementor.dispatcher: CoroutineDispatcher
+    get() {
+        val executor = coroutineExecutor
+        DISPATCHER_MAP[executor]?.get()?.let {
+            return it
+        }
+        return executor.asCoroutineDispatcher().also {
+            DISPATCHER_MAP[executor] = WeakReference(it)
+        }
+    }
+
+private suspend fun currentTransaction(connectionManager: ConnectionManager): KTransactionContext? =
+    currentCoroutineContext()[KTransactionContext]?.takeIf {
+        it.connectionManager === connectionManager
+    }
+
+private suspend fun <R> JSqlClientImplementor.executeSuspend(
+    con: Connection?,
+    block: (Connection?) -> R
+): R {
+    val transaction = currentTransaction(connectionManager)
+    val finalCon = con ?: transaction?.connection
+    val finalDispatcher =
+        if (transaction !== null && finalCon === transaction.connection) {
+            transaction.dispatcher
+        } else {
+            dispatcher
+        }
+    return withContext(finalDispatcher) {
+        block(finalCon)
+    }
+}
+
+/**
+ * A task of the bounded executor which borrows a connection by the lambda of
+ * [ConnectionManager.execute] and executes the tasks dispatched to
+ * it until it is closed, so that the connection can be held across
+ * suspension points without `runBlocking` and never leaves that thread.
+ */
+private class ConnectionConfinement private constructor(
+    private val connectionManager: ConnectionManager,
+    private val transactional: Boolean
+) : Executor {
+
+    private val tasks = LinkedBlockingQueue<Runnable>()
+
+    private val connectionDeferred = CompletableDeferred<Connection>()
+
+    private val closedDeferred = CompletableDeferred<Unit>()
+
+    @Volatile
+    private var closeCause: Throwable? = null
+
+    private var closed = false
+
+    val dispatcher: CoroutineDispatcher = asCoroutineDispatcher()
+
+    suspend fun connection(): Connection =
+        connectionDeferred.await()
+
+    override fun execute(command: Runnable) {
+        synchronized(this) {
+            if (closed) {
+                throw RejectedExecutionException("The connection confinement has been closed")
+            }
+            tasks.add(command)
+        }
+    }
+
+    /**
+     * Commit the transaction if [cause] is null, otherwise, roll it back,
+     * then release the connection and terminate the thread.
+     */
+    suspend fun close(cause: Throwable?) {
+        synchronized(this) {
+            if (!closed) {
+                closeCause = cause
+                closed = true
+                tasks.add(END)
+            }
+        }
+        try {
+            closedDeferred.await()
+        } catch (ex: Throwable) {
+            if (cause === null) {
+                throw ex
+            }
+            if (ex !== cause) {
+                cause.addSuppressed(ex)
+            }
+        }
+    }
+
+    private fun run() {
+        try {
+            connectionManager.execute { con ->
+                val autoCommit = transactional && con.autoCommit
+                if (autoCommit) {
+                    con.autoCommit = false
+                }
+                try {
+                    connectionDeferred.complete(con)
+                    while (true) {
+                        val task = tasks.take()
+                        if (task === END) {
+                            break
+                        }
+                        task.run()
+                    }
+                    if (transactional) {
+                        if (closeCause === null) {
+                            con.commit()
+                        } else {
+                            con.rollback()
+                        }
+                    }
+                } finally {
+                    if (autoCommit) {
+                        con.autoCommit = true
+                    }
+                }
+            }
+            closedDeferred.complete(Unit)
+        } catch (ex: Throwable) {
+            connectionDeferred.completeExceptionally(ex)
+            closedDeferred.completeExceptionally(ex)
+        } finally {
+            synchronized(this) {
+                closed = true
+            }
+        }
+    }
+
+    companion object {
+
+        private val END = Runnable {}
+
+        fun open(
+            connectionManager: ConnectionManager,
+            transactional: Boolean,
+            executor: Executor
+        ): ConnectionConfinement =
+            ConnectionConfinement(connectionManager, transactional).also {
+                executor.execute(it::run)
+            }
+    }
+}
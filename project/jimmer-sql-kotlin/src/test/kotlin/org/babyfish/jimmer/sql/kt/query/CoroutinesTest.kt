@@ -0,0 +1,178 @@
+package org.babyfish.jimmer.sql.kt.query
+
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.flow.buffer
+import kotlinx.coroutines.flow.map
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.launch
+import kotlinx.coroutines.runBlocking
+import org.babyfish.jimmer.sql.kt.ast.expression.asc
+import org.babyfish.jimmer.sql.kt.ast.expression.eq
+import org.babyfish.jimmer.sql.kt.ast.expression.value
+import org.babyfish.jimmer.sql.kt.common.AbstractQueryTest
+import org.babyfish.jimmer.sql.kt.coroutines.asFlow
+import org.babyfish.jimmer.sql.kt.coroutines.executeSuspend
+import org.babyfish.jimmer.sql.kt.coroutines.fetchPageSuspend
+import org.babyfish.jimmer.sql.kt.coroutines.findByIdSuspend
+import org.babyfish.jimmer.sql.kt.coroutines.suspendTransaction
+import org.babyfish.jimmer.sql.kt.model.classic.book.Book
+import org.babyfish.jimmer.sql.kt.model.classic.book.edition
+import org.babyfish.jimmer.sql.kt.model.classic.book.id
+import org.babyfish.jimmer.sql.kt.model.classic.book.name
+import org.babyfish.jimmer.sql.kt.model.classic.store.BookStore
+import org.babyfish.jimmer.sql.kt.model.classic.store.id
+import org.babyfish.jimmer.sql.kt.model.classic.store.website
+import java.util.Collections
+import java.util.concurrent.Executors
+import kotlin.test.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertNull
+import kotlin.test.assertTrue
+import kotlin.test.fail
+
+class CoroutinesTest : AbstractQueryTest() {
+
+    private val _sqlClient = sqlClient {
+        setConnectionManager(TestConnectionManager())
+    }
+
+    @Test
+    fun testExecuteSuspend() {
+        val editions = runBlocking {
+            _sqlClient.createQuery(Book::class) {
+                where(table.name eq "GraphQL in Action")
+                orderBy(table.edition.asc())
+                select(table.edition)
+            }.executeSuspend()
+        }
+        assertEquals(listOf(1, 2, 3), editions)
+    }
+
+    @Test
+    fun testFetchPageSuspend() {
+        val page = runBlocking {
+            _sqlClient.createQuery(Book::class) {
+                orderBy(table.name.asc(), table.edition.asc())
+                select(table.edition)
+            }.fetchPageSuspend(1, 5)
+        }
+        assertEquals(12L, page.totalRowCount)
+        assertEquals(5, page.rows.size)
+    }
+
+    @Test
+    fun testFlow() {
+        val names = runBlocking {
+            _sqlClient.createQuery(Book::class) {
+                where(table.edition eq 3)
+                orderBy(table.name.asc())
+                select(table.name)
+            }.asFlow(2).toList()
+        }
+        assertEquals(
+            listOf("Effective TypeScript", "GraphQL in Action", "Learning GraphQL", "Programming TypeScript"),
+            names
+        )
+    }
+
+    @Test
+    fun testRollback() {
+        runBlocking {
+            try {
+                _sqlClient.suspendTransaction {
+                    _sqlClient.executeSuspend { con ->
+                        createUpdate(BookStore::class) {
+                            set(table.website, value("https://www.oreilly.com"))
+                            where(table.id eq 1L)
+                        }.execute(con)
+                    }
+                    val names = _sqlClient.createQuery(BookStore::class) {
+                        where(table.id eq 1L)
+                        select(table.website)
+                    }.asFlow().toList()
+                    assertEquals(listOf<String?>("https://www.oreilly.com"), names)
+                    throw IllegalStateException("Rollback")
+                }
+                fail("No exception")
+            } catch (ex: IllegalStateException) {
+                assertEquals("Rollback", ex.message)
+            }
+            assertNull(_sqlClient.findByIdSuspend(BookStore::class, 1L)!!.website)
+        }
+    }
+
+    @Test
+    fun testTransactionIsConfinedToOneThread() {
+        val threads = Collections.synchronizedSet(mutableSetOf<Thread>())
+        runBlocking {
+            _sqlClient.suspendTransaction {
+                coroutineScope {
+                    repeat(4) {
+                        launch(Dispatchers.Default) {
+                            _sqlClient.executeSuspend { con ->
+                                threads += Thread.currentThread()
+                                createQuery(BookStore::class) {
+                                    where(table.id eq 1L)
+                                    select(table.website)
+                                }.execute(con)
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        assertEquals(1, threads.size)
+    }
+
+    @Test
+    fun testBoundedExecutor() {
+        val poolThreads = Collections.synchronizedSet(mutableSetOf<Thread>())
+        val usedThreads = Collections.synchronizedSet(mutableSetOf<Thread>())
+        val executor = Executors.newFixedThreadPool(2) { runnable ->
+            Thread(runnable).also { poolThreads += it }
+        }
+        try {
+            val sqlClient = sqlClient {
+                setConnectionManager(TestConnectionManager())
+                setAsyncExecutor(executor)
+            }
+            val names = runBlocking {
+                repeat(3) {
+                    sqlClient.suspendTransaction {
+                        sqlClient.executeSuspend { con ->
+                            usedThreads += Thread.currentThread()
+                            createQuery(BookStore::class) {
+                                where(table.id eq 1L)
+                                select(table.website)
+                            }.execute(con)
+                        }
+                    }
+                }
+                // The flow occupies one thread, the other one executes the queries of collector
+                sqlClient.createQuery(Book::class) {
+                    where(table.edition eq 3)
+                    orderBy(table.name.asc())
+                    select(table.id)
+                }.asFlow(1).buffer(0).map { id ->
+                    sqlClient.executeSuspend {
+                        usedThreads += Thread.currentThread()
+                        createQuery(Book::class) {
+                            where(table.id eq id)
+                            select(table.name)
+                        }.fetchOneOrNull(it)
+                    }
+                }.toList()
+            }
+            assertEquals(
+                listOf("Effective TypeScript", "GraphQL in Action", "Learning GraphQL", "Programming TypeScript"),
+                names
+            )
+            // No thread is created for each transaction or flow
+            assertTrue(poolThreads.size <= 2)
+            assertTrue(poolThreads.containsAll(usedThreads), "$usedThreads")
+        } finally {
+            executor.shutdown()
+        }
+    }
+}
@@ -37,6 +37,7 @@ dependencies {
     testAnnotationProcessor(libs.lombok)
 
     testImplementation(libs.h2)
+    testImplementation(libs.caffeine)
     testImplementation(libs.mysql.connector.java)
     testImplementation(libs.postgresql)
     testImplementation(libs.sqlite)
@@ -12,6 +12,7 @@ import org.jetbrains.annotations.Nullable;
 import java.sql.Connection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 
 /**
  * To be absolutely cache friendly,
@@ -64,6 +65,38 @@ public interface Entities extends Saver {
     @NotNull
     <ID, E> Map<ID, E> findMapByIds(Fetcher<E> fetcher, Iterable<ID> ids);
 
+    /**
+     * Asynchronous version of {@link #findById(Class, Object)},
+     * executed by the async executor of the sql client.
+     *
+     * @param <T> Entity type or output DTO type
+     */
+    @NotNull
+    <T> CompletionStage<T> findByIdAsync(Class<T> type, Object id);
+
+    /**
+     * Asynchronous version of {@link #findByIds(Class, Iterable)},
+     * executed by the async executor of the sql client.
+     *
+     * @param <T> Entity type or output DTO type
+     */
+    @NotNull
+    <T> CompletionStage<List<T>> findByIdsAsync(Class<T> type, Iterable<?> ids);
+
+    /**
+     * Asynchronous version of {@link #findById(Fetcher, Object)},
+     * executed by the async executor of the sql client.
+     */
+    @NotNull
+    <E> CompletionStage<E> findByIdAsync(Fetcher<E> fetcher, Object id);
+
+    /**
+     * Asynchronous version of {@link #findByIds(Fetcher, Iterable)},
+     * executed by the async executor of the sql client.
+     */
+    @NotNull
+    <E> CompletionStage<List<E>> findByIdsAsync(Fetcher<E> fetcher, Iterable<?> ids);
+
     <T> List<T> findAll(Class<T> type);
 
     <T> List<T> findAll(Class<T> type, TypedProp.Scalar<?, ?> ... sortedProps);
@@ -17,6 +17,7 @@ import org.babyfish.jimmer.sql.event.Triggers;
 import org.babyfish.jimmer.sql.event.binlog.BinLog;
 import org.babyfish.jimmer.sql.event.binlog.BinLogPropReader;
 import org.babyfish.jimmer.sql.fetcher.Fetcher;
+import org.babyfish.jimmer.sql.fetcher.BatchSizeStrategy;
 import org.babyfish.jimmer.sql.fetcher.ReferenceFetchType;
 import org.babyfish.jimmer.sql.filter.Filter;
 import org.babyfish.jimmer.sql.filter.FilterConfig;
@@ -197,6 +198,8 @@ public interface JSqlClient extends SubQueryProvider, Saver {
 
         int DEFAULT_LIST_BATCH_SIZE = 16;
 
+        int DEFAULT_QUERY_SHAPE_CACHE_SIZE = 0;
+
         @OldChain
         Builder setConnectionManager(ConnectionManager connectionManager);
 
@@ -296,6 +299,70 @@ public interface JSqlClient extends SubQueryProvider, Saver {
         @OldChain
         Builder setDefaultListBatchSize(int size);
 
+        /**
+         * Enable the parallel fetching of object fetchers.
+         *
+         * <p>By default, the batch queries of the associated properties are executed
+         * one by one by the current thread. If this executor is specified, the batch
+         * queries of sibling properties at the same depth, for example,
+         * `store`, `authors` and `chapters` of `Book`, are executed concurrently
+         * by this executor, virtual-thread-per-task executor is a good choice if it is supported.</p>
+         *
+         * <p>The parallel fetching only takes effect when the current connection is in
+         * auto-commit mode, that is, outside a transaction. Each concurrent batch query uses
+         * its own connection borrowed from the connection manager, so the connection manager
+         * must be able to open new connections for other threads; otherwise, the
+         * associated properties are fetched by the current thread.</p>
+         *
+         * @param executor The executor for parallel fetching, null means disabled.
+         */
+        @OldChain
+        Builder setFetcherExecutor(@Nullable java.util.concurrent.Executor executor);
+
+        /**
+         * Decide the batch size of the associated properties dynamically,
+         * for example, {@link org.babyfish.jimmer.sql.fetcher.AdaptiveBatchSizeStrategy}.
+         *
+         * <p>It only affects the properties whose batch size is not specified
+         * by the fetcher explicitly; the value returned by the strategy is
+         * bounded by {@link Dialect#getMaxInListSize()}</p>
+         *
+         * @param strategy The batch size strategy, null means
+         *                 `defaultBatchSize` and `defaultListBatchSize` are always used.
+         */
+        @OldChain
+        Builder setBatchSizeStrategy(@Nullable BatchSizeStrategy strategy);
+
+        /**
+         * Set the max count of the cached SQL of the queries generated by
+         * `findById`, `findByIds` and `findMapByIds` of {@link Entities}.
+         *
+         * <p>If the queried type has no global filter, the SQL rendered
+         * for an entity type, a fetcher and a count of ids is cached,
+         * so that the later queries with same shape only need to bind the ids.
+         * The cache is shared by the clients derived from this one,
+         * such as {@link JSqlClient#filters(Consumer)}.</p>
+         *
+         * <p>Only the rendered SQL is cached, the prepared statements are not reused
+         * by jimmer; please enable the statement cache of JDBC driver or connection pool
+         * for that, such as `cachePrepStmts` of MySQL driver.</p>
+         *
+         * @param size The max count of cached SQL, 0 means disabled, that is the default value.
+         */
+        @OldChain
+        Builder setQueryShapeCacheSize(int size);
+
+        /**
+         * Set the executor of asynchronous executions, such as
+         * {@link org.babyfish.jimmer.sql.ast.Executable#executeAsync()}
+         * and {@link Entities#findByIdAsync(Class, Object)}.
+         *
+         * @param executor The async executor, null means {@link DefaultAsyncExecutor#INSTANCE}
+         *                 which uses virtual threads if they are supported by JDK.
+         */
+        @OldChain
+        Builder setAsyncExecutor(@Nullable java.util.concurrent.Executor executor);
+
         @OldChain
         Builder setInListPaddingEnabled(boolean enabled);
 
@@ -357,6 +424,9 @@ public interface JSqlClient extends SubQueryProvider, Saver {
         @OldChain
         Builder addCacheAbandonedCallbacks(Collection<? extends CacheAbandonedCallback> callbacks);
 
+        @OldChain
+        Builder setCacheMetrics(CacheMetrics metrics);
+
         @OldChain
         Builder setTriggerType(TriggerType triggerType);
 
@@ -433,6 +503,30 @@ public interface JSqlClient extends SubQueryProvider, Saver {
         @OldChain
         Builder setDumbBatchAcceptable(boolean acceptable);
 
+        /**
+         * Insert the entities of save command by multi-row statement
+         * `insert into T(...) values(...), (...), ...` instead of JDBC batch.
+         *
+         * <p>It is useful for the JDBC drivers whose batch is executed row by row.
+         * The rows are split into several statements according to
+         * {@link Dialect#getMaxVariableCount()}. If the ids are generated by
+         * database but the dialect cannot return them for multi-row statement,
+         * JDBC batch is still used.</p>
+         */
+        @OldChain
+        Builder setMultiValuesInsertEnabled(boolean enabled);
+
+        /**
+         * The default strategy to get the total row count
+         * of {@link org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery#fetchPage(int, int)},
+         * it can be overridden by
+         * {@link org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery#countStrategy(CountStrategy)}.
+         *
+         * <p>If it is not specified, {@link CountStrategy#exact()} is used</p>
+         */
+        @OldChain
+        Builder setCountStrategy(CountStrategy countStrategy);
+
         @OldChain
         Builder addExceptionTranslators(Collection<ExceptionTranslator<?>> translators);
 
@@ -14,8 +14,10 @@ import org.babyfish.jimmer.sql.ast.impl.mutation.MutableUpdateImpl;
 import org.babyfish.jimmer.sql.ast.impl.query.FilterLevel;
 import org.babyfish.jimmer.sql.ast.impl.query.MutableRootQueryImpl;
 import org.babyfish.jimmer.sql.ast.impl.query.MutableSubQueryImpl;
+import org.babyfish.jimmer.sql.ast.impl.query.QueryShapeCache;
 import org.babyfish.jimmer.sql.ast.mutation.MutableDelete;
 import org.babyfish.jimmer.sql.ast.mutation.MutableUpdate;
+import org.babyfish.jimmer.sql.ast.query.CountStrategy;
 import org.babyfish.jimmer.sql.ast.query.MutableRootQuery;
 import org.babyfish.jimmer.sql.ast.query.MutableSubQuery;
 import org.babyfish.jimmer.sql.ast.table.AssociationTable;
@@ -35,6 +37,7 @@ import org.babyfish.jimmer.sql.event.binlog.impl.BinLogParser;
 import org.babyfish.jimmer.sql.event.impl.TriggersImpl;
 import org.babyfish.jimmer.sql.exception.DatabaseValidationException;
 import org.babyfish.jimmer.sql.exception.ExecutionException;
+import org.babyfish.jimmer.sql.fetcher.BatchSizeStrategy;
 import org.babyfish.jimmer.sql.fetcher.ReferenceFetchType;
 import org.babyfish.jimmer.sql.filter.Filter;
 import org.babyfish.jimmer.sql.filter.FilterConfig;
@@ -90,6 +93,15 @@ class JSqlClientImpl implements JSqlClientImplementor {
 
     private final int defaultListBatchSize;
 
+    private final java.util.concurrent.Executor fetcherExecutor;
+
+    private final BatchSizeStrategy batchSizeStrategy;
+
+    @Nullable
+    private final QueryShapeCache queryShapeCache;
+
+    private final java.util.concurrent.Executor asyncExecutor;
+
     private final boolean inListPaddingEnabled;
 
     private final boolean expandedInListPaddingEnabled;
@@ -106,6 +118,10 @@ class JSqlClientImpl implements JSqlClientImplementor {
 
     private final boolean dumbBatchAcceptable;
 
+    private final boolean multiValuesInsertEnabled;
+
+    private final CountStrategy countStrategy;
+
     private final boolean constraintViolationTranslatable;
 
     private final ExceptionTranslator<Exception> exceptionTranslator;
@@ -166,6 +182,10 @@ class JSqlClientImpl implements JSqlClientImplementor {
             ScalarProviderManager scalarProviderManager,
             int defaultBatchSize,
             int defaultListBatchSize,
+            java.util.concurrent.Executor fetcherExecutor,
+            BatchSizeStrategy batchSizeStrategy,
+            @Nullable QueryShapeCache queryShapeCache,
+            java.util.concurrent.Executor asyncExecutor,
             boolean inListPaddingEnabled,
             boolean expandedInListPaddingEnabled,
             int offsetOptimizingThreshold,
@@ -174,6 +194,8 @@ class JSqlClientImpl implements JSqlClientImplementor {
             boolean targetTransferable,
             boolean explicitBatchEnabled,
             boolean dumbBatchAcceptable,
+            boolean multiValuesInsertEnabled,
+            CountStrategy countStrategy,
             boolean constraintViolationTranslatable,
             ExceptionTranslator<Exception> exceptionTranslator,
             EntitiesImpl entities,
@@ -217,6 +239,10 @@ class JSqlClientImpl implements JSqlClientImplementor {
         this.scalarProviderManager = scalarProviderManager;
         this.defaultBatchSize = defaultBatchSize;
         this.defaultListBatchSize = defaultListBatchSize;
+        this.fetcherExecutor = fetcherExecutor;
+        this.batchSizeStrategy = batchSizeStrategy;
+        this.queryShapeCache = queryShapeCache;
+        this.asyncExecutor = asyncExecutor;
         this.inListPaddingEnabled = inListPaddingEnabled;
         this.expandedInListPaddingEnabled = expandedInListPaddingEnabled;
         this.offsetOptimizingThreshold = offsetOptimizingThreshold;
@@ -225,6 +251,8 @@ class JSqlClientImpl implements JSqlClientImplementor {
         this.targetTransferable = targetTransferable;
         this.explicitBatchEnabled = explicitBatchEnabled;
         this.dumbBatchAcceptable = dumbBatchAcceptable;
+        this.multiValuesInsertEnabled = multiValuesInsertEnabled;
+        this.countStrategy = countStrategy;
         this.constraintViolationTranslatable = constraintViolationTranslatable;
         this.exceptionTranslator = exceptionTranslator;
         this.entities =
@@ -371,6 +399,29 @@ class JSqlClientImpl implements JSqlClientImplementor {
         return defaultListBatchSize;
     }
 
+    @Nullable
+    @Override
+    public java.util.concurrent.Executor getFetcherExecutor() {
+        return fetcherExecutor;
+    }
+
+    @Nullable
+    @Override
+    public BatchSizeStrategy getBatchSizeStrategy() {
+        return batchSizeStrategy;
+    }
+
+    @Nullable
+    @Override
+    public QueryShapeCache getQueryShapeCache() {
+        return queryShapeCache;
+    }
+
+    @Override
+    public java.util.concurrent.Executor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
     @Override
     public boolean isInListPaddingEnabled() {
         return inListPaddingEnabled;
@@ -408,6 +459,16 @@ class JSqlClientImpl implements JSqlClientImplementor {
         return !dumbBatchAcceptable && !this.dumbBatchAcceptable;
     }
 
+    @Override
+    public boolean isMultiValuesInsertEnabled() {
+        return multiValuesInsertEnabled;
+    }
+
+    @Override
+    public CountStrategy getCountStrategy() {
+        return countStrategy;
+    }
+
     @Override
     public boolean isUpsertWithUniqueConstraintSupported(ImmutableType type) {
         return uniqueConstraintCache.get(type.getJavaClass());
@@ -585,6 +646,10 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 scalarProviderManager,
                 defaultBatchSize,
                 defaultListBatchSize,
+                fetcherExecutor,
+                batchSizeStrategy,
+                queryShapeCache,
+                asyncExecutor,
                 inListPaddingEnabled,
                 expandedInListPaddingEnabled,
                 offsetOptimizingThreshold,
@@ -593,6 +658,8 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 targetTransferable,
                 explicitBatchEnabled,
                 dumbBatchAcceptable,
+                multiValuesInsertEnabled,
+                countStrategy,
                 constraintViolationTranslatable,
                 exceptionTranslator,
                 entities,
@@ -640,6 +707,10 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 scalarProviderManager,
                 defaultBatchSize,
                 defaultListBatchSize,
+                fetcherExecutor,
+                batchSizeStrategy,
+                queryShapeCache,
+                asyncExecutor,
                 inListPaddingEnabled,
                 expandedInListPaddingEnabled,
                 offsetOptimizingThreshold,
@@ -648,6 +719,8 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 targetTransferable,
                 explicitBatchEnabled,
                 dumbBatchAcceptable,
+                multiValuesInsertEnabled,
+                countStrategy,
                 constraintViolationTranslatable,
                 exceptionTranslator,
                 entities,
@@ -690,6 +763,10 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 scalarProviderManager,
                 defaultBatchSize,
                 defaultListBatchSize,
+                fetcherExecutor,
+                batchSizeStrategy,
+                queryShapeCache,
+                asyncExecutor,
                 inListPaddingEnabled,
                 expandedInListPaddingEnabled,
                 offsetOptimizingThreshold,
@@ -698,6 +775,8 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 targetTransferable,
                 explicitBatchEnabled,
                 dumbBatchAcceptable,
+                multiValuesInsertEnabled,
+                countStrategy,
                 constraintViolationTranslatable,
                 exceptionTranslator,
                 entities,
@@ -743,6 +822,10 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 scalarProviderManager,
                 defaultBatchSize,
                 defaultListBatchSize,
+                fetcherExecutor,
+                batchSizeStrategy,
+                queryShapeCache,
+                asyncExecutor,
                 inListPaddingEnabled,
                 expandedInListPaddingEnabled,
                 offsetOptimizingThreshold,
@@ -751,6 +834,8 @@ class JSqlClientImpl implements JSqlClientImplementor {
                 targetTransferable,
                 explicitBatchEnabled,
                 dumbBatchAcceptable,
+                multiValuesInsertEnabled,
+                countStrategy,
                 constraintViolationTranslatable,
                 exceptionTranslator,
                 entities,
@@ -929,6 +1014,14 @@ class JSqlClientImpl implements JSqlClientImplementor {
 
         private int defaultListBatchSize = DEFAULT_LIST_BATCH_SIZE;
 
+        private java.util.concurrent.Executor fetcherExecutor;
+
+        private BatchSizeStrategy batchSizeStrategy;
+
+        private int queryShapeCacheSize = DEFAULT_QUERY_SHAPE_CACHE_SIZE;
+
+        private java.util.concurrent.Executor asyncExecutor;
+
         private boolean inListPaddingEnabled;
 
         private boolean expandedInListPaddingEnabled;
@@ -982,6 +1075,10 @@ class JSqlClientImpl implements JSqlClientImplementor {
 
         private boolean dumbBatchAcceptable;
 
+        private boolean multiValuesInsertEnabled;
+
+        private CountStrategy countStrategy;
+
         private boolean constraintViolationTranslatable = true;
 
         private final Set<ExceptionTranslator<?>> exceptionTranslators = new LinkedHashSet<>();
@@ -1336,6 +1433,37 @@ class JSqlClientImpl implements JSqlClientImplementor {
             return this;
         }
 
+        @Override
+        @OldChain
+        public JSqlClient.Builder setFetcherExecutor(@Nullable java.util.concurrent.Executor executor) {
+            this.fetcherExecutor = executor;
+            return this;
+        }
+
+        @Override
+        @OldChain
+        public JSqlClient.Builder setBatchSizeStrategy(@Nullable BatchSizeStrategy strategy) {
+            this.batchSizeStrategy = strategy;
+            return this;
+        }
+
+        @Override
+        @OldChain
+        public JSqlClient.Builder setQueryShapeCacheSize(int size) {
+            if (size < 0) {
+                throw new IllegalStateException("size cannot be less than 0");
+            }
+            this.queryShapeCacheSize = size;
+            return this;
+        }
+
+        @Override
+        @OldChain
+        public JSqlClient.Builder setAsyncExecutor(@Nullable java.util.concurrent.Executor executor) {
+            this.asyncExecutor = executor;
+            return this;
+        }
+
         @Override
         public JSqlClient.Builder setInListPaddingEnabled(boolean enabled) {
             this.inListPaddingEnabled = enabled;
@@ -1415,6 +1543,12 @@ class JSqlClientImpl implements JSqlClientImplementor {
             return this;
         }
 
+        @Override
+        public Builder setCacheMetrics(CacheMetrics metrics) {
+            cacheConfig.setMetrics(metrics);
+            return this;
+        }
+
         @Override
         public Builder setTriggerType(TriggerType triggerType) {
             this.triggerType = triggerType != null ? triggerType : TriggerType.BINLOG_ONLY;
@@ -1611,6 +1745,18 @@ class JSqlClientImpl implements JSqlClientImplementor {
             return this;
         }
 
+        @Override
+        public JSqlClient.Builder setMultiValuesInsertEnabled(boolean enabled) {
+            multiValuesInsertEnabled = enabled;
+            return this;
+        }
+
+        @Override
+        public JSqlClient.Builder setCountStrategy(CountStrategy countStrategy) {
+            this.countStrategy = countStrategy;
+            return this;
+        }
+
         @OldChain
         public Builder addExceptionTranslators(Collection<ExceptionTranslator<?>> translators) {
             for (ExceptionTranslator<?> translator : translators) {
@@ -1783,6 +1929,12 @@ class JSqlClientImpl implements JSqlClientImplementor {
                     scalarProviderManager,
                     defaultBatchSize,
                     defaultListBatchSize,
+                    fetcherExecutor,
+                    batchSizeStrategy,
+                    queryShapeCacheSize > 0 ?
+                            new QueryShapeCache(queryShapeCacheSize) :
+                            null,
+                    asyncExecutor != null ? asyncExecutor : DefaultAsyncExecutor.INSTANCE,
                     inListPaddingEnabled,
                     expandedInListPaddingEnabled,
                     offsetOptimizingThreshold,
@@ -1791,6 +1943,8 @@ class JSqlClientImpl implements JSqlClientImplementor {
                     targetTransferable,
                     explicitBatchEnabled,
                     dumbBatchAcceptable,
+                    multiValuesInsertEnabled,
+                    countStrategy != null ? countStrategy : CountStrategy.exact(),
                     constraintViolationTranslatable,
                     ExceptionTranslator.of(exceptionTranslators),
                     null,
@@ -1,6 +1,10 @@
 package org.babyfish.jimmer.sql.ast;
 
+import org.babyfish.jimmer.sql.runtime.DefaultAsyncExecutor;
+
 import java.sql.Connection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 public interface Executable<R> {
 
@@ -18,4 +22,33 @@ public interface Executable<R> {
      * @return Execution result
      */
     R execute(Connection con);
+
+    /**
+     * Executed asynchronously on a JDBC connection determined by jimmer-sql.
+     *
+     * <p>The execution is run by the async executor of the sql client, see
+     * {@link org.babyfish.jimmer.sql.JSqlClient.Builder#setAsyncExecutor(java.util.concurrent.Executor)}.
+     * The connection is got by the connection manager in the thread of async executor,
+     * so the transaction bound to the current thread is not used.</p>
+     *
+     * @return The completion stage of execution result
+     */
+    default CompletionStage<R> executeAsync() {
+        return executeAsync(null);
+    }
+
+    /**
+     * Execute asynchronously on the specified JDBC connection.
+     *
+     * <p>The connection must not be used by other threads until the execution is completed.</p>
+     *
+     * <p>This default implementation does not know the sql client so that it uses
+     * {@link DefaultAsyncExecutor#INSTANCE}, all the implementations of jimmer override it
+     * to use the async executor of their sql client.</p>
+     *
+     * @return The completion stage of execution result
+     */
+    default CompletionStage<R> executeAsync(Connection con) {
+        return CompletableFuture.supplyAsync(() -> execute(con), DefaultAsyncExecutor.INSTANCE);
+    }
 }
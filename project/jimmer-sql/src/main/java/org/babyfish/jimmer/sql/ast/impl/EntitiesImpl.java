@@ -18,7 +18,9 @@ import org.babyfish.jimmer.sql.ast.impl.mutation.SimpleEntitySaveCommandImpl;
 import org.babyfish.jimmer.sql.ast.impl.query.FilterLevel;
 import org.babyfish.jimmer.sql.ast.impl.query.MutableRootQueryImpl;
 import org.babyfish.jimmer.sql.ast.impl.query.Queries;
+import org.babyfish.jimmer.sql.ast.impl.query.QueryShapeCache;
 import org.babyfish.jimmer.sql.ast.impl.table.FetcherSelectionImpl;
+import org.babyfish.jimmer.sql.ast.impl.util.AsyncExecutions;
 import org.babyfish.jimmer.sql.ast.mutation.BatchEntitySaveCommand;
 import org.babyfish.jimmer.sql.ast.mutation.DeleteCommand;
 import org.babyfish.jimmer.sql.ast.mutation.SimpleEntitySaveCommand;
@@ -43,6 +45,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.sql.Connection;
 import java.util.*;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Function;
 
 public class EntitiesImpl implements Entities {
@@ -134,6 +137,26 @@ public class EntitiesImpl implements Entities {
         return result;
     }
 
+    @Override
+    public <T> CompletionStage<T> findByIdAsync(Class<T> type, Object id) {
+        return AsyncExecutions.supplyAsync(sqlClient, () -> findById(type, id));
+    }
+
+    @Override
+    public <T> CompletionStage<List<T>> findByIdsAsync(Class<T> type, Iterable<?> ids) {
+        return AsyncExecutions.supplyAsync(sqlClient, () -> findByIds(type, ids));
+    }
+
+    @Override
+    public <E> CompletionStage<E> findByIdAsync(Fetcher<E> fetcher, Object id) {
+        return AsyncExecutions.supplyAsync(sqlClient, () -> findById(fetcher, id));
+    }
+
+    @Override
+    public <E> CompletionStage<List<E>> findByIdsAsync(Fetcher<E> fetcher, Iterable<?> ids) {
+        return AsyncExecutions.supplyAsync(sqlClient, () -> findByIds(fetcher, ids));
+    }
+
     @Override
     public <T> List<T> findByIds(Class<T> type, Iterable<?> ids) {
         return sqlClient.getConnectionManager().execute(con, con -> findByIds(type, ids, con));
@@ -267,6 +290,11 @@ public class EntitiesImpl implements Entities {
                                     con,
                                     (Class<E>) immutableType.getJavaClass()
                             ),
+                            c -> CacheLoader.objectLoader(
+                                    sqlClient,
+                                    c,
+                                    (Class<E>) immutableType.getJavaClass()
+                            ),
                             true
                     )
             ).values();
@@ -335,6 +363,25 @@ public class EntitiesImpl implements Entities {
             }
             return entities;
         }
+        QueryShapeCache queryShapeCache = sqlClient.getQueryShapeCache();
+        if (queryShapeCache != null && sqlClient.getFilters().getFilter(immutableType) == null) {
+            return queryShapeCache.execute(
+                    sqlClient,
+                    Arrays.asList(immutableType, fetcher, distinctIds.size(), forUpdate, purpose),
+                    new ArrayList<>(distinctIds),
+                    con,
+                    () -> createQueryByIds(immutableType, fetcher, distinctIds)
+            );
+        }
+        return createQueryByIds(immutableType, fetcher, distinctIds).execute(con);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E> ConfigurableRootQuery<?, E> createQueryByIds(
+            ImmutableType immutableType,
+            Fetcher<E> fetcher,
+            Set<Object> distinctIds
+    ) {
         ConfigurableRootQuery<?, E> query = Queries.createQuery(
                 sqlClient, immutableType, purpose, FilterLevel.DEFAULT, (q, table) -> {
                     Expression<Object> idProp = table.get(immutableType.getIdProp().getName());
@@ -349,7 +396,7 @@ public class EntitiesImpl implements Entities {
         if (forUpdate) {
             query = query.forUpdate(true);
         }
-        return query.execute(con);
+        return query;
     }
 
     @SuppressWarnings("unchecked")
@@ -390,6 +437,11 @@ public class EntitiesImpl implements Entities {
                                     con,
                                     (Class<E>) immutableType.getJavaClass()
                             ),
+                            c -> CacheLoader.objectLoader(
+                                    sqlClient,
+                                    c,
+                                    (Class<E>) immutableType.getJavaClass()
+                            ),
                             true
                     )
             ).values();
@@ -0,0 +1,60 @@
+package org.babyfish.jimmer.sql.ast.impl;
+
+import org.babyfish.jimmer.sql.ast.Expression;
+import org.babyfish.jimmer.sql.ast.Predicate;
+import org.babyfish.jimmer.sql.ast.query.Order;
+import org.babyfish.jimmer.sql.ast.query.OrderMode;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SeekPredicates {
+
+    private SeekPredicates() {}
+
+    /**
+     * Create the predicate of keyset pagination which selects
+     * the rows after the row whose sort keys are the values.
+     *
+     * <p>For `order by a asc, b desc`, the predicate is
+     * `a > ? or a = ? and b < ?`</p>
+     *
+     * @param orders The orders which must be able to decide unique row
+     * @param values The sort keys of the last row of previous page,
+     *               their count must be equal to the count of orders
+     */
+    public static Predicate of(List<Order> orders, List<Object> values) {
+        if (orders.size() != values.size()) {
+            throw new IllegalArgumentException("The count of orders and values must be same");
+        }
+        List<Predicate> orPredicates = new ArrayList<>(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            Predicate[] andPredicates = new Predicate[i + 1];
+            for (int ii = 0; ii < i; ii++) {
+                andPredicates[ii] = new ComparisonPredicate.Eq(
+                        orders.get(ii).getExpression(),
+                        value(orders.get(ii).getExpression(), values.get(ii))
+                );
+            }
+            Order order = orders.get(i);
+            Expression<?> value = value(order.getExpression(), values.get(i));
+            andPredicates[i] = order.getOrderMode() == OrderMode.DESC ?
+                    new ComparisonPredicate.Lt(order.getExpression(), value) :
+                    new ComparisonPredicate.Gt(order.getExpression(), value);
+            orPredicates.add(CompositePredicate.and(andPredicates));
+        }
+        return CompositePredicate.or(orPredicates.toArray(new Predicate[0]));
+    }
+
+    private static Expression<?> value(Expression<?> expression, Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException(
+                    "The sort key of keyset pagination cannot be null, " +
+                            "but the value of the order expression \"" +
+                            expression +
+                            "\" is null"
+            );
+        }
+        return Literals.any(value);
+    }
+}
@@ -312,6 +312,46 @@ abstract class AbstractEntitySaveCommandImpl
         }
     }
 
+    static class BulkInsertCfg extends Cfg {
+
+        final boolean enabled;
+
+        BulkInsertCfg(Cfg prev, boolean enabled) {
+            super(prev);
+            this.enabled = enabled;
+        }
+    }
+
+    static class IdAndKeyLookupMergedCfg extends Cfg {
+
+        final boolean merged;
+
+        IdAndKeyLookupMergedCfg(Cfg prev, boolean merged) {
+            super(prev);
+            this.merged = merged;
+        }
+    }
+
+    static class LookupSkippedCfg extends Cfg {
+
+        final boolean skipped;
+
+        LookupSkippedCfg(Cfg prev, boolean skipped) {
+            super(prev);
+            this.skipped = skipped;
+        }
+    }
+
+    static class ChangedPropsOnlyCfg extends Cfg {
+
+        final boolean changedPropsOnly;
+
+        ChangedPropsOnlyCfg(Cfg prev, boolean changedPropsOnly) {
+            super(prev);
+            this.changedPropsOnly = changedPropsOnly;
+        }
+    }
+
     static final class OptionsImpl implements SaveOptions {
 
         private final JSqlClientImplementor sqlClient;
@@ -362,6 +402,14 @@ abstract class AbstractEntitySaveCommandImpl
 
         private final boolean dumbBatchAcceptable;
 
+        private final boolean bulkInsertEnabled;
+
+        private final boolean idAndKeyLookupMerged;
+
+        private final boolean lookupSkipped;
+
+        private final boolean changedPropsOnly;
+
         private final boolean constraintViolationTranslatable;
 
         private final ExceptionTranslator<Exception> exceptionTranslator;
@@ -385,6 +433,10 @@ abstract class AbstractEntitySaveCommandImpl
             PessimisticLockCfg pessimisticLockCfg = cfg.as(PessimisticLockCfg.class);
             OptimisticLockLambdaCfg optimisticLockLambdaCfg = cfg.as(OptimisticLockLambdaCfg.class);
             DumbBatchAcceptableCfg dumbBatchAcceptableCfg = cfg.as(DumbBatchAcceptableCfg.class);
+            BulkInsertCfg bulkInsertCfg = cfg.as(BulkInsertCfg.class);
+            IdAndKeyLookupMergedCfg mergedCfg = cfg.as(IdAndKeyLookupMergedCfg.class);
+            LookupSkippedCfg lookupSkippedCfg = cfg.as(LookupSkippedCfg.class);
+            ChangedPropsOnlyCfg changedPropsOnlyCfg = cfg.as(ChangedPropsOnlyCfg.class);
             ConstraintViolationTranslatableCfg constraintViolationTranslatableCfg =
                     cfg.as(ConstraintViolationTranslatableCfg.class);
             ExceptionTranslatorCfg exceptionTranslatorCfg = cfg.as(ExceptionTranslatorCfg.class);
@@ -425,6 +477,10 @@ abstract class AbstractEntitySaveCommandImpl
             this.optimisticLockBehaviorMap = MapNode.toMap(optimisticLockLambdaCfg, it -> it.behaviorMapNode);
             this.optimisticLockLambdaMap = MapNode.toMap(optimisticLockLambdaCfg, it -> it.lamdadaMapNode);
             this.dumbBatchAcceptable = dumbBatchAcceptableCfg != null && dumbBatchAcceptableCfg.acceptable;
+            this.bulkInsertEnabled = bulkInsertCfg != null && bulkInsertCfg.enabled;
+            this.idAndKeyLookupMerged = mergedCfg != null && mergedCfg.merged;
+            this.lookupSkipped = lookupSkippedCfg != null && lookupSkippedCfg.skipped;
+            this.changedPropsOnly = changedPropsOnlyCfg != null && changedPropsOnlyCfg.changedPropsOnly;
             this.constraintViolationTranslatable = constraintViolationTranslatableCfg != null ?
                     constraintViolationTranslatableCfg.translatable :
                     sqlClient.isConstraintViolationTranslatable();
@@ -583,6 +639,26 @@ abstract class AbstractEntitySaveCommandImpl
             return sqlClient.isBatchForbidden(dumbBatchAcceptable);
         }
 
+        @Override
+        public boolean isBulkInsertEnabled() {
+            return bulkInsertEnabled;
+        }
+
+        @Override
+        public boolean isIdAndKeyLookupMerged() {
+            return idAndKeyLookupMerged;
+        }
+
+        @Override
+        public boolean isLookupSkipped() {
+            return lookupSkipped;
+        }
+
+        @Override
+        public boolean isChangedPropsOnly() {
+            return changedPropsOnly;
+        }
+
         @Override
         public boolean isConstraintViolationTranslatable() {
             return constraintViolationTranslatable;
@@ -3,6 +3,7 @@ package org.babyfish.jimmer.sql.ast.impl.mutation;
 import org.babyfish.jimmer.lang.NewChain;
 import org.babyfish.jimmer.sql.association.meta.AssociationType;
 import org.babyfish.jimmer.sql.ast.Executable;
+import org.babyfish.jimmer.sql.ast.impl.util.AsyncExecutions;
 import org.babyfish.jimmer.sql.ast.mutation.AffectedTable;
 import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
 import org.babyfish.jimmer.sql.dialect.Dialect;
@@ -12,6 +13,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.sql.Connection;
 import java.util.*;
+import java.util.concurrent.CompletionStage;
 
 class AssociationExecutable implements Executable<Integer> {
 
@@ -166,6 +168,11 @@ class AssociationExecutable implements Executable<Integer> {
                 .execute(con == null ? this.con : con, this::executeImpl);
     }
 
+    @Override
+    public CompletionStage<Integer> executeAsync(Connection con) {
+        return AsyncExecutions.supplyAsync(sqlClient, () -> execute(con));
+    }
+
     @SuppressWarnings("unchecked")
     private Integer executeImpl(Connection con) {
         if (sqlClient.isTargetTransferable()) {
@@ -1,9 +1,11 @@
 package org.babyfish.jimmer.sql.ast.impl.mutation;
 
+import org.babyfish.jimmer.sql.ast.impl.util.AsyncExecutions;
 import org.babyfish.jimmer.sql.ast.mutation.AssociationSaveCommand;
 import org.jetbrains.annotations.Nullable;
 
 import java.sql.Connection;
+import java.util.concurrent.CompletionStage;
 
 class AssociationSaveCommandImpl implements AssociationSaveCommand {
 
@@ -21,6 +23,11 @@ class AssociationSaveCommandImpl implements AssociationSaveCommand {
                 .execute(con, this::executeImpl);
     }
 
+    @Override
+    public CompletionStage<Integer> executeAsync(Connection con) {
+        return AsyncExecutions.supplyAsync(executable.sqlClient, () -> execute(con));
+    }
+
     @Override
     public AssociationSaveCommand ignoreConflict(@Nullable Boolean checkExistence) {
         AssociationExecutable newExecutable = executable.setCheckExistence(checkExistence);
@@ -6,6 +6,7 @@ import org.babyfish.jimmer.runtime.DraftSpi;
 import org.babyfish.jimmer.runtime.ImmutableSpi;
 import org.babyfish.jimmer.sql.DissociateAction;
 import org.babyfish.jimmer.sql.TargetTransferMode;
+import org.babyfish.jimmer.sql.ast.impl.util.AsyncExecutions;
 import org.babyfish.jimmer.sql.ast.mutation.*;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.runtime.ExceptionTranslator;
@@ -14,6 +15,7 @@ import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 
 import java.sql.Connection;
 import java.util.*;
+import java.util.concurrent.CompletionStage;
 
 public class BatchEntitySaveCommandImpl<E>
         extends AbstractEntitySaveCommandImpl
@@ -44,6 +46,12 @@ public class BatchEntitySaveCommandImpl<E>
                 .execute(con == null ? options.getConnection() : con, this::executeImpl);
     }
 
+    @Override
+    public CompletionStage<BatchSaveResult<E>> executeAsync(Connection con) {
+        OptionsImpl options = options();
+        return AsyncExecutions.supplyAsync(options.getSqlClient(), () -> execute(con));
+    }
+
     private BatchSaveResult<E> executeImpl(Connection con) {
 
         OptionsImpl options = options();
@@ -216,6 +224,26 @@ public class BatchEntitySaveCommandImpl<E>
         return new BatchEntitySaveCommandImpl<>(new DumbBatchAcceptableCfg(cfg, acceptable));
     }
 
+    @Override
+    public BatchEntitySaveCommand<E> setBulkInsertEnabled(boolean enabled) {
+        return new BatchEntitySaveCommandImpl<>(new BulkInsertCfg(cfg, enabled));
+    }
+
+    @Override
+    public BatchEntitySaveCommand<E> setIdAndKeyLookupMerged(boolean merged) {
+        return new BatchEntitySaveCommandImpl<>(new IdAndKeyLookupMergedCfg(cfg, merged));
+    }
+
+    @Override
+    public BatchEntitySaveCommand<E> setLookupSkipped(boolean skipped) {
+        return new BatchEntitySaveCommandImpl<>(new LookupSkippedCfg(cfg, skipped));
+    }
+
+    @Override
+    public BatchEntitySaveCommand<E> setChangedPropsOnly(boolean changedPropsOnly) {
+        return new BatchEntitySaveCommandImpl<>(new ChangedPropsOnlyCfg(cfg, changedPropsOnly));
+    }
+
     @Override
     public BatchEntitySaveCommand<E> setConstraintViolationTranslatable(boolean transferable) {
         return new BatchEntitySaveCommandImpl<>(new ConstraintViolationTranslatableCfg(cfg, transferable));
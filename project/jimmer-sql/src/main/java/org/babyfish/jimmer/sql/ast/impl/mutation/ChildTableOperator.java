@@ -21,15 +21,20 @@ import org.babyfish.jimmer.sql.ast.mutation.QueryReason;
 import org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
+import org.babyfish.jimmer.sql.dialect.Dialect;
+import org.babyfish.jimmer.sql.exception.ExecutionException;
 import org.babyfish.jimmer.sql.meta.impl.LogicalDeletedValueGenerators;
 import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
 
+import java.sql.ResultSet;
 import java.util.*;
 import java.util.stream.Collectors;
 
 class ChildTableOperator extends AbstractAssociationOperator {
 
+    private static final int MAX_RECURSIVE_CTE_DEPTH = 1000;
+
     final DeleteContext ctx;
 
     private final ChildTableOperator parent;
@@ -149,6 +154,10 @@ class ChildTableOperator extends AbstractAssociationOperator {
             }
             return;
         }
+        if (isRecursiveCteApplicable(args)) {
+            disconnectTreeByRecursiveCte(args);
+            return;
+        }
         if (ctx.trigger != null) {
             List<ImmutableSpi> rows = findDisconnectingObjects(args);
             if (rows.isEmpty()) {
@@ -261,6 +270,118 @@ class ChildTableOperator extends AbstractAssociationOperator {
         AffectedRows.add(ctx.affectedRowCountMap, ctx.path.getType(), rowCount);
     }
 
+    private boolean isRecursiveCteApplicable(DisconnectionArgs args) {
+        if (!ctx.options.isRecursiveCteUsed() ||
+                ctx.trigger != null ||
+                disconnectingType != DisconnectingType.PHYSICAL_DELETE ||
+                args.deletedIds == null ||
+                isJoinAllowed(args.deletedIds, args.caller) ||
+                sourceGetters.size() != 1) {
+            return false;
+        }
+        Dialect dialect = sqlClient.getDialect();
+        if (!dialect.isRecursiveCteSupported() || !dialect.isTableOfSubQueryMutable()) {
+            return false;
+        }
+        if (ctx.backProp.getTargetType() != ctx.path.getType()) {
+            return false;
+        }
+        for (ChildTableOperator subOperator : subOperators()) {
+            if (subOperator.ctx.backProp != ctx.backProp) {
+                return false;
+            }
+        }
+        return middleTableOperators().isEmpty();
+    }
+
+    /*
+     * Delete the whole subtree without querying its ids,
+     * the recursive CTE calculates the depth of each descendant,
+     * and the levels are deleted from the deepest one so that
+     * the foreign key is never violated.
+     *
+     * The count of statements is the height of the subtree + 1,
+     * it has nothing to do with the count of deleted rows,
+     * and no descendant is loaded into memory.
+     */
+    private void disconnectTreeByRecursiveCte(DisconnectionArgs args) {
+        SqlBuilder builder = new SqlBuilder(new AstContext(sqlClient));
+        addRecursiveCte(builder, args);
+        builder.sql(" select max(depth_) from tree_");
+        int maxDepth = execute(builder, (stmt, executorArgs) -> {
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        });
+        if (maxDepth >= MAX_RECURSIVE_CTE_DEPTH) {
+            throw new ExecutionException(
+                    "Cannot delete the tree \"" +
+                            ctx.path.getType() +
+                            "\" by recursive CTE, its depth reaches " +
+                            MAX_RECURSIVE_CTE_DEPTH +
+                            ", either the data is circular or the tree is too deep"
+            );
+        }
+        int rowCount = 0;
+        for (int depth = maxDepth; depth > 0; --depth) {
+            SqlBuilder deleteBuilder = new SqlBuilder(new AstContext(sqlClient));
+            addRecursiveCte(deleteBuilder, args);
+            deleteBuilder
+                    .sql(" delete from ")
+                    .sql(tableName)
+                    .enter(AbstractSqlBuilder.ScopeType.WHERE)
+                    .sql(targetGetters.get(0))
+                    .sql(" in (select id_ from tree_ where depth_ = ")
+                    .variable(depth)
+                    .sql(")")
+                    .leave();
+            rowCount += execute(deleteBuilder);
+        }
+        AffectedRows.add(ctx.affectedRowCountMap, ctx.path.getType(), rowCount);
+    }
+
+    private void addRecursiveCte(SqlBuilder builder, DisconnectionArgs args) {
+        String alias = alias(1);
+        builder
+                .sql("with recursive tree_(id_, depth_) as (")
+                .sql("select ")
+                .sql(targetGetters.get(0))
+                .sql(", 1 from ")
+                .sql(tableName)
+                .sql(" where ");
+        ComparisonPredicates.renderIn(
+                false,
+                this == args.caller ? targetGetters : sourceGetters,
+                args.deletedIds,
+                builder
+        );
+        builder
+                .sql(" union all ")
+                .sql("select ")
+                .sql(ValueGetter.alias(alias, targetGetters).get(0))
+                .sql(", tree_.depth_ + 1 from ")
+                .sql(tableName)
+                .sql(" ")
+                .sql(alias)
+                .sql(" inner join tree_ on ")
+                .sql(ValueGetter.alias(alias, sourceGetters).get(0))
+                .sql(" = tree_.id_")
+                .sql(" where ");
+        ComparisonPredicates.renderIn(
+                true,
+                ValueGetter.alias(alias, targetGetters),
+                args.deletedIds,
+                builder
+        );
+        // Excluding the deleted objects cannot stop the cycle among descendants,
+        // so the depth is bounded and `disconnectTreeByRecursiveCte` rejects
+        // the result which reaches the bound
+        builder
+                .sql(" and tree_.depth_ < ")
+                .variable(MAX_RECURSIVE_CTE_DEPTH)
+                .sql(")");
+    }
+
     private void addOperationHead(
             AbstractSqlBuilder<?> builder,
             DisconnectionArgs args,
@@ -3,6 +3,7 @@ package org.babyfish.jimmer.sql.ast.impl.mutation;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.DissociateAction;
+import org.babyfish.jimmer.sql.ast.impl.util.AsyncExecutions;
 import org.babyfish.jimmer.sql.ast.mutation.DeleteCommand;
 import org.babyfish.jimmer.sql.ast.mutation.DeleteMode;
 import org.babyfish.jimmer.sql.ast.mutation.DeleteResult;
@@ -16,6 +17,7 @@ import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 
 import java.sql.Connection;
 import java.util.*;
+import java.util.concurrent.CompletionStage;
 
 public class DeleteCommandImpl extends AbstractCommandImpl implements DeleteCommand {
 
@@ -41,6 +43,12 @@ public class DeleteCommandImpl extends AbstractCommandImpl implements DeleteComm
                 .execute(con == null ? options.con : con, this::executeImpl);
     }
 
+    @Override
+    public CompletionStage<DeleteResult> executeAsync(Connection con) {
+        OptionsImpl options = options();
+        return AsyncExecutions.supplyAsync(options.getSqlClient(), () -> execute(con));
+    }
+
     @SuppressWarnings("unchecked")
     private DeleteResult executeImpl(Connection con) {
         OptionsImpl options = options();
@@ -77,6 +85,16 @@ public class DeleteCommandImpl extends AbstractCommandImpl implements DeleteComm
         return new OptionsImpl(cfg);
     }
 
+    static class RecursiveCteUsedCfg extends Cfg {
+
+        final boolean used;
+
+        RecursiveCteUsedCfg(Cfg prev, boolean used) {
+            super(prev);
+            this.used = used;
+        }
+    }
+
     private static class Argument {
 
         final ImmutableType type;
@@ -126,6 +144,8 @@ public class DeleteCommandImpl extends AbstractCommandImpl implements DeleteComm
 
         private final boolean transactionRequired;
 
+        private final boolean recursiveCteUsed;
+
         private Argument argument;
 
         OptionsImpl(Cfg cfg) {
@@ -138,6 +158,7 @@ public class DeleteCommandImpl extends AbstractCommandImpl implements DeleteComm
             DissociationActionCfg dissociationActionCfg = cfg.as(DissociationActionCfg.class);
             DumbBatchAcceptableCfg dumbBatchAcceptableCfg = cfg.as(DumbBatchAcceptableCfg.class);
             TransactionRequiredCfg transactionRequiredCfg = cfg.as(TransactionRequiredCfg.class);
+            RecursiveCteUsedCfg recursiveCteUsedCfg = cfg.as(RecursiveCteUsedCfg.class);
 
             assert rootCfg != null;
             this.sqlClient = rootCfg.sqlClient;
@@ -156,6 +177,7 @@ public class DeleteCommandImpl extends AbstractCommandImpl implements DeleteComm
                     sqlClient.isMutationTransactionRequired();
             this.dissociateActionMap = MapNode.toMap(dissociationActionCfg, it -> it.mapNode);
             this.dumbBatchAcceptable = dumbBatchAcceptableCfg != null && dumbBatchAcceptableCfg.acceptable;
+            this.recursiveCteUsed = recursiveCteUsedCfg != null && recursiveCteUsedCfg.used;
             this.argument = (Argument) rootCfg.argument;
         }
 
@@ -179,6 +201,7 @@ public class DeleteCommandImpl extends AbstractCommandImpl implements DeleteComm
             this.dissociateActionMap = Collections.emptyMap();
             this.dumbBatchAcceptable = sqlClient.getDialect().isBatchDumb();
             this.transactionRequired = sqlClient.isMutationTransactionRequired();
+            this.recursiveCteUsed = false;
             this.argument = null;
         }
 
@@ -234,6 +257,11 @@ public class DeleteCommandImpl extends AbstractCommandImpl implements DeleteComm
             return transactionRequired;
         }
 
+        @Override
+        public boolean isRecursiveCteUsed() {
+            return recursiveCteUsed;
+        }
+
         @Override
         public Triggers getTriggers() {
             return sqlClient.getTriggerType() == TriggerType.BINLOG_ONLY ?
@@ -280,4 +308,9 @@ public class DeleteCommandImpl extends AbstractCommandImpl implements DeleteComm
     public DeleteCommand setTransactionRequired(boolean required) {
         return new DeleteCommandImpl(new TransactionRequiredCfg(cfg, required));
     }
+
+    @Override
+    public DeleteCommand setRecursiveCteUsed(boolean used) {
+        return new DeleteCommandImpl(new RecursiveCteUsedCfg(cfg, used));
+    }
 }
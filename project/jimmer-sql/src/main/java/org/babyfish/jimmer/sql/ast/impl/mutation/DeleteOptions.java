@@ -27,6 +27,12 @@ public interface DeleteOptions {
 
     boolean isTransactionRequired();
 
+    /**
+     * Whether the descendants of self-referencing tree
+     * can be deleted by recursive CTE without querying them
+     */
+    boolean isRecursiveCteUsed();
+
     Triggers getTriggers();
 
     default DeleteOptions toMode(DeleteMode mode) {
@@ -92,6 +98,11 @@ class DeleteOptionsWrapper implements DeleteOptions {
         return false;
     }
 
+    @Override
+    public boolean isRecursiveCteUsed() {
+        return raw.isRecursiveCteUsed();
+    }
+
     @Override
     public Triggers getTriggers() {
         return raw.getTriggers();
@@ -166,6 +177,11 @@ class DetachOptions implements DeleteOptions {
         return saveOptions.isTransactionRequired();
     }
 
+    @Override
+    public boolean isRecursiveCteUsed() {
+        return false;
+    }
+
     @Override
     public Triggers getTriggers() {
         return saveOptions.getTriggers();
@@ -411,6 +411,26 @@ public class Deleter {
                 return false;
             }
 
+            @Override
+            public boolean isBulkInsertEnabled() {
+                return false;
+            }
+
+            @Override
+            public boolean isIdAndKeyLookupMerged() {
+                return false;
+            }
+
+            @Override
+            public boolean isLookupSkipped() {
+                return false;
+            }
+
+            @Override
+            public boolean isChangedPropsOnly() {
+                return false;
+            }
+
             @Override
             public boolean isConstraintViolationTranslatable() {
                 return getSqlClient().isConstraintViolationTranslatable();
@@ -198,7 +198,8 @@ class MiddleTableOperator extends AbstractAssociationOperator {
     }
 
     public final void merge(IdPairs idPairs) {
-        if (queryReason == QueryReason.NONE) {
+        // The query reasons about deletion do not affect insertion
+        if (isUpsertUsed()) {
             int[] rowCounts = connectIfNecessary(idPairs);
             int index = 0;
             MutationTrigger trigger = this.trigger;
@@ -241,9 +242,15 @@ class MiddleTableOperator extends AbstractAssociationOperator {
 
     public final void replace(IdPairs.Retain idPairs) {
         MutationTrigger trigger = this.trigger;
-        if (trigger == null && isUpsertUsed()) {
+        if (trigger == null) {
+            /*
+             * Set-based replacement: the pairs which are not retained are
+             * deleted by one statement, so they are never loaded into memory.
+             * The retained pairs are inserted by upsert if it is supported,
+             * otherwise, only the retained pairs are queried to find the absent ones.
+             */
             disconnectExcept(idPairs);
-            connectIfNecessary(idPairs);
+            merge(idPairs);
             return;
         }
         Collection<Tuple2<Object, Object>> idTuples = idPairs.tuples();
@@ -10,6 +10,7 @@ import org.babyfish.jimmer.sql.ast.impl.query.MutableRootQueryImpl;
 import org.babyfish.jimmer.sql.ast.impl.query.UseTableVisitor;
 import org.babyfish.jimmer.sql.ast.impl.table.StatementContext;
 import org.babyfish.jimmer.sql.ast.impl.table.TableImplementor;
+import org.babyfish.jimmer.sql.ast.impl.util.AsyncExecutions;
 import org.babyfish.jimmer.sql.ast.mutation.DeleteMode;
 import org.babyfish.jimmer.sql.ast.mutation.MutableDelete;
 import org.babyfish.jimmer.sql.ast.mutation.QueryReason;
@@ -25,6 +26,7 @@ import org.babyfish.jimmer.sql.runtime.*;
 
 import java.sql.Connection;
 import java.util.*;
+import java.util.concurrent.CompletionStage;
 
 public class MutableDeleteImpl
         extends AbstractMutableStatementImpl
@@ -106,6 +108,11 @@ public class MutableDeleteImpl
                 .execute(con, this::executeImpl);
     }
 
+    @Override
+    public CompletionStage<Integer> executeAsync(Connection con) {
+        return AsyncExecutions.supplyAsync(getSqlClient(), () -> execute(con));
+    }
+
     @Override
     protected void onFrozen(AstContext astContext) {
         deleteQuery.freeze(astContext);
@@ -11,6 +11,7 @@ import org.babyfish.jimmer.sql.ast.impl.*;
 import org.babyfish.jimmer.sql.ast.impl.query.FilterLevel;
 import org.babyfish.jimmer.sql.ast.impl.query.UseTableVisitor;
 import org.babyfish.jimmer.sql.ast.impl.table.*;
+import org.babyfish.jimmer.sql.ast.impl.util.AsyncExecutions;
 import org.babyfish.jimmer.sql.ast.mutation.MutableUpdate;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.ast.table.spi.PropExpressionImplementor;
@@ -28,6 +29,7 @@ import org.jetbrains.annotations.Nullable;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.util.*;
+import java.util.concurrent.CompletionStage;
 
 public class MutableUpdateImpl
         extends AbstractMutableStatementImpl
@@ -131,6 +133,11 @@ public class MutableUpdateImpl
                 .execute(con, this::executeImpl);
     }
 
+    @Override
+    public CompletionStage<Integer> executeAsync(Connection con) {
+        return AsyncExecutions.supplyAsync(getSqlClient(), () -> execute(con));
+    }
+
     private int executeImpl(Connection con) {
 
         if (assignmentMap.isEmpty()) {
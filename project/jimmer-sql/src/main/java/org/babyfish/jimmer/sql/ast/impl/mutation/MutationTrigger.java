@@ -10,6 +10,7 @@ import org.babyfish.jimmer.runtime.DraftSpi;
 import org.babyfish.jimmer.runtime.ImmutableSpi;
 import org.babyfish.jimmer.runtime.Internal;
 import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.cache.CachesImpl;
 import org.babyfish.jimmer.sql.event.Triggers;
 
 import java.sql.Connection;
@@ -53,24 +54,28 @@ public class MutationTrigger {
     public void submit(JSqlClient sqlClient, Connection con) {
         if (!changedList.isEmpty()) {
             Triggers triggers = sqlClient.getTriggers(true);
-            for (MutationTrigger.ChangedData changedData : this.changedList) {
-                if (changedData instanceof MutationTrigger.EntityChangedData) {
-                    MutationTrigger.EntityChangedData data = (MutationTrigger.EntityChangedData) changedData;
-                    Internal.requiresNewDraftContext(ctx -> {
-                        triggers.fireEntityTableChange(
-                                toLonely((ImmutableSpi) data.oldEntity),
-                                toLonely((ImmutableSpi) data.newEntity),
-                                con
-                        );
-                        return null;
-                    });
+            ((CachesImpl) sqlClient.getCaches()).coalesceQueryCacheInvalidations(() -> fire(triggers, con));
+        }
+    }
+
+    private void fire(Triggers triggers, Connection con) {
+        for (MutationTrigger.ChangedData changedData : this.changedList) {
+            if (changedData instanceof MutationTrigger.EntityChangedData) {
+                MutationTrigger.EntityChangedData data = (MutationTrigger.EntityChangedData) changedData;
+                Internal.requiresNewDraftContext(ctx -> {
+                    triggers.fireEntityTableChange(
+                            toLonely((ImmutableSpi) data.oldEntity),
+                            toLonely((ImmutableSpi) data.newEntity),
+                            con
+                    );
+                    return null;
+                });
+            } else {
+                MutationTrigger.AssociationChangedData data = (MutationTrigger.AssociationChangedData) changedData;
+                if (data.detachedTargetId == null) {
+                    triggers.fireMiddleTableInsert(data.prop, data.sourceId, data.attachedTargetId, con);
                 } else {
-                    MutationTrigger.AssociationChangedData data = (MutationTrigger.AssociationChangedData) changedData;
-                    if (data.detachedTargetId == null) {
-                        triggers.fireMiddleTableInsert(data.prop, data.sourceId, data.attachedTargetId, con);
-                    } else {
-                        triggers.fireMiddleTableDelete(data.prop, data.sourceId, data.detachedTargetId, con);
-                    }
+                    triggers.fireMiddleTableDelete(data.prop, data.sourceId, data.detachedTargetId, con);
                 }
             }
         }
@@ -43,6 +43,9 @@ class Operator {
 
     private static final int[] EMPTY_ROW_COUNTS = new int[0];
 
+    // SQL Server does not accept more than 1000 rows in one `values` clause
+    private static final int MAX_MULTI_VALUES_ROW_COUNT = 1000;
+
     final SaveContext ctx;
 
     Operator(SaveContext ctx) {
@@ -103,6 +106,11 @@ class Operator {
             }
         }
 
+        if (isBulkInsertion(batch, identityIdGenerator, sequenceIdGenerator)) {
+            bulkInsert(batch, defaultGetters, sequenceIdGenerator, userIdGenerator != null);
+            return;
+        }
+
         MetadataStrategy strategy = sqlClient.getMetadataStrategy();
         BatchSqlBuilder builder = new BatchSqlBuilder(
                 sqlClient,
@@ -145,7 +153,9 @@ class Operator {
                 builder.separator().sql(defaultGetter);
             }
         }
-        builder.leave().sql(" values").enter(BatchSqlBuilder.ScopeType.TUPLE);
+        builder.leave().sql(" values");
+        int rowIndex = builder.length();
+        builder.enter(BatchSqlBuilder.ScopeType.TUPLE);
         if (sequenceIdGenerator != null) {
             builder.separator()
                     .sql("(")
@@ -171,8 +181,10 @@ class Operator {
             }
         }
         builder.leave();
-        if ((identityIdGenerator != null || sequenceIdGenerator != null) &&
-            sqlClient.getDialect().isInsertedIdReturningRequired()) {
+        int rowEndIndex = builder.length();
+        boolean idGenerated = identityIdGenerator != null || sequenceIdGenerator != null;
+        boolean multiValues = isMultiValuesInsertion(batch, idGenerated);
+        if (idGenerated && sqlClient.getDialect().isInsertedIdReturningRequired()) {
             builder.sql(" returning ")
                     .sql(
                             batch.shape().getType().getIdProp()
@@ -187,7 +199,18 @@ class Operator {
                 trigger.modifyEntityTable(null, draft);
             }
         }
-        int rowCount = execute(builder, batch, false, false);
+        int rowCount;
+        if (multiValues) {
+            rowCount = executeMultiValuesInsertion(
+                    builder,
+                    rowIndex,
+                    rowEndIndex,
+                    batch,
+                    idGenerated
+            );
+        } else {
+            rowCount = execute(builder, batch, false, false);
+        }
         AffectedRows.add(ctx.affectedRowCountMap, ctx.path.getType(), rowCount);
     }
 
@@ -285,6 +308,18 @@ class Operator {
                 return;
             }
         }
+        if (changedProps != null && ctx.options.isChangedPropsOnly()) {
+            updateChangedProps(
+                    originalIdObjMap,
+                    originalKeyObjMap,
+                    batch,
+                    group,
+                    updatedGetters,
+                    userOptimisticLockPredicate,
+                    versionGetter
+            );
+            return;
+        }
         BatchSqlBuilder builder = new BatchSqlBuilder(
                 sqlClient,
                 batch.entities().size() < 2 || ctx.options.isBatchForbidden()
@@ -358,6 +393,94 @@ class Operator {
         AffectedRows.add(ctx.affectedRowCountMap, ctx.path.getType(), rowCount(rowCounts));
     }
 
+    /**
+     * Only the changed columns are updated, the objects whose
+     * changed properties are same share one batch statement.
+     */
+    private void updateChangedProps(
+            Map<Object, ImmutableSpi> originalIdObjMap,
+            Map<KeyMatcher.Group, Map<Object, ImmutableSpi>> originalKeyObjMap,
+            Batch<DraftSpi> batch,
+            @Nullable KeyMatcher.Group group,
+            List<PropertyGetter> updatedGetters,
+            Predicate userOptimisticLockPredicate,
+            PropertyGetter versionGetter
+    ) {
+        Shape shape = batch.shape();
+        Set<ImmutableProp> keyProps = group != null ? group.getProps() : null;
+        boolean hasOptimisticLock = userOptimisticLockPredicate != null || versionGetter != null;
+        Set<ImmutableProp> updatedProps = new LinkedHashSet<>();
+        for (PropertyGetter getter : updatedGetters) {
+            updatedProps.add(getter.prop());
+        }
+        Map<Object, ImmutableSpi> subMap = keyProps != null && originalKeyObjMap != null ?
+                originalKeyObjMap.getOrDefault(group, Collections.emptyMap()) :
+                Collections.emptyMap();
+        PropId idPropId = ctx.path.getType().getIdProp().getId();
+        MutationTrigger trigger = ctx.trigger;
+        Map<Set<ImmutableProp>, EntityCollection<DraftSpi>> entitiesMap = new LinkedHashMap<>();
+        for (DraftSpi draft : batch.entities()) {
+            ImmutableSpi oldRow;
+            if (keyProps != null) {
+                oldRow = subMap.get(Keys.keyOf(draft, keyProps));
+            } else {
+                oldRow = originalIdObjMap != null ? originalIdObjMap.get(draft.__get(idPropId)) : null;
+            }
+            Set<ImmutableProp> changedProps = changedProps(updatedProps, oldRow, draft);
+            if (changedProps.isEmpty() && !hasOptimisticLock) {
+                continue;
+            }
+            if (trigger != null) {
+                trigger.modifyEntityTable(oldRow, draft);
+            }
+            entitiesMap.computeIfAbsent(changedProps, it -> new EntityList<>()).add(draft);
+        }
+        JSqlClientImplementor sqlClient = ctx.options.getSqlClient();
+        PropertyGetter idGetter = Shape.fullOf(sqlClient, shape.getType().getJavaClass()).getIdGetters().get(0);
+        int rowCount = 0;
+        for (Map.Entry<Set<ImmutableProp>, EntityCollection<DraftSpi>> e : entitiesMap.entrySet()) {
+            Set<ImmutableProp> changedProps = e.getKey();
+            EntityCollection<DraftSpi> entities = e.getValue();
+            List<PropertyGetter> changedGetters = new ArrayList<>();
+            for (PropertyGetter getter : updatedGetters) {
+                if (changedProps.contains(getter.prop())) {
+                    changedGetters.add(getter);
+                }
+            }
+            BatchSqlBuilder builder = new BatchSqlBuilder(
+                    sqlClient,
+                    entities.size() < 2 || ctx.options.isBatchForbidden()
+            );
+            Dialect.UpdateContext updateContext = new UpdateContextImpl(
+                    builder,
+                    shape,
+                    idGetter,
+                    keyProps,
+                    changedGetters,
+                    userOptimisticLockPredicate,
+                    versionGetter
+            );
+            sqlClient.getDialect().update(updateContext);
+            int[] rowCounts = executeAndGetRowCounts(
+                    builder,
+                    shape,
+                    entities,
+                    true,
+                    false
+            );
+            if (hasOptimisticLock) {
+                int index = 0;
+                for (DraftSpi row : entities) {
+                    if (rowCounts[index++] == 0) {
+                        ctx.throwOptimisticLockError(row);
+                    }
+                }
+            }
+            rowCount += rowCount(rowCounts);
+        }
+        AffectedRows.add(ctx.affectedRowCountMap, ctx.path.getType(), rowCount);
+    }
+
     @SuppressWarnings("unchecked")
     private void fillIds(
             QueryReason queryReason,
@@ -578,10 +701,18 @@ class Operator {
         if (oldRow == null) {
             return true;
         }
-        boolean changed = false;
+        return !changedProps(props, oldRow, newRow).isEmpty();
+    }
+
+    private Set<ImmutableProp> changedProps(Set<ImmutableProp> props, ImmutableSpi oldRow, ImmutableSpi newRow) {
+        if (oldRow == null) {
+            return props;
+        }
+        Set<ImmutableProp> changedProps = null;
         for (ImmutableProp prop : props) {
             PropId propId = prop.getId();
             boolean isFrozenBackReference = ctx.backReferenceFrozen && prop == ctx.backReferenceProp;
+            boolean changed;
             if (!oldRow.__isLoaded(propId)) {
                 if (isFrozenBackReference) {
                     ctx.throwUnloadedFrozenBackReference(ctx.backReferenceProp);
@@ -590,14 +721,19 @@ class Operator {
             } else {
                 Object oldValue = oldRow.__get(propId);
                 Object newValue = newRow.__get(propId);
-                if (isFrozenBackReference && !Objects.equals(oldValue, newValue)) {
+                changed = !Objects.equals(oldValue, newValue);
+                if (isFrozenBackReference && changed) {
                     ctx.throwTargetIsNotTransferable(newRow);
-                } else if (!changed && !Objects.equals(oldValue, newValue)) {
-                    changed = true;
                 }
             }
+            if (changed) {
+                if (changedProps == null) {
+                    changedProps = new LinkedHashSet<>();
+                }
+                changedProps.add(prop);
+            }
         }
-        return changed;
+        return changedProps != null ? changedProps : Collections.emptySet();
     }
 
     private int[] executeAndGetRowCounts(
@@ -853,6 +989,320 @@ class Operator {
         }
     }
 
+    private boolean isMultiValuesInsertion(Batch<DraftSpi> batch, boolean idGenerated) {
+        JSqlClientImplementor sqlClient = ctx.options.getSqlClient();
+        if (batch.entities().size() < 2 || !sqlClient.isMultiValuesInsertEnabled()) {
+            return false;
+        }
+        Dialect dialect = sqlClient.getDialect();
+        if (!dialect.isMultiInsertionSupported()) {
+            return false;
+        }
+        return !idGenerated || dialect.isMultiInsertionIdFetchable();
+    }
+
+    /**
+     * Execute `insert into T(...) values(...), (...), ...` statements,
+     * the single row sql built by builder is split by the indices
+     * and its `values` part is repeated for each row.
+     */
+    private int executeMultiValuesInsertion(
+            BatchSqlBuilder builder,
+            int rowIndex,
+            int rowEndIndex,
+            Batch<DraftSpi> batch,
+            boolean idGenerated
+    ) {
+        JSqlClientImplementor sqlClient = ctx.options.getSqlClient();
+        Shape shape = batch.shape();
+        Tuple3<String, BatchSqlBuilder.VariableMapper, ?> tuple = builder.build();
+        String sql = tuple.get_1();
+        BatchSqlBuilder.VariableMapper mapper = tuple.get_2();
+        String prefix = sql.substring(0, rowIndex);
+        String rowSql = sql.substring(rowIndex, rowEndIndex);
+        String suffix = sql.substring(rowEndIndex);
+        Reader<?> idReader = idGenerated ? sqlClient.getReader(ctx.path.getType().getIdProp()) : null;
+        boolean sequenceUsed = idGenerated &&
+                sqlClient.getIdGenerator(ctx.path.getType().getJavaClass()) instanceof SequenceIdGenerator;
+
+        List<EntityCollection.Item<DraftSpi>> items = new ArrayList<>(batch.entities().size());
+        for (EntityCollection.Item<DraftSpi> item : batch.entities().items()) {
+            items.add(item);
+        }
+        int variableCount = mapper.variables(items.get(0).getEntity()).size();
+        int chunkSize = Math.max(
+                1,
+                Math.min(
+                        MAX_MULTI_VALUES_ROW_COUNT,
+                        sqlClient.getDialect().getMaxVariableCount() / Math.max(variableCount, 1)
+                )
+        );
+        int sumRowCount = 0;
+        for (int start = 0; start < items.size(); start += chunkSize) {
+            List<EntityCollection.Item<DraftSpi>> chunk =
+                    items.subList(start, Math.min(start + chunkSize, items.size()));
+            List<DraftSpi> entities = new ArrayList<>(chunk.size());
+            StringBuilder chunkSql = new StringBuilder(prefix);
+            List<Object> variables = new ArrayList<>(variableCount * chunk.size());
+            for (EntityCollection.Item<DraftSpi> item : chunk) {
+                if (!entities.isEmpty()) {
+                    chunkSql.append(", ");
+                }
+                chunkSql.append(rowSql);
+                entities.add(item.getEntity());
+                variables.addAll(mapper.variables(item.getEntity()));
+            }
+            chunkSql.append(suffix);
+            sumRowCount += sqlClient.getExecutor().execute(
+                    new Executor.Args<Integer>(
+                            sqlClient,
+                            ctx.con,
+                            chunkSql.toString(),
+                            variables,
+                            null,
+                            ExecutionPurpose.MUTATE,
+                            ctx.options.getExceptionTranslator(),
+                            (con, sqlText) -> {
+                                if (idReader == null) {
+                                    return con.prepareStatement(sqlText);
+                                }
+                                if (sequenceUsed) {
+                                    return con.prepareStatement(sqlText, new int[]{1});
+                                }
+                                return con.prepareStatement(sqlText, Statement.RETURN_GENERATED_KEYS);
+                            },
+                            (stmt, args) -> {
+                                int rowCount;
+                                List<Object> ids = idReader != null ? new ArrayList<>(chunk.size()) : null;
+                                try {
+                                    Savepoint savepoint = SavepointManager.setIfNeeded(ctx.con, sqlClient);
+                                    try {
+                                        rowCount = stmt.executeUpdate();
+                                    } catch (SQLException ex) {
+                                        SavepointManager.rollback(stmt::getConnection, savepoint);
+                                        throw ex;
+                                    } finally {
+                                        SavepointManager.release(stmt::getConnection, savepoint);
+                                    }
+                                } catch (SQLException ex) {
+                                    int[] rowCounts = new int[entities.size()];
+                                    Arrays.fill(rowCounts, -1);
+                                    Exception translateException = translateException(ex, args, shape, entities, rowCounts, false);
+                                    if (translateException instanceof RuntimeException) {
+                                        throw (RuntimeException) translateException;
+                                    }
+                                    throw new ExecutionException("Cannot execute the DDL statement", translateException);
+                                }
+                                if (ids != null) {
+                                    try (ResultSet rs = stmt.getGeneratedKeys()) {
+                                        while (rs.next()) {
+                                            ids.add(idReader.read(rs, new Reader.Context(null, sqlClient)));
+                                        }
+                                    }
+                                }
+                                int index = 0;
+                                for (EntityCollection.Item<DraftSpi> item : chunk) {
+                                    modifyEntity(
+                                            ids != null && index < ids.size() ? ids.get(index) : null,
+                                            shape,
+                                            item,
+                                            false,
+                                            false,
+                                            1
+                                    );
+                                    index++;
+                                }
+                                return rowCount;
+                            }
+                    )
+            );
+        }
+        return sumRowCount;
+    }
+
+    private boolean isBulkInsertion(
+            Batch<DraftSpi> batch,
+            @Nullable IdentityIdGenerator identityIdGenerator,
+            @Nullable SequenceIdGenerator sequenceIdGenerator
+    ) {
+        if (!ctx.options.isBulkInsertEnabled() ||
+                batch.originalMode() != SaveMode.INSERT_ONLY ||
+                batch.entities().size() < 2 ||
+                identityIdGenerator != null) {
+            return false;
+        }
+        Dialect dialect = ctx.options.getSqlClient().getDialect();
+        if (!dialect.isBulkInsertSupported()) {
+            return false;
+        }
+        return sequenceIdGenerator == null ||
+                dialect.getSelectIdsFromSequenceSql(sequenceIdGenerator.getSequenceName()) != null;
+    }
+
+    /**
+     * Insert rows by the bulk loading protocol of database,
+     * the ids of sequence are allocated by one statement before loading.
+     */
+    private void bulkInsert(
+            Batch<DraftSpi> batch,
+            List<PropertyGetter> defaultGetters,
+            @Nullable SequenceIdGenerator sequenceIdGenerator,
+            boolean userIdGenerated
+    ) {
+        JSqlClientImplementor sqlClient = ctx.options.getSqlClient();
+        Dialect dialect = sqlClient.getDialect();
+        Shape shape = batch.shape();
+        List<EntityCollection.Item<DraftSpi>> items = new ArrayList<>(batch.entities().size());
+        for (EntityCollection.Item<DraftSpi> item : batch.entities().items()) {
+            items.add(item);
+        }
+        if (sequenceIdGenerator != null) {
+            List<Object> ids = allocateSequenceIds(sequenceIdGenerator, items.size());
+            PropId idPropId = ctx.path.getType().getIdProp().getId();
+            for (int i = 0; i < items.size(); i++) {
+                items.get(i).getEntity().__set(idPropId, ids.get(i));
+            }
+        }
+
+        BatchSqlBuilder builder = new BatchSqlBuilder(sqlClient, false);
+        List<String> columnNames = new ArrayList<>();
+        if (sequenceIdGenerator != null || userIdGenerated) {
+            Shape fullShape = Shape.fullOf(sqlClient, shape.getType().getJavaClass());
+            for (PropertyGetter getter : fullShape.getIdGetters()) {
+                columnNames.add(getter.metadata().getColumnName());
+                builder.separator().variable(getter);
+            }
+        }
+        for (PropertyGetter getter : shape.getGetters()) {
+            if (getter.isInsertable(Collections.emptyList(), null)) {
+                columnNames.add(getter.metadata().getColumnName());
+                builder.separator().variable(getter);
+            }
+        }
+        for (PropertyGetter defaultGetter : defaultGetters) {
+            if (defaultGetter.isInsertable(Collections.emptyList(), null)) {
+                columnNames.add(defaultGetter.metadata().getColumnName());
+                builder.separator().defaultVariable(defaultGetter);
+            }
+        }
+        BatchSqlBuilder.VariableMapper mapper = builder.build().get_2();
+        String sql = dialect.getBulkInsertSql(
+                shape.getType().getTableName(sqlClient.getMetadataStrategy()),
+                columnNames
+        );
+
+        MutationTrigger trigger = ctx.trigger;
+        if (trigger != null) {
+            for (EntityCollection.Item<DraftSpi> item : items) {
+                trigger.modifyEntityTable(null, item.getEntity());
+            }
+        }
+        List<DraftSpi> entities = new ArrayList<>(items.size());
+        for (EntityCollection.Item<DraftSpi> item : items) {
+            entities.add(item.getEntity());
+        }
+        long rowCount = sqlClient.getExecutor().execute(
+                new Executor.Args<Long>(
+                        sqlClient,
+                        ctx.con,
+                        sql,
+                        Collections.emptyList(),
+                        null,
+                        ExecutionPurpose.MUTATE,
+                        ctx.options.getExceptionTranslator(),
+                        null,
+                        (stmt, args) -> {
+                            Iterator<DraftSpi> itr = entities.iterator();
+                            Iterator<List<Object>> rows = new Iterator<List<Object>>() {
+                                @Override
+                                public boolean hasNext() {
+                                    return itr.hasNext();
+                                }
+                                @Override
+                                public List<Object> next() {
+                                    List<Object> row = mapper.variables(itr.next());
+                                    for (ListIterator<Object> rowItr = row.listIterator(); rowItr.hasNext(); ) {
+                                        if (rowItr.next() instanceof DbLiteral.DbNull) {
+                                            rowItr.set(null);
+                                        }
+                                    }
+                                    return row;
+                                }
+                            };
+                            try {
+                                Savepoint savepoint = SavepointManager.setIfNeeded(ctx.con, sqlClient);
+                                try {
+                                    return dialect.bulkInsert(stmt.getConnection(), sql, rows, sqlClient);
+                                } catch (SQLException ex) {
+                                    SavepointManager.rollback(stmt::getConnection, savepoint);
+                                    throw ex;
+                                } finally {
+                                    SavepointManager.release(stmt::getConnection, savepoint);
+                                }
+                            } catch (SQLException ex) {
+                                int[] rowCounts = new int[entities.size()];
+                                Arrays.fill(rowCounts, -1);
+                                Exception translateException = translateException(ex, args, shape, entities, rowCounts, false);
+                                if (translateException instanceof RuntimeException) {
+                                    throw (RuntimeException) translateException;
+                                }
+                                throw new ExecutionException("Cannot execute the bulk insertion", translateException);
+                            }
+                        }
+                )
+        );
+        Object[] ids = null;
+        if (sequenceIdGenerator != null) {
+            PropId idPropId = ctx.path.getType().getIdProp().getId();
+            ids = new Object[entities.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = entities.get(i).__get(idPropId);
+            }
+        }
+        int[] rowCounts = new int[entities.size()];
+        Arrays.fill(rowCounts, 1);
+        modifyEntities(ids, shape, batch.entities(), false, false, rowCounts);
+        AffectedRows.add(ctx.affectedRowCountMap, ctx.path.getType(), (int) rowCount);
+    }
+
+    private List<Object> allocateSequenceIds(SequenceIdGenerator sequenceIdGenerator, int count) {
+        JSqlClientImplementor sqlClient = ctx.options.getSqlClient();
+        Reader<?> idReader = sqlClient.getReader(ctx.path.getType().getIdProp());
+        List<Object> ids = sqlClient.getExecutor().execute(
+                new Executor.Args<List<Object>>(
+                        sqlClient,
+                        ctx.con,
+                        sqlClient.getDialect().getSelectIdsFromSequenceSql(sequenceIdGenerator.getSequenceName()),
+                        Collections.singletonList(count),
+                        null,
+                        ExecutionPurpose.MUTATE,
+                        ctx.options.getExceptionTranslator(),
+                        null,
+                        (stmt, args) -> {
+                            List<Object> list = new ArrayList<>(count);
+                            try (ResultSet rs = stmt.executeQuery()) {
+                                while (rs.next()) {
+                                    list.add(idReader.read(rs, new Reader.Context(null, sqlClient)));
+                                }
+                            }
+                            return list;
+                        }
+                )
+        );
+        if (ids.size() != count) {
+            throw new ExecutionException(
+                    "The sequence \"" +
+                            sequenceIdGenerator.getSequenceName() +
+                            "\" returns " +
+                            ids.size() +
+                            " ids, but " +
+                            count +
+                            " ids are required"
+            );
+        }
+        return ids;
+    }
+
     private int execute(
             BatchSqlBuilder builder,
             Batch<DraftSpi> batch,
@@ -875,16 +1325,34 @@ class Operator {
             Shape shape,
             DraftSpi entity,
             boolean updatable
+    ) {
+        return translateException(
+                ex,
+                args,
+                shape,
+                Collections.singletonList(entity),
+                SIMPLE_ILLEGAL_ROW_COUNTS,
+                updatable
+        );
+    }
+
+    private Exception translateException(
+            SQLException ex,
+            Executor.Args<?> args,
+            Shape shape,
+            Collection<? extends DraftSpi> entities,
+            int[] rowCounts,
+            boolean updatable
     ) {
         String state = ex.getSQLState();
         if (state == null || !state.startsWith("23")) {
             return convertFinalException(ex, null);
         }
         EntityInvestigator investigator = new EntityInvestigator(
-                SIMPLE_ILLEGAL_ROW_COUNTS,
+                rowCounts,
                 this.ctx.investigator(ctx.options.getSqlClient()),
                 shape,
-                Collections.singletonList(entity),
+                entities,
                 updatable
         );
         Exception investigateEx = investigator.investigate();
@@ -124,6 +124,8 @@ abstract class AbstractPreHandler implements PreHandler {
 
     private ShapedEntityMap<DraftSpi> associationMap;
 
+    private Set<DraftSpi> lookupSkippedDrafts;
+
     private boolean resolved;
 
     @SuppressWarnings("unchecked")
@@ -258,6 +260,80 @@ abstract class AbstractPreHandler implements PreHandler {
         return keyObjMap;
     }
 
+    /**
+     * If the id and key lookups are merged, find the old rows of
+     * {@link #findOldMapByIds(QueryReason)} and
+     * {@link #findOldMapByKeys(QueryReason)} by one query
+     * if both of them are required or there are several key groups,
+     * so that the later calls of them do not query the database.
+     *
+     * <p>Only the lookups of this pre-handler are merged,
+     * and only when they are required for the same reason.</p>
+     */
+    final void prefetchOldMaps() {
+        if (!ctx.options.isIdAndKeyLookupMerged() || idObjMap != null || keyObjMap != null) {
+            return;
+        }
+        QueryReason idQueryReason = draftsWithId.isEmpty() ?
+                QueryReason.NONE :
+                queryReason(true, draftsWithId);
+        QueryReason keyQueryReason = draftsWithKey.isEmpty() ?
+                QueryReason.NONE :
+                queryReason(false, draftsWithKey);
+        if (keyQueryReason == QueryReason.NONE) {
+            return;
+        }
+        if (idQueryReason != QueryReason.NONE && idQueryReason != keyQueryReason) {
+            // The merged query can only be reported by one reason
+            return;
+        }
+        Map<KeyMatcher.Group, Set<Object>> keyMultiMap = new LinkedHashMap<>();
+        for (DraftSpi draft : draftsWithKey) {
+            KeyMatcher.Group group = keyMatcher.match(draft);
+            assert group != null;
+            keyMultiMap
+                    .computeIfAbsent(group, it -> new LinkedHashSet<>())
+                    .add(Keys.keyOf(draft, group.getProps()));
+        }
+        Set<Object> ids = new LinkedHashSet<>();
+        if (idQueryReason != QueryReason.NONE) {
+            PropId idPropId = idProp.getId();
+            for (DraftSpi draft : draftsWithId) {
+                ids.add(draft.__get(idPropId));
+            }
+        }
+        if (ids.isEmpty() && keyMultiMap.size() < 2) {
+            // Only one query is required, nothing to merge
+            return;
+        }
+        List<ImmutableSpi> rows = Rows.findByIdsOrKeys(
+                ctx,
+                keyQueryReason,
+                originalFetcher(),
+                ids,
+                keyMultiMap
+        );
+        PropId idPropId = idProp.getId();
+        Map<Object, ImmutableSpi> idObjMap = new LinkedHashMap<>();
+        Map<KeyMatcher.Group, List<ImmutableSpi>> entityMap = new LinkedHashMap<>();
+        for (ImmutableSpi row : rows) {
+            Object id = row.__get(idPropId);
+            if (ids.contains(id)) {
+                idObjMap.put(id, row);
+            }
+            for (Map.Entry<KeyMatcher.Group, Set<Object>> e : keyMultiMap.entrySet()) {
+                KeyMatcher.Group group = e.getKey();
+                if (e.getValue().contains(Keys.keyOf(row, group.getProps()))) {
+                    entityMap.computeIfAbsent(group, it -> new ArrayList<>()).add(row);
+                    // Same as `findOldMapByKeys`
+                    idObjMap.put(id, row);
+                }
+            }
+        }
+        this.keyObjMap = Rows.toKeyMap(ctx, entityMap);
+        this.idObjMap = idObjMap;
+    }
+
     boolean isWildObjectAcceptable() {
         return false;
     }
@@ -284,21 +360,49 @@ abstract class AbstractPreHandler implements PreHandler {
             if (ctx.backReferenceFrozen) {
                 fetcherImplementor = fetcherImplementor.add(ctx.backReferenceProp.getName(), IdOnlyFetchType.RAW);
             }
+            if (ctx.options.isChangedPropsOnly()) {
+                // Only the columns which may be updated need to be compared
+                Set<ImmutableProp> loadedProps = new LinkedHashSet<>();
+                collectColumnProps(draftsWithId, loadedProps);
+                collectColumnProps(draftsWithKey, loadedProps);
+                for (ImmutableProp prop : loadedProps) {
+                    if (prop.isReference(TargetLevel.PERSISTENT)) {
+                        fetcherImplementor = fetcherImplementor.add(prop.getName(), IdOnlyFetchType.RAW);
+                    } else {
+                        fetcherImplementor = fetcherImplementor.add(prop.getName());
+                    }
+                }
+            }
             this.originalFetcher = oldFetcher = fetcherImplementor;
         }
         return oldFetcher;
     }
 
+    private static void collectColumnProps(List<DraftSpi> drafts, Set<ImmutableProp> props) {
+        for (DraftSpi draft : drafts) {
+            for (ImmutableProp prop : draft.__type().getProps().values()) {
+                if (!prop.isId() && prop.isColumnDefinition() && draft.__isLoaded(prop.getId())) {
+                    props.add(prop);
+                }
+            }
+        }
+    }
+
     final QueryReason queryReason(boolean hasId, Collection<DraftSpi> drafts) {
+        // Interceptor accepts null old objects if the ids of objects are trusted
+        boolean lookupSkipped = hasId && isIdLookupSkipped();
         if (ctx.trigger != null) {
             return QueryReason.TRIGGER;
         }
         if (ctx.backReferenceFrozen) {
             return QueryReason.TARGET_NOT_TRANSFERABLE;
         }
-        if (interceptor != null) {
+        if (interceptor != null && !lookupSkipped) {
             return QueryReason.INTERCEPTOR;
         }
+        if (ctx.options.isChangedPropsOnly() && !lookupSkipped) {
+            return QueryReason.CHANGED_PROPS_ONLY;
+        }
         JSqlClientImplementor sqlClient = ctx.options.getSqlClient();
         SaveMode saveMode = ctx.options.getMode();
         boolean clearMode = saveMode == SaveMode.INSERT_ONLY || saveMode == SaveMode.UPDATE_ONLY;
@@ -422,7 +526,9 @@ abstract class AbstractPreHandler implements PreHandler {
             if (item.getState().isKeyOnly() && ctx.options.isKeyOnlyAsReference(ctx.path.getProp())) {
                 continue;
             }
-            if (item.getOriginal() == null && ctx.options.getMode() != SaveMode.UPDATE_ONLY) {
+            if (item.getOriginal() == null &&
+                    ctx.options.getMode() != SaveMode.UPDATE_ONLY &&
+                    !isLookupSkipped(item.getDraft())) {
                 DraftSpi draft = item.getDraft();
                 assignId(draft);
                 assignVersion(draft);
@@ -476,6 +582,44 @@ abstract class AbstractPreHandler implements PreHandler {
         }
     }
 
+    /**
+     * The existing rows of these drafts are not queried because of
+     * {@link SaveOptions#isLookupSkipped()}, they may be inserted or updated,
+     * so the interceptor is called with null original objects
+     * and the default values for insertion are not assigned.
+     */
+    final void addLookupSkippedItems(
+            List<DraftInterceptor.Item<Object, DraftSpi>> items,
+            Collection<DraftSpi> drafts
+    ) {
+        if (interceptor == null) {
+            return;
+        }
+        Set<DraftSpi> lookupSkippedDrafts = this.lookupSkippedDrafts;
+        if (lookupSkippedDrafts == null) {
+            this.lookupSkippedDrafts = lookupSkippedDrafts =
+                    Collections.newSetFromMap(new IdentityHashMap<>());
+        }
+        for (DraftSpi draft : drafts) {
+            lookupSkippedDrafts.add(draft);
+            items.add(newItem(draft, null));
+        }
+    }
+
+    /**
+     * {@link SaveOptions#isLookupSkipped()} is ignored if there is a trigger,
+     * because the trigger, and the caches invalidated by it, must know
+     * whether each object is inserted or updated and what its old values are.
+     */
+    final boolean isIdLookupSkipped() {
+        return ctx.options.isLookupSkipped() && ctx.trigger == null;
+    }
+
+    private boolean isLookupSkipped(DraftSpi draft) {
+        Set<DraftSpi> lookupSkippedDrafts = this.lookupSkippedDrafts;
+        return lookupSkippedDrafts != null && lookupSkippedDrafts.contains(draft);
+    }
+
     private void assignId(DraftSpi draft) {
         PropId idPropId = idProp.getId();
         if (draft.__isLoaded(idPropId)) {
@@ -817,6 +961,8 @@ class UpdatePreHandler extends AbstractPreHandler {
     @Override
     void onResolve() {
 
+        prefetchOldMaps();
+
         List<DraftInterceptor.Item<Object, DraftSpi>> items = new ArrayList<>(
                 draftsWithId.size() + draftsWithKey.size()
         );
@@ -838,6 +984,8 @@ class UpdatePreHandler extends AbstractPreHandler {
                         itr.remove();
                     }
                 }
+            } else if (isIdLookupSkipped()) {
+                addLookupSkippedItems(items, draftsWithId);
             }
         }
 
@@ -910,10 +1058,13 @@ class UpsertPreHandler extends AbstractPreHandler {
     @Override
     void onResolve() {
 
+        prefetchOldMaps();
+
         PropId idPropId = ctx.path.getType().getIdProp().getId();
         List<DraftSpi> insertedList = null;
         List<DraftSpi> updatedList = null;
         List<DraftSpi> updatedWithoutKeyList = null;
+        boolean idLookupSkipped = false;
 
         List<DraftInterceptor.Item<Object, DraftSpi>> items = new ArrayList<>(
                 (draftsWithNothing != null ? draftsWithNothing.size() : 0)+
@@ -946,6 +1097,9 @@ class UpsertPreHandler extends AbstractPreHandler {
                         items.add(newItem(draft, original));
                     }
                 }
+            } else if (isIdLookupSkipped()) {
+                idLookupSkipped = true;
+                addLookupSkippedItems(items, draftsWithId);
             }
         }
 
@@ -989,20 +1143,40 @@ class UpsertPreHandler extends AbstractPreHandler {
                     ignoreUpdate ? SaveMode.INSERT_IF_ABSENT : SaveMode.UPSERT,
                     SaveMode.UPSERT
             );
+        } else if (idLookupSkipped) {
+            // The objects with keys are queried, but the objects with ids are not
+            this.updatedMap = ignoreUpdate ?
+                    ShapedEntityMap.empty() :
+                    createUpdatedMap(updatedList, updatedWithoutKeyList);
+            this.mergedMap = createEntityMap(
+                    null,
+                    draftsWithId,
+                    null,
+                    ignoreUpdate ? SaveMode.INSERT_IF_ABSENT : SaveMode.UPSERT,
+                    SaveMode.UPSERT
+            );
         } else if (ignoreUpdate) {
             this.updatedMap = ShapedEntityMap.empty();
             this.mergedMap = ShapedEntityMap.empty();
         } else {
-            this.updatedMap = createEntityMap(null, updatedList, null, SaveMode.UPDATE_ONLY, SaveMode.UPSERT);
-            if (updatedWithoutKeyList != null && !updatedWithoutKeyList.isEmpty()) {
-                ShapedEntityMap<DraftSpi> updatedMap = this.updatedMap;
-                for (DraftSpi draft : updatedWithoutKeyList) {
-                    updatedMap.add(draft, true);
-                }
-            }
+            this.updatedMap = createUpdatedMap(updatedList, updatedWithoutKeyList);
             this.mergedMap = ShapedEntityMap.empty();
         }
     }
+
+    private ShapedEntityMap<DraftSpi> createUpdatedMap(
+            List<DraftSpi> updatedList,
+            List<DraftSpi> updatedWithoutKeyList
+    ) {
+        ShapedEntityMap<DraftSpi> updatedMap =
+                createEntityMap(null, updatedList, null, SaveMode.UPDATE_ONLY, SaveMode.UPSERT);
+        if (updatedWithoutKeyList != null && !updatedWithoutKeyList.isEmpty()) {
+            for (DraftSpi draft : updatedWithoutKeyList) {
+                updatedMap.add(draft, true);
+            }
+        }
+        return updatedMap;
+    }
 }
 
 class NonIdempotentUpsertHandler extends UpsertPreHandler {
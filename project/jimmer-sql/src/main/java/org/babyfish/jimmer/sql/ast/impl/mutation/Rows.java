@@ -4,6 +4,7 @@ import org.babyfish.jimmer.meta.*;
 import org.babyfish.jimmer.runtime.ImmutableSpi;
 import org.babyfish.jimmer.runtime.Internal;
 import org.babyfish.jimmer.sql.ast.Expression;
+import org.babyfish.jimmer.sql.ast.Predicate;
 import org.babyfish.jimmer.sql.ast.impl.query.FilterLevel;
 import org.babyfish.jimmer.sql.ast.impl.query.Queries;
 import org.babyfish.jimmer.sql.ast.mutation.QueryReason;
@@ -90,6 +91,13 @@ class Rows {
                 rows,
                 fixedGroup
         );
+        return toKeyMap(ctx, entityMap);
+    }
+
+    static Map<KeyMatcher.Group, Map<Object, ImmutableSpi>> toKeyMap(
+            SaveContext ctx,
+            Map<KeyMatcher.Group, List<ImmutableSpi>> entityMap
+    ) {
         if (entityMap.isEmpty()) {
             return new HashMap<>();
         }
@@ -97,7 +105,7 @@ class Rows {
         for (Map.Entry<KeyMatcher.Group, List<ImmutableSpi>> e : entityMap.entrySet()) {
             KeyMatcher.Group group = e.getKey();
             List<ImmutableSpi> spis = e.getValue();
-            Map<Object, ImmutableSpi> keyMap = new LinkedHashMap<>((rows.size() * 4 + 2) / 3);
+            Map<Object, ImmutableSpi> keyMap = new LinkedHashMap<>((spis.size() * 4 + 2) / 3);
             for (ImmutableSpi spi : spis) {
                 Object key = Keys.keyOf(spi, group.getProps());
                 ImmutableSpi conflictEntity = keyMap.put(key, spi);
@@ -195,6 +203,30 @@ class Rows {
         return resultMap;
     }
 
+    /**
+     * Find the rows matched by ids or any key group by one query,
+     * it is used when the id and key lookups are merged to replace the
+     * separated queries of {@link #findByIds} and {@link #findByKeys}.
+     */
+    static List<ImmutableSpi> findByIdsOrKeys(
+            SaveContext ctx,
+            QueryReason queryReason,
+            Fetcher<ImmutableSpi> fetcher,
+            Set<Object> ids,
+            Map<KeyMatcher.Group, Set<Object>> keyMultiMap
+    ) {
+        return findRows(ctx, queryReason, fetcher, (q, t) -> {
+            List<Predicate> predicates = new ArrayList<>(keyMultiMap.size() + 1);
+            if (!ids.isEmpty()) {
+                predicates.add(t.getId().in(ids));
+            }
+            for (Map.Entry<KeyMatcher.Group, Set<Object>> e : keyMultiMap.entrySet()) {
+                predicates.add(keyExpression(t, e.getKey().getProps()).nullableIn(e.getValue()));
+            }
+            q.where(Predicate.or(predicates.toArray(new Predicate[0])));
+        });
+    }
+
     @SuppressWarnings("unchecked")
     static List<ImmutableSpi> findRows(
             SaveContext ctx,
@@ -258,29 +290,29 @@ class Rows {
             Set<Object> keys
     ) {
         return findRows(ctx, queryReason, fetcher, (q, t) -> {
-            Expression<Object> keyExpr;
-            if (keyProps.size() == 1) {
-                ImmutableProp prop = keyProps.iterator().next();
-                if (prop.isReference(TargetLevel.PERSISTENT)) {
-                    keyExpr = t.getAssociatedId(prop);
-                } else {
-                    keyExpr = t.get(prop);
-                }
+            q.where(keyExpression(t, keyProps).nullableIn(keys));
+        });
+    }
+
+    private static Expression<Object> keyExpression(Table<?> t, Set<ImmutableProp> keyProps) {
+        if (keyProps.size() == 1) {
+            ImmutableProp prop = keyProps.iterator().next();
+            if (prop.isReference(TargetLevel.PERSISTENT)) {
+                return t.getAssociatedId(prop);
+            }
+            return t.get(prop);
+        }
+        Expression<?>[] arr = new Expression[keyProps.size()];
+        int index = 0;
+        for (ImmutableProp keyProp : keyProps) {
+            Expression<Object> expr;
+            if (keyProp.isReference(TargetLevel.PERSISTENT)) {
+                expr = t.getAssociatedId(keyProp);
             } else {
-                Expression<?>[] arr = new Expression[keyProps.size()];
-                int index = 0;
-                for (ImmutableProp keyProp : keyProps) {
-                    Expression<Object> expr;
-                    if (keyProp.isReference(TargetLevel.PERSISTENT)) {
-                        expr = t.getAssociatedId(keyProp);
-                    } else {
-                        expr = t.get(keyProp);
-                    }
-                    arr[index++] = expr;
-                }
-                keyExpr = Tuples.expressionOf(arr);
+                expr = t.get(keyProp);
             }
-            q.where(keyExpr.nullableIn(keys));
-        });
+            arr[index++] = expr;
+        }
+        return Tuples.expressionOf(arr);
     }
 }
@@ -52,6 +52,14 @@ public interface SaveOptions {
 
     boolean isBatchForbidden();
 
+    boolean isBulkInsertEnabled();
+
+    boolean isIdAndKeyLookupMerged();
+
+    boolean isLookupSkipped();
+
+    boolean isChangedPropsOnly();
+
     boolean isConstraintViolationTranslatable();
 
     @Nullable
@@ -172,6 +180,26 @@ abstract class AbstractSaveOptionsWrapper implements SaveOptions {
         return raw.isBatchForbidden();
     }
 
+    @Override
+    public boolean isBulkInsertEnabled() {
+        return raw.isBulkInsertEnabled();
+    }
+
+    @Override
+    public boolean isIdAndKeyLookupMerged() {
+        return raw.isIdAndKeyLookupMerged();
+    }
+
+    @Override
+    public boolean isLookupSkipped() {
+        return raw.isLookupSkipped();
+    }
+
+    @Override
+    public boolean isChangedPropsOnly() {
+        return raw.isChangedPropsOnly();
+    }
+
     @Override
     public boolean isConstraintViolationTranslatable() {
         return raw.isConstraintViolationTranslatable();
@@ -6,6 +6,7 @@ import org.babyfish.jimmer.runtime.DraftSpi;
 import org.babyfish.jimmer.runtime.ImmutableSpi;
 import org.babyfish.jimmer.sql.DissociateAction;
 import org.babyfish.jimmer.sql.TargetTransferMode;
+import org.babyfish.jimmer.sql.ast.impl.util.AsyncExecutions;
 import org.babyfish.jimmer.sql.ast.mutation.*;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.runtime.ExceptionTranslator;
@@ -14,6 +15,7 @@ import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 
 import java.sql.Connection;
 import java.util.Arrays;
+import java.util.concurrent.CompletionStage;
 
 public class SimpleEntitySaveCommandImpl<E>
         extends AbstractEntitySaveCommandImpl
@@ -39,6 +41,12 @@ public class SimpleEntitySaveCommandImpl<E>
                 .execute(con == null ? options.getConnection() : con, this::executeImpl);
     }
 
+    @Override
+    public CompletionStage<SimpleSaveResult<E>> executeAsync(Connection con) {
+        SaveOptions options = options();
+        return AsyncExecutions.supplyAsync(options.getSqlClient(), () -> execute(con));
+    }
+
     @SuppressWarnings("unchecked")
     private SimpleSaveResult<E> executeImpl(Connection con) {
 
@@ -197,6 +205,26 @@ public class SimpleEntitySaveCommandImpl<E>
         return new SimpleEntitySaveCommandImpl<>(new DumbBatchAcceptableCfg(cfg, acceptable));
     }
 
+    @Override
+    public SimpleEntitySaveCommand<E> setBulkInsertEnabled(boolean enabled) {
+        return new SimpleEntitySaveCommandImpl<>(new BulkInsertCfg(cfg, enabled));
+    }
+
+    @Override
+    public SimpleEntitySaveCommand<E> setIdAndKeyLookupMerged(boolean merged) {
+        return new SimpleEntitySaveCommandImpl<>(new IdAndKeyLookupMergedCfg(cfg, merged));
+    }
+
+    @Override
+    public SimpleEntitySaveCommand<E> setLookupSkipped(boolean skipped) {
+        return new SimpleEntitySaveCommandImpl<>(new LookupSkippedCfg(cfg, skipped));
+    }
+
+    @Override
+    public SimpleEntitySaveCommand<E> setChangedPropsOnly(boolean changedPropsOnly) {
+        return new SimpleEntitySaveCommandImpl<>(new ChangedPropsOnlyCfg(cfg, changedPropsOnly));
+    }
+
     @Override
     public SimpleEntitySaveCommand<E> setConstraintViolationTranslatable(boolean transferable) {
         return new SimpleEntitySaveCommandImpl<>(new ConstraintViolationTranslatableCfg(cfg, transferable));
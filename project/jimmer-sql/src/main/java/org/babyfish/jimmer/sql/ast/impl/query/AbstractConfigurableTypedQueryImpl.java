@@ -9,6 +9,7 @@ import org.babyfish.jimmer.sql.ast.impl.render.AbstractSqlBuilder;
 import org.babyfish.jimmer.sql.ast.impl.table.TableImplementor;
 import org.babyfish.jimmer.sql.ast.impl.table.TableProxies;
 import org.babyfish.jimmer.sql.ast.impl.table.TableSelection;
+import org.babyfish.jimmer.sql.ast.query.Order;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.ast.table.spi.PropExpressionImplementor;
 import org.babyfish.jimmer.sql.dialect.OracleDialect;
@@ -68,6 +69,11 @@ abstract class AbstractConfigurableTypedQueryImpl implements TypedQueryImplement
                 for (Selection<?> selection : data.selections) {
                     Ast.from(selection, visitor.getAstContext()).accept(visitor);
                 }
+                if (data.seeker != null) {
+                    for (Order order : data.seeker.orders) {
+                        Ast.from(order.getExpression(), visitor.getAstContext()).accept(visitor);
+                    }
+                }
             }
         } finally {
             astContext.popStatement();
@@ -162,9 +168,20 @@ abstract class AbstractConfigurableTypedQueryImpl implements TypedQueryImplement
                     }
                 }
             }
+            if (data.seeker != null) {
+                for (Order order : data.seeker.orders) {
+                    builder.separator();
+                    Ast ast = Ast.from(order.getExpression(), builder.getAstContext());
+                    if (ast instanceof PropExpressionImplementor<?>) {
+                        ((PropExpressionImplementor<?>) ast).renderTo(builder, true);
+                    } else {
+                        ast.renderTo(builder);
+                    }
+                }
+            }
         }
         builder.leave();
-        baseQuery.renderTo(builder, data.withoutSortingAndPaging, data.reverseSorting);
+        baseQuery.renderTo(builder, data.withoutSortingAndPaging, data.reverseSorting, data.seeker);
     }
 
     private PropExpressionImplementor<?> idOnlyPropExprByOffset() {
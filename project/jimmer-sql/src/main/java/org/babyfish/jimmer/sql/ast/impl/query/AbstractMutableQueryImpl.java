@@ -15,6 +15,7 @@ import org.babyfish.jimmer.sql.ast.query.*;
 import org.babyfish.jimmer.sql.ast.table.spi.TableProxy;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -213,8 +214,30 @@ public abstract class AbstractMutableQueryImpl
     }
 
     void renderTo(SqlBuilder builder, boolean withoutSortingAndPaging, boolean reverseOrder) {
+        renderTo(builder, withoutSortingAndPaging, reverseOrder, null);
+    }
+
+    /**
+     * @param seeker If it is not null, its orders are used instead of the orders
+     *               of this query, and its predicate is appended to the where clause
+     */
+    void renderTo(
+            SqlBuilder builder,
+            boolean withoutSortingAndPaging,
+            boolean reverseOrder,
+            @Nullable Seeker seeker
+    ) {
 
         Predicate predicate = getPredicate(builder.getAstContext());
+        List<Order> orders = this.orders;
+        if (seeker != null) {
+            Predicate seekPredicate = seeker.predicate();
+            if (seekPredicate != null) {
+                predicate = predicate != null ? Predicate.and(predicate, seekPredicate) : seekPredicate;
+            }
+            orders = seeker.orders;
+            reverseOrder = false;
+        }
         Predicate havingPredicate = getHavingPredicate(builder.getAstContext());
 
         TableImplementor<?> tableImplementor = getTableImplementor();
@@ -0,0 +1,99 @@
+package org.babyfish.jimmer.sql.ast.impl.query;
+
+import org.babyfish.jimmer.sql.ast.query.CountStrategy;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+public class CachedCountStrategy implements CountStrategy {
+
+    private final long timeToLiveNanos;
+
+    private final CountStrategy strategy;
+
+    private final Map<Key, Entry> entryMap;
+
+    public CachedCountStrategy(Duration timeToLive, int maxSize, CountStrategy strategy) {
+        if (timeToLive.isNegative() || timeToLive.isZero()) {
+            throw new IllegalArgumentException("timeToLive must be positive");
+        }
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.strategy = Objects.requireNonNull(strategy, "strategy cannot be null");
+        this.entryMap = new LinkedHashMap<Key, Entry>(16, .75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    @Override
+    public CompletionStage<Result> count(Context ctx) {
+        Key key = new Key(ctx.getSql(), ctx.getVariables());
+        long now = System.nanoTime();
+        Entry entry;
+        synchronized (entryMap) {
+            entry = entryMap.get(key);
+        }
+        if (entry != null && now - entry.createdNanos < timeToLiveNanos) {
+            return CompletableFuture.completedFuture(Result.approximate(entry.rowCount));
+        }
+        return strategy.count(ctx).thenApply(result -> {
+            synchronized (entryMap) {
+                entryMap.put(key, new Entry(result.getRowCount(), now));
+            }
+            return result;
+        });
+    }
+
+    public void clear() {
+        synchronized (entryMap) {
+            entryMap.clear();
+        }
+    }
+
+    private static class Key {
+
+        private final String sql;
+
+        private final List<Object> variables;
+
+        Key(String sql, List<Object> variables) {
+            this.sql = sql;
+            this.variables = variables;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return sql.equals(key.sql) && variables.equals(key.variables);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * sql.hashCode() + variables.hashCode();
+        }
+    }
+
+    private static class Entry {
+
+        final long rowCount;
+
+        final long createdNanos;
+
+        Entry(long rowCount, long createdNanos) {
+            this.rowCount = rowCount;
+            this.createdNanos = createdNanos;
+        }
+    }
+}
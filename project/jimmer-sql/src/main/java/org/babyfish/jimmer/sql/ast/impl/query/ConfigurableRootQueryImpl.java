@@ -1,6 +1,10 @@
 package org.babyfish.jimmer.sql.ast.impl.query;
 
+import org.babyfish.jimmer.SeekPage;
 import org.babyfish.jimmer.Slice;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.meta.PropId;
+import org.babyfish.jimmer.runtime.ImmutableSpi;
 import org.babyfish.jimmer.sql.ast.Expression;
 import org.babyfish.jimmer.sql.ast.Selection;
 import org.babyfish.jimmer.sql.ast.impl.Ast;
@@ -9,12 +13,20 @@ import org.babyfish.jimmer.sql.ast.impl.AstVisitor;
 import org.babyfish.jimmer.sql.ast.impl.table.FetcherSelectionImpl;
 import org.babyfish.jimmer.sql.ast.impl.table.TableImplementor;
 import org.babyfish.jimmer.sql.ast.impl.table.TableProxies;
+import org.babyfish.jimmer.sql.ast.impl.util.AsyncExecutions;
 import org.babyfish.jimmer.sql.ast.query.*;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.ast.tuple.Tuple3;
+import org.babyfish.jimmer.sql.cache.CachesImpl;
+import org.babyfish.jimmer.sql.cache.QueryCache;
+import org.babyfish.jimmer.sql.dialect.Dialect;
+import org.babyfish.jimmer.sql.fetcher.Fetcher;
 import org.babyfish.jimmer.sql.fetcher.Field;
+import org.babyfish.jimmer.sql.fetcher.impl.FetcherImpl;
 import org.babyfish.jimmer.sql.fetcher.impl.FetcherSelection;
 import org.babyfish.jimmer.sql.fetcher.impl.JoinFetchFieldVisitor;
+import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
+import org.babyfish.jimmer.sql.runtime.Executor;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 import org.babyfish.jimmer.sql.runtime.Selectors;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
@@ -24,12 +36,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 public class ConfigurableRootQueryImpl<T extends Table<?>, R>
         extends AbstractConfigurableTypedQueryImpl
@@ -79,7 +94,28 @@ public class ConfigurableRootQueryImpl<T extends Table<?>, R>
         if (offset > Long.MAX_VALUE - pageSize) {
             throw new IllegalArgumentException("offset is too big");
         }
-        long total = fetchUnlimitedCount(con);
+        CountStrategy countStrategy = getData().countStrategy;
+        if (countStrategy == null) {
+            countStrategy = getBaseQuery().getSqlClient().getCountStrategy();
+        }
+        CompletableFuture<CountStrategy.Result> countFuture =
+                countStrategy.count(new CountContext(con)).toCompletableFuture();
+        if (!countFuture.isDone()) {
+            LOGGER.debug("The total row count is being counted, query the rows of page concurrently");
+            List<R> rows = limit(pageSize, offset).execute(con);
+            CountStrategy.Result countResult = join(countFuture);
+            return pageFactory.create(
+                    rows,
+                    countResult.getRowCount(),
+                    PageSource.of(pageIndex, pageSize, getBaseQuery(), countResult.isApproximate())
+            );
+        }
+        CountStrategy.Result countResult = join(countFuture);
+        if (countResult.isApproximate()) {
+            return fetchApproximatePage(pageIndex, pageSize, offset, countResult.getRowCount(), con, pageFactory);
+        }
+
+        long total = countResult.getRowCount();
         if (offset >= total) {
             if (LOGGER.isInfoEnabled()) {
                 LOGGER.info(
@@ -126,6 +162,50 @@ public class ConfigurableRootQueryImpl<T extends Table<?>, R>
         );
     }
 
+    /**
+     * Neither the empty page shortcut nor the reverse sorting optimization
+     * can trust the approximate total, so the page is always queried by offset.
+     * If the page is not full, the exact total is known.
+     */
+    private <P> P fetchApproximatePage(
+            int pageIndex,
+            int pageSize,
+            long offset,
+            long approximateTotal,
+            Connection con,
+            PageFactory<R, P> pageFactory
+    ) {
+        List<R> rows = limit(pageSize, offset).execute(con);
+        long total = approximateTotal;
+        boolean approximate = true;
+        if (rows.size() < pageSize && (!rows.isEmpty() || offset == 0)) {
+            total = offset + rows.size();
+            approximate = false;
+        } else if (total < offset + rows.size()) {
+            total = offset + rows.size();
+        }
+        return pageFactory.create(
+                rows,
+                total,
+                PageSource.of(pageIndex, pageSize, getBaseQuery(), approximate)
+        );
+    }
+
+    private static CountStrategy.Result join(CompletableFuture<CountStrategy.Result> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw ex;
+        }
+    }
+
     @Override
     public Slice<R> fetchSlice(int limit, int offset, @Nullable Connection con) {
         if (limit < 1) {
@@ -141,6 +221,59 @@ public class ConfigurableRootQueryImpl<T extends Table<?>, R>
         return new Slice<>(rows.subList(0, rows.size() - 1), offset == 0, false);
     }
 
+    @Override
+    public SeekPage<R> fetchSeekPage(@Nullable String afterCursor, int pageSize, @Nullable Connection con) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize cannot be less than 1");
+        }
+        TypedQueryData data = getData();
+        if (data.limit != Integer.MAX_VALUE || data.offset != 0) {
+            throw new IllegalStateException("The query of keyset pagination cannot specify limit or offset");
+        }
+        if (data.withoutSortingAndPaging) {
+            throw new IllegalStateException("The query of keyset pagination cannot ignore sorting");
+        }
+        MutableRootQueryImpl<T> baseQuery = getBaseQuery();
+        if (baseQuery.isGroupByClauseUsed()) {
+            throw new IllegalStateException("The query of keyset pagination cannot use group by clause");
+        }
+        Seeker seeker = Seeker.of(baseQuery, data.reverseSorting, afterCursor);
+        ConfigurableRootQueryImpl<T, R> query = new ConfigurableRootQueryImpl<>(
+                data.seek(seeker).limit(pageSize + 1, 0),
+                baseQuery
+        );
+        List<Selection<?>> keySelections = new ArrayList<>(seeker.orders.size());
+        for (Order order : seeker.orders) {
+            keySelections.add(order.getExpression());
+        }
+        List<Object[]> keysList = new ArrayList<>();
+        JSqlClientImplementor sqlClient = baseQuery.getSqlClient();
+        List<R> rows = sqlClient
+                .getSlaveConnectionManager(data.forUpdate)
+                .execute(con, c -> {
+                    Tuple3<String, List<Object>, List<Integer>> sqlResult =
+                            query.preExecute(new SqlBuilder(new AstContext(sqlClient)));
+                    return Selectors.select(
+                            sqlClient,
+                            c,
+                            sqlResult.get_1(),
+                            sqlResult.get_2(),
+                            sqlResult.get_3(),
+                            data.selections,
+                            keySelections,
+                            keysList,
+                            baseQuery.getPurpose()
+                    );
+                });
+        if (rows.size() <= pageSize) {
+            return new SeekPage<>(rows, null);
+        }
+        return new SeekPage<>(
+                rows.subList(0, pageSize),
+                seeker.cursor(keysList.get(pageSize - 1))
+        );
+    }
+
     @Override
     public <X> ConfigurableRootQuery<T, X> reselect(
             BiFunction<MutableRootQuery<T>, T, ConfigurableRootQuery<T, X>> block
@@ -273,21 +406,71 @@ public class ConfigurableRootQueryImpl<T extends Table<?>, R>
         );
     }
 
+    @Override
+    public ConfigurableRootQuery<T, R> countStrategy(@Nullable CountStrategy countStrategy) {
+        TypedQueryData data = getData();
+        return new ConfigurableRootQueryImpl<>(
+                data.countStrategy(countStrategy),
+                getBaseQuery()
+        );
+    }
+
+    @Override
+    public ConfigurableRootQuery<T, R> cacheable(@Nullable Duration timeToLive) {
+        if (timeToLive != null && (timeToLive.isNegative() || timeToLive.isZero())) {
+            throw new IllegalArgumentException("timeToLive must be positive");
+        }
+        TypedQueryData data = getData();
+        return new ConfigurableRootQueryImpl<>(
+                data.cacheable(timeToLive),
+                getBaseQuery()
+        );
+    }
+
     @Override
     public List<R> execute(Connection con) {
+        return execute(con, null);
+    }
+
+    @Override
+    public CompletionStage<List<R>> executeAsync(Connection con) {
+        return AsyncExecutions.supplyAsync(getBaseQuery().getSqlClient(), () -> execute(con));
+    }
+
+    /**
+     * @param sqlListener Receives the rendered SQL, used by {@link QueryShapeCache}
+     */
+    List<R> execute(
+            Connection con,
+            @Nullable Consumer<Tuple3<String, List<Object>, List<Integer>>> sqlListener
+    ) {
         return getBaseQuery()
                 .getSqlClient()
                 .getSlaveConnectionManager(getData().forUpdate)
-                .execute(con, this::executeImpl);
+                .execute(con, c -> executeImpl(c, sqlListener));
     }
 
-    private List<R> executeImpl(Connection con) {
+    private List<R> executeImpl(
+            Connection con,
+            @Nullable Consumer<Tuple3<String, List<Object>, List<Integer>>> sqlListener
+    ) {
         TypedQueryData data = getData();
         if (data.limit == 0) {
             return Collections.emptyList();
         }
         JSqlClientImplementor sqlClient = getBaseQuery().getSqlClient();
-        Tuple3<String, List<Object>, List<Integer>> sqlResult = preExecute(new SqlBuilder(new AstContext(sqlClient)));
+        QueryCache queryCache = data.cacheTimeToLive != null && !data.forUpdate ?
+                ((CachesImpl) sqlClient.getCaches()).getQueryCache() :
+                null;
+        Set<ImmutableType> usedTypes = queryCache != null ? new LinkedHashSet<>() : null;
+        Tuple3<String, List<Object>, List<Integer>> sqlResult =
+                preExecute(new SqlBuilder(new AstContext(sqlClient)), usedTypes);
+        if (sqlListener != null) {
+            sqlListener.accept(sqlResult);
+        }
+        if (queryCache != null) {
+            return executeCacheable(con, sqlResult, queryCache, usedTypes);
+        }
         return Selectors.select(
                 sqlClient,
                 con,
@@ -299,6 +482,122 @@ public class ConfigurableRootQueryImpl<T extends Table<?>, R>
         );
     }
 
+    /**
+     * If only one entity without converter is selected, cache the ids
+     * and load the objects by ids, so that the associated objects
+     * fetched by the fetcher are always fresh; otherwise, cache the rows
+     * and evict them when the types of associated objects are changed too.
+     */
+    @SuppressWarnings("unchecked")
+    private List<R> executeCacheable(
+            Connection con,
+            Tuple3<String, List<Object>, List<Integer>> sqlResult,
+            QueryCache queryCache,
+            Set<ImmutableType> usedTypes
+    ) {
+        TypedQueryData data = getData();
+        JSqlClientImplementor sqlClient = getBaseQuery().getSqlClient();
+        Fetcher<Object> fetcher = (Fetcher<Object>) cacheableFetcher(data.selections);
+        if (fetcher == null) {
+            for (Selection<?> selection : data.selections) {
+                if (selection instanceof FetcherSelection<?>) {
+                    collectFetchedTypes(((FetcherSelection<?>) selection).getFetcher(), usedTypes);
+                }
+            }
+        }
+        if (((CachesImpl) sqlClient.getCaches()).getQueryCache(usedTypes) == null) {
+            return Selectors.select(
+                    sqlClient,
+                    con,
+                    sqlResult.get_1(),
+                    sqlResult.get_2(),
+                    sqlResult.get_3(),
+                    data.selections,
+                    getBaseQuery().getPurpose()
+            );
+        }
+        List<?> cachedValues = queryCache.get(sqlResult.get_1(), sqlResult.get_2());
+        if (cachedValues != null) {
+            if (fetcher == null) {
+                return new ArrayList<>((List<R>) cachedValues);
+            }
+            Map<Object, Object> entityMap = sqlClient
+                    .getEntities()
+                    .forConnection(con)
+                    .findMapByIds(fetcher, (List<Object>) cachedValues);
+            List<R> rows = new ArrayList<>(cachedValues.size());
+            for (Object id : cachedValues) {
+                Object entity = entityMap.get(id);
+                if (entity != null) {
+                    rows.add((R) entity);
+                }
+            }
+            return rows;
+        }
+        long stamp = queryCache.stamp(usedTypes);
+        List<R> rows = Selectors.select(
+                sqlClient,
+                con,
+                sqlResult.get_1(),
+                sqlResult.get_2(),
+                sqlResult.get_3(),
+                data.selections,
+                getBaseQuery().getPurpose()
+        );
+        List<?> values = rows;
+        if (fetcher != null) {
+            PropId idPropId = fetcher.getImmutableType().getIdProp().getId();
+            List<Object> ids = new ArrayList<>(rows.size());
+            for (R row : rows) {
+                ids.add(((ImmutableSpi) row).__get(idPropId));
+            }
+            values = ids;
+        }
+        queryCache.put(
+                sqlResult.get_1(),
+                sqlResult.get_2(),
+                values,
+                usedTypes,
+                stamp,
+                data.cacheTimeToLive
+        );
+        return rows;
+    }
+
+    @Nullable
+    private static Fetcher<?> cacheableFetcher(List<Selection<?>> selections) {
+        if (selections.size() != 1) {
+            return null;
+        }
+        Selection<?> selection = selections.get(0);
+        if (selection instanceof FetcherSelection<?>) {
+            FetcherSelection<?> fetcherSelection = (FetcherSelection<?>) selection;
+            if (fetcherSelection.getConverter() != null ||
+                    fetcherSelection.getEmbeddedPropExpression() != null ||
+                    !fetcherSelection.getFetcher().getImmutableType().isEntity()) {
+                return null;
+            }
+            return fetcherSelection.getFetcher();
+        }
+        if (selection instanceof Table<?>) {
+            ImmutableType type = ((Table<?>) selection).getImmutableType();
+            if (type.isEntity()) {
+                return new FetcherImpl<>(type.getJavaClass()).allTableFields();
+            }
+        }
+        return null;
+    }
+
+    private static void collectFetchedTypes(Fetcher<?> fetcher, Set<ImmutableType> types) {
+        types.add(fetcher.getImmutableType());
+        for (Field field : fetcher.getFieldMap().values()) {
+            Fetcher<?> childFetcher = field.getChildFetcher();
+            if (childFetcher != null) {
+                collectFetchedTypes(childFetcher, types);
+            }
+        }
+    }
+
     @Override
     public <X> List<X> map(Connection con, Function<R, X> mapper) {
         List<R> rows = execute(con);
@@ -323,6 +622,11 @@ public class ConfigurableRootQueryImpl<T extends Table<?>, R>
         });
     }
 
+    @Override
+    public CompletionStage<Void> forEachAsync(Connection con, int batchSize, Consumer<R> consumer) {
+        return AsyncExecutions.runAsync(getBaseQuery().getSqlClient(), () -> forEach(con, batchSize, consumer));
+    }
+
     private void forEachImpl(Connection con, int batchSize, Consumer<R> consumer) {
         JSqlClientImplementor sqlClient = getBaseQuery().getSqlClient();
         Tuple3<String, List<Object>, List<Integer>> sqlResult = preExecute(new SqlBuilder(new AstContext(sqlClient)));
@@ -339,7 +643,47 @@ public class ConfigurableRootQueryImpl<T extends Table<?>, R>
         );
     }
 
+    @Override
+    public Stream<R> stream(Connection con, int batchSize) {
+        if (con == null) {
+            throw new IllegalArgumentException(
+                    "The connection of stream cannot be null, " +
+                            "because the cursor must outlive the connection manager"
+            );
+        }
+        TypedQueryData data = getData();
+        if (data.limit == 0) {
+            return Stream.empty();
+        }
+        JSqlClientImplementor sqlClient = getBaseQuery().getSqlClient();
+        Tuple3<String, List<Object>, List<Integer>> sqlResult = preExecute(new SqlBuilder(new AstContext(sqlClient)));
+        return Selectors.stream(
+                sqlClient,
+                con,
+                sqlResult.get_1(),
+                sqlResult.get_2(),
+                sqlResult.get_3(),
+                data.selections,
+                getBaseQuery().getPurpose(),
+                batchSize > 0 ? batchSize : sqlClient.getDefaultBatchSize()
+        );
+    }
+
+    private Tuple3<String, List<Object>, List<Integer>> render() {
+        return preExecute(new SqlBuilder(new AstContext(getBaseQuery().getSqlClient())));
+    }
+
     private Tuple3<String, List<Object>, List<Integer>> preExecute(SqlBuilder builder) {
+        return preExecute(builder, null);
+    }
+
+    /**
+     * @param usedTypes Optional collection to receive the entity types whose tables are read
+     */
+    private Tuple3<String, List<Object>, List<Integer>> preExecute(
+            SqlBuilder builder,
+            @Nullable Set<ImmutableType> usedTypes
+    ) {
         if (!getBaseQuery().isFrozen()) {
             getBaseQuery().applyVirtualPredicates(builder.getAstContext());
             getBaseQuery().applyGlobalFilters(builder.getAstContext(), getBaseQuery().getContext().getFilterLevel(), getData().selections);
@@ -347,6 +691,9 @@ public class ConfigurableRootQueryImpl<T extends Table<?>, R>
         UseTableVisitor visitor = new UseTableVisitor(builder.getAstContext());
         accept(visitor);
         visitor.allocateAliases();
+        if (usedTypes != null) {
+            usedTypes.addAll(visitor.getUsedTypes());
+        }
         renderTo(builder);
         return builder.build();
     }
@@ -402,4 +749,95 @@ public class ConfigurableRootQueryImpl<T extends Table<?>, R>
             );
         }
     }
+
+    /**
+     * The count query is rendered by the current thread eagerly,
+     * so that {@link #exactCount()} can be executed by another thread
+     * without rendering the shared base query concurrently.
+     */
+    private class CountContext implements CountStrategy.Context {
+
+        @Nullable
+        private final Connection con;
+
+        private Tuple3<String, List<Object>, List<Integer>> countSqlResult;
+
+        CountContext(@Nullable Connection con) {
+            this.con = con;
+        }
+
+        @Nullable
+        @Override
+        public Connection getConnection() {
+            return con;
+        }
+
+        @Override
+        public java.util.concurrent.Executor getAsyncExecutor() {
+            return getBaseQuery().getSqlClient().getAsyncExecutor();
+        }
+
+        @Override
+        public String getSql() {
+            return countSqlResult().get_1();
+        }
+
+        @Override
+        public List<Object> getVariables() {
+            return countSqlResult().get_2();
+        }
+
+        @Override
+        public long exactCount() {
+            return fetchUnlimitedCount(con);
+        }
+
+        @Nullable
+        @Override
+        public Long estimatedCount() {
+            JSqlClientImplementor sqlClient = getBaseQuery().getSqlClient();
+            Dialect dialect = sqlClient.getDialect();
+            Tuple3<String, List<Object>, List<Integer>> sqlResult =
+                    ((ConfigurableRootQueryImpl<T, R>) withoutSortingAndPaging()).render();
+            String explainSql = dialect.getExplainSql(sqlResult.get_1());
+            if (explainSql == null) {
+                return null;
+            }
+            return sqlClient
+                    .getSlaveConnectionManager(getData().forUpdate)
+                    .execute(con, c -> sqlClient.getExecutor().execute(
+                            new Executor.Args<>(
+                                    sqlClient,
+                                    c,
+                                    explainSql,
+                                    sqlResult.get_2(),
+                                    sqlResult.get_3(),
+                                    ExecutionPurpose.QUERY,
+                                    null,
+                                    null,
+                                    (stmt, args) -> {
+                                        try (ResultSet rs = stmt.executeQuery()) {
+                                            return dialect.getEstimatedRowCount(rs);
+                                        }
+                                    }
+                            )
+                    ));
+        }
+
+        /**
+         * Only rendered when the strategy needs the SQL of count query,
+         * such as the cache key of {@link CachedCountStrategy}
+         */
+        @SuppressWarnings("unchecked")
+        private Tuple3<String, List<Object>, List<Integer>> countSqlResult() {
+            Tuple3<String, List<Object>, List<Integer>> result = countSqlResult;
+            if (result == null) {
+                ConfigurableRootQueryImpl<T, Long> countQuery = (ConfigurableRootQueryImpl<T, Long>)
+                        reselect((q, t) -> q.select(Expression.rowCount()))
+                        .withoutSortingAndPaging();
+                countSqlResult = result = countQuery.render();
+            }
+            return result;
+        }
+    }
 }
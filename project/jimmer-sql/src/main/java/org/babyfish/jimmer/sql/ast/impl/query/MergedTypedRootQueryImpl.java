@@ -8,6 +8,7 @@ import org.babyfish.jimmer.sql.ast.impl.AstVisitor;
 import org.babyfish.jimmer.sql.ast.impl.ExpressionImplementor;
 import org.babyfish.jimmer.sql.ast.impl.render.AbstractSqlBuilder;
 import org.babyfish.jimmer.sql.ast.impl.table.TableTypeProvider;
+import org.babyfish.jimmer.sql.ast.impl.util.AsyncExecutions;
 import org.babyfish.jimmer.sql.ast.query.TypedRootQuery;
 import org.babyfish.jimmer.sql.ast.tuple.Tuple3;
 import org.babyfish.jimmer.sql.fetcher.impl.FetcherSelection;
@@ -20,8 +21,10 @@ import org.jetbrains.annotations.NotNull;
 import java.sql.Connection;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 public class MergedTypedRootQueryImpl<R> implements TypedRootQueryImplementor<R>, TypedQueryImplementor {
 
@@ -100,6 +103,11 @@ public class MergedTypedRootQueryImpl<R> implements TypedRootQueryImplementor<R>
                 .execute(con, this::executeImpl);
     }
 
+    @Override
+    public CompletionStage<List<R>> executeAsync(Connection con) {
+        return AsyncExecutions.supplyAsync(sqlClient, () -> execute(con));
+    }
+
     private List<R> executeImpl(Connection con) {
         Tuple3<String, List<Object>, List<Integer>> sqlResult = preExecute(new SqlBuilder(new AstContext(sqlClient)));
         return Selectors.select(
@@ -132,6 +140,11 @@ public class MergedTypedRootQueryImpl<R> implements TypedRootQueryImplementor<R>
         });
     }
 
+    @Override
+    public CompletionStage<Void> forEachAsync(Connection con, int batchSize, Consumer<R> consumer) {
+        return AsyncExecutions.runAsync(sqlClient, () -> forEach(con, batchSize, consumer));
+    }
+
     private void forEachImpl(Connection con, int batchSize, Consumer<R> consumer) {
         Tuple3<String, List<Object>, List<Integer>> sqlResult = preExecute(new SqlBuilder(new AstContext(sqlClient)));
         Selectors.forEach(
@@ -147,6 +160,27 @@ public class MergedTypedRootQueryImpl<R> implements TypedRootQueryImplementor<R>
         );
     }
 
+    @Override
+    public Stream<R> stream(Connection con, int batchSize) {
+        if (con == null) {
+            throw new IllegalArgumentException(
+                    "The connection of stream cannot be null, " +
+                            "because the cursor must outlive the connection manager"
+            );
+        }
+        Tuple3<String, List<Object>, List<Integer>> sqlResult = preExecute(new SqlBuilder(new AstContext(sqlClient)));
+        return Selectors.stream(
+                sqlClient,
+                con,
+                sqlResult.get_1(),
+                sqlResult.get_2(),
+                sqlResult.get_3(),
+                selections,
+                ExecutionPurpose.QUERY,
+                batchSize > 0 ? batchSize : sqlClient.getDefaultBatchSize()
+        );
+    }
+
     private Tuple3<String, List<Object>, List<Integer>> preExecute(SqlBuilder builder) {
         UseTableVisitor visitor = new UseTableVisitor(builder.getAstContext());
         accept(visitor);
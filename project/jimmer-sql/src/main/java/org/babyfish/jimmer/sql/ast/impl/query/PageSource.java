@@ -16,7 +16,24 @@ public interface PageSource {
 
     JSqlClientImplementor getSqlClient();
 
+    /**
+     * Whether the total count is estimated or cached by
+     * {@link org.babyfish.jimmer.sql.ast.query.CountStrategy}
+     */
+    default boolean isTotalCountApproximate() {
+        return false;
+    }
+
     static PageSource of(int pageIndex, int pageSize, AbstractMutableQueryImpl query) {
+        return of(pageIndex, pageSize, query, false);
+    }
+
+    static PageSource of(
+            int pageIndex,
+            int pageSize,
+            AbstractMutableQueryImpl query,
+            boolean totalCountApproximate
+    ) {
         return new PageSource() {
             @Override
             public int getPageIndex() {
@@ -37,6 +54,11 @@ public interface PageSource {
             public JSqlClientImplementor getSqlClient() {
                 return query.getSqlClient();
             }
+
+            @Override
+            public boolean isTotalCountApproximate() {
+                return totalCountApproximate;
+            }
         };
     }
 }
@@ -0,0 +1,200 @@
+package org.babyfish.jimmer.sql.ast.impl.query;
+
+import org.babyfish.jimmer.sql.ast.Selection;
+import org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery;
+import org.babyfish.jimmer.sql.collection.TypedList;
+import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.babyfish.jimmer.sql.runtime.Selectors;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Array;
+import java.sql.Connection;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Cache of the rendered SQL of root queries with the same shape.
+ *
+ * <p>The shape of query is decided by the cache key specified by the caller,
+ * two queries with the same key can only be different in parameters.
+ * After the first query is rendered, its SQL is cached only if its variables
+ * are exactly the parameters, so the SQL of later queries can be got by
+ * replacing the parameters, without creating and rendering the query again.</p>
+ *
+ * <p>This class is used by {@link org.babyfish.jimmer.sql.ast.impl.EntitiesImpl}
+ * to speed up the high-frequency queries such as `findById` and `findByIds`.</p>
+ */
+public class QueryShapeCache {
+
+    private final Map<Object, Shape> shapeMap;
+
+    public QueryShapeCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize cannot be less than 1");
+        }
+        this.shapeMap = new LinkedHashMap<Object, Shape>(16, .75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Shape> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * @param sqlClient The sql client
+     * @param key The key decides the shape of query, it must contain all the
+     *            information which affects the query except the parameters
+     * @param parameters The parameters of query
+     * @param con The connection, null means using the connection manager
+     * @param querySupplier Create the query when cache is missed
+     */
+    @SuppressWarnings("unchecked")
+    public <R> List<R> execute(
+            JSqlClientImplementor sqlClient,
+            Object key,
+            List<Object> parameters,
+            @Nullable Connection con,
+            Supplier<? extends ConfigurableRootQuery<?, R>> querySupplier
+    ) {
+        Shape shape;
+        synchronized (this) {
+            shape = shapeMap.get(key);
+        }
+        List<Object> variables = shape != null ? shape.bind(parameters) : null;
+        if (variables != null) {
+            return sqlClient
+                    .getSlaveConnectionManager(shape.forUpdate)
+                    .execute(con, c ->
+                            Selectors.select(
+                                    sqlClient,
+                                    c,
+                                    shape.sql,
+                                    variables,
+                                    shape.variablePositions,
+                                    shape.selections,
+                                    shape.purpose
+                            )
+                    );
+        }
+        ConfigurableRootQueryImpl<?, R> query = (ConfigurableRootQueryImpl<?, R>) querySupplier.get();
+        return query.execute(con, sqlResult -> {
+            Shape newShape = Shape.of(
+                    query,
+                    sqlResult.get_1(),
+                    sqlResult.get_2(),
+                    sqlResult.get_3(),
+                    parameters
+            );
+            if (newShape != null) {
+                synchronized (this) {
+                    shapeMap.put(key, newShape);
+                }
+            }
+        });
+    }
+
+    public synchronized int size() {
+        return shapeMap.size();
+    }
+
+    private static class Shape {
+
+        final String sql;
+
+        @Nullable
+        final List<Integer> variablePositions;
+
+        final List<Selection<?>> selections;
+
+        final ExecutionPurpose purpose;
+
+        final boolean forUpdate;
+
+        final List<Class<?>> parameterTypes;
+
+        // Not null means all the parameters are bound as one array
+        @Nullable
+        final TypedList<?> arrayVariable;
+
+        private Shape(
+                String sql,
+                @Nullable List<Integer> variablePositions,
+                List<Selection<?>> selections,
+                ExecutionPurpose purpose,
+                boolean forUpdate,
+                List<Class<?>> parameterTypes,
+                @Nullable TypedList<?> arrayVariable
+        ) {
+            this.sql = sql;
+            this.variablePositions = variablePositions;
+            this.selections = selections;
+            this.purpose = purpose;
+            this.forUpdate = forUpdate;
+            this.parameterTypes = parameterTypes;
+            this.arrayVariable = arrayVariable;
+        }
+
+        @Nullable
+        static Shape of(
+                ConfigurableRootQueryImpl<?, ?> query,
+                String sql,
+                List<Object> variables,
+                @Nullable List<Integer> variablePositions,
+                List<Object> parameters
+        ) {
+            TypedList<?> arrayVariable = null;
+            if (!variables.equals(parameters)) {
+                if (variables.size() != 1 || !(variables.get(0) instanceof TypedList<?>)) {
+                    return null;
+                }
+                arrayVariable = (TypedList<?>) variables.get(0);
+                if (!new ArrayList<>(arrayVariable).equals(parameters)) {
+                    return null;
+                }
+            }
+            TypedQueryData data = query.getData();
+            return new Shape(
+                    sql,
+                    variablePositions,
+                    data.selections,
+                    query.getBaseQuery().getPurpose(),
+                    data.forUpdate,
+                    parameterTypes(parameters),
+                    arrayVariable
+            );
+        }
+
+        /**
+         * @return The variables, or null if the types of parameters
+         * are different with the parameters of the cached query,
+         * the query must be created and rendered again
+         * because the parameters may be converted by another way.
+         */
+        @Nullable
+        List<Object> bind(List<Object> parameters) {
+            if (!parameterTypes.equals(parameterTypes(parameters))) {
+                return null;
+            }
+            TypedList<?> arrayVariable = this.arrayVariable;
+            if (arrayVariable == null) {
+                return parameters;
+            }
+            Object[] arr = (Object[]) Array.newInstance(
+                    arrayVariable.toArray().getClass().getComponentType(),
+                    parameters.size()
+            );
+            return Collections.singletonList(
+                    new TypedList<>(arrayVariable.getSqlElementType(), parameters.toArray(arr))
+            );
+        }
+
+        private static List<Class<?>> parameterTypes(List<Object> parameters) {
+            List<Class<?>> types = new ArrayList<>(parameters.size());
+            for (Object parameter : parameters) {
+                types.add(parameter != null ? parameter.getClass() : null);
+            }
+            return types;
+        }
+    }
+}
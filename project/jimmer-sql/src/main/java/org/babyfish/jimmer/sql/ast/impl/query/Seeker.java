@@ -0,0 +1,151 @@
+package org.babyfish.jimmer.sql.ast.impl.query;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.sql.ast.Expression;
+import org.babyfish.jimmer.sql.ast.Predicate;
+import org.babyfish.jimmer.sql.ast.impl.ExpressionImplementor;
+import org.babyfish.jimmer.sql.ast.impl.SeekPredicates;
+import org.babyfish.jimmer.sql.ast.impl.table.TableImplementor;
+import org.babyfish.jimmer.sql.ast.query.NullOrderMode;
+import org.babyfish.jimmer.sql.ast.query.Order;
+import org.babyfish.jimmer.sql.ast.query.OrderMode;
+import org.babyfish.jimmer.sql.ast.table.Table;
+import org.babyfish.jimmer.sql.ast.table.spi.PropExpressionImplementor;
+import org.babyfish.jimmer.sql.ast.table.spi.TableProxy;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The keyset(seek) pagination information of query.
+ *
+ * <p>The sort keys of each row are selected as extra columns,
+ * the sort keys of the last row are encoded as the cursor of next page,
+ * and the cursor is decoded as the predicate to locate next page.</p>
+ */
+class Seeker {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    final List<Order> orders;
+
+    @Nullable
+    final List<Object> values;
+
+    private Seeker(List<Order> orders, @Nullable List<Object> values) {
+        this.orders = orders;
+        this.values = values;
+    }
+
+    static Seeker of(MutableRootQueryImpl<?> baseQuery, boolean reverseSorting, @Nullable String cursor) {
+        List<Order> orders = new ArrayList<>(baseQuery.getOrders().size() + 1);
+        boolean hasId = false;
+        for (Order order : baseQuery.getOrders()) {
+            if (order.getNullOrderMode() != NullOrderMode.UNSPECIFIED) {
+                throw new IllegalStateException(
+                        "The query of keyset pagination cannot specify the null order mode, " +
+                                "because the sort keys cannot be null"
+                );
+            }
+            if (reverseSorting) {
+                order = new Order(
+                        order.getExpression(),
+                        order.getOrderMode() == OrderMode.DESC ? OrderMode.ASC : OrderMode.DESC,
+                        NullOrderMode.UNSPECIFIED
+                );
+            }
+            orders.add(order);
+            if (isRootId(order.getExpression())) {
+                hasId = true;
+                break;
+            }
+        }
+        if (!hasId) {
+            ImmutableProp idProp = baseQuery.getType().getIdProp();
+            Table<?> table = baseQuery.getTable();
+            orders.add(
+                    new Order(
+                            table.get(idProp),
+                            orders.isEmpty() ? OrderMode.ASC : orders.get(orders.size() - 1).getOrderMode(),
+                            NullOrderMode.UNSPECIFIED
+                    )
+            );
+        }
+        orders = Collections.unmodifiableList(orders);
+        return new Seeker(orders, cursor != null ? decode(orders, cursor) : null);
+    }
+
+    @Nullable
+    Predicate predicate() {
+        List<Object> values = this.values;
+        if (values == null) {
+            return null;
+        }
+        return SeekPredicates.of(orders, values);
+    }
+
+    String cursor(Object[] keys) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(keys));
+        } catch (IOException ex) {
+            throw new IllegalArgumentException("Cannot encode the sort keys as cursor", ex);
+        }
+    }
+
+    private static List<Object> decode(List<Order> orders, String cursor) {
+        JsonNode node;
+        try {
+            node = MAPPER.readTree(Base64.getUrlDecoder().decode(cursor));
+        } catch (IOException | IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Illegal cursor \"" + cursor + "\"", ex);
+        }
+        if (!node.isArray() || node.size() != orders.size()) {
+            throw new IllegalArgumentException(
+                    "Illegal cursor \"" +
+                            cursor +
+                            "\", it does not match the order by clause of the query"
+            );
+        }
+        List<Object> values = new ArrayList<>(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            Class<?> type = ((ExpressionImplementor<?>) orders.get(i).getExpression()).getType();
+            try {
+                values.add(MAPPER.treeToValue(node.get(i), type));
+            } catch (IOException ex) {
+                throw new IllegalArgumentException(
+                        "Illegal cursor \"" +
+                                cursor +
+                                "\", its value at index " +
+                                i +
+                                " cannot be converted to \"" +
+                                type.getName() +
+                                "\"",
+                        ex
+                );
+            }
+        }
+        return Collections.unmodifiableList(values);
+    }
+
+    private static boolean isRootId(Expression<?> expression) {
+        if (!(expression instanceof PropExpressionImplementor<?>)) {
+            return false;
+        }
+        PropExpressionImplementor<?> propExpr = (PropExpressionImplementor<?>) expression;
+        if (!propExpr.getProp().isId()) {
+            return false;
+        }
+        Table<?> table = propExpr.getTable();
+        if (table instanceof TableProxy<?>) {
+            return ((TableProxy<?>) table).__parent() == null;
+        }
+        return table instanceof TableImplementor<?> && ((TableImplementor<?>) table).getParent() == null;
+    }
+}
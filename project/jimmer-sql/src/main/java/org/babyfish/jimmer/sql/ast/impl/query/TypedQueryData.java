@@ -5,12 +5,14 @@ import org.babyfish.jimmer.sql.ast.impl.ExpressionImplementor;
 import org.babyfish.jimmer.sql.ast.impl.PropExpressionImpl;
 import org.babyfish.jimmer.sql.ast.impl.table.FetcherSelectionImpl;
 import org.babyfish.jimmer.sql.ast.impl.table.TableSelection;
+import org.babyfish.jimmer.sql.ast.query.CountStrategy;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.ast.table.spi.PropExpressionImplementor;
 import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
 import org.babyfish.jimmer.sql.fetcher.Fetcher;
 import org.babyfish.jimmer.sql.fetcher.impl.FetcherSelection;
 
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
@@ -37,6 +39,12 @@ class TypedQueryData {
 
     final String hint;
 
+    final Seeker seeker;
+
+    final CountStrategy countStrategy;
+
+    final Duration cacheTimeToLive;
+
     private PropExpressionImplementor<?> idOnlyExpression;
 
     private boolean idOnlyExpressionResolved;
@@ -51,6 +59,9 @@ class TypedQueryData {
         reverseSorting = false;
         forUpdate = false;
         hint = null;
+        seeker = null;
+        countStrategy = null;
+        cacheTimeToLive = null;
     }
 
     private TypedQueryData(
@@ -62,7 +73,10 @@ class TypedQueryData {
             boolean withoutSortingAndPaging,
             boolean reverseSorting,
             boolean forUpdate,
-            String hint
+            String hint,
+            Seeker seeker,
+            CountStrategy countStrategy,
+            Duration cacheTimeToLive
     ) {
         this.selections = selections;
         this.oldSelections = oldSelections;
@@ -73,6 +87,9 @@ class TypedQueryData {
         this.reverseSorting = reverseSorting;
         this.forUpdate = forUpdate;
         this.hint = hint;
+        this.seeker = seeker;
+        this.countStrategy = countStrategy;
+        this.cacheTimeToLive = cacheTimeToLive;
     }
 
     public TypedQueryData reselect(List<Selection<?>> selections) {
@@ -85,7 +102,10 @@ class TypedQueryData {
                 withoutSortingAndPaging,
                 reverseSorting,
                 forUpdate,
-                hint
+                hint,
+                seeker,
+                countStrategy,
+                cacheTimeToLive
         );
     }
 
@@ -99,7 +119,10 @@ class TypedQueryData {
                 withoutSortingAndPaging,
                 reverseSorting,
                 forUpdate,
-                hint
+                hint,
+                seeker,
+                countStrategy,
+                cacheTimeToLive
         );
     }
 
@@ -113,7 +136,10 @@ class TypedQueryData {
                 withoutSortingAndPaging,
                 reverseSorting,
                 forUpdate,
-                hint
+                hint,
+                seeker,
+                countStrategy,
+                cacheTimeToLive
         );
     }
 
@@ -127,7 +153,10 @@ class TypedQueryData {
                 true,
                 reverseSorting,
                 forUpdate,
-                hint
+                hint,
+                seeker,
+                countStrategy,
+                cacheTimeToLive
         );
     }
 
@@ -141,7 +170,10 @@ class TypedQueryData {
                 withoutSortingAndPaging,
                 true,
                 forUpdate,
-                hint
+                hint,
+                seeker,
+                countStrategy,
+                cacheTimeToLive
         );
     }
 
@@ -155,7 +187,10 @@ class TypedQueryData {
                 withoutSortingAndPaging,
                 reverseSorting,
                 true,
-                hint
+                hint,
+                seeker,
+                countStrategy,
+                cacheTimeToLive
         );
     }
 
@@ -182,7 +217,61 @@ class TypedQueryData {
                 withoutSortingAndPaging,
                 reverseSorting,
                 forUpdate,
-                hint
+                hint,
+                seeker,
+                countStrategy,
+                cacheTimeToLive
+        );
+    }
+
+    public TypedQueryData seek(Seeker seeker) {
+        return new TypedQueryData(
+                selections,
+                oldSelections,
+                distinct,
+                limit,
+                offset,
+                withoutSortingAndPaging,
+                reverseSorting,
+                forUpdate,
+                hint,
+                seeker,
+                countStrategy,
+                cacheTimeToLive
+        );
+    }
+
+    public TypedQueryData countStrategy(CountStrategy countStrategy) {
+        return new TypedQueryData(
+                selections,
+                oldSelections,
+                distinct,
+                limit,
+                offset,
+                withoutSortingAndPaging,
+                reverseSorting,
+                forUpdate,
+                hint,
+                seeker,
+                countStrategy,
+                cacheTimeToLive
+        );
+    }
+
+    public TypedQueryData cacheable(Duration cacheTimeToLive) {
+        return new TypedQueryData(
+                selections,
+                oldSelections,
+                distinct,
+                limit,
+                offset,
+                withoutSortingAndPaging,
+                reverseSorting,
+                forUpdate,
+                hint,
+                seeker,
+                countStrategy,
+                cacheTimeToLive
         );
     }
 
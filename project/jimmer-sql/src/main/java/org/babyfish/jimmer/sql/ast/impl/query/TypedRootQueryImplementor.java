@@ -1,10 +1,14 @@
 package org.babyfish.jimmer.sql.ast.impl.query;
 
 import org.babyfish.jimmer.sql.ast.query.TypedRootQuery;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 
 public interface TypedRootQueryImplementor<R> extends TypedRootQuery<R>, TypedQueryImplementor {
 
     boolean isForUpdate();
 
     TypedRootQuery<R> forOne();
+
+    @Override
+    JSqlClientImplementor getSqlClient();
 }
@@ -1,6 +1,7 @@
 package org.babyfish.jimmer.sql.ast.impl.query;
 
 import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.ast.impl.AbstractMutableStatementImpl;
 import org.babyfish.jimmer.sql.ast.impl.AstContext;
 import org.babyfish.jimmer.sql.ast.impl.AstVisitor;
@@ -13,13 +14,14 @@ import org.babyfish.jimmer.sql.fetcher.Field;
 import org.babyfish.jimmer.sql.fetcher.impl.JoinFetchFieldVisitor;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.*;
 
 public class UseTableVisitor extends AstVisitor {
 
     private final List<RealTable> rootTables = new ArrayList<>();
 
+    private final Set<ImmutableType> usedTypes = new LinkedHashSet<>();
+
     public UseTableVisitor(AstContext ctx) {
         super(ctx);
     }
@@ -30,6 +32,13 @@ public class UseTableVisitor extends AstVisitor {
         }
     }
 
+    /**
+     * The entity types whose tables are read by the statement and its sub queries
+     */
+    public Set<ImmutableType> getUsedTypes() {
+        return Collections.unmodifiableSet(usedTypes);
+    }
+
     @Override
     public void visitTableReference(RealTable table, @Nullable ImmutableProp prop, boolean rawId) {
         if (prop == null) {
@@ -48,7 +57,7 @@ public class UseTableVisitor extends AstVisitor {
 
     @Override
     public void visitTableFetcher(RealTable table, Fetcher<?> fetcher) {
-        new UseJoinFetcherVisitor(getAstContext(), table.getTableImplementor()).visit(fetcher);
+        new UseJoinFetcherVisitor(getAstContext(), table.getTableImplementor(), usedTypes).visit(fetcher);
     }
 
     @Override
@@ -56,6 +65,7 @@ public class UseTableVisitor extends AstVisitor {
         AstContext ctx = getAstContext();
         RealTable table = ctx.getStatement().getTableImplementor().realTable(ctx.getJoinTypeMergeScope());
         rootTables.add(table);
+        usedTypes.add(table.getTableImplementor().getImmutableType());
         table.use(this);
     }
 
@@ -67,6 +77,7 @@ public class UseTableVisitor extends AstVisitor {
     private void use(RealTable table) {
         if (table != null) {
             getAstContext().useTable(table);
+            usedTypes.add(table.getTableImplementor().getImmutableType());
             use(table.getParent());
         }
     }
@@ -75,12 +86,19 @@ public class UseTableVisitor extends AstVisitor {
 
         private final AstContext ctx;
 
+        private final Set<ImmutableType> usedTypes;
+
         private TableImplementor<?> tableImplementor;
 
-        UseJoinFetcherVisitor(AstContext ctx, TableImplementor<?> tableImplementor) {
+        UseJoinFetcherVisitor(
+                AstContext ctx,
+                TableImplementor<?> tableImplementor,
+                Set<ImmutableType> usedTypes
+        ) {
             super(ctx.getSqlClient());
             this.ctx = ctx;
             this.tableImplementor = tableImplementor;
+            this.usedTypes = usedTypes;
         }
 
         @Override
@@ -88,6 +106,7 @@ public class UseTableVisitor extends AstVisitor {
             TableImplementor<?> oldTableImplementor = this.tableImplementor;
             TableImplementor<?> newTableImplementor = oldTableImplementor.joinFetchImplementor(field.getProp());
             ctx.useTable(newTableImplementor.realTable(ctx.getJoinTypeMergeScope()));
+            usedTypes.add(newTableImplementor.getImmutableType());
             this.tableImplementor = newTableImplementor;
             return oldTableImplementor;
         }
@@ -122,6 +122,14 @@ public class BatchSqlBuilder extends AbstractSqlBuilder<BatchSqlBuilder> {
         return variable(PropertyGetter.propertyGetters(sqlClient, prop).get(0));
     }
 
+    /**
+     * The length of the sql rendered so far,
+     * it can be used to split the built sql.
+     */
+    public int length() {
+        return builder.length();
+    }
+
     public Tuple3<String, VariableMapper, List<Integer>> build() {
         if (scopeManager.current != null) {
             throw new IllegalStateException("Internal bug: Did not leave all scopes");
@@ -0,0 +1,38 @@
+package org.babyfish.jimmer.sql.ast.impl.util;
+
+import org.babyfish.jimmer.sql.runtime.DefaultAsyncExecutor;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Run the asynchronous executions by the async executor of sql client,
+ * see {@link org.babyfish.jimmer.sql.JSqlClient.Builder#setAsyncExecutor(Executor)}
+ */
+public final class AsyncExecutions {
+
+    private AsyncExecutions() {}
+
+    public static <R> CompletionStage<R> supplyAsync(
+            @Nullable JSqlClientImplementor sqlClient,
+            Supplier<R> block
+    ) {
+        return CompletableFuture.supplyAsync(block, executor(sqlClient));
+    }
+
+    public static CompletionStage<Void> runAsync(
+            @Nullable JSqlClientImplementor sqlClient,
+            Runnable block
+    ) {
+        return CompletableFuture.runAsync(block, executor(sqlClient));
+    }
+
+    public static Executor executor(@Nullable JSqlClientImplementor sqlClient) {
+        Executor executor = sqlClient != null ? sqlClient.getAsyncExecutor() : null;
+        return executor != null ? executor : DefaultAsyncExecutor.INSTANCE;
+    }
+}
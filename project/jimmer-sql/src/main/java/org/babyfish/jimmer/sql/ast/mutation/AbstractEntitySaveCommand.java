@@ -206,6 +206,80 @@ public interface AbstractEntitySaveCommand {
     @NewChain
     AbstractEntitySaveCommand setDumbBatchAcceptable(boolean acceptable);
 
+    /**
+     * Insert the entities by the bulk loading protocol of database
+     * such as `COPY ... FROM STDIN` of PostgreSQL, instead of JDBC batch.
+     *
+     * <p>It only affects the entities inserted by {@link SaveMode#INSERT_ONLY},
+     * and only takes effect when {@link org.babyfish.jimmer.sql.dialect.Dialect#isBulkInsertSupported()}
+     * is true and the ids are not generated by identity column.</p>
+     */
+    @NewChain
+    AbstractEntitySaveCommand setBulkInsertEnabled(boolean enabled);
+
+    /**
+     * Reduce the round-trips of the queries for existing rows.
+     *
+     * <p>Before saving the objects of an entity type, jimmer may query
+     * the existing rows by ids and by keys(one query for each key group).
+     * If this option is enabled, these independent queries are merged
+     * into one query whose conditions are joined by `OR`.</p>
+     *
+     * <p>Only the lookups of one entity type at one level of the saved
+     * tree are merged, and only when they are required for the same
+     * {@link QueryReason}. The lookups of sibling associations and of
+     * other levels are still separate queries.</p>
+     *
+     * <p>It does not change the behavior of save command, but the
+     * executed SQL statements are different, so it is disabled by default.</p>
+     */
+    @NewChain
+    AbstractEntitySaveCommand setIdAndKeyLookupMerged(boolean merged);
+
+    /**
+     * Trust the ids and versions specified by the client,
+     * do not query the existing rows of the objects with ids.
+     *
+     * <p>The objects with ids are saved by native upsert or update
+     * statements directly(The objects without ids are not affected).
+     * It is designed for append-heavy synchronization jobs, the cost is</p>
+     * <ul>
+     *     <li>{@link org.babyfish.jimmer.sql.DraftInterceptor}
+     *     only receives the new objects, the old objects are always null</li>
+     *     <li>Unchanged objects are not ignored by jimmer,
+     *     they are sent to database too</li>
+     * </ul>
+     *
+     * <p>If the existing rows must be queried for other reasons,
+     * for example, the database does not support upsert or
+     * the triggers of transaction are enabled(they, and the caches
+     * invalidated by them, require the old objects), this option
+     * does not take effect.</p>
+     */
+    @NewChain
+    AbstractEntitySaveCommand setLookupSkipped(boolean skipped);
+
+    /**
+     * Update the changed columns only.
+     *
+     * <p>By default, the update statement contains all the loaded
+     * properties of the saved object. If this option is enabled,
+     * the existing rows are queried and compared with the saved objects,
+     * so that the update statement only contains the columns whose
+     * values are really changed, and the objects with the same changed
+     * properties share one batch statement.</p>
+     *
+     * <p>It costs an extra `select` statement to query the existing rows
+     * for the objects which would be updated directly without it. That
+     * statement only selects the columns specified by the saved objects,
+     * and if the existing rows are queried for another reason
+     * (such as triggers or draft interceptors), they are reused and no
+     * extra statement is executed. It reduces the size of update
+     * statements and database logs, it is useful for wide tables.</p>
+     */
+    @NewChain
+    AbstractEntitySaveCommand setChangedPropsOnly(boolean changedPropsOnly);
+
     @NewChain
     AbstractEntitySaveCommand setConstraintViolationTranslatable(boolean transferable);
 
@@ -260,6 +260,22 @@ public interface BatchEntitySaveCommand<E>
     @Override
     BatchEntitySaveCommand<E> setDumbBatchAcceptable(boolean acceptable);
 
+    @NewChain
+    @Override
+    BatchEntitySaveCommand<E> setBulkInsertEnabled(boolean enabled);
+
+    @NewChain
+    @Override
+    BatchEntitySaveCommand<E> setIdAndKeyLookupMerged(boolean merged);
+
+    @NewChain
+    @Override
+    BatchEntitySaveCommand<E> setLookupSkipped(boolean skipped);
+
+    @NewChain
+    @Override
+    BatchEntitySaveCommand<E> setChangedPropsOnly(boolean changedPropsOnly);
+
     @Override
     BatchEntitySaveCommand<E> setConstraintViolationTranslatable(boolean transferable);
 
@@ -35,4 +35,22 @@ public interface DeleteCommand extends Executable<DeleteResult> {
 
     @NewChain
     DeleteCommand setTransactionRequired(boolean required);
+
+    @NewChain
+    default DeleteCommand setRecursiveCteUsed() {
+        return setRecursiveCteUsed(true);
+    }
+
+    /**
+     * Delete the descendants of self-referencing tree by
+     * recursive CTE, level by level from the deepest level,
+     * without querying their ids.
+     *
+     * <p>It only takes effect when the dialect supports recursive CTE,
+     * no trigger is used, and the descendants are physically deleted
+     * without other child tables or middle tables to be cleaned;
+     * otherwise, the default strategy is used.</p>
+     */
+    @NewChain
+    DeleteCommand setRecursiveCteUsed(boolean used);
 }
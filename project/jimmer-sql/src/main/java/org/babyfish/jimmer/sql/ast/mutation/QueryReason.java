@@ -54,6 +54,14 @@ public enum QueryReason {
      */
     INTERCEPTOR,
 
+    /**
+     * The save command is configured to update changed properties only,
+     * the existing rows must be queried to know which properties are changed,
+     * please view
+     * {@link org.babyfish.jimmer.sql.ast.mutation.AbstractEntitySaveCommand#setChangedPropsOnly(boolean)}
+     */
+    CHANGED_PROPS_ONLY,
+
     /**
      * Associated objects with only {@link org.babyfish.jimmer.sql.Id} properties
      * are not cascade-saved and merely serve as dependencies for the current entity.
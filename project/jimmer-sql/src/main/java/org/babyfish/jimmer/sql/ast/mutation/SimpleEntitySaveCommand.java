@@ -257,6 +257,22 @@ public interface SimpleEntitySaveCommand<E>
     @Override
     SimpleEntitySaveCommand<E> setDumbBatchAcceptable(boolean acceptable);
 
+    @NewChain
+    @Override
+    SimpleEntitySaveCommand<E> setBulkInsertEnabled(boolean enabled);
+
+    @NewChain
+    @Override
+    SimpleEntitySaveCommand<E> setIdAndKeyLookupMerged(boolean merged);
+
+    @NewChain
+    @Override
+    SimpleEntitySaveCommand<E> setLookupSkipped(boolean skipped);
+
+    @NewChain
+    @Override
+    SimpleEntitySaveCommand<E> setChangedPropsOnly(boolean changedPropsOnly);
+
     @Override
     SimpleEntitySaveCommand<E> setConstraintViolationTranslatable(boolean transferable);
 
@@ -1,6 +1,7 @@
 package org.babyfish.jimmer.sql.ast.query;
 
 import org.babyfish.jimmer.Page;
+import org.babyfish.jimmer.SeekPage;
 import org.babyfish.jimmer.Slice;
 import org.babyfish.jimmer.lang.NewChain;
 import org.babyfish.jimmer.sql.ast.Expression;
@@ -11,6 +12,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.sql.Connection;
+import java.time.Duration;
 import java.util.List;
 import java.util.function.BiFunction;
 
@@ -84,6 +86,29 @@ public interface ConfigurableRootQuery<T extends Table<?>, R> extends TypedRootQ
         return fetchSlice(limit, offset, null);
     }
 
+    /**
+     * Keyset(seek) pagination.
+     *
+     * <p>Unlike {@link #fetchPage(int, int)}, it neither executes the count query
+     * nor uses `offset`; the next page is located by the predicate derived from
+     * the `order by` clause and the sort keys of the last row of previous page,
+     * so the cost of deep page is same with the first page if there is a suitable index.</p>
+     *
+     * <p>The id of root table is appended to the `order by` clause automatically
+     * to make the sorting stable. The sort keys cannot be null, and the query
+     * cannot specify null order mode or limit/offset.</p>
+     *
+     * @param afterCursor The {@link SeekPage#getNextCursor()} of previous page,
+     *                    null means the first page
+     * @param pageSize The max row count of the page
+     * @param con The explicit jdbc connection, null means using default connection
+     */
+    SeekPage<R> fetchSeekPage(@Nullable String afterCursor, int pageSize, @Nullable Connection con);
+
+    default SeekPage<R> fetchSeekPage(@Nullable String afterCursor, int pageSize) {
+        return fetchSeekPage(afterCursor, pageSize, null);
+    }
+
     @NewChain
     <X> ConfigurableRootQuery<T, X> reselect(
             BiFunction<MutableRootQuery<T>, T, ConfigurableRootQuery<T, X>> block
@@ -126,4 +151,32 @@ public interface ConfigurableRootQuery<T extends Table<?>, R> extends TypedRootQ
      */
     @NewChain
     ConfigurableRootQuery<T, R> hint(@Nullable String hint);
+
+    /**
+     * Set the strategy to get the total row count of `fetchPage`
+     * @param countStrategy Optional strategy, null means the default strategy of sql client
+     * @return A new query object
+     *
+     * @see org.babyfish.jimmer.sql.JSqlClient.Builder#setCountStrategy(CountStrategy)
+     */
+    @NewChain
+    ConfigurableRootQuery<T, R> countStrategy(@Nullable CountStrategy countStrategy);
+
+    /**
+     * Cache the result of this query in the local query cache of sql client.
+     *
+     * <p>The cache key is the rendered SQL and its parameters.
+     * If only one entity is selected, only the ids are cached and
+     * the objects are loaded by ids(object cache can be used);
+     * otherwise, the rows are cached.
+     * The cached result is evicted when any table read by this query is changed,
+     * so the triggers of sql client must be able to see the changes.</p>
+     *
+     * @param timeToLive How long the cached result is valid, null means not cacheable
+     * @return A new query object
+     *
+     * @see org.babyfish.jimmer.sql.cache.CacheConfig#setQueryCacheMaxSize(int)
+     */
+    @NewChain
+    ConfigurableRootQuery<T, R> cacheable(@Nullable Duration timeToLive);
 }
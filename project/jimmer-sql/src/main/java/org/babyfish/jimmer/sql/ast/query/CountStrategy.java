@@ -0,0 +1,174 @@
+package org.babyfish.jimmer.sql.ast.query;
+
+import org.babyfish.jimmer.sql.ast.impl.query.CachedCountStrategy;
+import org.jetbrains.annotations.Nullable;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
+/**
+ * The strategy to get the total row count of
+ * {@link ConfigurableRootQuery#fetchPage(int, int, Connection, PageFactory)}
+ *
+ * <p>The default strategy of sql client can be specified by
+ * {@link org.babyfish.jimmer.sql.JSqlClient.Builder#setCountStrategy(CountStrategy)},
+ * and it can be overridden by {@link ConfigurableRootQuery#countStrategy(CountStrategy)}</p>
+ */
+@FunctionalInterface
+public interface CountStrategy {
+
+    /**
+     * Get the total row count.
+     *
+     * <p>If the returned stage is not completed, the rows of the page
+     * will be queried concurrently, that means the reverse sorting
+     * optimization of the last half pages cannot be used.</p>
+     */
+    CompletionStage<Result> count(Context ctx);
+
+    /**
+     * Execute `select count(*)` query, this is the default behavior
+     */
+    static CountStrategy exact() {
+        return ctx -> CompletableFuture.completedFuture(Result.exact(ctx.exactCount()));
+    }
+
+    /**
+     * Use the row count estimated by the execution plan of database
+     * when the dialect supports it, otherwise, execute `select count(*)` query.
+     *
+     * @param exactCountThreshold If the estimated row count is less than it,
+     *                            execute `select count(*)` query because
+     *                            the estimation of small result is often inaccurate
+     *                            and exact count of small result is cheap
+     */
+    static CountStrategy estimated(long exactCountThreshold) {
+        return ctx -> {
+            Long estimatedCount = ctx.estimatedCount();
+            if (estimatedCount == null || estimatedCount < exactCountThreshold) {
+                return CompletableFuture.completedFuture(Result.exact(ctx.exactCount()));
+            }
+            return CompletableFuture.completedFuture(Result.approximate(estimatedCount));
+        };
+    }
+
+    /**
+     * Execute `select count(*)` query concurrently with the query of page rows
+     * by the async executor of sql client.
+     *
+     * <p>It only works when the connection of `fetchPage` is not specified,
+     * because one JDBC connection cannot be used by two threads;
+     * otherwise, the behavior is same with {@link #exact()}.</p>
+     */
+    static CountStrategy parallel() {
+        return ctx -> {
+            if (ctx.getConnection() != null) {
+                return CompletableFuture.completedFuture(Result.exact(ctx.exactCount()));
+            }
+            return CompletableFuture.supplyAsync(
+                    () -> Result.exact(ctx.exactCount()),
+                    ctx.getAsyncExecutor()
+            );
+        };
+    }
+
+    /**
+     * Cache the result of `select count(*)` query in memory.
+     *
+     * <p>The cache key is the SQL and the parameters of count query,
+     * so queries with same shape but different parameters are cached separately.
+     * The cached count may be outdated, so it is approximate</p>
+     *
+     * @param timeToLive How long the cached count is valid
+     */
+    static CountStrategy cached(Duration timeToLive) {
+        return new CachedCountStrategy(timeToLive, 1024, exact());
+    }
+
+    /**
+     * Cache the count returned by another strategy in memory.
+     *
+     * @param timeToLive How long the cached count is valid
+     * @param maxSize The max count of cached counts, the least recently used one is evicted
+     * @param strategy The strategy to get the count which is not cached
+     */
+    static CountStrategy cached(Duration timeToLive, int maxSize, CountStrategy strategy) {
+        return new CachedCountStrategy(timeToLive, maxSize, strategy);
+    }
+
+    interface Context {
+
+        /**
+         * The connection specified by `fetchPage`, may be null
+         */
+        @Nullable
+        Connection getConnection();
+
+        Executor getAsyncExecutor();
+
+        /**
+         * The SQL of the `select count(*)` query
+         */
+        String getSql();
+
+        /**
+         * The parameters of the `select count(*)` query
+         */
+        List<Object> getVariables();
+
+        /**
+         * Execute the `select count(*)` query
+         */
+        long exactCount();
+
+        /**
+         * Get the row count estimated by the execution plan of database
+         *
+         * @return The estimated row count or null if the dialect does not support it
+         *
+         * @see org.babyfish.jimmer.sql.dialect.Dialect#getExplainSql(String)
+         */
+        @Nullable
+        Long estimatedCount();
+    }
+
+    final class Result {
+
+        private final long rowCount;
+
+        private final boolean approximate;
+
+        private Result(long rowCount, boolean approximate) {
+            this.rowCount = rowCount;
+            this.approximate = approximate;
+        }
+
+        public static Result exact(long rowCount) {
+            return new Result(rowCount, false);
+        }
+
+        public static Result approximate(long rowCount) {
+            return new Result(rowCount, true);
+        }
+
+        public long getRowCount() {
+            return rowCount;
+        }
+
+        public boolean isApproximate() {
+            return approximate;
+        }
+
+        @Override
+        public String toString() {
+            return "Result{" +
+                    "rowCount=" + rowCount +
+                    ", approximate=" + approximate +
+                    '}';
+        }
+    }
+}
@@ -21,7 +21,8 @@ public interface PageFactory<E, P> {
             return new Page<>(
                     rows,
                     totalCount,
-                    totalPageCount
+                    totalPageCount,
+                    source.isTotalCountApproximate()
             );
         };
     }
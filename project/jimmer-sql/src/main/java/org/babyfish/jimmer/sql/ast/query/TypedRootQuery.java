@@ -10,8 +10,10 @@ import org.jetbrains.annotations.Nullable;
 import java.sql.Connection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.stream.Stream;
 
 public interface TypedRootQuery<R> extends Executable<List<R>> {
 
@@ -88,4 +90,52 @@ public interface TypedRootQuery<R> extends Executable<List<R>> {
     }
 
     void forEach(Connection con, int batchSize, Consumer<R> consumer);
+
+    default CompletionStage<Void> forEachAsync(Consumer<R> consumer) {
+        return forEachAsync(null, -1, consumer);
+    }
+
+    default CompletionStage<Void> forEachAsync(int batchSize, Consumer<R> consumer) {
+        return forEachAsync(null, batchSize, consumer);
+    }
+
+    /**
+     * Asynchronous version of {@link #forEach(Connection, int, Consumer)}.
+     *
+     * <p>The rows are consumed by the thread of the async executor of the sql client,
+     * batch by batch, so the memory used by the large result set is bounded.
+     * If the consumer throws exception, the iteration is stopped and the returned
+     * completion stage is completed exceptionally.</p>
+     *
+     * @param con The JDBC connection, null means the connection determined by jimmer-sql
+     * @param batchSize The batch size of associated object fetching,
+     *                  non-positive value means the default batch size of the sql client.
+     * @param consumer The consumer of rows
+     * @return The completion stage which is completed after all rows are consumed
+     */
+    CompletionStage<Void> forEachAsync(Connection con, int batchSize, Consumer<R> consumer);
+
+    /**
+     * Execute the query as a lazy cursor.
+     *
+     * <p>Unlike {@link #forEach(Connection, int, Consumer)}, the caller pulls the rows,
+     * so the iteration can be composed with other streams or stopped at any time.
+     * The JDBC result set stays open until the stream is exhausted or closed,
+     * and the associated objects specified by object fetchers are fetched batch by batch.</p>
+     *
+     * <p>The returned stream must be closed, the try-with-resources statement is recommended.
+     * Use {@link Stream#iterator()} if an iterator is preferred.</p>
+     *
+     * @param con The JDBC connection owned by the caller, it must remain open
+     *            until the stream is closed. For some drivers such as PostgreSQL,
+     *            the fetch size is only honored when the auto-commit mode is disabled.
+     * @param batchSize The JDBC fetch size and the batch size of associated object fetching,
+     *                  non-positive value means the default batch size of the sql client.
+     * @return A lazy stream which must be closed by the caller
+     */
+    Stream<R> stream(Connection con, int batchSize);
+
+    default Stream<R> stream(Connection con) {
+        return stream(con, -1);
+    }
 }
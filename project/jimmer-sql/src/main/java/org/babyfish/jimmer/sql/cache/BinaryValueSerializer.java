@@ -0,0 +1,839 @@
+package org.babyfish.jimmer.sql.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.babyfish.jimmer.jackson.ImmutableModule;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.meta.TargetLevel;
+import org.babyfish.jimmer.runtime.DraftSpi;
+import org.babyfish.jimmer.runtime.ImmutableSpi;
+import org.babyfish.jimmer.runtime.Internal;
+import org.babyfish.jimmer.sql.exception.SerializationException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The compact binary serializer of remote cache binders,
+ * it is much faster and smaller than the JSON serializer {@link ValueSerializer}.
+ *
+ * <ul>
+ *     <li>Properties are written by their index in the immutable type,
+ *     property names are never written</li>
+ *     <li>Integral values are written as zigzag varints</li>
+ *     <li>Id lists of association caches are written as primitive arrays</li>
+ *     <li>Values of unknown types, such as JSON serialized properties,
+ *     are written by jackson</li>
+ * </ul>
+ *
+ * <p>Because the property indices are written instead of names,
+ * the data contains a fingerprint of the shape of the immutable types.
+ * If the data written by an application with different entity model is read,
+ * it is considered as cache miss.</p>
+ */
+public class BinaryValueSerializer<T> implements CacheValueSerializer<T> {
+
+    static final Factory FACTORY = new Factory() {
+
+        @Override
+        public <T> CacheValueSerializer<T> forType(@NotNull ImmutableType type, @Nullable ObjectMapper mapper) {
+            return new BinaryValueSerializer<>(type, mapper);
+        }
+
+        @Override
+        public <T> CacheValueSerializer<T> forProp(@NotNull ImmutableProp prop, @Nullable ObjectMapper mapper) {
+            return new BinaryValueSerializer<>(prop, mapper);
+        }
+    };
+
+    private static final byte NULL_VALUE = 0;
+
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final Object MISMATCHED = new Object();
+
+    private final ObjectMapper mapper;
+
+    private final Map<ImmutableType, ObjectCodec> objectCodecMap = new ConcurrentHashMap<>();
+
+    private final Codec codec;
+
+    private final int fingerprint;
+
+    public BinaryValueSerializer(@NotNull ImmutableType type) {
+        this(type, null, null);
+    }
+
+    public BinaryValueSerializer(@NotNull ImmutableProp prop) {
+        this(null, prop, null);
+    }
+
+    public BinaryValueSerializer(@NotNull ImmutableType type, ObjectMapper mapper) {
+        this(type, null, mapper);
+    }
+
+    public BinaryValueSerializer(@NotNull ImmutableProp prop, ObjectMapper mapper) {
+        this(null, prop, mapper);
+    }
+
+    private BinaryValueSerializer(ImmutableType type, ImmutableProp prop, ObjectMapper mapper) {
+        if ((type == null) == (prop == null)) {
+            throw new IllegalArgumentException("Internal bug: nullity of type and prop must be different");
+        }
+        ObjectMapper clonedMapper = mapper != null?
+                new ObjectMapper(mapper) {} :
+                new ObjectMapper().registerModule(new JavaTimeModule());
+        clonedMapper.registerModule(new ImmutableModule());
+        this.mapper = clonedMapper;
+        Fingerprint fingerprint = new Fingerprint();
+        if (prop == null) {
+            this.codec = objectCodec(type);
+            fingerprint.type(type);
+        } else if (prop.isAssociation(TargetLevel.ENTITY)) {
+            ImmutableProp targetIdProp = prop.getTargetType().getIdProp();
+            if (prop.isReferenceList(TargetLevel.OBJECT)) {
+                this.codec = idListCodec(targetIdProp.getElementClass());
+            } else {
+                this.codec = scalarCodec(targetIdProp.getElementClass(), targetIdProp.getGenericType());
+            }
+            fingerprint.prop(prop).prop(targetIdProp);
+        } else {
+            this.codec = scalarCodec(prop.getReturnClass(), prop.getGenericType());
+            fingerprint.prop(prop);
+        }
+        this.fingerprint = fingerprint.hash;
+    }
+
+    @NotNull
+    @Override
+    public byte[] serialize(T value) {
+        if (value == null) {
+            return new byte[] { NULL_VALUE };
+        }
+        Output out = new Output();
+        out.write(FORMAT_VERSION);
+        out.writeVarInt(fingerprint);
+        try {
+            codec.write(out, value);
+        } catch (IOException | RuntimeException ex) {
+            throw new SerializationException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public boolean isNull(@NotNull byte[] value) {
+        return value.length == 1 && value[0] == NULL_VALUE;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T deserialize(byte[] value) {
+        Object result = read(value);
+        if (result == MISMATCHED) {
+            throw new SerializationException(
+                    new IllegalArgumentException(
+                            "The binary data is written by another format version or another entity model"
+                    )
+            );
+        }
+        return (T) result;
+    }
+
+    /**
+     * The values written by another format version or another entity model
+     * are considered as cache miss
+     */
+    @SuppressWarnings("unchecked")
+    @NotNull
+    @Override
+    public <K> Map<K, T> deserialize(@NotNull Collection<K> keys, @NotNull Collection<byte[]> values) {
+        Map<K, T> deserializedMap = new LinkedHashMap<>((keys.size() * 4 + 2) / 3);
+        Iterator<K> keyItr = keys.iterator();
+        Iterator<byte[]> byteArrItr = values.iterator();
+        while (keyItr.hasNext() && byteArrItr.hasNext()) {
+            K key = keyItr.next();
+            byte[] byteArr = byteArrItr.next();
+            if (byteArr != null) {
+                Object result = read(byteArr);
+                if (result != MISMATCHED) {
+                    deserializedMap.put(key, (T) result);
+                }
+            }
+        }
+        return deserializedMap;
+    }
+
+    private Object read(byte[] value) {
+        if (value == null || value.length == 0 || (value.length == 1 && value[0] == NULL_VALUE)) {
+            return null;
+        }
+        Input in = new Input(value);
+        try {
+            if (in.read() != FORMAT_VERSION || in.readVarInt() != fingerprint) {
+                return MISMATCHED;
+            }
+            return codec.read(in);
+        } catch (IOException | RuntimeException ex) {
+            throw new SerializationException(ex);
+        }
+    }
+
+    private ObjectCodec objectCodec(ImmutableType type) {
+        return objectCodecMap.computeIfAbsent(type, ObjectCodec::new);
+    }
+
+    private Codec idListCodec(Class<?> idClass) {
+        if (idClass == long.class || idClass == Long.class) {
+            return new IdListCodec() {
+                @Override
+                void writeId(Output out, Object id) {
+                    out.writeVarLong(zigzag((Long) id));
+                }
+                @Override
+                Object readId(Input in) throws IOException {
+                    return unzigzag(in.readVarLong());
+                }
+            };
+        }
+        if (idClass == UUID.class) {
+            return new IdListCodec() {
+                @Override
+                void writeId(Output out, Object id) {
+                    UUID uuid = (UUID) id;
+                    out.writeFixedLong(uuid.getMostSignificantBits());
+                    out.writeFixedLong(uuid.getLeastSignificantBits());
+                }
+                @Override
+                Object readId(Input in) throws IOException {
+                    return new UUID(in.readFixedLong(), in.readFixedLong());
+                }
+            };
+        }
+        Codec elementCodec = scalarCodec(idClass, idClass);
+        return new IdListCodec() {
+            @Override
+            void writeId(Output out, Object id) throws IOException {
+                elementCodec.write(out, id);
+            }
+            @Override
+            Object readId(Input in) throws IOException {
+                return elementCodec.read(in);
+            }
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Codec scalarCodec(Class<?> type, Type genericType) {
+        if (type == boolean.class || type == Boolean.class) {
+            return new Codec() {
+                @Override
+                public void write(Output out, Object value) {
+                    out.write((Boolean) value ? 1 : 0);
+                }
+                @Override
+                public Object read(Input in) throws IOException {
+                    return in.read() != 0;
+                }
+            };
+        }
+        if (type == byte.class || type == Byte.class) {
+            return new Codec() {
+                @Override
+                public void write(Output out, Object value) {
+                    out.write((Byte) value);
+                }
+                @Override
+                public Object read(Input in) throws IOException {
+                    return (byte) in.read();
+                }
+            };
+        }
+        if (type == short.class || type == Short.class) {
+            return new Codec() {
+                @Override
+                public void write(Output out, Object value) {
+                    out.writeVarLong(zigzag((Short) value));
+                }
+                @Override
+                public Object read(Input in) throws IOException {
+                    return (short) unzigzag(in.readVarLong());
+                }
+            };
+        }
+        if (type == int.class || type == Integer.class) {
+            return new Codec() {
+                @Override
+                public void write(Output out, Object value) {
+                    out.writeVarLong(zigzag((Integer) value));
+                }
+                @Override
+                public Object read(Input in) throws IOException {
+                    return (int) unzigzag(in.readVarLong());
+                }
+            };
+        }
+        if (type == long.class || type == Long.class) {
+            return new Codec() {
+                @Override
+                public void write(Output out, Object value) {
+                    out.writeVarLong(zigzag((Long) value));
+                }
+                @Override
+                public Object read(Input in) throws IOException {
+                    return unzigzag(in.readVarLong());
+                }
+            };
+        }
+        if (type == char.class || type == Character.class) {
+            return new Codec() {
+                @Override
+                public void write(Output out, Object value) {
+                    out.writeVarInt((Character) value);
+                }
+                @Override
+                public Object read(Input in) throws IOException {
+                    return (char) in.readVarInt();
+                }
+            };
+        }
+        if (type == float.class || type == Float.class) {
+            return new Codec() {
+                @Override
+                public void write(Output out, Object value) {
+                    out.writeFixedInt(Float.floatToIntBits((Float) value));
+                }
+                @Override
+                public Object read(Input in) throws IOException {
+                    return Float.intBitsToFloat(in.readFixedInt());
+                }
+            };
+        }
+        if (type == double.class || type == Double.class) {
+            return new Codec() {
+                @Override
+                public void write(Output out, Object value) {
+                    out.writeFixedLong(Double.doubleToLongBits((Double) value));
+                }
+                @Override
+                public Object read(Input in) throws IOException {
+                    return Double.longBitsToDouble(in.readFixedLong());
+                }
+            };
+        }
+        if (type == String.class) {
+            return new Codec() {
+                @Override
+                public void write(Output out, Object value) {
+                    out.writeByteArray(((String) value).getBytes(StandardCharsets.UTF_8));
+                }
+                @Override
+                public Object read(Input in) throws IOException {
+                    return new String(in.readByteArray(), StandardCharsets.UTF_8);
+                }
+            };
+        }
+        if (type == UUID.class) {
+            return new Codec() {
+                @Override
+                public void write(Output out, Object value) {
+                    UUID uuid = (UUID) value;
+                    out.writeFixedLong(uuid.getMostSignificantBits());
+                    out.writeFixedLong(uuid.getLeastSignificantBits());
+                }
+                @Override
+                public Object read(Input in) throws IOException {
+                    return new UUID(in.readFixedLong(), in.readFixedLong());
+                }
+            };
+        }
+        if (type == BigInteger.class) {
+            return new Codec() {
+                @Override
+                public void write(Output out, Object value) {
+                    out.writeByteArray(((BigInteger) value).toByteArray());
+                }
+                @Override
+                public Object read(Input in) throws IOException {
+                    return new BigInteger(in.readByteArray());
+                }
+            };
+        }
+        if (type == BigDecimal.class) {
+            return new Codec() {
+                @Override
+                public void write(Output out, Object value) {
+                    BigDecimal decimal = (BigDecimal) value;
+                    out.writeVarLong(zigzag(decimal.scale()));
+                    out.writeByteArray(decimal.unscaledValue().toByteArray());
+                }
+                @Override
+                public Object read(Input in) throws IOException {
+                    int scale = (int) unzigzag(in.readVarLong());
+                    return new BigDecimal(new BigInteger(in.readByteArray()), scale);
+                }
+            };
+        }
+        if (type == byte[].class) {
+            return new Codec() {
+                @Override
+                public void write(Output out, Object value) {
+                    out.writeByteArray((byte[]) value);
+                }
+                @Override
+                public Object read(Input in) throws IOException {
+                    return in.readByteArray();
+                }
+            };
+        }
+        if (type == LocalDate.class) {
+            return new Codec() {
+                @Override
+                public void write(Output out, Object value) {
+                    out.writeVarLong(zigzag(((LocalDate) value).toEpochDay()));
+                }
+                @Override
+                public Object read(Input in) throws IOException {
+                    return LocalDate.ofEpochDay(unzigzag(in.readVarLong()));
+                }
+            };
+        }
+        if (type == LocalTime.class) {
+            return new Codec() {
+                @Override
+                public void write(Output out, Object value) {
+                    out.writeVarLong(((LocalTime) value).toNanoOfDay());
+                }
+                @Override
+                public Object read(Input in) throws IOException {
+                    return LocalTime.ofNanoOfDay(in.readVarLong());
+                }
+            };
+        }
+        if (type == LocalDateTime.class) {
+            return new Codec() {
+                @Override
+                public void write(Output out, Object value) {
+                    LocalDateTime dateTime = (LocalDateTime) value;
+                    out.writeVarLong(zigzag(dateTime.toLocalDate().toEpochDay()));
+                    out.writeVarLong(dateTime.toLocalTime().toNanoOfDay());
+                }
+                @Override
+                public Object read(Input in) throws IOException {
+                    LocalDate date = LocalDate.ofEpochDay(unzigzag(in.readVarLong()));
+                    return LocalDateTime.of(date, LocalTime.ofNanoOfDay(in.readVarLong()));
+                }
+            };
+        }
+        if (type == Instant.class) {
+            return new Codec() {
+                @Override
+                public void write(Output out, Object value) {
+                    Instant instant = (Instant) value;
+                    out.writeVarLong(zigzag(instant.getEpochSecond()));
+                    out.writeVarInt(instant.getNano());
+                }
+                @Override
+                public Object read(Input in) throws IOException {
+                    return Instant.ofEpochSecond(unzigzag(in.readVarLong()), in.readVarInt());
+                }
+            };
+        }
+        if (type == java.sql.Timestamp.class) {
+            return new Codec() {
+                @Override
+                public void write(Output out, Object value) {
+                    java.sql.Timestamp timestamp = (java.sql.Timestamp) value;
+                    out.writeVarLong(zigzag(timestamp.getTime()));
+                    out.writeVarInt(timestamp.getNanos());
+                }
+                @Override
+                public Object read(Input in) throws IOException {
+                    java.sql.Timestamp timestamp = new java.sql.Timestamp(unzigzag(in.readVarLong()));
+                    timestamp.setNanos(in.readVarInt());
+                    return timestamp;
+                }
+            };
+        }
+        if (type == java.sql.Date.class || type == java.sql.Time.class || type == Date.class) {
+            return new Codec() {
+                @Override
+                public void write(Output out, Object value) {
+                    out.writeVarLong(zigzag(((Date) value).getTime()));
+                }
+                @Override
+                public Object read(Input in) throws IOException {
+                    long time = unzigzag(in.readVarLong());
+                    if (type == java.sql.Date.class) {
+                        return new java.sql.Date(time);
+                    }
+                    if (type == java.sql.Time.class) {
+                        return new java.sql.Time(time);
+                    }
+                    return new Date(time);
+                }
+            };
+        }
+        if (type.isEnum()) {
+            // Write name rather than ordinal, reordering enum constants is common
+            Class<? extends Enum> enumType = (Class<? extends Enum>) type;
+            return new Codec() {
+                @Override
+                public void write(Output out, Object value) {
+                    out.writeByteArray(((Enum<?>) value).name().getBytes(StandardCharsets.UTF_8));
+                }
+                @Override
+                public Object read(Input in) throws IOException {
+                    return Enum.valueOf(enumType, new String(in.readByteArray(), StandardCharsets.UTF_8));
+                }
+            };
+        }
+        ImmutableType immutableType = ImmutableType.tryGet(type);
+        if (immutableType != null) {
+            return objectCodec(immutableType);
+        }
+        JavaType javaType = mapper.getTypeFactory().constructType(genericType);
+        return new Codec() {
+            @Override
+            public void write(Output out, Object value) throws IOException {
+                out.writeByteArray(mapper.writeValueAsBytes(value));
+            }
+            @Override
+            public Object read(Input in) throws IOException {
+                return mapper.readValue(in.readByteArray(), javaType);
+            }
+        };
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private interface Codec {
+
+        void write(Output out, Object value) throws IOException;
+
+        Object read(Input in) throws IOException;
+    }
+
+    private static abstract class IdListCodec implements Codec {
+
+        @Override
+        public void write(Output out, Object value) throws IOException {
+            List<?> ids = (List<?>) value;
+            out.writeVarInt(ids.size());
+            for (Object id : ids) {
+                writeId(out, id);
+            }
+        }
+
+        @Override
+        public Object read(Input in) throws IOException {
+            int size = in.readVarInt();
+            List<Object> ids = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                ids.add(readId(in));
+            }
+            return ids;
+        }
+
+        abstract void writeId(Output out, Object id) throws IOException;
+
+        abstract Object readId(Input in) throws IOException;
+    }
+
+    /**
+     * Each loaded property is written as `header value?`,
+     * the header is `(propIndex + 1) << 2 | hidden << 1 | null`,
+     * and the object is terminated by header 0.
+     * Views are written without value only when they are visible.
+     */
+    private class ObjectCodec implements Codec {
+
+        private final ImmutableType type;
+
+        private final ImmutableProp[] props;
+
+        // Created lazily because of recursive associations
+        private volatile Codec[] propCodecs;
+
+        ObjectCodec(ImmutableType type) {
+            this.type = type;
+            this.props = serializableProps(type);
+        }
+
+        @Override
+        public void write(Output out, Object value) throws IOException {
+            Codec[] codecs = propCodecs();
+            ImmutableSpi spi = (ImmutableSpi) value;
+            for (int i = 0; i < props.length; i++) {
+                ImmutableProp prop = props[i];
+                if (!spi.__isLoaded(prop.getId())) {
+                    continue;
+                }
+                if (prop.isView()) {
+                    // The value of view is derived from its base property,
+                    // only the visibility is written
+                    if (spi.__isVisible(prop.getId())) {
+                        out.writeVarInt((i + 1) << 2);
+                    }
+                    continue;
+                }
+                Object propValue = spi.__get(prop.getId());
+                int header = (i + 1) << 2;
+                if (!spi.__isVisible(prop.getId())) {
+                    header |= 2;
+                }
+                if (propValue == null) {
+                    out.writeVarInt(header | 1);
+                } else {
+                    out.writeVarInt(header);
+                    codecs[i].write(out, propValue);
+                }
+            }
+            out.writeVarInt(0);
+        }
+
+        @Override
+        public Object read(Input in) throws IOException {
+            Codec[] codecs = propCodecs();
+            // Read all values before creating the draft,
+            // so that the associated objects are created by their own root draft contexts
+            List<Object> values = new ArrayList<>();
+            int header;
+            while ((header = in.readVarInt()) != 0) {
+                int index = (header >>> 2) - 1;
+                if (index >= props.length) {
+                    throw new IllegalArgumentException(
+                            "Illegal property index " + index + " of \"" + type + "\""
+                    );
+                }
+                values.add(header);
+                values.add((header & 1) != 0 || codecs[index] == null ? null : codecs[index].read(in));
+            }
+            return Internal.produce(type, null, draft -> {
+                DraftSpi spi = (DraftSpi) draft;
+                for (int i = 0; i < values.size(); i += 2) {
+                    int propHeader = (Integer) values.get(i);
+                    ImmutableProp prop = props[(propHeader >>> 2) - 1];
+                    if (!prop.isView()) {
+                        spi.__set(prop.getId(), values.get(i + 1));
+                        if ((propHeader & 2) != 0) {
+                            spi.__show(prop.getId(), false);
+                        }
+                    }
+                }
+                // Views can only be shown after their base properties are set
+                for (int i = 0; i < values.size(); i += 2) {
+                    int propHeader = (Integer) values.get(i);
+                    ImmutableProp prop = props[(propHeader >>> 2) - 1];
+                    if (prop.isView()) {
+                        spi.__show(prop.getId(), true);
+                    }
+                }
+            });
+        }
+
+        private Codec[] propCodecs() {
+            Codec[] codecs = propCodecs;
+            if (codecs == null) {
+                codecs = new Codec[props.length];
+                for (int i = 0; i < props.length; i++) {
+                    ImmutableProp prop = props[i];
+                    ImmutableType targetType = prop.getTargetType();
+                    if (prop.isView()) {
+                        codecs[i] = null;
+                    } else if (targetType != null) {
+                        ObjectCodec targetCodec = objectCodec(targetType);
+                        codecs[i] = prop.isReferenceList(TargetLevel.OBJECT) ?
+                                new ObjectListCodec(targetCodec) :
+                                targetCodec;
+                    } else {
+                        codecs[i] = scalarCodec(prop.getReturnClass(), prop.getGenericType());
+                    }
+                }
+                propCodecs = codecs;
+            }
+            return codecs;
+        }
+    }
+
+    private static class ObjectListCodec implements Codec {
+
+        private final Codec elementCodec;
+
+        ObjectListCodec(Codec elementCodec) {
+            this.elementCodec = elementCodec;
+        }
+
+        @Override
+        public void write(Output out, Object value) throws IOException {
+            List<?> list = (List<?>) value;
+            out.writeVarInt(list.size());
+            for (Object element : list) {
+                elementCodec.write(out, element);
+            }
+        }
+
+        @Override
+        public Object read(Input in) throws IOException {
+            int size = in.readVarInt();
+            List<Object> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                list.add(elementCodec.read(in));
+            }
+            return list;
+        }
+    }
+
+    /**
+     * Formula properties without SQL are calculated by other properties
+     */
+    private static ImmutableProp[] serializableProps(ImmutableType type) {
+        List<ImmutableProp> props = new ArrayList<>();
+        for (ImmutableProp prop : type.getProps().values()) {
+            if (prop.isFormula() && prop.getSqlTemplate() == null) {
+                continue;
+            }
+            props.add(prop);
+        }
+        return props.toArray(new ImmutableProp[0]);
+    }
+
+    private static class Fingerprint {
+
+        private final Set<ImmutableType> visitedTypes = new HashSet<>();
+
+        int hash = FORMAT_VERSION;
+
+        Fingerprint type(ImmutableType type) {
+            if (!visitedTypes.add(type)) {
+                return this;
+            }
+            hash = hash * 31 + type.getJavaClass().getName().hashCode();
+            for (ImmutableProp prop : serializableProps(type)) {
+                prop(prop);
+                if (prop.getTargetType() != null && !prop.isView()) {
+                    type(prop.getTargetType());
+                }
+            }
+            return this;
+        }
+
+        Fingerprint prop(ImmutableProp prop) {
+            hash = hash * 31 + prop.getName().hashCode();
+            hash = hash * 31 + prop.getGenericType().getTypeName().hashCode();
+            return this;
+        }
+    }
+
+    private static class Output extends ByteArrayOutputStream {
+
+        void writeVarInt(int value) {
+            writeVarLong(value & 0xFFFFFFFFL);
+        }
+
+        void writeVarLong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            write((int) value);
+        }
+
+        void writeFixedInt(int value) {
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                write(value >>> shift);
+            }
+        }
+
+        void writeFixedLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                write((int) (value >>> shift));
+            }
+        }
+
+        void writeByteArray(byte[] bytes) {
+            writeVarInt(bytes.length);
+            write(bytes, 0, bytes.length);
+        }
+    }
+
+    private static class Input {
+
+        private final byte[] buf;
+
+        private int pos;
+
+        Input(byte[] buf) {
+            this.buf = buf;
+        }
+
+        int read() throws IOException {
+            if (pos >= buf.length) {
+                throw new IOException("Unexpected end of binary data");
+            }
+            return buf[pos++] & 0xFF;
+        }
+
+        int readVarInt() throws IOException {
+            return (int) readVarLong();
+        }
+
+        long readVarLong() throws IOException {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = read();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        int readFixedInt() throws IOException {
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                value = (value << 8) | read();
+            }
+            return value;
+        }
+
+        long readFixedLong() throws IOException {
+            long value = 0;
+            for (int i = 0; i < 8; i++) {
+                value = (value << 8) | read();
+            }
+            return value;
+        }
+
+        byte[] readByteArray() throws IOException {
+            int length = readVarInt();
+            if (length < 0 || length > buf.length - pos) {
+                throw new IOException("Unexpected end of binary data");
+            }
+            byte[] bytes = Arrays.copyOfRange(buf, pos, pos + length);
+            pos += length;
+            return bytes;
+        }
+    }
+}
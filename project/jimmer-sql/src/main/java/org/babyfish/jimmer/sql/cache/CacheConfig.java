@@ -27,6 +27,12 @@ public class CacheConfig {
 
     private Set<CacheAbandonedCallback> abandonedCallbacks = new LinkedHashSet<>();
 
+    private CacheMetrics metrics;
+
+    private int queryCacheMaxSize = QueryCache.DEFAULT_MAX_SIZE;
+
+    private CacheTracker queryCacheTracker;
+
     @OldChain
     public CacheConfig setCacheFactory(CacheFactory cacheFactory) {
         this.cacheFactory = cacheFactory;
@@ -125,6 +131,41 @@ public class CacheConfig {
         return this;
     }
 
+    /**
+     * Set the metrics SPI to observe hits, misses, loads,
+     * evictions and latencies of the caches.
+     */
+    @OldChain
+    public CacheConfig setMetrics(CacheMetrics metrics) {
+        this.metrics = metrics;
+        return this;
+    }
+
+    /**
+     * Set the max count of the query results cached by
+     * {@link org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery#cacheable(java.time.Duration)},
+     * the least recently used one is evicted. The default value is 1024.
+     */
+    @OldChain
+    public CacheConfig setQueryCacheMaxSize(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.queryCacheMaxSize = maxSize;
+        return this;
+    }
+
+    /**
+     * Set the tracker to notify other nodes of the cluster
+     * to evict their query results when the local triggers find
+     * the changes of tables, and to receive the notifications of other nodes.
+     */
+    @OldChain
+    public CacheConfig setQueryCacheTracker(CacheTracker tracker) {
+        this.queryCacheTracker = tracker;
+        return this;
+    }
+
     private void validateAssociationProp(ImmutableProp prop, boolean collection) {
         if (prop.isTransient()) {
             throw new IllegalArgumentException("The prop \"" + prop + "\" is transient");
@@ -234,7 +275,9 @@ public class CacheConfig {
                 finalObjectCacheMap,
                 finalPropCacheMap,
                 operator,
-                CompositeCacheAbandonedCallback.combine(abandonedCallbacks)
+                CompositeCacheAbandonedCallback.combine(abandonedCallbacks),
+                metrics,
+                new QueryCache(queryCacheMaxSize, queryCacheTracker)
         );
     }
 }
@@ -6,6 +6,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.sql.Connection;
 import java.util.Objects;
+import java.util.function.Function;
 
 public class CacheEnvironment<K, V> {
 
@@ -15,17 +16,38 @@ public class CacheEnvironment<K, V> {
 
     private final CacheLoader<K, V> loader;
 
+    private final Function<Connection, CacheLoader<K, V>> loaderFactory;
+
+    private final boolean requiresNewDraftContext;
+
     public CacheEnvironment(
             JSqlClient sqlClient,
             Connection connection,
             CacheLoader<K, V> loader,
             boolean requiresNewDraftContext) {
+        this(sqlClient, connection, loader, null, requiresNewDraftContext);
+    }
+
+    /**
+     * @param loaderFactory Create the loader of another connection, it is used
+     *                      by the cache to load data outside the current request,
+     *                      such as refreshing entries in background.
+     *                      Null means the loader cannot be rebound to other connection.
+     */
+    public CacheEnvironment(
+            JSqlClient sqlClient,
+            Connection connection,
+            CacheLoader<K, V> loader,
+            @Nullable Function<Connection, CacheLoader<K, V>> loaderFactory,
+            boolean requiresNewDraftContext) {
         this.sqlClient = Objects.requireNonNull(sqlClient, "sqlClient cannot be null");
         this.connection = Objects.requireNonNull(connection, "connection cannot be null");
         this.loader = CacheLoaderWrapper.wrap(
                 Objects.requireNonNull(loader, "loader cannot be null"),
                 requiresNewDraftContext
         );
+        this.loaderFactory = loaderFactory;
+        this.requiresNewDraftContext = requiresNewDraftContext;
     }
 
     @NotNull
@@ -43,6 +65,29 @@ public class CacheEnvironment<K, V> {
         return loader;
     }
 
+    public boolean isRebindable() {
+        return loaderFactory != null;
+    }
+
+    /**
+     * Create an environment which loads data by another connection.
+     *
+     * @return The new environment, or null if {@link #isRebindable()} is false
+     */
+    @Nullable
+    public CacheEnvironment<K, V> rebind(@NotNull Connection connection) {
+        if (loaderFactory == null) {
+            return null;
+        }
+        return new CacheEnvironment<>(
+                sqlClient,
+                connection,
+                loaderFactory.apply(connection),
+                loaderFactory,
+                requiresNewDraftContext
+        );
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(sqlClient, connection, loader);
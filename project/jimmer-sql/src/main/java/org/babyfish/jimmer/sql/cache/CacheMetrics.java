@@ -0,0 +1,95 @@
+package org.babyfish.jimmer.sql.cache;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The SPI to observe the caches, it can be specified by
+ * {@link org.babyfish.jimmer.sql.JSqlClient.Builder#setCacheMetrics(CacheMetrics)}.
+ *
+ * <p>For all methods, `type` is the entity type of the cache,
+ * `prop` is the property of the property cache or null for object cache,
+ * `level` is the zero-based index of binder in the multi-level cache
+ * built by {@link org.babyfish.jimmer.sql.cache.chain.ChainCacheBuilder}.</p>
+ *
+ * <p>These methods are called in the hot path of data loading,
+ * so the implementation must be cheap and thread-safe.
+ * All of them do nothing by default.</p>
+ */
+public interface CacheMetrics {
+
+    /**
+     * Some keys are found by the binder of the level
+     */
+    default void recordHits(
+            @NotNull ImmutableType type,
+            @Nullable ImmutableProp prop,
+            int level,
+            int count
+    ) {}
+
+    /**
+     * Some keys are not found by the binder of the level,
+     * they are requested from the next level.
+     */
+    default void recordMisses(
+            @NotNull ImmutableType type,
+            @Nullable ImmutableProp prop,
+            int level,
+            int count
+    ) {}
+
+    /**
+     * The time spent in the binder of the level,
+     * the time spent in the next levels is excluded.
+     */
+    default void recordLatency(
+            @NotNull ImmutableType type,
+            @Nullable ImmutableProp prop,
+            int level,
+            long nanos
+    ) {}
+
+    /**
+     * The keys missed by all levels are loaded from database
+     * by one call of {@link CacheLoader}
+     *
+     * @param batchSize The count of keys loaded by this call
+     */
+    default void recordLoad(
+            @NotNull ImmutableType type,
+            @Nullable ImmutableProp prop,
+            int batchSize,
+            long nanos
+    ) {}
+
+    /**
+     * Some keys are evicted because the current application
+     * changed the database
+     */
+    default void recordEvictions(
+            @NotNull ImmutableType type,
+            @Nullable ImmutableProp prop,
+            int count
+    ) {}
+
+    /**
+     * Some keys are evicted because the invalidation event
+     * is received from other nodes by {@link CacheTracker}
+     */
+    default void recordInvalidations(
+            @NotNull ImmutableType type,
+            @Nullable ImmutableProp prop,
+            int count
+    ) {}
+
+    /**
+     * Create a listener which records the events received by tracker,
+     * please add it to tracker by {@link CacheTracker#addInvalidateListener(CacheTracker.InvalidationListener)}
+     */
+    default CacheTracker.InvalidationListener toInvalidationListener() {
+        return event -> recordInvalidations(event.getType(), event.getProp(), event.getIds().size());
+    }
+}
@@ -1,5 +1,6 @@
 package org.babyfish.jimmer.sql.cache;
 
+import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.JSqlClient;
 
 import java.util.Collection;
@@ -12,6 +13,17 @@ public interface CacheOperator {
 
     void deleteAll(UsedCache<Object, ?> cache, Collection<Object> keys, Object reason);
 
+    /**
+     * Evict the cached query results which read the table of the type.
+     *
+     * <p>The default behavior evicts them immediately,
+     * the operator which defers the cache deletions
+     * should defer it too.</p>
+     */
+    default void invalidateQueryCache(QueryCache queryCache, ImmutableType type) {
+        queryCache.invalidate(type);
+    }
+
     static boolean isSuspending() {
         return Suspending.LOCAL.get() != null;
     }
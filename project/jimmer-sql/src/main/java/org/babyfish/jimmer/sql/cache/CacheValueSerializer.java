@@ -0,0 +1,128 @@
+package org.babyfish.jimmer.sql.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * The serializer used by remote cache binders to convert
+ * cached values to byte arrays and back.
+ *
+ * <ul>
+ *     <li>For object cache, the value is an entity object</li>
+ *     <li>For association cache, the value is an id or an id list</li>
+ *     <li>For calculated cache, the value is the calculated value</li>
+ * </ul>
+ *
+ * <p>Null is a legal cached value, it must be serialized to
+ * a non-empty byte array which can be distinguished from cache miss.</p>
+ *
+ * @see ValueSerializer
+ * @see BinaryValueSerializer
+ */
+public interface CacheValueSerializer<T> {
+
+    @NotNull
+    byte[] serialize(T value);
+
+    T deserialize(byte[] value);
+
+    /**
+     * Is the value the serialized null, which means that
+     * the data does not exist(negative cache)?
+     *
+     * <p>The default implementation deserializes the value,
+     * the derived classes should override it with a cheaper way.</p>
+     */
+    default boolean isNull(@NotNull byte[] value) {
+        return deserialize(value) == null;
+    }
+
+    @NotNull
+    default <K> Map<K, byte[]> serialize(@NotNull Map<K, T> map) {
+        Map<K, byte[]> serializedMap = new LinkedHashMap<>((map.size() * 4 + 2) / 3);
+        for (Map.Entry<K, T> e : map.entrySet()) {
+            serializedMap.put(e.getKey(), serialize(e.getValue()));
+        }
+        return serializedMap;
+    }
+
+    @NotNull
+    default <K1, K2> Map<K2, byte[]> serialize(@NotNull Map<K1, T> map, @NotNull Function<K1, K2> keyMapper) {
+        Map<K2, byte[]> serializedMap = new LinkedHashMap<>((map.size() * 4 + 2) / 3);
+        for (Map.Entry<K1, T> e : map.entrySet()) {
+            serializedMap.put(keyMapper.apply(e.getKey()), serialize(e.getValue()));
+        }
+        return serializedMap;
+    }
+
+    @NotNull
+    default <K> Map<K, T> deserialize(@NotNull Map<K, byte[]> map) {
+        Map<K, T> deserializedMap = new LinkedHashMap<>((map.size() * 4 + 2) / 3);
+        for (Map.Entry<K, byte[]> e : map.entrySet()) {
+            deserializedMap.put(e.getKey(), deserialize(e.getValue()));
+        }
+        return deserializedMap;
+    }
+
+    @NotNull
+    default <K1, K2> Map<K2, T> deserialize(@NotNull Map<K1, byte[]> map, @NotNull Function<K1, K2> keyMapper) {
+        Map<K2, T> deserializedMap = new LinkedHashMap<>((map.size() * 4 + 2) / 3);
+        for (Map.Entry<K1, byte[]> e : map.entrySet()) {
+            deserializedMap.put(keyMapper.apply(e.getKey()), deserialize(e.getValue()));
+        }
+        return deserializedMap;
+    }
+
+    /**
+     * Deserialize the values read from remote cache,
+     * the keys whose values are null are considered as cache miss
+     */
+    @NotNull
+    default <K> Map<K, T> deserialize(@NotNull Collection<K> keys, @NotNull Collection<byte[]> values) {
+        Map<K, T> deserializedMap = new LinkedHashMap<>((keys.size() * 4 + 2) / 3);
+        Iterator<K> keyItr = keys.iterator();
+        Iterator<byte[]> byteArrItr = values.iterator();
+        while (keyItr.hasNext() && byteArrItr.hasNext()) {
+            K key = keyItr.next();
+            byte[] byteArr = byteArrItr.next();
+            if (byteArr != null) {
+                deserializedMap.put(key, deserialize(byteArr));
+            }
+        }
+        return deserializedMap;
+    }
+
+    /**
+     * Create serializers for the remote binders.
+     *
+     * <p>It can be specified by the `serializerFactory` method
+     * of the builders of remote binders, if it is not specified,
+     * {@link #json()} is used.</p>
+     */
+    interface Factory {
+
+        <T> CacheValueSerializer<T> forType(@NotNull ImmutableType type, @Nullable ObjectMapper mapper);
+
+        <T> CacheValueSerializer<T> forProp(@NotNull ImmutableProp prop, @Nullable ObjectMapper mapper);
+    }
+
+    /**
+     * The default factory which creates {@link ValueSerializer}
+     */
+    static Factory json() {
+        return ValueSerializer.FACTORY;
+    }
+
+    /**
+     * The factory which creates {@link BinaryValueSerializer}
+     */
+    static Factory binary() {
+        return BinaryValueSerializer.FACTORY;
+    }
+}
@@ -0,0 +1,268 @@
+package org.babyfish.jimmer.sql.cache;
+
+import org.babyfish.jimmer.SeekPage;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.ast.Expression;
+import org.babyfish.jimmer.sql.ast.impl.query.FilterLevel;
+import org.babyfish.jimmer.sql.ast.impl.query.Queries;
+import org.babyfish.jimmer.sql.ast.table.Table;
+import org.babyfish.jimmer.sql.fetcher.Fetcher;
+import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
+import org.babyfish.jimmer.sql.runtime.Initializer;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Preload the object caches and association caches
+ * so that a new deployment does not hit the database
+ * for every cache miss after startup.
+ *
+ * <p>The ids of each entity type are iterated in keyset order,
+ * and each batch is loaded by
+ * {@link org.babyfish.jimmer.sql.Entities#findByIds(Class, Iterable)} or
+ * {@link org.babyfish.jimmer.sql.Entities#findByIds(Fetcher, Iterable)},
+ * so the missed objects are written into the binders of object cache
+ * by one `setAll`, and the associations of the fetcher are written into
+ * the association caches in the same way.</p>
+ *
+ * <p>It can be added into sql client as {@link Initializer},
+ * or called by {@link #warm(JSqlClient, Connection)} explicitly.</p>
+ */
+public class CacheWarmer implements Initializer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheWarmer.class);
+
+    private final List<Target> targets;
+
+    private final int batchSize;
+
+    private final int maxRowsPerSecond;
+
+    private final ProgressListener progressListener;
+
+    private final Executor executor;
+
+    private CacheWarmer(Builder builder) {
+        this.targets = Collections.unmodifiableList(new ArrayList<>(builder.targets));
+        this.batchSize = builder.batchSize;
+        this.maxRowsPerSecond = builder.maxRowsPerSecond;
+        this.progressListener = builder.progressListener;
+        this.executor = builder.executor;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Warm the caches when the sql client is initialized.
+     *
+     * <p>If the executor is specified, the caches are warmed
+     * by the executor and the initialization is not blocked.</p>
+     */
+    @Override
+    public void initialize(JSqlClient sqlClient) {
+        if (executor == null) {
+            warm(sqlClient, null);
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                warm(sqlClient, null);
+            } catch (RuntimeException | Error ex) {
+                LOGGER.error("Failed to warm caches", ex);
+            }
+        });
+    }
+
+    /**
+     * @param con The explicit jdbc connection, null means using default connection
+     */
+    public void warm(JSqlClient sqlClient, @Nullable Connection con) {
+        long startTime = System.nanoTime();
+        long totalCount = 0;
+        for (Target target : targets) {
+            if (sqlClient.getCaches().getObjectCache(target.type) == null) {
+                LOGGER.warn(
+                        "The type \"{}\" is ignored by cache warmer because it has no object cache",
+                        target.type
+                );
+                continue;
+            }
+            String cursor = null;
+            long count = 0;
+            do {
+                SeekPage<Object> page = Queries.createQuery(
+                        (JSqlClientImplementor) sqlClient,
+                        target.type,
+                        ExecutionPurpose.QUERY,
+                        FilterLevel.DEFAULT,
+                        (q, table) -> q.select(idExpression(table, target.type.getIdProp()))
+                ).fetchSeekPage(cursor, batchSize, con);
+                List<Object> ids = page.getRows();
+                if (!ids.isEmpty()) {
+                    if (target.fetcher != null) {
+                        sqlClient.getEntities().forConnection(con).findByIds(target.fetcher, ids);
+                    } else {
+                        sqlClient.getEntities().forConnection(con).findByIds(target.type.getJavaClass(), ids);
+                    }
+                }
+                count += ids.size();
+                totalCount += ids.size();
+                cursor = page.getNextCursor();
+                if (progressListener != null) {
+                    progressListener.onProgress(target.type, target.fetcher, count, cursor == null);
+                }
+                if (cursor != null && !throttle(startTime, totalCount)) {
+                    return;
+                }
+            } while (cursor != null);
+            LOGGER.info("{} objects of \"{}\" are warmed", count, target.type);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Expression<Object> idExpression(Table<?> table, ImmutableProp idProp) {
+        return (Expression<Object>) (Expression<?>) table.get(idProp);
+    }
+
+    private boolean throttle(long startTime, long totalCount) {
+        if (maxRowsPerSecond == 0) {
+            return true;
+        }
+        long expectedMillis = totalCount * 1000L / maxRowsPerSecond;
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000L;
+        if (expectedMillis > elapsedMillis) {
+            try {
+                Thread.sleep(expectedMillis - elapsedMillis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                LOGGER.warn("Cache warming is interrupted");
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @FunctionalInterface
+    public interface ProgressListener {
+
+        /**
+         * @param type The entity type being warmed
+         * @param fetcher The fetcher of the type, null means only object cache is warmed
+         * @param warmedCount The count of warmed objects of this type
+         * @param completed Whether all objects of this type have been warmed
+         */
+        void onProgress(
+                @NotNull ImmutableType type,
+                @Nullable Fetcher<?> fetcher,
+                long warmedCount,
+                boolean completed
+        );
+    }
+
+    public static class Builder {
+
+        private final List<Target> targets = new ArrayList<>();
+
+        private int batchSize = 500;
+
+        private int maxRowsPerSecond;
+
+        private ProgressListener progressListener;
+
+        private Executor executor;
+
+        Builder() {}
+
+        /**
+         * Warm the object cache of the type
+         */
+        public Builder add(Class<?> type) {
+            ImmutableType immutableType = ImmutableType.get(type);
+            if (!immutableType.isEntity()) {
+                throw new IllegalArgumentException("\"" + immutableType + "\" is not entity");
+            }
+            targets.add(new Target(immutableType, null));
+            return this;
+        }
+
+        /**
+         * Warm the object cache of the fetched type, and the
+         * association caches and calculated caches of the properties
+         * fetched by the fetcher
+         */
+        public Builder add(Fetcher<?> fetcher) {
+            ImmutableType immutableType = fetcher.getImmutableType();
+            if (!immutableType.isEntity()) {
+                throw new IllegalArgumentException("\"" + immutableType + "\" is not entity");
+            }
+            targets.add(new Target(immutableType, fetcher));
+            return this;
+        }
+
+        /**
+         * The count of objects loaded by one query, default value is 500
+         */
+        public Builder batchSize(int batchSize) {
+            if (batchSize < 1) {
+                throw new IllegalArgumentException("`batchSize` cannot be less than 1");
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Limit the speed of warming to protect the database,
+         * 0 means unlimited, that is the default value
+         */
+        public Builder maxRowsPerSecond(int maxRowsPerSecond) {
+            if (maxRowsPerSecond < 0) {
+                throw new IllegalArgumentException("`maxRowsPerSecond` cannot be negative");
+            }
+            this.maxRowsPerSecond = maxRowsPerSecond;
+            return this;
+        }
+
+        public Builder progressListener(ProgressListener progressListener) {
+            this.progressListener = progressListener;
+            return this;
+        }
+
+        /**
+         * If it is specified, the caches are warmed by this executor
+         * when the sql client is initialized.
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public CacheWarmer build() {
+            return new CacheWarmer(this);
+        }
+    }
+
+    private static class Target {
+
+        final ImmutableType type;
+
+        final Fetcher<?> fetcher;
+
+        Target(ImmutableType type, Fetcher<?> fetcher) {
+            this.type = type;
+            this.fetcher = fetcher;
+        }
+    }
+}
@@ -26,5 +26,10 @@ public interface Caches {
 
     CacheAbandonedCallback getAbandonedCallback();
 
+    @Nullable
+    default CacheMetrics getMetrics() {
+        return null;
+    }
+
     boolean isAffectedBy(DatabaseEvent e);
 }
@@ -8,6 +8,7 @@ import org.babyfish.jimmer.sql.event.DatabaseEvent;
 import org.babyfish.jimmer.sql.filter.impl.FilterManager;
 import org.babyfish.jimmer.sql.runtime.EntityManager;
 import org.babyfish.jimmer.sql.event.Triggers;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 
@@ -23,6 +24,12 @@ public class CachesImpl implements Caches {
 
     private final CacheAbandonedCallback abandonedCallback;
 
+    private final CacheMetrics metrics;
+
+    private final QueryCache queryCache;
+
+    private final ThreadLocal<Set<ImmutableType>> deferredQueryCacheTypesLocal;
+
     private final boolean disableAll;
 
     private final Set<ImmutableType> disabledTypes;
@@ -34,7 +41,9 @@ public class CachesImpl implements Caches {
             Map<ImmutableType, Cache<?, ?>> objectCacheMap,
             Map<ImmutableProp, Cache<?, ?>> propCacheMap,
             CacheOperator operator,
-            CacheAbandonedCallback abandonedCallback
+            CacheAbandonedCallback abandonedCallback,
+            CacheMetrics metrics,
+            QueryCache queryCache
     ) {
         Map<ImmutableType, UsedCache<?, ?>> objectCacheWrapperMap = new LinkedHashMap<>();
         for (Map.Entry<ImmutableType, Cache<?, ?>> e : objectCacheMap.entrySet()) {
@@ -51,7 +60,26 @@ public class CachesImpl implements Caches {
         this.propCacheMap = propCacheWrapperMap;
         this.operator = operator;
         this.abandonedCallback = abandonedCallback;
+        this.metrics = metrics;
+        this.queryCache = queryCache;
+        this.deferredQueryCacheTypesLocal = new ThreadLocal<>();
         this.disableAll = false;
+        triggers.addEntityListener(e -> {
+            if (isAffectedBy(e)) {
+                invalidateQueryCache(e.getImmutableType());
+            }
+        });
+        triggers.addAssociationListener(e -> {
+            if (isAffectedBy(e)) {
+                // The changes of foreign keys have been handled by entity listener
+                ImmutableProp prop = e.getImmutableProp();
+                ImmutableProp definitionProp = prop.getMappedBy() != null ? prop.getMappedBy() : prop;
+                if (definitionProp.isMiddleTableDefinition()) {
+                    invalidateQueryCache(prop.getDeclaringType());
+                    invalidateQueryCache(prop.getTargetType());
+                }
+            }
+        });
         this.disabledTypes = Collections.emptySet();
         this.disabledProps = Collections.emptySet();
     }
@@ -65,6 +93,9 @@ public class CachesImpl implements Caches {
         propCacheMap = base.propCacheMap;
         operator = base.operator;
         abandonedCallback = base.abandonedCallback;
+        metrics = base.metrics;
+        queryCache = base.queryCache;
+        deferredQueryCacheTypesLocal = base.deferredQueryCacheTypesLocal;
         disableAll = cfg.isDisableAll();
         disabledTypes = cfg.getDisabledTypes();
         disabledProps = cfg.getDisabledProps();
@@ -102,16 +133,86 @@ public class CachesImpl implements Caches {
         return UsedCacheImpl.export((UsedCache<K, V>) propCacheMap.get(prop));
     }
 
+    /**
+     * @return The query cache or null if all caches are disabled
+     */
+    @Nullable
+    public QueryCache getQueryCache() {
+        return disableAll ? null : queryCache;
+    }
+
+    /**
+     * @return The query cache or null if all caches are disabled
+     * or the cache of any type used by the query is disabled
+     */
+    @Nullable
+    public QueryCache getQueryCache(Collection<ImmutableType> usedTypes) {
+        if (disableAll) {
+            return null;
+        }
+        for (ImmutableType type : usedTypes) {
+            if (disabledTypes.contains(type)) {
+                return null;
+            }
+        }
+        return queryCache;
+    }
+
     @Override
     public CacheAbandonedCallback getAbandonedCallback() {
         return abandonedCallback;
     }
 
+    @Nullable
+    @Override
+    public CacheMetrics getMetrics() {
+        return metrics;
+    }
+
     @Override
     public boolean isAffectedBy(DatabaseEvent e) {
         return (e.getConnection() != null) == triggers.isTransaction();
     }
 
+    /**
+     * Execute the block which fires a batch of events, such as the events
+     * of one save command, the query cache is invalidated only once for
+     * each changed type after the block, not once for each event.
+     */
+    public void coalesceQueryCacheInvalidations(Runnable block) {
+        if (deferredQueryCacheTypesLocal.get() != null) {
+            block.run();
+            return;
+        }
+        Set<ImmutableType> types = new LinkedHashSet<>();
+        deferredQueryCacheTypesLocal.set(types);
+        try {
+            block.run();
+        } finally {
+            deferredQueryCacheTypesLocal.remove();
+            for (ImmutableType type : types) {
+                invalidateQueryCacheImmediately(type);
+            }
+        }
+    }
+
+    private void invalidateQueryCache(ImmutableType type) {
+        Set<ImmutableType> deferredTypes = deferredQueryCacheTypesLocal.get();
+        if (deferredTypes != null) {
+            deferredTypes.add(type);
+        } else {
+            invalidateQueryCacheImmediately(type);
+        }
+    }
+
+    private void invalidateQueryCacheImmediately(ImmutableType type) {
+        if (operator == null || CacheOperator.isSuspending()) {
+            queryCache.invalidate(type);
+        } else if (queryCache.isInvalidationRequired(type)) {
+            operator.invalidateQueryCache(queryCache, type);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     private UsedCache<?, ?> wrapObjectCache(
             Triggers triggers,
@@ -129,6 +230,9 @@ public class CachesImpl implements Caches {
             if (isAffectedBy(e)) {
                 Object id = e.getId();
                 wrapper.delete(id, e.getReason());
+                if (metrics != null) {
+                    metrics.recordEvictions(wrapper.type(), null, 1);
+                }
             }
         });
         return wrapper;
@@ -159,6 +263,9 @@ public class CachesImpl implements Caches {
                 if (isAffectedBy(e)) {
                     Object id = e.getSourceId();
                     wrapper.delete(id, e.getReason());
+                    if (metrics != null) {
+                        metrics.recordEvictions(wrapper.type(), prop, 1);
+                    }
                 }
             });
         }
@@ -0,0 +1,109 @@
+package org.babyfish.jimmer.sql.cache;
+
+import org.babyfish.jimmer.sql.cache.chain.LockableBinder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The in-process cache locker based on striped locks,
+ * for single-node deployments without distributed lock service.
+ *
+ * <p>When concurrent callers miss same keys, only the first one
+ * loads the data and updates the cache, the others wait for it
+ * and read the loaded data from cache.</p>
+ *
+ * <p>The locks are always released when the action is finished,
+ * so the `lockingDuration` is ignored.</p>
+ */
+public class LocalCacheLocker implements CacheLocker {
+
+    private final ReentrantLock[] locks;
+
+    public LocalCacheLocker() {
+        this(256);
+    }
+
+    /**
+     * @param stripes The count of locks, it will be rounded up to a power of two.
+     *                Different keys may share the same lock,
+     *                more stripes means less contention and more memory.
+     */
+    public LocalCacheLocker(int stripes) {
+        if (stripes < 1 || stripes > 1 << 16) {
+            throw new IllegalArgumentException("stripes must between 1 and 65536");
+        }
+        int size = Integer.highestOneBit(stripes);
+        if (size < stripes) {
+            size <<= 1;
+        }
+        locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public void locking(
+            @NotNull LockableBinder<?, ?> binder,
+            @NotNull Set<?> missedKeys,
+            @Nullable Duration waitingDuration,
+            @NotNull Duration lockingDuration,
+            Action action
+    ) throws InterruptedException {
+        String keyPrefix = binder.keyPrefix();
+        // Sorted lock indices can avoid dead lock
+        Set<Integer> indices = new TreeSet<>();
+        for (Object missedKey : missedKeys) {
+            indices.add(index(keyPrefix, missedKey));
+            if (indices.size() == locks.length) {
+                break;
+            }
+        }
+        ReentrantLock[] acquiredLocks = new ReentrantLock[indices.size()];
+        int acquiredCount = 0;
+        try {
+            if (waitingDuration == null) { // hard lock
+                for (int index : indices) {
+                    locks[index].lockInterruptibly();
+                    acquiredLocks[acquiredCount++] = locks[index];
+                }
+            } else { // soft lock
+                long deadline = System.nanoTime() + waitingDuration.toNanos();
+                for (int index : indices) {
+                    long remaining = Math.max(deadline - System.nanoTime(), 0L);
+                    if (!locks[index].tryLock(remaining, TimeUnit.NANOSECONDS)) {
+                        break;
+                    }
+                    acquiredLocks[acquiredCount++] = locks[index];
+                }
+                if (acquiredCount < acquiredLocks.length) {
+                    unlock(acquiredLocks, acquiredCount);
+                    acquiredCount = 0;
+                    action.execute(false);
+                    return;
+                }
+            }
+            action.execute(true);
+        } finally {
+            unlock(acquiredLocks, acquiredCount);
+        }
+    }
+
+    private int index(String keyPrefix, Object key) {
+        int h = keyPrefix.hashCode() * 31 + key.hashCode();
+        h ^= (h >>> 16);
+        return h & (locks.length - 1);
+    }
+
+    private static void unlock(ReentrantLock[] locks, int count) {
+        for (int i = count - 1; i >= 0; --i) {
+            locks[i].unlock();
+        }
+    }
+}
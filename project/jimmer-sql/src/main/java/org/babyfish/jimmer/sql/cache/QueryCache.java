@@ -0,0 +1,213 @@
+package org.babyfish.jimmer.sql.cache;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The local cache of the results of root queries
+ * which are marked by
+ * {@link org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery#cacheable(Duration)}.
+ *
+ * <p>The key is the rendered SQL and its variables, the value is
+ * the id list of the selected entities or the selected rows.
+ * When any entity table(or middle table) read by the query is changed,
+ * the cached result is evicted.</p>
+ */
+public class QueryCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryCache.class);
+
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    private final Map<Key, Entry> entryMap;
+
+    private final Map<ImmutableType, AtomicLong> versionMap = new ConcurrentHashMap<>();
+
+    private final Set<ImmutableType> usedTypes = ConcurrentHashMap.newKeySet();
+
+    private final CacheTracker tracker;
+
+    QueryCache(int maxSize, @Nullable CacheTracker tracker) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be positive");
+        }
+        this.entryMap = new LinkedHashMap<Key, Entry>(16, .75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+        this.tracker = tracker;
+        if (tracker != null) {
+            tracker.addInvalidateListener(event -> {
+                ImmutableProp prop = event.getProp();
+                if (prop != null) {
+                    invalidateLocally(prop.getDeclaringType());
+                    if (prop.getTargetType() != null) {
+                        invalidateLocally(prop.getTargetType());
+                    }
+                } else {
+                    invalidateLocally(event.getType());
+                }
+            });
+            tracker.addReconnectListener(this::clear);
+        }
+    }
+
+    @Nullable
+    public List<?> get(String sql, List<Object> variables) {
+        Key key = new Key(sql, variables);
+        long now = System.nanoTime();
+        synchronized (entryMap) {
+            Entry entry = entryMap.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (now - entry.expiredNanos >= 0) {
+                entryMap.remove(key);
+                return null;
+            }
+            return entry.values;
+        }
+    }
+
+    /**
+     * Get the stamp which must be captured before executing the query,
+     * the result cannot be put into cache if any used table is changed
+     * during the execution.
+     */
+    public long stamp(Collection<ImmutableType> types) {
+        long stamp = 0;
+        for (ImmutableType type : types) {
+            usedTypes.add(type);
+            stamp += version(type).get();
+        }
+        return stamp;
+    }
+
+    public void put(
+            String sql,
+            List<Object> variables,
+            List<?> values,
+            Set<ImmutableType> types,
+            long stamp,
+            Duration timeToLive
+    ) {
+        Entry entry = new Entry(
+                Collections.unmodifiableList(new ArrayList<>(values)),
+                types,
+                System.nanoTime() + timeToLive.toNanos()
+        );
+        synchronized (entryMap) {
+            if (stamp(types) != stamp) {
+                return;
+            }
+            entryMap.put(new Key(sql, variables), entry);
+        }
+    }
+
+    /**
+     * Whether the invalidation of the type must be executed.
+     *
+     * <p>It is false only if no query reading the table of the type
+     * has ever been cached by this node and no other node needs to be notified,
+     * so that the cache operator does not need to save the invalidation.
+     * A type is regarded as used since the stamp of the query is captured,
+     * not since its result is cached, otherwise the result queried
+     * during the current transaction could be cached without invalidation.</p>
+     */
+    public boolean isInvalidationRequired(ImmutableType type) {
+        return tracker != null || usedTypes.contains(type);
+    }
+
+    /**
+     * Evict the cached results of the queries which read the table of the type,
+     * other nodes are notified too if the cache tracker is specified
+     */
+    public void invalidate(ImmutableType type) {
+        invalidateLocally(type);
+        if (tracker != null) {
+            tracker.publisher().invalidate(
+                    new CacheTracker.InvalidateEvent(type, Collections.emptyList())
+            );
+        }
+    }
+
+    public void clear() {
+        synchronized (entryMap) {
+            for (AtomicLong version : versionMap.values()) {
+                version.incrementAndGet();
+            }
+            entryMap.clear();
+        }
+    }
+
+    private void invalidateLocally(ImmutableType type) {
+        int count = 0;
+        synchronized (entryMap) {
+            version(type).incrementAndGet();
+            Iterator<Entry> itr = entryMap.values().iterator();
+            while (itr.hasNext()) {
+                if (itr.next().types.contains(type)) {
+                    itr.remove();
+                    count++;
+                }
+            }
+        }
+        if (count != 0 && LOGGER.isDebugEnabled()) {
+            LOGGER.debug("QueryCache.Invalidate > {}: {} result(s)", type, count);
+        }
+    }
+
+    private AtomicLong version(ImmutableType type) {
+        return versionMap.computeIfAbsent(type, it -> new AtomicLong());
+    }
+
+    private static class Key {
+
+        private final String sql;
+
+        private final List<Object> variables;
+
+        Key(String sql, List<Object> variables) {
+            this.sql = sql;
+            this.variables = variables;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return sql.equals(key.sql) && variables.equals(key.variables);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * sql.hashCode() + variables.hashCode();
+        }
+    }
+
+    private static class Entry {
+
+        final List<?> values;
+
+        final Set<ImmutableType> types;
+
+        final long expiredNanos;
+
+        Entry(List<?> values, Set<ImmutableType> types, long expiredNanos) {
+            this.values = values;
+            this.types = types;
+            this.expiredNanos = expiredNanos;
+        }
+    }
+}
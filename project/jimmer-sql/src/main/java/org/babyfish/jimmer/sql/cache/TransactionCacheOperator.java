@@ -14,8 +14,29 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
+import java.time.Duration;
 import java.util.*;
-
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The cache operator which saves the cache deletions into the table
+ * `JIMMER_TRANS_CACHE_OPERATOR` in the current transaction,
+ * and executes them after the transaction is committed by {@link #flush()}.
+ *
+ * <p>By default, the table is drained by the caller of {@link #flush()},
+ * such as the polling flusher of spring boot starter.
+ * If {@link Builder#drainExecutor(ScheduledExecutorService)} is specified,
+ * {@link #flushAsync()} drains the table on that executor as an outbox,
+ * the failed draining is retried for bounded times.</p>
+ *
+ * <p>If {@link Builder#partition(int)} is specified, the rows are saved
+ * and drained by the column `PARTITION_ID`, so that several nodes
+ * with different partitions can drain the table concurrently
+ * without contention. Partition should be stable for a node,
+ * otherwise the rows left by the previous process cannot be drained.</p>
+ */
 public class TransactionCacheOperator extends AbstractCacheOperator {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TransactionCacheOperator.class);
@@ -32,6 +53,14 @@ public class TransactionCacheOperator extends AbstractCacheOperator {
 
     private static final String REASON = "REASON";
 
+    private static final String PARTITION_ID = "PARTITION_ID";
+
+    /*
+     * The cache key of the rows which invalidate the query cache,
+     * it is not a valid json so that it cannot conflict with the keys of other rows
+     */
+    private static final String QUERY_CACHE_KEY = "<query-cache>";
+
     private static final String INSERT =
             "insert into " +
                     TABLE_NAME + "(" +
@@ -44,6 +73,20 @@ public class TransactionCacheOperator extends AbstractCacheOperator {
                     REASON +
                     ") values(?, ?, ?, ?)";
 
+    private static final String PARTITIONED_INSERT =
+            "insert into " +
+                    TABLE_NAME + "(" +
+                    IMMUTABLE_TYPE +
+                    ", " +
+                    IMMUTABLE_PROP +
+                    ", " +
+                    CACHE_KEY +
+                    ", " +
+                    REASON +
+                    ", " +
+                    PARTITION_ID +
+                    ") values(?, ?, ?, ?, ?)";
+
     private static final String SELECT_ID_PREFIX =
             "select " +
                     ID +
@@ -53,6 +96,17 @@ public class TransactionCacheOperator extends AbstractCacheOperator {
                     ID +
                     " limit ";
 
+    private static final String PARTITIONED_SELECT_ID_PREFIX =
+            "select " +
+                    ID +
+                    " from " +
+                    TABLE_NAME +
+                    " where " +
+                    PARTITION_ID +
+                    " = ? order by " +
+                    ID +
+                    " limit ";
+
     private static final String SELECT_PREFIX =
             "select " +
                     ID +
@@ -81,6 +135,16 @@ public class TransactionCacheOperator extends AbstractCacheOperator {
 
     private final int batchSize;
 
+    private final Integer partition;
+
+    private final ScheduledExecutorService drainExecutor;
+
+    private final int maxRetryCount;
+
+    private final Duration retryDelay;
+
+    private final AtomicBoolean drainRequested = new AtomicBoolean();
+
     public TransactionCacheOperator() {
         this(null, 32);
     }
@@ -94,15 +158,40 @@ public class TransactionCacheOperator extends AbstractCacheOperator {
     }
 
     public TransactionCacheOperator(ObjectMapper mapper, int batchSize) {
+        this(mapper, batchSize, null, null, 0, null);
+    }
+
+    public TransactionCacheOperator(
+            ObjectMapper mapper,
+            int batchSize,
+            Integer partition,
+            ScheduledExecutorService drainExecutor,
+            int maxRetryCount,
+            Duration retryDelay
+    ) {
         if (batchSize < 1) {
             throw new IllegalArgumentException("`batchSize` cannot be less than 1");
         }
+        if (partition != null && partition < 0) {
+            throw new IllegalArgumentException("`partition` cannot be negative");
+        }
+        if (maxRetryCount < 0) {
+            throw new IllegalArgumentException("`maxRetryCount` cannot be negative");
+        }
         this.mapper = mapper != null ?
                 mapper :
                 new ObjectMapper()
                         .registerModule(new JavaTimeModule())
                         .registerModule(new ImmutableModule());
         this.batchSize = batchSize;
+        this.partition = partition;
+        this.drainExecutor = drainExecutor;
+        this.maxRetryCount = maxRetryCount;
+        this.retryDelay = retryDelay != null ? retryDelay : Duration.ofMillis(100);
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
     }
 
     @Override
@@ -120,6 +209,7 @@ public class TransactionCacheOperator extends AbstractCacheOperator {
                         null
                 )) {
                     if (rs.next()) {
+                        validatePartitionColumn(con, con.getCatalog(), con.getSchema(), PARTITION_ID);
                         return null;
                     }
                 }
@@ -130,6 +220,7 @@ public class TransactionCacheOperator extends AbstractCacheOperator {
                         null
                 )) {
                     if (rs.next()) {
+                        validatePartitionColumn(con, null, null, PARTITION_ID.toLowerCase());
                         return null;
                     }
                 }
@@ -148,6 +239,30 @@ public class TransactionCacheOperator extends AbstractCacheOperator {
         });
     }
 
+    private void validatePartitionColumn(
+            Connection con,
+            String catalog,
+            String schema,
+            String columnName
+    ) throws SQLException {
+        if (partition == null) {
+            return;
+        }
+        String tableName = columnName.equals(PARTITION_ID) ? TABLE_NAME : TABLE_NAME.toLowerCase();
+        try (ResultSet rs = con.getMetaData().getColumns(catalog, schema, tableName, columnName)) {
+            if (!rs.next()) {
+                throw new IllegalStateException(
+                        "The partition of transaction cache operator is specified, " +
+                                "but the table `" +
+                                TABLE_NAME +
+                                "` has no column `" +
+                                PARTITION_ID +
+                                "`, please add this integer column"
+                );
+            }
+        }
+    }
+
     @Override
     public void delete(UsedCache<Object, ?> cache, Object key, Object reason) {
         if (reason != null && !(reason instanceof String)) {
@@ -171,6 +286,15 @@ public class TransactionCacheOperator extends AbstractCacheOperator {
         save(cache.type(), cache.prop(), keys, (String) reason);
     }
 
+    /**
+     * The invalidation of query cache is saved in the current transaction too,
+     * otherwise, the result queried before commit could be cached again.
+     */
+    @Override
+    public void invalidateQueryCache(QueryCache queryCache, ImmutableType type) {
+        save(type, null, Collections.singleton(QUERY_CACHE_KEY), null);
+    }
+
     private void save(
             ImmutableType type,
             ImmutableProp prop,
@@ -179,12 +303,15 @@ public class TransactionCacheOperator extends AbstractCacheOperator {
     ) {
         sqlClient().getConnectionManager().execute(con -> {
             try {
-                try (PreparedStatement stmt = con.prepareStatement(INSERT)) {
+                try (PreparedStatement stmt = con.prepareStatement(partition != null ? PARTITIONED_INSERT : INSERT)) {
                     for (Object key : keys) {
                         stmt.setString(1, type != null ? type.toString() : null);
                         stmt.setString(2, prop != null ? prop.toString() : null);
-                        stmt.setString(3, mapper.writeValueAsString(key));
+                        stmt.setString(3, key == QUERY_CACHE_KEY ? QUERY_CACHE_KEY : mapper.writeValueAsString(key));
                         stmt.setString(4, reason);
+                        if (partition != null) {
+                            stmt.setInt(5, partition);
+                        }
                         stmt.addBatch();
                     }
                     stmt.executeBatch();
@@ -204,6 +331,48 @@ public class TransactionCacheOperator extends AbstractCacheOperator {
         }
     }
 
+    /**
+     * Drain the table on the drain executor as soon as possible,
+     * it should be called after the transaction is committed.
+     *
+     * <p>The requests during a pending draining are merged.
+     * If the drain executor is not specified, it is same with {@link #flush()}.</p>
+     */
+    public void flushAsync() {
+        ScheduledExecutorService drainExecutor = this.drainExecutor;
+        if (drainExecutor == null) {
+            flush();
+            return;
+        }
+        if (drainRequested.compareAndSet(false, true)) {
+            drainExecutor.execute(() -> {
+                drainRequested.set(false);
+                drain(0);
+            });
+        }
+    }
+
+    private void drain(int retryCount) {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            if (retryCount < maxRetryCount) {
+                long delay = retryDelay.toMillis() << Math.min(retryCount, 16);
+                LOGGER.warn(
+                        "Failed to drain transaction cache operator, retry after " + delay + "ms",
+                        ex
+                );
+                drainExecutor.schedule(() -> drain(retryCount + 1), delay, TimeUnit.MILLISECONDS);
+            } else {
+                LOGGER.error(
+                        "Failed to drain transaction cache operator, " +
+                                "the left operations will be executed by next flush",
+                        ex
+                );
+            }
+        }
+    }
+
     private int flush(Connection con) {
 
         List<Long> ids = selectOperationIds(con);
@@ -221,9 +390,12 @@ public class TransactionCacheOperator extends AbstractCacheOperator {
     }
 
     private List<Long> selectOperationIds(Connection con) {
-        String sql = SELECT_ID_PREFIX + batchSize;
+        String sql = (partition != null ? PARTITIONED_SELECT_ID_PREFIX : SELECT_ID_PREFIX) + batchSize;
         List<Long> ids = new ArrayList<>();
         try (PreparedStatement stmt = con.prepareStatement(sql)) {
+            if (partition != null) {
+                stmt.setInt(1, partition);
+            }
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
                     ids.add(rs.getLong(1));
@@ -257,6 +429,12 @@ public class TransactionCacheOperator extends AbstractCacheOperator {
                     ImmutableType type = typeFromString(rs.getString(2));
                     ImmutableProp prop = propFromString(rs.getString(3));
                     String json = rs.getString(4);
+                    if (QUERY_CACHE_KEY.equals(json)) {
+                        keyMap
+                                .computeIfAbsent(new MergedKey(type, null, null), it -> new LinkedHashSet<>())
+                                .add(QUERY_CACHE_KEY);
+                        continue;
+                    }
                     Object key = mapper.readValue(
                             json,
                             type != null ?
@@ -279,13 +457,22 @@ public class TransactionCacheOperator extends AbstractCacheOperator {
         for (Map.Entry<MergedKey, Set<Object>> e : keyMap.entrySet()) {
             Cache<Object, ?> cache;
             ImmutableProp prop = e.getKey().prop;
+            Set<Object> keys = e.getValue();
+            if (prop == null && keys.remove(QUERY_CACHE_KEY)) {
+                QueryCache queryCache = ((CachesImpl) sqlClient().getCaches()).getQueryCache();
+                if (queryCache != null) {
+                    queryCache.invalidate(e.getKey().type);
+                }
+                if (keys.isEmpty()) {
+                    continue;
+                }
+            }
             if (prop == null) {
                 cache = sqlClient().getCaches().getObjectCache(e.getKey().type);
             } else {
                 cache = sqlClient().getCaches().getPropertyCache(prop);
             }
             Object reason = e.getKey().reason;
-            Set<Object> keys = e.getValue();
             if (keys.size() == 1) {
                 cache.delete(keys.iterator().next(), reason);
             } else {
@@ -339,6 +526,72 @@ public class TransactionCacheOperator extends AbstractCacheOperator {
                 .getProp(propPath.substring(lastDotIndex + 1));
     }
 
+    public static class Builder {
+
+        private ObjectMapper mapper;
+
+        private int batchSize = 32;
+
+        private Integer partition;
+
+        private ScheduledExecutorService drainExecutor;
+
+        private int maxRetryCount = 3;
+
+        private Duration retryDelay;
+
+        Builder() {}
+
+        public Builder objectMapper(ObjectMapper mapper) {
+            this.mapper = mapper;
+            return this;
+        }
+
+        public Builder batchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Only save and drain the rows of this partition,
+         * different nodes should use different partitions.
+         */
+        public Builder partition(int partition) {
+            this.partition = partition;
+            return this;
+        }
+
+        /**
+         * The executor used by {@link TransactionCacheOperator#flushAsync()}
+         */
+        public Builder drainExecutor(ScheduledExecutorService drainExecutor) {
+            this.drainExecutor = drainExecutor;
+            return this;
+        }
+
+        /**
+         * @param maxRetryCount The max retry count of async draining, default value is 3
+         * @param retryDelay The delay of first retry, it is doubled for each retry,
+         *                   default value is 100 milliseconds
+         */
+        public Builder retry(int maxRetryCount, Duration retryDelay) {
+            this.maxRetryCount = maxRetryCount;
+            this.retryDelay = retryDelay;
+            return this;
+        }
+
+        public TransactionCacheOperator build() {
+            return new TransactionCacheOperator(
+                    mapper,
+                    batchSize,
+                    partition,
+                    drainExecutor,
+                    maxRetryCount,
+                    retryDelay
+            );
+        }
+    }
+
     private static class MergedKey {
         final ImmutableType type;
         final ImmutableProp prop;
@@ -12,13 +12,29 @@ import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.meta.TargetLevel;
 import org.babyfish.jimmer.sql.exception.SerializationException;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.util.*;
-import java.util.function.Function;
+import java.util.Arrays;
 
-public class ValueSerializer<T> {
+/**
+ * The default JSON serializer of remote cache binders
+ */
+public class ValueSerializer<T> implements CacheValueSerializer<T> {
+
+    static final Factory FACTORY = new Factory() {
+
+        @Override
+        public <T> CacheValueSerializer<T> forType(@NotNull ImmutableType type, @Nullable ObjectMapper mapper) {
+            return new ValueSerializer<>(type, mapper);
+        }
+
+        @Override
+        public <T> CacheValueSerializer<T> forProp(@NotNull ImmutableProp prop, @Nullable ObjectMapper mapper) {
+            return new ValueSerializer<>(prop, mapper);
+        }
+    };
 
     private static final byte[] NULL_BYTES = "<null>".getBytes(StandardCharsets.UTF_8);
 
@@ -75,6 +91,7 @@ public class ValueSerializer<T> {
     }
 
     @NotNull
+    @Override
     public byte[] serialize(T value) {
         if (value == null) {
             return NULL_BYTES.clone();
@@ -86,24 +103,12 @@ public class ValueSerializer<T> {
         }
     }
 
-    @NotNull
-    public <K> Map<K, byte[]> serialize(@NotNull Map<K, T> map) {
-        Map<K, byte[]> serializedMap = new LinkedHashMap<>((map.size() * 4 + 2) / 3);
-        for (Map.Entry<K, T> e : map.entrySet()) {
-            serializedMap.put(e.getKey(), serialize(e.getValue()));
-        }
-        return serializedMap;
-    }
-
-    @NotNull
-    public <K1, K2> Map<K2, byte[]> serialize(@NotNull Map<K1, T> map, @NotNull Function<K1, K2> keyMapper) {
-        Map<K2, byte[]> serializedMap = new LinkedHashMap<>((map.size() * 4 + 2) / 3);
-        for (Map.Entry<K1, T> e : map.entrySet()) {
-            serializedMap.put(keyMapper.apply(e.getKey()), serialize(e.getValue()));
-        }
-        return serializedMap;
+    @Override
+    public boolean isNull(@NotNull byte[] value) {
+        return Arrays.equals(value, NULL_BYTES);
     }
 
+    @Override
     public T deserialize(byte[] value) {
         if (value == null || value.length == 0 || Arrays.equals(value, NULL_BYTES)) {
             return null;
@@ -114,37 +119,4 @@ public class ValueSerializer<T> {
             throw new SerializationException(ex);
         }
     }
-
-    @NotNull
-    public <K> Map<K, T> deserialize(@NotNull Map<K, byte[]> map) {
-        Map<K, T> deserializedMap = new LinkedHashMap<>((map.size() * 4 + 2) / 3);
-        for (Map.Entry<K, byte[]> e : map.entrySet()) {
-            deserializedMap.put(e.getKey(), deserialize(e.getValue()));
-        }
-        return deserializedMap;
-    }
-
-    @NotNull
-    public <K1, K2> Map<K2, T> deserialize(@NotNull Map<K1, byte[]> map, @NotNull Function<K1, K2> keyMapper) {
-        Map<K2, T> deserializedMap = new LinkedHashMap<>((map.size() * 4 + 2) / 3);
-        for (Map.Entry<K1, byte[]> e : map.entrySet()) {
-            deserializedMap.put(keyMapper.apply(e.getKey()), deserialize(e.getValue()));
-        }
-        return deserializedMap;
-    }
-
-    @NotNull
-    public <K> Map<K, T> deserialize(@NotNull Collection<K> keys, @NotNull Collection<byte[]> values) {
-        Map<K, T> deserializedMap = new LinkedHashMap<>((keys.size() * 4 + 2) / 3);
-        Iterator<K> keyItr = keys.iterator();
-        Iterator<byte[]> byteArrItr = values.iterator();
-        while (keyItr.hasNext() && byteArrItr.hasNext()) {
-            K key = keyItr.next();
-            byte[] byteArr = byteArrItr.next();
-            if (byteArr != null) {
-                deserializedMap.put(key, deserialize(byteArr));
-            }
-        }
-        return deserializedMap;
-    }
 }
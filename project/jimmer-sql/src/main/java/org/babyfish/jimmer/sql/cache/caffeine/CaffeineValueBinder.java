@@ -3,6 +3,7 @@ package org.babyfish.jimmer.sql.cache.caffeine;
 import com.github.benmanes.caffeine.cache.CacheLoader;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import org.babyfish.jimmer.lang.Ref;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
@@ -17,6 +18,8 @@ import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 public class CaffeineValueBinder<K, V> extends AbstractTrackingConsumerBinder<K> implements LoadingBinder<K, V> {
@@ -27,38 +30,98 @@ public class CaffeineValueBinder<K, V> extends AbstractTrackingConsumerBinder<K>
 
     private final Duration duration;
 
+    private final Duration refreshDuration;
+
+    private final Executor executor;
+
+    private final boolean recordStats;
+
+    // Increased by every invalidation, see `reload`
+    private final AtomicLong invalidationVersion = new AtomicLong();
+
     // Caffeine does not support null value, use `Ref` as a wrapper
     private LoadingCache<K, Ref<V>> loadingCache;
 
+    private CacheChain<K, V> chain;
+
+    // Detached by the latest reader, see `getAll` and `reload`
+    private volatile CacheChain<K, V> refreshingChain;
+
     protected CaffeineValueBinder(
             @Nullable ImmutableType type,
             @Nullable ImmutableProp prop,
             @Nullable CacheTracker tracker,
             int maximumSize,
             @NotNull Duration duration
+    ) {
+        this(type, prop, tracker, maximumSize, duration, null, null, false);
+    }
+
+    protected CaffeineValueBinder(
+            @Nullable ImmutableType type,
+            @Nullable ImmutableProp prop,
+            @Nullable CacheTracker tracker,
+            int maximumSize,
+            @NotNull Duration duration,
+            @Nullable Duration refreshDuration,
+            @Nullable Executor executor,
+            boolean recordStats
     ) {
         super(type, prop, tracker);
+        if (refreshDuration != null && refreshDuration.compareTo(duration) >= 0) {
+            throw new IllegalArgumentException(
+                    "The refresh duration must be less than the duration, " +
+                            "otherwise, the entries expire before they can be refreshed"
+            );
+        }
         this.maximumSize = maximumSize;
         this.duration = duration;
+        this.refreshDuration = refreshDuration;
+        this.executor = executor;
+        this.recordStats = recordStats;
     }
 
     @Override
     public void initialize(CacheChain<K, V> chain) {
-        loadingCache = Caffeine
+        this.chain = chain;
+        Caffeine<Object, Object> builder = Caffeine
                 .newBuilder()
                 .maximumSize(maximumSize)
-                .expireAfterWrite(duration)
+                .expireAfterWrite(duration);
+        if (refreshDuration != null) {
+            builder.refreshAfterWrite(refreshDuration);
+        }
+        if (executor != null) {
+            builder.executor(executor);
+        }
+        if (recordStats) {
+            builder.recordStats();
+        }
+        loadingCache = builder
                 .build(
                         new CacheLoader<K, Ref<V>>() {
 
                             @Override
                             public Ref<V> load(K key) {
-                                Map<K, V> map = chain.loadAll(Collections.singleton(key));
-                                V value = map.get(key);
-                                if (value != null || map.containsKey(key)) {
-                                    return Ref.of(value);
+                                return loadOne(chain, key);
+                            }
+
+                            @Override
+                            public Ref<V> reload(K key, Ref<V> oldValue) {
+                                // Called by the refreshing executor, there is neither
+                                // cache loading nor connection of current thread, so
+                                // the chain detached by reader must be used.
+                                CacheChain<K, V> refreshingChain = CaffeineValueBinder.this.refreshingChain;
+                                if (refreshingChain == null) {
+                                    // Cannot be refreshed, remove it and let the next reader load it
+                                    return null;
                                 }
-                                return null;
+                                long version = invalidationVersion.get();
+                                Ref<V> newValue = loadOne(refreshingChain, key);
+                                // Caffeine installs the refreshed value even if the entry
+                                // has been invalidated during refreshing, return null to remove it,
+                                // otherwise, the invalidated data is resurrected
+                                return invalidationVersion.get() == version ? newValue : null;
                             }
 
                             @SuppressWarnings("unchecked")
@@ -81,6 +144,9 @@ public class CaffeineValueBinder<K, V> extends AbstractTrackingConsumerBinder<K>
 
     @Override
     public Map<K, V> getAll(Collection<K> keys) {
+        if (refreshDuration != null) {
+            refreshingChain = chain.detach();
+        }
         Map<K, Ref<V>> map = loadingCache.getAll(keys);
         Map<K, V> convertedMap = new HashMap<>((map.size() * 4 + 2) / 3);
         for (Map.Entry<K, Ref<V>> e : map.entrySet()) {
@@ -89,13 +155,36 @@ public class CaffeineValueBinder<K, V> extends AbstractTrackingConsumerBinder<K>
         return convertedMap;
     }
 
+    private static <K, V> Ref<V> loadOne(CacheChain<K, V> chain, K key) {
+        Map<K, V> map = chain.loadAll(Collections.singleton(key));
+        V value = map.get(key);
+        if (value != null || map.containsKey(key)) {
+            return Ref.of(value);
+        }
+        return null;
+    }
+
+    /**
+     * Get the hit, miss and load statistics of this binder.
+     *
+     * <p>Statistics are recorded only when
+     * {@link Builder#recordStats()} is called, otherwise,
+     * all the values are zero.</p>
+     */
+    @NotNull
+    public CacheStats stats() {
+        return loadingCache.stats();
+    }
+
     @Override
     public void deleteAllImpl(Collection<K> keys) {
+        invalidationVersion.incrementAndGet();
         loadingCache.invalidateAll(keys);
     }
 
     @Override
     protected void invalidateAll() {
+        invalidationVersion.incrementAndGet();
         loadingCache.invalidateAll();
     }
 
@@ -120,6 +209,9 @@ public class CaffeineValueBinder<K, V> extends AbstractTrackingConsumerBinder<K>
         private CacheTracker tracker;
         private int maximumSize = 100;
         private Duration duration = Duration.ofMinutes(1);
+        private Duration refreshDuration;
+        private Executor executor;
+        private boolean recordStats;
 
         public Builder(ImmutableType type, ImmutableProp prop) {
             this.type = type;
@@ -141,13 +233,57 @@ public class CaffeineValueBinder<K, V> extends AbstractTrackingConsumerBinder<K>
             return this;
         }
 
+        /**
+         * Enable refresh-ahead.
+         *
+         * <p>When an entry older than the refresh duration is read,
+         * the stale value is returned immediately and the entry is
+         * reloaded asynchronously through the next levels of the cache chain,
+         * so that hot keys never expire and readers never wait for them.</p>
+         *
+         * <p>The stale value can be read for at most
+         * `duration - refreshDuration`, and the entries invalidated by
+         * {@link CacheTracker} are not resurrected by the refreshing.</p>
+         *
+         * <p>The refreshing borrows its own connection from the connection manager
+         * of sql client because the connection of reader cannot be used by other thread.
+         * Only the loaders which can be rebound to other connection support it,
+         * such as the loader of object cache; otherwise, for example, property cache,
+         * the stale entry is removed when it should be refreshed and loaded by the next reader.</p>
+         *
+         * @param refreshDuration Must be less than {@link #duration(Duration)}
+         */
+        public Builder<K, V> refreshAfterWrite(Duration refreshDuration) {
+            this.refreshDuration = refreshDuration;
+            return this;
+        }
+
+        /**
+         * The executor to refresh entries, by default, {@link java.util.concurrent.ForkJoinPool#commonPool()}
+         */
+        public Builder<K, V> executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Record the statistics which can be read by {@link CaffeineValueBinder#stats()}
+         */
+        public Builder<K, V> recordStats() {
+            this.recordStats = true;
+            return this;
+        }
+
         public CaffeineValueBinder<K, V> build() {
             return new CaffeineValueBinder<>(
                     type,
                     prop,
                     tracker,
                     maximumSize,
-                    duration
+                    duration,
+                    refreshDuration,
+                    executor,
+                    recordStats
             );
         }
     }
@@ -1,6 +1,7 @@
 package org.babyfish.jimmer.sql.cache.chain;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
 import java.util.Map;
@@ -11,6 +12,23 @@ public interface CacheChain<K, V> {
     @NotNull
     Map<K, V> loadAll(@NotNull Collection<K> keys);
 
+    /**
+     * Detach this chain from the current loading so that it can be
+     * called later by other threads, such as the refreshing threads of
+     * local cache. The detached chain borrows its own connection from
+     * the connection manager of sql client.
+     *
+     * <p>This method must be called by the binder while it is
+     * loading data, for example, in {@link LoadingBinder#getAll(Collection)}</p>
+     *
+     * @return The detached chain, or null if the current loading
+     * cannot be rebound to other connection, for example, the loading of property cache
+     */
+    @Nullable
+    default CacheChain<K, V> detach() {
+        return null;
+    }
+
     interface Parameterized<K, V> {
 
         @NotNull
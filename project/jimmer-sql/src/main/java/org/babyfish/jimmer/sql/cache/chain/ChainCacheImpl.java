@@ -5,7 +5,9 @@ import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.cache.Cache;
 import org.babyfish.jimmer.sql.cache.CacheEnvironment;
 import org.babyfish.jimmer.sql.cache.CacheLoader;
+import org.babyfish.jimmer.sql.cache.CacheMetrics;
 import org.babyfish.jimmer.sql.exception.ExecutionException;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -14,7 +16,7 @@ import java.util.function.Supplier;
 
 class ChainCacheImpl<K, V> implements Cache<K, V> {
 
-    private static final ThreadLocal<CacheLoader<?, ?>> LOADER_LOCAL =
+    private static final ThreadLocal<Loading> LOADING_LOCAL =
         new ThreadLocal<>();
 
     protected final ImmutableType type;
@@ -23,6 +25,9 @@ class ChainCacheImpl<K, V> implements Cache<K, V> {
 
     protected final Node<K, V> node;
 
+    // Level of tail node, the count of binders
+    private final int tailLevel;
+
     @SuppressWarnings("unchecked")
     public ChainCacheImpl(List<Binder<K>> binders) {
         if (binders.isEmpty()) {
@@ -30,9 +35,10 @@ class ChainCacheImpl<K, V> implements Cache<K, V> {
         }
         ImmutableType cacheType = null;
         ImmutableProp cacheProp = null;
-        Node<K, V> node = this.createTailNode();
+        Node<K, V> node = this.instrument(this.createTailNode(), binders.size());
         ListIterator<Binder<K>> itr = binders.listIterator(binders.size());
         while (itr.hasPrevious()) {
+            int level = itr.previousIndex();
             Binder<K> binder = itr.previous();
             ImmutableType type = binder.type();
             ImmutableProp prop = binder.prop();
@@ -46,11 +52,12 @@ class ChainCacheImpl<K, V> implements Cache<K, V> {
                     );
                 }
             }
-            node = createNode(binder, node);
+            node = instrument(createNode(binder, node), level);
         }
         this.type = cacheType;
         this.prop = cacheProp;
         this.node = node;
+        this.tailLevel = binders.size();
     }
 
     @Override
@@ -66,7 +73,7 @@ class ChainCacheImpl<K, V> implements Cache<K, V> {
     @NotNull
     @Override
     public Map<K, V> getAll(@NotNull Collection<K> keys, @NotNull CacheEnvironment<K, V> env) {
-        return usingCacheLoading(env.getLoader(), () -> node.loadAll(keys));
+        return usingCacheLoading(env, () -> node.loadAll(keys));
     }
 
     @Override
@@ -86,6 +93,10 @@ class ChainCacheImpl<K, V> implements Cache<K, V> {
         return new TailNode<>();
     }
 
+    protected Node<K, V> instrument(Node<K, V> node, int level) {
+        return new InstrumentedNode<>(this, node, level);
+    }
+
     protected interface Node<K, V> extends CacheChain<K, V> {
         void deleteAll(@NotNull Collection<K> keys, Object reason);
     }
@@ -141,7 +152,17 @@ class ChainCacheImpl<K, V> implements Cache<K, V> {
                                 lockedBinder.waitDuration(),
                                 lockedBinder.leaseDuration(),
                                 locked -> {
-                                    loadAllForNext(missedKeys, map, locked);
+                                    Set<K> stillMissedKeys = missedKeys;
+                                    if (locked) {
+                                        // Double check, the data may have been loaded
+                                        // by other caller which held the lock before
+                                        Map<K, V> lockedMap = binder.getAll(missedKeys);
+                                        map.putAll(lockedMap);
+                                        stillMissedKeys = missedKeys(missedKeys, lockedMap);
+                                    }
+                                    if (!stillMissedKeys.isEmpty()) {
+                                        loadAllForNext(stillMissedKeys, map, locked);
+                                    }
                                 }
                         );
                     } catch (ExecutionException ex) {
@@ -240,34 +261,158 @@ class ChainCacheImpl<K, V> implements Cache<K, V> {
         }
     }
 
-    protected static <R> R usingCacheLoading(
-            CacheLoader<?, ?> loader,
+    /**
+     * Instrument the node for {@link CacheMetrics}.
+     *
+     * <p>The misses of a level are the keys requested from the next level,
+     * and the self latency of a level is its total latency minus the
+     * total latency of the next level, so that loading binders
+     * such as caffeine binder can be measured too.</p>
+     */
+    protected static class InstrumentedNode<K, V> implements Node<K, V> {
+
+        protected final ChainCacheImpl<K, V> cache;
+
+        protected final Node<K, V> raw;
+
+        protected final int level;
+
+        protected InstrumentedNode(ChainCacheImpl<K, V> cache, Node<K, V> raw, int level) {
+            this.cache = cache;
+            this.raw = raw;
+            this.level = level;
+        }
+
+        @NotNull
+        @Override
+        public Map<K, V> loadAll(@NotNull Collection<K> keys) {
+            return measure(keys, () -> raw.loadAll(keys));
+        }
+
+        @Nullable
+        @Override
+        public CacheChain<K, V> detach() {
+            return cache.detach(this);
+        }
+
+        @Override
+        public void deleteAll(@NotNull Collection<K> keys, Object reason) {
+            raw.deleteAll(keys, reason);
+        }
+
+        protected Map<K, V> measure(Collection<K> keys, Supplier<Map<K, V>> block) {
+            Loading loading = LOADING_LOCAL.get();
+            if (loading == null || loading.metrics == null) {
+                // Metrics is not enabled, or called by background thread
+                return block.get();
+            }
+            CacheMetrics metrics = loading.metrics;
+            int level = this.level;
+            if (level > 0) {
+                loading.missedCounts[level - 1] += keys.size();
+            }
+            int oldMissedCount = loading.missedCounts[level];
+            long oldNextNanos = loading.nextNanos[level];
+            loading.missedCounts[level] = 0;
+            loading.nextNanos[level] = 0L;
+            long start = System.nanoTime();
+            int missedCount;
+            long nanos;
+            try {
+                Map<K, V> map = block.get();
+                nanos = System.nanoTime() - start;
+                missedCount = loading.missedCounts[level];
+                if (level == cache.tailLevel) {
+                    metrics.recordLoad(cache.type, cache.prop, keys.size(), nanos);
+                } else {
+                    metrics.recordHits(cache.type, cache.prop, level, Math.max(keys.size() - missedCount, 0));
+                    if (missedCount != 0) {
+                        metrics.recordMisses(cache.type, cache.prop, level, missedCount);
+                    }
+                    metrics.recordLatency(cache.type, cache.prop, level, nanos - loading.nextNanos[level]);
+                }
+                return map;
+            } finally {
+                loading.missedCounts[level] = oldMissedCount;
+                loading.nextNanos[level] = oldNextNanos;
+                if (level > 0) {
+                    loading.nextNanos[level - 1] += System.nanoTime() - start;
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    protected CacheChain<K, V> detach(Node<K, V> node) {
+        Loading loading = LOADING_LOCAL.get();
+        if (loading == null || !loading.env.isRebindable()) {
+            return null;
+        }
+        CacheEnvironment<K, V> env = (CacheEnvironment<K, V>) loading.env;
+        JSqlClientImplementor sqlClient = (JSqlClientImplementor) env.getSqlClient();
+        return keys -> sqlClient.getConnectionManager().execute(con ->
+                usingCacheLoading(env.rebind(con), () -> node.loadAll(keys))
+        );
+    }
+
+    protected <R> R usingCacheLoading(
+            CacheEnvironment<?, ?> env,
             Supplier<R> block
     ) {
+        CacheLoader<?, ?> loader = env.getLoader();
         if (loader == null) {
             throw new IllegalArgumentException("loader cannot be null");
         }
-        CacheLoader<?, ?> oldLoader = LOADER_LOCAL.get();
-        LOADER_LOCAL.set(loader);
+        CacheMetrics metrics = env.getSqlClient().getCaches().getMetrics();
+        Loading oldLoading = LOADING_LOCAL.get();
+        LOADING_LOCAL.set(new Loading(env, loader, metrics, tailLevel + 1));
         try {
             return block.get();
         } finally {
-            if (oldLoader != null) {
-                LOADER_LOCAL.set(oldLoader);
+            if (oldLoading != null) {
+                LOADING_LOCAL.set(oldLoading);
             } else {
-                LOADER_LOCAL.remove();
+                LOADING_LOCAL.remove();
             }
         }
     }
 
     @SuppressWarnings("unchecked")
     protected static <K, V> CacheLoader<K, V> currentCacheLoader() {
-        CacheLoader<?, ?> loader = LOADER_LOCAL.get();
-        if (loader == null) {
+        Loading loading = LOADING_LOCAL.get();
+        if (loading == null) {
             throw new IllegalStateException(
                     "Cache binder can only be called by chain cache"
             );
         }
-        return (CacheLoader<K, V>) loader;
+        return (CacheLoader<K, V>) loading.loader;
+    }
+
+    private static class Loading {
+
+        final CacheEnvironment<?, ?> env;
+
+        final CacheLoader<?, ?> loader;
+
+        final CacheMetrics metrics;
+
+        // Indexed by level, only used when metrics is not null
+        final int[] missedCounts;
+
+        final long[] nextNanos;
+
+        Loading(CacheEnvironment<?, ?> env, CacheLoader<?, ?> loader, CacheMetrics metrics, int levelCount) {
+            this.env = env;
+            this.loader = loader;
+            this.metrics = metrics;
+            if (metrics != null) {
+                missedCounts = new int[levelCount];
+                nextNanos = new long[levelCount];
+            } else {
+                missedCounts = null;
+                nextNanos = null;
+            }
+        }
     }
 }
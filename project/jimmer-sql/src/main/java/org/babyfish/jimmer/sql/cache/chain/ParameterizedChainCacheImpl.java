@@ -37,7 +37,7 @@ class ParameterizedChainCacheImpl<K, V> extends ChainCacheImpl<K, V> implements
             @NotNull CacheEnvironment<K, V> env
     ) {
         return usingCacheLoading(
-                env.getLoader(), () -> ((ParameterizedNode<K, V>)node).loadAll(keys, parameterMap)
+                env, () -> ((ParameterizedNode<K, V>)node).loadAll(keys, parameterMap)
         );
     }
 
@@ -64,6 +64,11 @@ class ParameterizedChainCacheImpl<K, V> extends ChainCacheImpl<K, V> implements
         return new TailNode<>();
     }
 
+    @Override
+    protected Node<K, V> instrument(Node<K, V> node, int level) {
+        return new ParameterizedInstrumentedNode<>(this, node, level);
+    }
+
     protected interface ParameterizedNode<K, V> extends Node<K, V>, CacheChain.Parameterized<K, V> {}
 
     private static class TailNode<K, V> extends ChainCacheImpl.TailNode<K, V> implements ParameterizedNode<K, V> {
@@ -75,6 +80,27 @@ class ParameterizedChainCacheImpl<K, V> extends ChainCacheImpl<K, V> implements
         }
     }
 
+    private static class ParameterizedInstrumentedNode<K, V>
+            extends InstrumentedNode<K, V>
+            implements ParameterizedNode<K, V> {
+
+        ParameterizedInstrumentedNode(ChainCacheImpl<K, V> cache, Node<K, V> raw, int level) {
+            super(cache, raw, level);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public @NotNull Map<K, V> loadAll(
+                @NotNull Collection<K> keys,
+                @NotNull SortedMap<String, Object> parameterMap
+        ) {
+            if (raw instanceof ParameterizedNode<?, ?>) {
+                return measure(keys, () -> ((ParameterizedNode<K, V>) raw).loadAll(keys, parameterMap));
+            }
+            return measure(keys, () -> raw.loadAll(keys));
+        }
+    }
+
     private static class ParameterizedLoadingNode<K, V> implements ParameterizedNode<K, V> {
 
         private final LoadingBinder.Parameterized<K, V> binder;
@@ -133,8 +159,18 @@ class ParameterizedChainCacheImpl<K, V> extends ChainCacheImpl<K, V> implements
                                 missedKeys,
                                 lockedBinder.waitDuration(),
                                 lockedBinder.leaseDuration(),
-                                lock -> {
-                                    loadAllFromNext(missedKeys, parameterMap, map,false);
+                                locked -> {
+                                    Set<K> stillMissedKeys = missedKeys;
+                                    if (locked) {
+                                        // Double check, the data may have been loaded
+                                        // by other caller which held the lock before
+                                        Map<K, V> lockedMap = parameterizedBinder.getAll(missedKeys, parameterMap);
+                                        map.putAll(lockedMap);
+                                        stillMissedKeys = missedKeys(missedKeys, lockedMap);
+                                    }
+                                    if (!stillMissedKeys.isEmpty()) {
+                                        loadAllFromNext(stillMissedKeys, parameterMap, map, locked);
+                                    }
                                 }
                         );
                     } catch (ExecutionException ex) {
@@ -0,0 +1,296 @@
+package org.babyfish.jimmer.sql.cache.offheap;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A segment of {@link OffHeapValueBinder}.
+ *
+ * <p>The records are appended into the buffer as a ring,
+ * when there is no enough space, the oldest records are evicted(FIFO).
+ * The layout of each record is</p>
+ * <pre>
+ * | keyLength: int | valueLength: int | expireAt: long | key bytes | value bytes |
+ * </pre>
+ *
+ * <p>The index is an open addressing hash table of primitive longs,
+ * each slot holds the hash of key(high 32 bits) and the offset of record
+ * plus one(low 32 bits), zero means the empty slot. So the index is
+ * a single array which costs nothing for GC, however large the segment is.</p>
+ *
+ * <p>The key bytes are kept in the record, they are used to resolve
+ * hash conflicts and to remove the index slot when the record is evicted.</p>
+ */
+class OffHeapSegment {
+
+    private static final int HEADER_SIZE = 16;
+
+    private static final int INITIAL_TABLE_CAPACITY = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final ByteBuffer buffer;
+
+    private final int capacity;
+
+    private long[] table = new long[INITIAL_TABLE_CAPACITY];
+
+    private int size;
+
+    // Offset of the oldest record
+    private int head;
+
+    // Offset to append the next record
+    private int tail;
+
+    // The end of the records before `tail` wrapped to 0, valid only when `head >= tail`
+    private int end;
+
+    // Count of records in buffer, including the stale records which are not indexed
+    private int recordCount;
+
+    // Increased by every invalidation, see `put`
+    private volatile long invalidationVersion;
+
+    OffHeapSegment(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.capacity = buffer.capacity();
+        this.end = capacity;
+    }
+
+    byte[] get(int hash, byte[] key, long now) {
+        lock.readLock().lock();
+        try {
+            int slot = find(hash, key);
+            if (slot == -1) {
+                return null;
+            }
+            int offset = offset(table[slot]);
+            if (buffer.getLong(offset + 8) <= now) {
+                return null;
+            }
+            int keyLength = buffer.getInt(offset);
+            int valueLength = buffer.getInt(offset + 4);
+            byte[] value = new byte[valueLength];
+            ByteBuffer dup = buffer.duplicate();
+            dup.position(offset + HEADER_SIZE + keyLength);
+            dup.get(value);
+            return value;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long invalidationVersion() {
+        return invalidationVersion;
+    }
+
+    /**
+     * @param expectedInvalidationVersion The {@link #invalidationVersion()} read
+     *                                    before the value was loaded, if the segment
+     *                                    has been invalidated since then, the value
+     *                                    may be stale and it is not saved.
+     * @return false if the record is too large to be saved by this segment,
+     * or the segment has been invalidated
+     */
+    boolean put(int hash, byte[] key, byte[] value, long expireAt, long expectedInvalidationVersion) {
+        int recordSize = HEADER_SIZE + key.length + value.length;
+        if (recordSize > capacity) {
+            remove(hash, key);
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            if (invalidationVersion != expectedInvalidationVersion) {
+                return false;
+            }
+            int offset = allocate(recordSize);
+            buffer.putInt(offset, key.length);
+            buffer.putInt(offset + 4, value.length);
+            buffer.putLong(offset + 8, expireAt);
+            ByteBuffer dup = buffer.duplicate();
+            dup.position(offset + HEADER_SIZE);
+            dup.put(key);
+            dup.put(value);
+            int slot = find(hash, key);
+            if (slot != -1) {
+                table[slot] = slotValue(hash, offset);
+            } else {
+                insert(slotValue(hash, offset));
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(int hash, byte[] key) {
+        lock.writeLock().lock();
+        try {
+            invalidationVersion++;
+            int slot = find(hash, key);
+            if (slot != -1) {
+                removeSlot(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            invalidationVersion++;
+            table = new long[INITIAL_TABLE_CAPACITY];
+            size = 0;
+            head = 0;
+            tail = 0;
+            end = capacity;
+            recordCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int allocate(int recordSize) {
+        while (true) {
+            if (recordCount == 0) {
+                head = 0;
+                tail = 0;
+                end = capacity;
+                return append(recordSize);
+            }
+            if (head < tail) {
+                if (capacity - tail >= recordSize) {
+                    return append(recordSize);
+                }
+                end = tail;
+                tail = 0;
+            } else if (head - tail >= recordSize) {
+                return append(recordSize);
+            } else {
+                evictHead();
+            }
+        }
+    }
+
+    private int append(int recordSize) {
+        int offset = tail;
+        tail += recordSize;
+        recordCount++;
+        return offset;
+    }
+
+    private void evictHead() {
+        int offset = head;
+        int keyLength = buffer.getInt(offset);
+        int valueLength = buffer.getInt(offset + 4);
+        byte[] key = new byte[keyLength];
+        ByteBuffer dup = buffer.duplicate();
+        dup.position(offset + HEADER_SIZE);
+        dup.get(key);
+        int slot = find(OffHeapValueBinder.hash(key), key);
+        // The index may point to the newer record of the same key
+        if (slot != -1 && offset(table[slot]) == offset) {
+            removeSlot(slot);
+        }
+        head = offset + HEADER_SIZE + keyLength + valueLength;
+        recordCount--;
+        if (head == end) {
+            head = 0;
+            end = capacity;
+        }
+    }
+
+    private int find(int hash, byte[] key) {
+        long[] tab = table;
+        int mask = tab.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            long slotValue = tab[i];
+            if (slotValue == 0) {
+                return -1;
+            }
+            if ((int)(slotValue >>> 32) == hash && keyEquals(offset(slotValue), key)) {
+                return i;
+            }
+        }
+    }
+
+    private boolean keyEquals(int offset, byte[] key) {
+        if (buffer.getInt(offset) != key.length) {
+            return false;
+        }
+        int keyOffset = offset + HEADER_SIZE;
+        for (int i = 0; i < key.length; i++) {
+            if (buffer.get(keyOffset + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void insert(long slotValue) {
+        if ((size + 1) * 4L > table.length * 3L) {
+            long[] oldTable = table;
+            table = new long[oldTable.length * 2];
+            for (long oldSlotValue : oldTable) {
+                if (oldSlotValue != 0) {
+                    insertImpl(oldSlotValue);
+                }
+            }
+        }
+        insertImpl(slotValue);
+        size++;
+    }
+
+    private void insertImpl(long slotValue) {
+        long[] tab = table;
+        int mask = tab.length - 1;
+        int i = (int)(slotValue >>> 32) & mask;
+        while (tab[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        tab[i] = slotValue;
+    }
+
+    // Backward shift deletion of linear probing, no tombstone is required
+    private void removeSlot(int slot) {
+        long[] tab = table;
+        int mask = tab.length - 1;
+        int i = slot;
+        int j = slot;
+        while (true) {
+            j = (j + 1) & mask;
+            long slotValue = tab[j];
+            if (slotValue == 0) {
+                break;
+            }
+            int home = (int)(slotValue >>> 32) & mask;
+            boolean movable = i <= j ? (home <= i || home > j) : (home <= i && home > j);
+            if (movable) {
+                tab[i] = slotValue;
+                i = j;
+            }
+        }
+        tab[i] = 0;
+        size--;
+    }
+
+    private static long slotValue(int hash, int offset) {
+        return ((long)hash << 32) | ((offset + 1L) & 0xFFFFFFFFL);
+    }
+
+    private static int offset(long slotValue) {
+        return (int)(slotValue & 0xFFFFFFFFL) - 1;
+    }
+}
@@ -0,0 +1,310 @@
+package org.babyfish.jimmer.sql.cache.offheap;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.cache.CacheTracker;
+import org.babyfish.jimmer.sql.cache.CacheValueSerializer;
+import org.babyfish.jimmer.sql.cache.chain.CacheChain;
+import org.babyfish.jimmer.sql.cache.chain.LoadingBinder;
+import org.babyfish.jimmer.sql.cache.spi.AbstractTrackingConsumerBinder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * The local binder which saves serialized values outside the
+ * GC-managed heap, it is designed for very large read-mostly data,
+ * for example, millions of objects which make the heap of
+ * {@link org.babyfish.jimmer.sql.cache.caffeine.CaffeineValueBinder}
+ * too large and the GC pauses too long.
+ *
+ * <p>The data is divided into segments, each segment is a direct buffer
+ * or a memory-mapped file with a compact index of primitive array.
+ * When a segment is full, its oldest values are evicted.</p>
+ *
+ * <p>Keys are compared by their string representation,
+ * like the keys of remote binders.</p>
+ */
+public class OffHeapValueBinder<K, V> extends AbstractTrackingConsumerBinder<K> implements LoadingBinder<K, V> {
+
+    private static final int MAX_SEGMENT_CAPACITY = Integer.MAX_VALUE - 8;
+
+    private final OffHeapSegment[] segments;
+
+    private final long durationMillis;
+
+    private final CacheValueSerializer<V> valueSerializer;
+
+    private CacheChain<K, V> chain;
+
+    protected OffHeapValueBinder(
+            @Nullable ImmutableType type,
+            @Nullable ImmutableProp prop,
+            @Nullable CacheTracker tracker,
+            @Nullable ObjectMapper objectMapper,
+            @Nullable CacheValueSerializer.Factory serializerFactory,
+            long capacity,
+            int segmentCount,
+            @NotNull Duration duration,
+            @Nullable File directory
+    ) {
+        super(type, prop, tracker);
+        if (segmentCount < 1) {
+            throw new IllegalArgumentException("segmentCount must be positive");
+        }
+        if (capacity < segmentCount) {
+            throw new IllegalArgumentException("capacity cannot be less than segmentCount");
+        }
+        if (capacity / segmentCount > MAX_SEGMENT_CAPACITY) {
+            throw new IllegalArgumentException(
+                    "capacity / segmentCount cannot be greater than " + MAX_SEGMENT_CAPACITY
+            );
+        }
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("duration must be positive");
+        }
+        if (serializerFactory == null) {
+            serializerFactory = CacheValueSerializer.binary();
+        }
+        if (type != null) {
+            valueSerializer = serializerFactory.forType(type, objectMapper);
+        } else {
+            valueSerializer = serializerFactory.forProp(prop, objectMapper);
+        }
+        this.durationMillis = duration.toMillis();
+        int segmentCapacity = (int)(capacity / segmentCount);
+        OffHeapSegment[] segments = new OffHeapSegment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            ByteBuffer buffer = directory != null ?
+                    mapFile(directory, segmentCapacity) :
+                    ByteBuffer.allocateDirect(segmentCapacity);
+            segments[i] = new OffHeapSegment(buffer);
+        }
+        this.segments = segments;
+    }
+
+    @Override
+    public void initialize(CacheChain<K, V> chain) {
+        this.chain = chain;
+    }
+
+    @Override
+    public Map<K, V> getAll(Collection<K> keys) {
+        long now = System.currentTimeMillis();
+        Map<K, V> resultMap = new LinkedHashMap<>((keys.size() * 4 + 2) / 3);
+        Set<K> missedKeys = new LinkedHashSet<>();
+        for (K key : keys) {
+            byte[] keyBytes = keyBytes(key);
+            int hash = hash(keyBytes);
+            byte[] value = segment(hash).get(hash, keyBytes, now);
+            if (value != null) {
+                resultMap.put(key, valueSerializer.deserialize(value));
+            } else {
+                missedKeys.add(key);
+            }
+        }
+        if (!missedKeys.isEmpty()) {
+            // The data invalidated during loading must not be saved, see `OffHeapSegment.put`
+            long[] invalidationVersions = new long[segments.length];
+            for (int i = 0; i < segments.length; i++) {
+                invalidationVersions[i] = segments[i].invalidationVersion();
+            }
+            Map<K, V> mapFromNext = chain.loadAll(missedKeys);
+            if (mapFromNext.size() < missedKeys.size()) {
+                // Cache null for the keys which do not exist
+                mapFromNext = new LinkedHashMap<>(mapFromNext);
+                for (K missedKey : missedKeys) {
+                    if (!mapFromNext.containsKey(missedKey)) {
+                        mapFromNext.put(missedKey, null);
+                    }
+                }
+            }
+            long expireAt = System.currentTimeMillis() + durationMillis;
+            for (Map.Entry<K, V> e : mapFromNext.entrySet()) {
+                byte[] keyBytes = keyBytes(e.getKey());
+                int hash = hash(keyBytes);
+                int segmentIndex = segmentIndex(hash);
+                segments[segmentIndex].put(
+                        hash,
+                        keyBytes,
+                        valueSerializer.serialize(e.getValue()),
+                        expireAt,
+                        invalidationVersions[segmentIndex]
+                );
+            }
+            resultMap.putAll(mapFromNext);
+        }
+        return resultMap;
+    }
+
+    /**
+     * The count of cached keys, including the expired keys
+     * which have not been evicted
+     */
+    public long size() {
+        long size = 0;
+        for (OffHeapSegment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    @Override
+    protected void deleteAllImpl(Collection<K> keys) {
+        for (K key : keys) {
+            byte[] keyBytes = keyBytes(key);
+            int hash = hash(keyBytes);
+            segment(hash).remove(hash, keyBytes);
+        }
+    }
+
+    @Override
+    protected void invalidateAll() {
+        for (OffHeapSegment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    @Override
+    protected boolean matched(@Nullable Object reason) {
+        return "off-heap".equals(reason);
+    }
+
+    private OffHeapSegment segment(int hash) {
+        return segments[segmentIndex(hash)];
+    }
+
+    private int segmentIndex(int hash) {
+        // The low bits are used by the index of segment,
+        // so use the high bits to select segment
+        return (hash >>> 16) % segments.length;
+    }
+
+    private static byte[] keyBytes(Object key) {
+        return key.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static int hash(byte[] keyBytes) {
+        int h = Arrays.hashCode(keyBytes) * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static ByteBuffer mapFile(File directory, int capacity) {
+        try {
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("Cannot create the directory \"" + directory + "\"");
+            }
+            File file = File.createTempFile("jimmer-off-heap-", ".bin", directory);
+            file.deleteOnExit();
+            try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw")) {
+                // The mapping is still valid after the channel is closed
+                return randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @NotNull
+    public static <K, V> Builder<K, V> forObject(ImmutableType type) {
+        return new Builder<>(type, null);
+    }
+
+    @NotNull
+    public static <K, V> Builder<K, V> forProp(ImmutableProp prop) {
+        return new Builder<>(null, prop);
+    }
+
+    public static class Builder<K, V> {
+        private final ImmutableType type;
+        private final ImmutableProp prop;
+        private CacheTracker tracker;
+        private ObjectMapper objectMapper;
+        private CacheValueSerializer.Factory serializerFactory;
+        private long capacity = 64L * 1024 * 1024;
+        private int segmentCount = 16;
+        private Duration duration = Duration.ofMinutes(30);
+        private File directory;
+
+        public Builder(ImmutableType type, ImmutableProp prop) {
+            this.type = type;
+            this.prop = prop;
+        }
+
+        public Builder<K, V> subscribe(CacheTracker tracker) {
+            this.tracker = tracker;
+            return this;
+        }
+
+        public Builder<K, V> objectMapper(ObjectMapper objectMapper) {
+            this.objectMapper = objectMapper;
+            return this;
+        }
+
+        /**
+         * Specify how to serialize the cached values,
+         * if it is not specified, {@link CacheValueSerializer#binary()} is used.
+         */
+        public Builder<K, V> serializerFactory(CacheValueSerializer.Factory serializerFactory) {
+            this.serializerFactory = serializerFactory;
+            return this;
+        }
+
+        /**
+         * The total bytes of all segments, default value is 64MB.
+         * The memory is allocated when the binder is created.
+         */
+        public Builder<K, V> capacity(long capacity) {
+            this.capacity = capacity;
+            return this;
+        }
+
+        /**
+         * The count of segments, each segment has its own lock,
+         * default value is 16
+         */
+        public Builder<K, V> segmentCount(int segmentCount) {
+            this.segmentCount = segmentCount;
+            return this;
+        }
+
+        public Builder<K, V> duration(Duration duration) {
+            this.duration = duration;
+            return this;
+        }
+
+        /**
+         * Use memory-mapped files of this directory instead of direct buffers,
+         * so that the operating system can page out the cold data.
+         * The files are deleted when JVM exits.
+         */
+        public Builder<K, V> memoryMapped(File directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        public OffHeapValueBinder<K, V> build() {
+            return new OffHeapValueBinder<>(
+                    type,
+                    prop,
+                    tracker,
+                    objectMapper,
+                    serializerFactory,
+                    capacity,
+                    segmentCount,
+                    duration,
+                    directory
+            );
+        }
+    }
+}
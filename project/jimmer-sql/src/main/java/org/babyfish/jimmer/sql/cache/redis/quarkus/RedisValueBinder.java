@@ -6,6 +6,7 @@ import java.util.*;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.cache.CacheTracker;
+import org.babyfish.jimmer.sql.cache.CacheValueSerializer;
 import org.babyfish.jimmer.sql.cache.spi.AbstractRemoteValueBinder;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -16,7 +17,9 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 
 import io.quarkus.redis.datasource.RedisDataSource;
 import io.quarkus.redis.datasource.value.GetExArgs;
+import io.quarkus.redis.datasource.value.ReactiveValueCommands;
 import io.quarkus.redis.datasource.value.ValueCommands;
+import io.smallrye.mutiny.Uni;
 
 public class RedisValueBinder<K, V> extends AbstractRemoteValueBinder<K, V> {
 
@@ -24,16 +27,34 @@ public class RedisValueBinder<K, V> extends AbstractRemoteValueBinder<K, V> {
 
     private final ValueCommands<String, byte[]> operations;
 
+    private final ReactiveValueCommands<String, byte[]> reactiveOperations;
+
+    protected RedisValueBinder(
+            @Nullable ImmutableType type,
+            @Nullable ImmutableProp prop,
+            @Nullable CacheTracker tracker,
+            @Nullable ObjectMapper objectMapper,
+            @Nullable CacheValueSerializer.Factory serializerFactory,
+            @NotNull Duration duration,
+            int randomPercent,
+            @NotNull RedisDataSource redisDataSource) {
+        this(type, prop, tracker, objectMapper, serializerFactory, duration, randomPercent, null, 0, redisDataSource);
+    }
+
     protected RedisValueBinder(
             @Nullable ImmutableType type,
             @Nullable ImmutableProp prop,
             @Nullable CacheTracker tracker,
             @Nullable ObjectMapper objectMapper,
+            @Nullable CacheValueSerializer.Factory serializerFactory,
             @NotNull Duration duration,
             int randomPercent,
+            @Nullable Duration negativeDuration,
+            int slotGroupCount,
             @NotNull RedisDataSource redisDataSource) {
-        super(type, prop, tracker, objectMapper, duration, randomPercent);
+        super(type, prop, tracker, objectMapper, serializerFactory, duration, randomPercent, negativeDuration, slotGroupCount);
         this.operations = redisDataSource.value(byte[].class);
+        this.reactiveOperations = redisDataSource.getReactive().value(byte[].class);
     }
 
     @Override
@@ -45,8 +66,63 @@ public class RedisValueBinder<K, V> extends AbstractRemoteValueBinder<K, V> {
     @Override
     protected void write(Map<String, byte[]> map) {
         operations.mset(map);
-        for (String key : map.keySet()) {
-            operations.getex(key, new GetExArgs().px(nextExpireMillis()));
+        for (Map.Entry<String, byte[]> e : map.entrySet()) {
+            operations.getex(e.getKey(), new GetExArgs().px(nextExpireMillis(e.getValue())));
+        }
+    }
+
+    /**
+     * Send the MGET of all groups without waiting for each other,
+     * the redis client pipelines them
+     */
+    @Override
+    protected List<List<byte[]>> readGroups(List<Collection<String>> keyGroups) {
+        List<Uni<List<byte[]>>> unis = new ArrayList<>(keyGroups.size());
+        for (Collection<String> keys : keyGroups) {
+            if (keys.isEmpty()) {
+                unis.add(Uni.createFrom().item(Collections.emptyList()));
+            } else {
+                unis.add(
+                        reactiveOperations
+                                .mget(keys.toArray(new String[0]))
+                                .map(map -> new ArrayList<>(map.values()))
+                );
+            }
+        }
+        if (unis.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return Uni.join().all(unis).andFailFast().await().indefinitely();
+    }
+
+    /**
+     * Send the MSET of all groups without waiting for each other,
+     * the redis client pipelines them
+     */
+    @Override
+    protected void writeGroups(List<Map<String, byte[]>> maps) {
+        List<Uni<Void>> unis = new ArrayList<>(maps.size());
+        for (Map<String, byte[]> map : maps) {
+            if (map.isEmpty()) {
+                continue;
+            }
+            unis.add(
+                    reactiveOperations.mset(map).chain(() -> {
+                        List<Uni<byte[]>> expireUnis = new ArrayList<>(map.size());
+                        for (Map.Entry<String, byte[]> e : map.entrySet()) {
+                            expireUnis.add(
+                                    reactiveOperations.getex(
+                                            e.getKey(),
+                                            new GetExArgs().px(nextExpireMillis(e.getValue()))
+                                    )
+                            );
+                        }
+                        return Uni.join().all(expireUnis).andFailFast().replaceWithVoid();
+                    })
+            );
+        }
+        if (!unis.isEmpty()) {
+            Uni.join().all(unis).andFailFast().await().indefinitely();
         }
     }
 
@@ -98,7 +174,7 @@ public class RedisValueBinder<K, V> extends AbstractRemoteValueBinder<K, V> {
             if (null == redisDataSource) {
                 throw new IllegalStateException("RedisDataSource has not been specified");
             }
-            return new RedisValueBinder<>(type, prop, tracker, objectMapper, duration, randomPercent, redisDataSource);
+            return new RedisValueBinder<>(type, prop, tracker, objectMapper, serializerFactory, duration, randomPercent, negativeDuration, slotGroupCount, redisDataSource);
         }
     }
 }
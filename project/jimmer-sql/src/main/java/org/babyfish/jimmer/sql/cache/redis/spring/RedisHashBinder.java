@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.cache.CacheTracker;
+import org.babyfish.jimmer.sql.cache.CacheValueSerializer;
 import org.babyfish.jimmer.sql.cache.spi.AbstractRemoteHashBinder;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -27,6 +28,7 @@ public class RedisHashBinder<K, V> extends AbstractRemoteHashBinder<K, V> {
             @Nullable ImmutableProp prop,
             @Nullable CacheTracker tracker,
             @Nullable ObjectMapper objectMapper,
+            @Nullable CacheValueSerializer.Factory serializerFactory,
             @NotNull Duration duration,
             int randomPercent,
             @NotNull RedisOperations<String, byte[]> operations
@@ -36,6 +38,7 @@ public class RedisHashBinder<K, V> extends AbstractRemoteHashBinder<K, V> {
                 prop,
                 tracker,
                 objectMapper,
+                serializerFactory,
                 duration,
                 randomPercent
         );
@@ -125,6 +128,7 @@ public class RedisHashBinder<K, V> extends AbstractRemoteHashBinder<K, V> {
                     prop,
                     tracker,
                     objectMapper,
+                    serializerFactory,
                     duration,
                     randomPercent,
                     operations
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.cache.CacheTracker;
+import org.babyfish.jimmer.sql.cache.CacheValueSerializer;
 import org.babyfish.jimmer.sql.cache.spi.AbstractRemoteValueBinder;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -25,17 +26,47 @@ public class RedisValueBinder<K, V> extends AbstractRemoteValueBinder<K, V> {
             @Nullable ImmutableProp prop,
             @Nullable CacheTracker tracker,
             @Nullable ObjectMapper objectMapper,
+            @Nullable CacheValueSerializer.Factory serializerFactory,
             @NotNull Duration duration,
             int randomPercent,
             @NotNull RedisOperations<String, byte[]> operations
+    ) {
+        this(
+                type,
+                prop,
+                tracker,
+                objectMapper,
+                serializerFactory,
+                duration,
+                randomPercent,
+                null,
+                0,
+                operations
+        );
+    }
+
+    protected RedisValueBinder(
+            @Nullable ImmutableType type,
+            @Nullable ImmutableProp prop,
+            @Nullable CacheTracker tracker,
+            @Nullable ObjectMapper objectMapper,
+            @Nullable CacheValueSerializer.Factory serializerFactory,
+            @NotNull Duration duration,
+            int randomPercent,
+            @Nullable Duration negativeDuration,
+            int slotGroupCount,
+            @NotNull RedisOperations<String, byte[]> operations
     ) {
         super(
                 type,
                 prop,
                 tracker,
                 objectMapper,
+                serializerFactory,
                 duration,
-                randomPercent
+                randomPercent,
+                negativeDuration,
+                slotGroupCount
         );
         this.operations = operations;
     }
@@ -45,21 +76,50 @@ public class RedisValueBinder<K, V> extends AbstractRemoteValueBinder<K, V> {
         return operations.opsForValue().multiGet(keys);
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     protected void write(Map<String, byte[]> map) {
+        writeGroups(Collections.singletonList(map));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected List<List<byte[]>> readGroups(List<Collection<String>> keyGroups) {
+        List<Object> results = operations.executePipelined(
+                new SessionCallback<Void>() {
+                    @Override
+                    public <XK, XV> Void execute(RedisOperations<XK, XV> pops) throws DataAccessException {
+                        RedisOperations<String, byte[]> pipelinedOps = (RedisOperations<String, byte[]>)pops;
+                        for (Collection<String> keys : keyGroups) {
+                            pipelinedOps.opsForValue().multiGet(keys);
+                        }
+                        return null;
+                    }
+                }
+        );
+        List<List<byte[]>> valueGroups = new ArrayList<>(results.size());
+        for (Object result : results) {
+            valueGroups.add((List<byte[]>) result);
+        }
+        return valueGroups;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    protected void writeGroups(List<Map<String, byte[]>> maps) {
         operations.executePipelined(
                 new SessionCallback<Void>() {
                     @Override
                     public <XK, XV> Void execute(RedisOperations<XK, XV> pops) throws DataAccessException {
                         RedisOperations<String, byte[]> pipelinedOps = (RedisOperations<String, byte[]>)pops;
-                        pipelinedOps.opsForValue().multiSet(map);
-                        for (String key : map.keySet()) {
-                            pipelinedOps.expire(
-                                    key,
-                                    nextExpireMillis(),
-                                    TimeUnit.MILLISECONDS
-                            );
+                        for (Map<String, byte[]> map : maps) {
+                            pipelinedOps.opsForValue().multiSet(map);
+                            for (Map.Entry<String, byte[]> e : map.entrySet()) {
+                                pipelinedOps.expire(
+                                        e.getKey(),
+                                        nextExpireMillis(e.getValue()),
+                                        TimeUnit.MILLISECONDS
+                                );
+                            }
                         }
                         return null;
                     }
@@ -116,8 +176,11 @@ public class RedisValueBinder<K, V> extends AbstractRemoteValueBinder<K, V> {
                     prop,
                     tracker,
                     objectMapper,
+                    serializerFactory,
                     duration,
                     randomPercent,
+                    negativeDuration,
+                    slotGroupCount,
                     operations
             );
         }
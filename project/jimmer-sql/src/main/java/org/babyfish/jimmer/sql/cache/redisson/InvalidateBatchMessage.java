@@ -0,0 +1,67 @@
+package org.babyfish.jimmer.sql.cache.redisson;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.babyfish.jimmer.sql.cache.CacheTracker;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The merged invalidation events of a batch window,
+ * the events are serialized as gzip compressed json.
+ */
+class InvalidateBatchMessage implements Serializable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final TypeReference<List<InvalidateMessage>> MESSAGE_LIST_TYPE =
+            new TypeReference<List<InvalidateMessage>>() {};
+
+    @NotNull
+    UUID trackerId; // No final for serialization
+
+    @NotNull
+    byte[] compressedMessages; // No final for serialization
+
+    InvalidateBatchMessage(
+            @NotNull UUID trackerId,
+            @NotNull Collection<CacheTracker.InvalidateEvent> events
+    ) {
+        List<InvalidateMessage> messages = new ArrayList<>(events.size());
+        for (CacheTracker.InvalidateEvent event : events) {
+            messages.add(new InvalidateMessage(trackerId, event));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            MAPPER.writeValue(gzipOut, messages);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot serialize the invalidation events", ex);
+        }
+        this.trackerId = trackerId;
+        this.compressedMessages = out.toByteArray();
+    }
+
+    List<CacheTracker.InvalidateEvent> toEvents() {
+        List<InvalidateMessage> messages;
+        try (GZIPInputStream gzipIn = new GZIPInputStream(new ByteArrayInputStream(compressedMessages))) {
+            messages = MAPPER.readValue(gzipIn, MESSAGE_LIST_TYPE);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Cannot deserialize the invalidation events", ex);
+        }
+        List<CacheTracker.InvalidateEvent> events = new ArrayList<>(messages.size());
+        for (InvalidateMessage message : messages) {
+            events.add(message.toEvent());
+        }
+        return events;
+    }
+}
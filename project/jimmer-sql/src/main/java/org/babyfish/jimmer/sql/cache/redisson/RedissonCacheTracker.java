@@ -1,11 +1,14 @@
 package org.babyfish.jimmer.sql.cache.redisson;
 
 import org.babyfish.jimmer.sql.cache.spi.AbstractCacheTracker;
+import org.jetbrains.annotations.Nullable;
 import org.redisson.api.RTopic;
 import org.redisson.api.RedissonClient;
 import org.redisson.api.listener.BaseStatusListener;
 import org.redisson.api.listener.MessageListener;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.UUID;
 
 public class RedissonCacheTracker extends AbstractCacheTracker {
@@ -17,6 +20,21 @@ public class RedissonCacheTracker extends AbstractCacheTracker {
     private final RTopic topic;
 
     public RedissonCacheTracker(RedissonClient redissonClient) {
+        this(redissonClient, null, 0);
+    }
+
+    /**
+     * @param batchWindow If it is not null, the invalidation events of this window
+     *                    are merged and published as one compressed message
+     * @param maxBatchSize The max count of buffered ids,
+     *                     the buffered events are published immediately when it is reached
+     */
+    public RedissonCacheTracker(
+            RedissonClient redissonClient,
+            @Nullable Duration batchWindow,
+            int maxBatchSize
+    ) {
+        super(batchWindow, maxBatchSize);
         topic = redissonClient.getTopic(CHANNEL);
         topic.addListener(InvalidateMessage.class, new MessageListener<InvalidateMessage>() {
             @Override
@@ -26,6 +44,16 @@ public class RedissonCacheTracker extends AbstractCacheTracker {
                 }
             }
         });
+        topic.addListener(InvalidateBatchMessage.class, new MessageListener<InvalidateBatchMessage>() {
+            @Override
+            public void onMessage(CharSequence channel, InvalidateBatchMessage msg) {
+                if (!msg.trackerId.equals(trackerId)) {
+                    for (InvalidateEvent event : msg.toEvents()) {
+                        firer().invalidate(event);
+                    }
+                }
+            }
+        });
         topic.addListener(new BaseStatusListener() {
             @Override
             public void onSubscribe(String channel) {
@@ -44,4 +72,12 @@ public class RedissonCacheTracker extends AbstractCacheTracker {
         );
     }
 
+    @Override
+    protected void publishInvalidationEvents(Collection<InvalidateEvent> events) {
+        if (events.size() == 1) {
+            publishInvalidationEvent(events.iterator().next());
+        } else {
+            topic.publish(new InvalidateBatchMessage(trackerId, events));
+        }
+    }
 }
@@ -1,13 +1,31 @@
 package org.babyfish.jimmer.sql.cache.spi;
 
 import net.bytebuddy.implementation.bytecode.Throw;
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.cache.CacheTracker;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.util.List;
+import java.time.Duration;
+import java.util.*;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public abstract class AbstractCacheTracker implements CacheTracker {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstractCacheTracker.class);
+
+    private static final ScheduledExecutorService FLUSH_SCHEDULER =
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "jimmer-cache-tracker-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+
     protected final List<InvalidationListener> invalidationListeners =
             new CopyOnWriteArrayList<>();
 
@@ -16,6 +34,43 @@ public abstract class AbstractCacheTracker implements CacheTracker {
 
     private final Firer firer = new FirerImpl();
 
+    private final Duration batchWindow;
+
+    private final int maxBatchSize;
+
+    // Key is ImmutableType or ImmutableProp
+    private Map<Object, Set<Object>> bufferedIdMap = new LinkedHashMap<>();
+
+    private int bufferedIdCount;
+
+    private boolean flushScheduled;
+
+    protected AbstractCacheTracker() {
+        this(null, 0);
+    }
+
+    /**
+     * @param batchWindow If it is not null, the published events are buffered
+     *                    for this window, the events of same type or prop are merged,
+     *                    and all the buffered events are published together by
+     *                    {@link #publishInvalidationEvents(Collection)}.
+     *                    Other nodes receive the invalidation later than unbuffered mode,
+     *                    so the window should be short, such as tens of milliseconds.
+     * @param maxBatchSize The buffer is flushed immediately when the count of buffered ids reaches it
+     */
+    protected AbstractCacheTracker(@Nullable Duration batchWindow, int maxBatchSize) {
+        if (batchWindow != null) {
+            if (batchWindow.isNegative() || batchWindow.isZero()) {
+                throw new IllegalArgumentException("batchWindow must be positive");
+            }
+            if (maxBatchSize < 1) {
+                throw new IllegalArgumentException("maxBatchSize must be positive");
+            }
+        }
+        this.batchWindow = batchWindow;
+        this.maxBatchSize = maxBatchSize;
+    }
+
     @Override
     public void addInvalidateListener(InvalidationListener listener) {
         if (listener != null) {
@@ -54,8 +109,88 @@ public abstract class AbstractCacheTracker implements CacheTracker {
         return new PublisherImpl();
     }
 
+    /**
+     * Publish the buffered events immediately,
+     * for example, when the transaction is committed.
+     *
+     * <p>The spring boot starter calls it after the commit of
+     * the transactions which fire database events. Otherwise,
+     * the buffered events are published when the batch window
+     * elapses, unless this method is called by the application.</p>
+     *
+     * <p>It does nothing if the batch window is not specified.</p>
+     */
+    public void flush() {
+        Map<Object, Set<Object>> idMap;
+        synchronized (this) {
+            if (bufferedIdMap.isEmpty()) {
+                return;
+            }
+            idMap = bufferedIdMap;
+            bufferedIdMap = new LinkedHashMap<>();
+            bufferedIdCount = 0;
+        }
+        List<InvalidateEvent> events = new ArrayList<>(idMap.size());
+        for (Map.Entry<Object, Set<Object>> e : idMap.entrySet()) {
+            List<Object> ids = new ArrayList<>(e.getValue());
+            if (e.getKey() instanceof ImmutableProp) {
+                events.add(new InvalidateEvent((ImmutableProp) e.getKey(), ids));
+            } else {
+                events.add(new InvalidateEvent((ImmutableType) e.getKey(), ids));
+            }
+        }
+        publishInvalidationEvents(events);
+    }
+
     protected abstract void publishInvalidationEvent(InvalidateEvent event);
 
+    /**
+     * Publish the merged events of the batch window,
+     * the default implementation publishes them one by one,
+     * derived classes can override it to send them by one message.
+     */
+    protected void publishInvalidationEvents(Collection<InvalidateEvent> events) {
+        for (InvalidateEvent event : events) {
+            publishInvalidationEvent(event);
+        }
+    }
+
+    private void buffer(InvalidateEvent event) {
+        Object key = event.getProp() != null ? event.getProp() : event.getType();
+        boolean flushNow = false;
+        boolean scheduleFlush = false;
+        synchronized (this) {
+            Set<Object> ids = bufferedIdMap.computeIfAbsent(key, it -> new LinkedHashSet<>());
+            for (Object id : event.getIds()) {
+                if (ids.add(id)) {
+                    bufferedIdCount++;
+                }
+            }
+            if (bufferedIdCount >= maxBatchSize) {
+                flushNow = true;
+            } else if (!flushScheduled) {
+                flushScheduled = scheduleFlush = true;
+            }
+        }
+        if (flushNow) {
+            flush();
+        }
+        if (scheduleFlush) {
+            FLUSH_SCHEDULER.schedule(this::scheduledFlush, batchWindow.toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void scheduledFlush() {
+        synchronized (this) {
+            flushScheduled = false;
+        }
+        try {
+            flush();
+        } catch (RuntimeException | Error ex) {
+            LOGGER.error("Failed to publish the buffered invalidation events", ex);
+        }
+    }
+
     private class FirerImpl implements Firer {
 
         @Override
@@ -89,7 +224,11 @@ public abstract class AbstractCacheTracker implements CacheTracker {
 
         @Override
         public void invalidate(InvalidateEvent event) {
-            publishInvalidationEvent(event);
+            if (batchWindow != null) {
+                buffer(event);
+            } else {
+                publishInvalidationEvent(event);
+            }
         }
     }
 
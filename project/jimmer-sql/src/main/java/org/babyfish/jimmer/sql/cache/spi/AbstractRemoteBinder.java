@@ -6,7 +6,7 @@ import org.babyfish.jimmer.jackson.ImmutableModule;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.cache.CacheTracker;
-import org.babyfish.jimmer.sql.cache.ValueSerializer;
+import org.babyfish.jimmer.sql.cache.CacheValueSerializer;
 import org.babyfish.jimmer.sql.cache.chain.LockableBinder;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -18,6 +18,8 @@ import java.util.stream.Collectors;
 
 abstract class AbstractRemoteBinder<K, V> extends AbstractTrackingProducerBinder<K> implements LockableBinder<K, V> {
 
+    private static final int MAX_SLOT_GROUP_COUNT = 16384;
+
     final ObjectMapper objectMapper;
 
     private final String keyPrefix;
@@ -26,7 +28,13 @@ abstract class AbstractRemoteBinder<K, V> extends AbstractTrackingProducerBinder
 
     private final long maxMillis;
 
-    final ValueSerializer<V> valueSerializer;
+    private final long negativeMinMillis;
+
+    private final long negativeMaxMillis;
+
+    final int slotGroupCount;
+
+    final CacheValueSerializer<V> valueSerializer;
 
     AbstractRemoteBinder(
             @Nullable ImmutableType type,
@@ -35,6 +43,32 @@ abstract class AbstractRemoteBinder<K, V> extends AbstractTrackingProducerBinder
             @Nullable ObjectMapper objectMapper,
             Duration duration,
             int randomPercent
+    ) {
+        this(type, prop, tracker, objectMapper, null, duration, randomPercent);
+    }
+
+    AbstractRemoteBinder(
+            @Nullable ImmutableType type,
+            @Nullable ImmutableProp prop,
+            @Nullable CacheTracker tracker,
+            @Nullable ObjectMapper objectMapper,
+            @Nullable CacheValueSerializer.Factory serializerFactory,
+            Duration duration,
+            int randomPercent
+    ) {
+        this(type, prop, tracker, objectMapper, serializerFactory, duration, randomPercent, null, 0);
+    }
+
+    AbstractRemoteBinder(
+            @Nullable ImmutableType type,
+            @Nullable ImmutableProp prop,
+            @Nullable CacheTracker tracker,
+            @Nullable ObjectMapper objectMapper,
+            @Nullable CacheValueSerializer.Factory serializerFactory,
+            Duration duration,
+            int randomPercent,
+            @Nullable Duration negativeDuration,
+            int slotGroupCount
     ) {
         super(type, prop, tracker);
         if (objectMapper != null) {
@@ -61,10 +95,30 @@ abstract class AbstractRemoteBinder<K, V> extends AbstractTrackingProducerBinder
         long millis = duration.toMillis();
         minMills = millis - randomPercent * millis / 100;
         maxMillis = millis + randomPercent * millis / 100;
+        if (negativeDuration != null) {
+            if (negativeDuration.isNegative() || negativeDuration.isZero()) {
+                throw new IllegalArgumentException("negativeDuration must be positive");
+            }
+            long negativeMillis = negativeDuration.toMillis();
+            negativeMinMillis = negativeMillis - randomPercent * negativeMillis / 100;
+            negativeMaxMillis = negativeMillis + randomPercent * negativeMillis / 100;
+        } else {
+            negativeMinMillis = minMills;
+            negativeMaxMillis = maxMillis;
+        }
+        if (slotGroupCount < 0 || slotGroupCount > MAX_SLOT_GROUP_COUNT) {
+            throw new IllegalArgumentException(
+                    "slotGroupCount must between 0 and " + MAX_SLOT_GROUP_COUNT
+            );
+        }
+        this.slotGroupCount = slotGroupCount;
+        if (serializerFactory == null) {
+            serializerFactory = CacheValueSerializer.json();
+        }
         if (type != null) {
-            valueSerializer = new ValueSerializer<>(type, objectMapper);
+            valueSerializer = serializerFactory.forType(type, objectMapper);
         } else {
-            valueSerializer = new ValueSerializer<>(prop, objectMapper);
+            valueSerializer = serializerFactory.forProp(prop, objectMapper);
         }
     }
 
@@ -92,8 +146,31 @@ abstract class AbstractRemoteBinder<K, V> extends AbstractTrackingProducerBinder
         return ThreadLocalRandom.current().nextLong(minMills, maxMillis);
     }
 
+    /**
+     * Get the expiration of the serialized value,
+     * negative duration is used if it is specified and the value
+     * is the serialized null which means that data does not exist.
+     */
+    protected long nextExpireMillis(byte[] serializedValue) {
+        if (negativeMinMillis != minMills && valueSerializer.isNull(serializedValue)) {
+            return ThreadLocalRandom.current().nextLong(negativeMinMillis, negativeMaxMillis);
+        }
+        return nextExpireMillis();
+    }
+
     String serializedKey(K key) {
-        return keyPrefix + key;
+        if (slotGroupCount == 0) {
+            return keyPrefix + key;
+        }
+        // Only the content of `{}`, known as hash tag, is used by redis cluster
+        // to calculate the hash slot, so the keys of the same group are
+        // in the same slot and can be read by one command
+        return keyPrefix + '{' + keyPrefix + slotGroup(key) + '}' + key;
+    }
+
+    int slotGroup(K key) {
+        // Use the hash code of string, it is stable across JVMs
+        return (key.toString().hashCode() & Integer.MAX_VALUE) % slotGroupCount;
     }
 
     List<String> serializedKeys(Collection<K> keys) {
@@ -109,8 +186,11 @@ abstract class AbstractRemoteBinder<K, V> extends AbstractTrackingProducerBinder
         protected final ImmutableProp prop;
         protected CacheTracker tracker;
         protected ObjectMapper objectMapper;
+        protected CacheValueSerializer.Factory serializerFactory;
         protected Duration duration = Duration.ofMinutes(30);
         protected int randomPercent = 30;
+        protected Duration negativeDuration;
+        protected int slotGroupCount;
 
         protected AbstractBuilder(ImmutableType type, ImmutableProp prop) {
             this.type = type;
@@ -129,6 +209,17 @@ abstract class AbstractRemoteBinder<K, V> extends AbstractTrackingProducerBinder
             return (B)this;
         }
 
+        /**
+         * Specify how to serialize the cached values,
+         * for example, {@link CacheValueSerializer#binary()};
+         * if it is not specified, {@link CacheValueSerializer#json()} is used.
+         */
+        @SuppressWarnings("unchecked")
+        public B serializerFactory(CacheValueSerializer.Factory serializerFactory) {
+            this.serializerFactory = serializerFactory;
+            return (B)this;
+        }
+
         @SuppressWarnings("unchecked")
         public B duration(Duration duration) {
             this.duration = duration;
@@ -140,5 +231,40 @@ abstract class AbstractRemoteBinder<K, V> extends AbstractTrackingProducerBinder
             this.randomPercent = randomPercent;
             return (B)this;
         }
+
+        /**
+         * The duration of cached null values which mean that
+         * the data does not exist, it is usually shorter than
+         * {@link #duration(Duration)} so that the inserted data
+         * can be seen soon. If it is not specified, the
+         * `duration` is used.
+         *
+         * <p>It is ignored by hash binders because the expiration
+         * of redis hash is shared by the values of all parameters.</p>
+         */
+        @SuppressWarnings("unchecked")
+        public B negativeDuration(Duration negativeDuration) {
+            this.negativeDuration = negativeDuration;
+            return (B)this;
+        }
+
+        /**
+         * Distribute keys into the specified count of groups by hash tags
+         * of redis cluster, the keys of the same group are in the same
+         * hash slot, so that the keys read by one `getAll` are
+         * read by one command for each group, rather than key by key.
+         *
+         * <p>0 means the hash tag is not used, that is the default value.
+         * Changing it changes the layout of keys, the data cached
+         * by the old layout cannot be seen and will expire.</p>
+         *
+         * <p>It is ignored by hash binders because their keys are always
+         * read one by one.</p>
+         */
+        @SuppressWarnings("unchecked")
+        public B slotGroupCount(int slotGroupCount) {
+            this.slotGroupCount = slotGroupCount;
+            return (B)this;
+        }
     }
 }
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.cache.CacheTracker;
+import org.babyfish.jimmer.sql.cache.CacheValueSerializer;
 import org.babyfish.jimmer.sql.exception.SerializationException;
 import org.babyfish.jimmer.sql.cache.chain.LockableBinder;
 import org.jetbrains.annotations.Nullable;
@@ -28,6 +29,18 @@ public abstract class AbstractRemoteHashBinder<K, V>
         super(type, prop, tracker, objectMapper, duration, randomPercent);
     }
 
+    protected AbstractRemoteHashBinder(
+            @Nullable ImmutableType type,
+            @Nullable ImmutableProp prop,
+            @Nullable CacheTracker tracker,
+            @Nullable ObjectMapper objectMapper,
+            @Nullable CacheValueSerializer.Factory serializerFactory,
+            Duration duration,
+            int randomPercent
+    ) {
+        super(type, prop, tracker, objectMapper, serializerFactory, duration, randomPercent);
+    }
+
     @Override
     public final Map<K, V> getAll(Collection<K> keys) {
         return getAll(keys, Collections.emptySortedMap());
@@ -4,12 +4,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.cache.CacheTracker;
+import org.babyfish.jimmer.sql.cache.CacheValueSerializer;
 import org.jetbrains.annotations.Nullable;
 
 import java.time.Duration;
-import java.util.Collection;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 public abstract class AbstractRemoteValueBinder<K, V>
         extends AbstractRemoteBinder<K, V> {
@@ -25,20 +24,150 @@ public abstract class AbstractRemoteValueBinder<K, V>
         super(type, prop, tracker, objectMapper, duration, randomPercent);
     }
 
+    protected AbstractRemoteValueBinder(
+            @Nullable ImmutableType type,
+            @Nullable ImmutableProp prop,
+            @Nullable CacheTracker tracker,
+            @Nullable ObjectMapper objectMapper,
+            @Nullable CacheValueSerializer.Factory serializerFactory,
+            Duration duration,
+            int randomPercent
+    ) {
+        super(type, prop, tracker, objectMapper, serializerFactory, duration, randomPercent);
+    }
+
+    protected AbstractRemoteValueBinder(
+            @Nullable ImmutableType type,
+            @Nullable ImmutableProp prop,
+            @Nullable CacheTracker tracker,
+            @Nullable ObjectMapper objectMapper,
+            @Nullable CacheValueSerializer.Factory serializerFactory,
+            Duration duration,
+            int randomPercent,
+            @Nullable Duration negativeDuration,
+            int slotGroupCount
+    ) {
+        super(
+                type,
+                prop,
+                tracker,
+                objectMapper,
+                serializerFactory,
+                duration,
+                randomPercent,
+                negativeDuration,
+                slotGroupCount
+        );
+    }
+
     @Override
     public final Map<K, V> getAll(Collection<K> keys) {
-        Collection<String> redisKeys = serializedKeys(keys);
-        List<byte[]> values = read(redisKeys);
-        return valueSerializer.deserialize(keys, values);
+        if (slotGroupCount == 0) {
+            return getAllImpl(keys);
+        }
+        Collection<List<K>> keyGroups = groupBySlot(keys).values();
+        List<Collection<String>> redisKeyGroups = new ArrayList<>(keyGroups.size());
+        for (List<K> groupKeys : keyGroups) {
+            redisKeyGroups.add(serializedKeys(groupKeys));
+        }
+        List<List<byte[]>> valueGroups = readGroups(redisKeyGroups);
+        Map<K, V> resultMap = new LinkedHashMap<>((keys.size() * 4 + 2) / 3);
+        Iterator<List<byte[]>> valueGroupItr = valueGroups.iterator();
+        for (List<K> groupKeys : keyGroups) {
+            resultMap.putAll(valueSerializer.deserialize(groupKeys, valueGroupItr.next()));
+        }
+        return resultMap;
     }
 
     @Override
     public final void setAll(Map<K, V> map) {
-        Map<String, byte[]> convertedMap = valueSerializer.serialize(map, this::serializedKey);
-        write(convertedMap);
+        if (slotGroupCount == 0) {
+            setAllImpl(map);
+            return;
+        }
+        Map<Integer, Map<K, V>> groupMap = new LinkedHashMap<>();
+        for (Map.Entry<K, V> e : map.entrySet()) {
+            groupMap
+                    .computeIfAbsent(slotGroup(e.getKey()), it -> new LinkedHashMap<>())
+                    .put(e.getKey(), e.getValue());
+        }
+        List<Map<String, byte[]>> convertedMaps = new ArrayList<>(groupMap.size());
+        for (Map<K, V> subMap : groupMap.values()) {
+            convertedMaps.add(valueSerializer.serialize(subMap, this::serializedKey));
+        }
+        writeGroups(convertedMaps);
     }
 
+    /**
+     * Read values from remote cache.
+     *
+     * <p>If `slotGroupCount` of builder is specified,
+     * all the keys of this method are in the same hash slot
+     * of redis cluster.</p>
+     */
     protected abstract List<byte[]> read(Collection<String> keys);
 
+    /**
+     * Write values into remote cache, the expiration of each value
+     * should be {@link #nextExpireMillis(byte[])}.
+     *
+     * <p>If `slotGroupCount` of builder is specified,
+     * all the keys of this method are in the same hash slot
+     * of redis cluster.</p>
+     */
     protected abstract void write(Map<String, byte[]> map);
+
+    /**
+     * Read values of several slot groups from remote cache,
+     * it is only used when `slotGroupCount` of builder is specified.
+     *
+     * <p>The default implementation calls {@link #read(Collection)}
+     * for each group, that is one round trip per group. Override it
+     * to send the reading of all groups by one pipeline.</p>
+     *
+     * @param keyGroups Each group is in one hash slot of redis cluster
+     * @return The values of each group, in the order of groups
+     */
+    protected List<List<byte[]>> readGroups(List<Collection<String>> keyGroups) {
+        List<List<byte[]>> valueGroups = new ArrayList<>(keyGroups.size());
+        for (Collection<String> keys : keyGroups) {
+            valueGroups.add(read(keys));
+        }
+        return valueGroups;
+    }
+
+    /**
+     * Write values of several slot groups into remote cache,
+     * it is only used when `slotGroupCount` of builder is specified.
+     *
+     * <p>The default implementation calls {@link #write(Map)}
+     * for each group, that is one round trip per group. Override it
+     * to send the writing of all groups by one pipeline.</p>
+     *
+     * @param maps Each map is in one hash slot of redis cluster
+     */
+    protected void writeGroups(List<Map<String, byte[]>> maps) {
+        for (Map<String, byte[]> map : maps) {
+            write(map);
+        }
+    }
+
+    private Map<K, V> getAllImpl(Collection<K> keys) {
+        Collection<String> redisKeys = serializedKeys(keys);
+        List<byte[]> values = read(redisKeys);
+        return valueSerializer.deserialize(keys, values);
+    }
+
+    private void setAllImpl(Map<K, V> map) {
+        Map<String, byte[]> convertedMap = valueSerializer.serialize(map, this::serializedKey);
+        write(convertedMap);
+    }
+
+    private Map<Integer, List<K>> groupBySlot(Collection<K> keys) {
+        Map<Integer, List<K>> groupMap = new LinkedHashMap<>();
+        for (K key : keys instanceof Set<?> ? keys : new LinkedHashSet<>(keys)) {
+            groupMap.computeIfAbsent(slotGroup(key), it -> new ArrayList<>()).add(key);
+        }
+        return groupMap;
+    }
 }
@@ -6,7 +6,9 @@ import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.meta.TypedProp;
 import org.babyfish.jimmer.sql.*;
 import org.babyfish.jimmer.sql.association.meta.AssociationType;
+import org.babyfish.jimmer.sql.ast.impl.query.QueryShapeCache;
 import org.babyfish.jimmer.sql.ast.mutation.*;
+import org.babyfish.jimmer.sql.ast.query.CountStrategy;
 import org.babyfish.jimmer.sql.ast.query.MutableRootQuery;
 import org.babyfish.jimmer.sql.ast.query.MutableSubQuery;
 import org.babyfish.jimmer.sql.ast.table.AssociationTable;
@@ -21,6 +23,7 @@ import org.babyfish.jimmer.sql.event.TriggerType;
 import org.babyfish.jimmer.sql.event.Triggers;
 import org.babyfish.jimmer.sql.event.binlog.BinLog;
 import org.babyfish.jimmer.sql.fetcher.Fetcher;
+import org.babyfish.jimmer.sql.fetcher.BatchSizeStrategy;
 import org.babyfish.jimmer.sql.fetcher.ReferenceFetchType;
 import org.babyfish.jimmer.sql.filter.FilterConfig;
 import org.babyfish.jimmer.sql.filter.Filters;
@@ -526,6 +529,27 @@ public abstract class AbstractJSqlClientDelegate implements JSqlClientImplemento
         return sqlClient().getDefaultListBatchSize();
     }
 
+    @Nullable
+    @Override
+    public java.util.concurrent.Executor getFetcherExecutor() {
+        return sqlClient().getFetcherExecutor();
+    }
+
+    @Override
+    public BatchSizeStrategy getBatchSizeStrategy() {
+        return sqlClient().getBatchSizeStrategy();
+    }
+
+    @Override
+    public QueryShapeCache getQueryShapeCache() {
+        return sqlClient().getQueryShapeCache();
+    }
+
+    @Override
+    public java.util.concurrent.Executor getAsyncExecutor() {
+        return sqlClient().getAsyncExecutor();
+    }
+
     @Override
     public boolean isInListPaddingEnabled() {
         return sqlClient().isInListPaddingEnabled();
@@ -555,6 +579,16 @@ public abstract class AbstractJSqlClientDelegate implements JSqlClientImplemento
         return sqlClient().isBatchForbidden(dumbBatchAcceptable);
     }
 
+    @Override
+    public boolean isMultiValuesInsertEnabled() {
+        return sqlClient().isMultiValuesInsertEnabled();
+    }
+
+    @Override
+    public CountStrategy getCountStrategy() {
+        return sqlClient().getCountStrategy();
+    }
+
     @Override
     public boolean isUpsertWithUniqueConstraintSupported(ImmutableType type) {
         return sqlClient().isUpsertWithUniqueConstraintSupported(type);
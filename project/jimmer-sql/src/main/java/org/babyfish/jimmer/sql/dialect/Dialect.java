@@ -4,12 +4,15 @@ import org.babyfish.jimmer.sql.ast.impl.render.AbstractSqlBuilder;
 import org.babyfish.jimmer.sql.ast.impl.value.ValueGetter;
 import org.babyfish.jimmer.sql.meta.SqlTypeStrategy;
 import org.babyfish.jimmer.sql.exception.ExecutionException;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 import org.babyfish.jimmer.sql.runtime.Reader;
 import org.jetbrains.annotations.Nullable;
 
+import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.Iterator;
 import java.util.List;
 
 public interface Dialect extends SqlTypeStrategy {
@@ -27,6 +30,16 @@ public interface Dialect extends SqlTypeStrategy {
         throw new ExecutionException("Sequence is not supported by '" + getClass().getName() + "'");
     }
 
+    /**
+     * The query which allocates multiple ids from sequence by one round trip,
+     * it has only one parameter: the count of ids.
+     * Null means ids can only be allocated one by one
+     */
+    @Nullable
+    default String getSelectIdsFromSequenceSql(String sequenceName) {
+        return null;
+    }
+
     @Nullable
     default String getOverrideIdentityIdSql() {
         return null;
@@ -45,6 +58,64 @@ public interface Dialect extends SqlTypeStrategy {
 
     default boolean isMultiInsertionSupported() { return true; }
 
+    /**
+     * Can the ids generated by multi-row insert statement
+     * be fetched in the order of rows
+     */
+    default boolean isMultiInsertionIdFetchable() { return true; }
+
+    /**
+     * The max count of JDBC parameters of one statement
+     */
+    default int getMaxVariableCount() {
+        return 32767;
+    }
+
+    /**
+     * Does the database support loading rows by bulk protocol
+     * which is faster than JDBC batch, such as `COPY` of PostgreSQL
+     */
+    default boolean isBulkInsertSupported() {
+        return false;
+    }
+
+    default String getBulkInsertSql(String tableName, List<String> columnNames) {
+        throw new ExecutionException("Bulk insert is not supported by '" + getClass().getName() + "'");
+    }
+
+    /**
+     * Load rows by the statement returned by {@link #getBulkInsertSql(String, List)}
+     *
+     * @param rows The rows whose values are ordered by the column names,
+     *             null value means SQL null
+     * @param sqlClient The sql client whose zone and scalar providers
+     *                  are used to convert the values
+     * @return The count of inserted rows
+     */
+    default long bulkInsert(
+            Connection con,
+            String sql,
+            Iterator<List<Object>> rows,
+            JSqlClientImplementor sqlClient
+    ) throws SQLException {
+        throw new ExecutionException("Bulk insert is not supported by '" + getClass().getName() + "'");
+    }
+
+    /**
+     * The statement which returns the execution plan of a query,
+     * the row count estimated by the plan is read by
+     * {@link #getEstimatedRowCount(ResultSet)}.
+     * Null means the estimation is not supported
+     */
+    @Nullable
+    default String getExplainSql(String sql) {
+        return null;
+    }
+
+    default long getEstimatedRowCount(ResultSet rs) throws SQLException {
+        throw new ExecutionException("Row count estimation is not supported by '" + getClass().getName() + "'");
+    }
+
     default boolean isArraySupported() { return false; }
 
     default boolean isAnyEqualityOfArraySupported() {
@@ -71,6 +142,13 @@ public interface Dialect extends SqlTypeStrategy {
         return true;
     }
 
+    /**
+     * Whether `with recursive` can be used as the prefix of delete statement
+     */
+    default boolean isRecursiveCteSupported() {
+        return false;
+    }
+
     @Nullable
     default String getConstantTableName() { return null; }
 
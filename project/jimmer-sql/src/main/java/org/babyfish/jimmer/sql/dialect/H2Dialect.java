@@ -93,6 +93,11 @@ public class H2Dialect extends DefaultDialect {
         return true;
     }
 
+    @Override
+    public boolean isRecursiveCteSupported() {
+        return true;
+    }
+
     @Override
     public String getSelectIdFromSequenceSql(String sequenceName) {
         return "select nextval('" + sequenceName + "')";
@@ -111,7 +116,8 @@ public class H2Dialect extends DefaultDialect {
                 "IMMUTABLE_TYPE varchar," +
                 "IMMUTABLE_PROP varchar," +
                 "CACHE_KEY varchar not null," +
-                "REASON varchar" +
+                "REASON varchar," +
+                "PARTITION_ID int" +
                 ")";
     }
 
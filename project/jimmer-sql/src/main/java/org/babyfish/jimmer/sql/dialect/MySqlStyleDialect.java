@@ -2,6 +2,8 @@ package org.babyfish.jimmer.sql.dialect;
 
 import java.math.BigDecimal;
 import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.time.*;
@@ -13,6 +15,19 @@ public abstract class MySqlStyleDialect extends DefaultDialect {
         ctx.origin().space().sql("limit ").variable(ctx.getOffset()).sql(", ").variable(ctx.getLimit());
     }
 
+    @Override
+    public String getExplainSql(String sql) {
+        return "explain " + sql;
+    }
+
+    /**
+     * The estimated row count of the first table of plan
+     */
+    @Override
+    public long getEstimatedRowCount(ResultSet rs) throws SQLException {
+        return rs.next() ? rs.getLong("rows") : 0;
+    }
+
     public UpdateJoin getUpdateJoin() {
         return new UpdateJoin(true, UpdateJoin.From.UNNECESSARY);
     }
@@ -75,6 +90,11 @@ public abstract class MySqlStyleDialect extends DefaultDialect {
         return false;
     }
 
+    @Override
+    public int getMaxVariableCount() {
+        return 65535;
+    }
+
     @Override
     public boolean isTableOfSubQueryMutable() {
         return false;
@@ -87,7 +107,8 @@ public abstract class MySqlStyleDialect extends DefaultDialect {
                 "\tIMMUTABLE_TYPE varchar(128),\n" +
                 "\tIMMUTABLE_PROP varchar(128),\n" +
                 "\tCACHE_KEY varchar(64) not null,\n" +
-                "\tREASON varchar(32)\n" +
+                "\tREASON varchar(32),\n" +
+                "\tPARTITION_ID int\n" +
                 ") engine=innodb";
     }
 }
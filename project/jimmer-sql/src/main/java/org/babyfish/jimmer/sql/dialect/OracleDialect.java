@@ -128,7 +128,8 @@ public class OracleDialect extends DefaultDialect {
                 "\tIMMUTABLE_TYPE varchar2(128),\n" +
                 "\tIMMUTABLE_PROP varchar2(128),\n" +
                 "\tCACHE_KEY varchar2(64) not null,\n" +
-                "\tREASON varchar2(32)\n" +
+                "\tREASON varchar2(32),\n" +
+                "\tPARTITION_ID number(10)\n" +
                 ")";
     }
 }
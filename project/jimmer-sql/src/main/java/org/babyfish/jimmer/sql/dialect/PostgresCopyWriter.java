@@ -0,0 +1,189 @@
+package org.babyfish.jimmer.sql.dialect;
+
+import org.babyfish.jimmer.sql.collection.TypedList;
+import org.babyfish.jimmer.sql.exception.ExecutionException;
+import org.babyfish.jimmer.sql.runtime.DbLiteral;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.util.PGobject;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.*;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Write rows by `copy ... from stdin` of PostgreSQL with CSV format.
+ *
+ * <p>In CSV format, unquoted empty field is null and quoted empty field
+ * is empty string, so all the string values are quoted.</p>
+ *
+ * <p>Only the values which have an unambiguous text form are supported,
+ * other values cause {@link ExecutionException} rather than being
+ * written by {@code toString()}.</p>
+ */
+class PostgresCopyWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+
+    private final PGConnection con;
+
+    private final JSqlClientImplementor sqlClient;
+
+    private final StringBuilder builder = new StringBuilder();
+
+    PostgresCopyWriter(PGConnection con, JSqlClientImplementor sqlClient) {
+        this.con = con;
+        this.sqlClient = sqlClient;
+    }
+
+    static String sql(String tableName, List<String> columnNames) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("copy ").append(tableName).append('(');
+        boolean addComma = false;
+        for (String columnName : columnNames) {
+            if (addComma) {
+                builder.append(", ");
+            } else {
+                addComma = true;
+            }
+            builder.append(columnName);
+        }
+        builder.append(") from stdin with (format csv)");
+        return builder.toString();
+    }
+
+    long write(String sql, Iterator<List<Object>> rows) throws SQLException {
+        CopyIn copyIn = con.getCopyAPI().copyIn(sql);
+        try {
+            while (rows.hasNext()) {
+                boolean addComma = false;
+                for (Object value : rows.next()) {
+                    if (addComma) {
+                        builder.append(',');
+                    } else {
+                        addComma = true;
+                    }
+                    appendValue(value);
+                }
+                builder.append('\n');
+                if (builder.length() >= BUFFER_SIZE) {
+                    flush(copyIn);
+                }
+            }
+            flush(copyIn);
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private void flush(CopyIn copyIn) throws SQLException {
+        if (builder.length() != 0) {
+            byte[] bytes = builder.toString().getBytes(StandardCharsets.UTF_8);
+            builder.setLength(0);
+            copyIn.writeToCopy(bytes, 0, bytes.length);
+        }
+    }
+
+    private void appendValue(Object value) {
+        value = sqlValue(value);
+        if (value == null || value instanceof PGobject && ((PGobject) value).getValue() == null) {
+            return;
+        }
+        if (value instanceof Number) {
+            builder.append(value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString());
+        } else if (value instanceof Boolean) {
+            builder.append((Boolean) value ? 't' : 'f');
+        } else if (value instanceof byte[]) {
+            byte[] bytes = (byte[]) value;
+            builder.append("\\x");
+            for (byte b : bytes) {
+                builder.append(HEX_CHARS[(b >> 4) & 0xF]).append(HEX_CHARS[b & 0xF]);
+            }
+        } else if (value instanceof Object[]) {
+            StringBuilder arrBuilder = new StringBuilder();
+            arrBuilder.append('{');
+            boolean addComma = false;
+            for (Object element : (Object[]) value) {
+                if (addComma) {
+                    arrBuilder.append(',');
+                } else {
+                    addComma = true;
+                }
+                element = sqlValue(element);
+                if (element == null) {
+                    arrBuilder.append("NULL");
+                } else {
+                    arrBuilder
+                            .append('"')
+                            .append(text(element).replace("\\", "\\\\").replace("\"", "\\\""))
+                            .append('"');
+                }
+            }
+            arrBuilder.append('}');
+            appendQuoted(arrBuilder.toString());
+        } else {
+            appendQuoted(text(value));
+        }
+    }
+
+    private void appendQuoted(String text) {
+        builder.append('"').append(text.replace("\"", "\"\"")).append('"');
+    }
+
+    private Object sqlValue(Object value) {
+        if (value instanceof DbLiteral.DbNull) {
+            return null;
+        }
+        if (value instanceof DbLiteral.DbValue) {
+            return ((DbLiteral.DbValue) value).toSqlValue(sqlClient);
+        }
+        if (value instanceof TypedList<?>) {
+            return ((TypedList<?>) value).toArray();
+        }
+        return value;
+    }
+
+    private String text(Object value) {
+        if (value instanceof PGobject) {
+            return ((PGobject) value).getValue();
+        }
+        if (value instanceof String || value instanceof Character || value instanceof Number ||
+                value instanceof Boolean || value instanceof UUID) {
+            return value.toString();
+        }
+        if (value instanceof java.sql.Date || value instanceof java.sql.Time || value instanceof Timestamp) {
+            return value.toString();
+        }
+        if (value instanceof java.util.Date) {
+            return LocalDateTime.ofInstant(
+                    ((java.util.Date) value).toInstant(),
+                    sqlClient.getZoneId()
+            ).toString();
+        }
+        if (value instanceof ZonedDateTime) {
+            return ((ZonedDateTime) value).toOffsetDateTime().toString();
+        }
+        if (value instanceof LocalDate || value instanceof LocalTime || value instanceof LocalDateTime ||
+                value instanceof OffsetDateTime || value instanceof OffsetTime || value instanceof Instant) {
+            return value.toString();
+        }
+        throw new ExecutionException(
+                "The value \"" +
+                        value +
+                        "\" of type \"" +
+                        value.getClass().getName() +
+                        "\" cannot be written by the copy statement of PostgreSQL"
+        );
+    }
+}
@@ -3,15 +3,20 @@ package org.babyfish.jimmer.sql.dialect;
 import org.babyfish.jimmer.impl.util.Classes;
 import org.babyfish.jimmer.sql.ast.impl.render.AbstractSqlBuilder;
 import org.babyfish.jimmer.sql.ast.impl.value.ValueGetter;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 import org.babyfish.jimmer.sql.runtime.Reader;
 import org.jetbrains.annotations.Nullable;
+import org.postgresql.PGConnection;
 import org.postgresql.util.PGobject;
 
 import java.math.BigDecimal;
 import java.sql.*;
 import java.time.*;
+import java.util.Iterator;
 import java.util.List;
 import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class PostgresDialect extends DefaultDialect {
 
@@ -22,6 +27,8 @@ public class PostgresDialect extends DefaultDialect {
         }
     };
 
+    private static final Pattern PLAN_ROWS_PATTERN = Pattern.compile("\"Plan Rows\"\\s*:\\s*([0-9.eE+]+)");
+
     @Override
     public UpdateJoin getUpdateJoin() {
         return new UpdateJoin(false, UpdateJoin.From.AS_JOIN);
@@ -32,6 +39,11 @@ public class PostgresDialect extends DefaultDialect {
         return "select nextval('" + sequenceName + "')";
     }
 
+    @Override
+    public String getSelectIdsFromSequenceSql(String sequenceName) {
+        return "select nextval('" + sequenceName + "') from generate_series(1, ?)";
+    }
+
     @Override
     public String getOverrideIdentityIdSql() {
         return "overriding system value";
@@ -163,6 +175,11 @@ public class PostgresDialect extends DefaultDialect {
         return true;
     }
 
+    @Override
+    public boolean isRecursiveCteSupported() {
+        return true;
+    }
+
     @Override
     public boolean isUpsertWithOptimisticLockSupported() {
         return true;
@@ -173,6 +190,41 @@ public class PostgresDialect extends DefaultDialect {
         return true;
     }
 
+    @Override
+    public boolean isBulkInsertSupported() {
+        return true;
+    }
+
+    @Override
+    public String getBulkInsertSql(String tableName, List<String> columnNames) {
+        return PostgresCopyWriter.sql(tableName, columnNames);
+    }
+
+    @Override
+    public long bulkInsert(
+            Connection con,
+            String sql,
+            Iterator<List<Object>> rows,
+            JSqlClientImplementor sqlClient
+    ) throws SQLException {
+        return new PostgresCopyWriter(con.unwrap(PGConnection.class), sqlClient).write(sql, rows);
+    }
+
+    @Override
+    public String getExplainSql(String sql) {
+        return "explain (format json) " + sql;
+    }
+
+    @Override
+    public long getEstimatedRowCount(ResultSet rs) throws SQLException {
+        if (!rs.next()) {
+            return 0;
+        }
+        // The first "Plan Rows" belongs to the root node of plan
+        Matcher matcher = PLAN_ROWS_PATTERN.matcher(rs.getString(1));
+        return matcher.find() ? (long) Double.parseDouble(matcher.group(1)) : 0;
+    }
+
     @Override
     public boolean isTransactionAbortedByError() {
         return true;
@@ -263,7 +315,8 @@ public class PostgresDialect extends DefaultDialect {
                "\tIMMUTABLE_TYPE text,\n" +
                "\tIMMUTABLE_PROP text,\n" +
                "\tCACHE_KEY text not null,\n" +
-               "\tREASON text\n" +
+               "\tREASON text,\n" +
+               "\tPARTITION_ID int\n" +
                ")";
     }
 }
@@ -37,6 +37,16 @@ public class SQLiteDialect extends DefaultDialect {
         return true;
     }
 
+    @Override
+    public boolean isMultiInsertionIdFetchable() {
+        return false;
+    }
+
+    @Override
+    public int getMaxVariableCount() {
+        return 999;
+    }
+
     @Override
     public void upsert(UpsertContext ctx) {
         ctx.sql("insert into ")
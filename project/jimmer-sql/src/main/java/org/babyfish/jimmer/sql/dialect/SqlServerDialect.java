@@ -74,4 +74,20 @@ public class SqlServerDialect extends DefaultDialect {
                 .variable(ctx.getLimit())
                 .sql(" rows only");
     }
+
+    /**
+     * The rows returned by `output inserted.ID` are not guaranteed
+     * to be in the order of the `values` clause, and `getGeneratedKeys()`
+     * only returns the last id, so generated ids of multi-row insert
+     * cannot be matched with entities.
+     */
+    @Override
+    public boolean isMultiInsertionIdFetchable() {
+        return false;
+    }
+
+    @Override
+    public int getMaxVariableCount() {
+        return 2000;
+    }
 }
@@ -0,0 +1,104 @@
+package org.babyfish.jimmer.sql.fetcher;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Batch size strategy which tunes the IN-list size of each association
+ * according to the rows returned and the latency of the previous loads.
+ *
+ * <ul>
+ *     <li>If the previous batch returned too many rows or was too slow,
+ *     the batch size is shrunk, at most half each time</li>
+ *     <li>If the previous batch was full, returned few rows and was fast,
+ *     the batch size is grown, at most double each time</li>
+ * </ul>
+ *
+ * The batch size is always bounded to [minBatchSize, Dialect.getMaxInListSize()]
+ */
+public class AdaptiveBatchSizeStrategy implements BatchSizeStrategy {
+
+    private final int minBatchSize;
+
+    private final int targetRowCount;
+
+    private final long targetNanos;
+
+    private final ConcurrentMap<ImmutableProp, AtomicInteger> sizeMap =
+            new ConcurrentHashMap<>();
+
+    public AdaptiveBatchSizeStrategy() {
+        this(16, 2048, Duration.ofMillis(100));
+    }
+
+    /**
+     * @param minBatchSize The lower bound of batch size
+     * @param targetRowCount The expected max count of rows returned by one batch
+     * @param targetLatency The expected max execution time of one batch
+     */
+    public AdaptiveBatchSizeStrategy(int minBatchSize, int targetRowCount, Duration targetLatency) {
+        if (minBatchSize < 1) {
+            throw new IllegalArgumentException("minBatchSize cannot be less than 1");
+        }
+        if (targetRowCount < 1) {
+            throw new IllegalArgumentException("targetRowCount cannot be less than 1");
+        }
+        if (targetLatency.isNegative() || targetLatency.isZero()) {
+            throw new IllegalArgumentException("targetLatency must be positive");
+        }
+        this.minBatchSize = minBatchSize;
+        this.targetRowCount = targetRowCount;
+        this.targetNanos = targetLatency.toNanos();
+    }
+
+    @Override
+    public int getBatchSize(ImmutableProp prop, int defaultBatchSize, int maxBatchSize) {
+        int lowerBound = Math.min(minBatchSize, maxBatchSize);
+        return sizeMap
+                .computeIfAbsent(prop, it -> new AtomicInteger(defaultBatchSize))
+                .updateAndGet(size -> Math.max(Math.min(size, maxBatchSize), lowerBound));
+    }
+
+    @Override
+    public void onLoaded(ImmutableProp prop, int batchSize, int rowCount, long nanos) {
+        AtomicInteger size = sizeMap.get(prop);
+        if (size == null || batchSize < 1) {
+            return;
+        }
+        double rowsPerObject = Math.max(rowCount, 1) / (double) batchSize;
+        double idealByRows = targetRowCount / rowsPerObject;
+        double idealByTime = nanos > 0 ? batchSize * (double) targetNanos / nanos : Double.MAX_VALUE;
+        double ideal = Math.min(idealByRows, idealByTime);
+        size.updateAndGet(current -> {
+            if (ideal < current) {
+                return Math.max((int) ideal, Math.max(current / 2, minBatchSize));
+            }
+            if (batchSize >= current) {
+                return (int) Math.min(ideal, current * 2.0);
+            }
+            return current;
+        });
+    }
+
+    /**
+     * @return The current batch size of the property,
+     * or null if the property has never been fetched.
+     */
+    public Integer getCurrentBatchSize(ImmutableProp prop) {
+        AtomicInteger size = sizeMap.get(prop);
+        return size != null ? size.get() : null;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveBatchSizeStrategy{" +
+                "minBatchSize=" + minBatchSize +
+                ", targetRowCount=" + targetRowCount +
+                ", targetNanos=" + targetNanos +
+                '}';
+    }
+}
@@ -0,0 +1,37 @@
+package org.babyfish.jimmer.sql.fetcher;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+
+/**
+ * Decides the size of the IN-list used by the object fetcher
+ * to load the associations of a batch of objects.
+ *
+ * <p>It is only used by the fields whose batch size is not
+ * specified explicitly, such as `batch(16)`.</p>
+ *
+ * <p>The implementation must be thread-safe because the
+ * fetcher tasks may be executed in parallel, see
+ * {@link org.babyfish.jimmer.sql.JSqlClient.Builder#setFetcherExecutor(java.util.concurrent.Executor)}</p>
+ */
+public interface BatchSizeStrategy {
+
+    /**
+     * @param prop The fetched property
+     * @param defaultBatchSize The configured default batch size,
+     *                         either `defaultBatchSize` or `defaultListBatchSize`
+     * @param maxBatchSize The max batch size supported by database,
+     *                     {@link org.babyfish.jimmer.sql.dialect.Dialect#getMaxInListSize()}
+     * @return The batch size of next load, which will be bounded to [1, maxBatchSize]
+     */
+    int getBatchSize(ImmutableProp prop, int defaultBatchSize, int maxBatchSize);
+
+    /**
+     * Feedback of a finished load
+     *
+     * @param prop The fetched property
+     * @param batchSize The count of objects whose associations are loaded
+     * @param rowCount The count of loaded associated objects
+     * @param nanos The execution time in nanoseconds
+     */
+    default void onLoaded(ImmutableProp prop, int batchSize, int rowCount, long nanos) {}
+}
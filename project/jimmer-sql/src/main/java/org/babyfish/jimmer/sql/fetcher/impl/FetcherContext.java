@@ -9,13 +9,19 @@ import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 import org.jetbrains.annotations.Nullable;
 
 import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.BiConsumer;
+import java.util.function.Supplier;
 
 class FetcherContext {
 
     private static final ThreadLocal<FetcherContext> FETCHER_CONTEXT_LOCAL = new ThreadLocal<>();
 
+    private static final ThreadLocal<Boolean> IN_PARALLEL_LOADING_LOCAL = new ThreadLocal<>();
+
     private final JSqlClientImplementor sqlClient;
 
     private final Connection con;
@@ -130,6 +136,11 @@ class FetcherContext {
     }
 
     public void execute() {
+        java.util.concurrent.Executor executor = sqlClient.getFetcherExecutor();
+        if (executor != null && isParallelizable()) {
+            executeInParallel(executor);
+            return;
+        }
         while (!taskMap.isEmpty()) {
             Iterator<Map.Entry<FetchedField, FetcherTask>> itr = taskMap.entrySet().iterator();
             Map.Entry<FetchedField, FetcherTask> e = itr.next();
@@ -139,6 +150,77 @@ class FetcherContext {
         }
     }
 
+    /**
+     * Each round loads the next batch of all tasks concurrently,
+     * then sets the loaded values into drafts by the current thread
+     * in the order of tasks.
+     */
+    private void executeInParallel(java.util.concurrent.Executor executor) {
+        while (!taskMap.isEmpty()) {
+            List<CompletableFuture<Runnable>> futures = new ArrayList<>(taskMap.size());
+            for (FetcherTask task : taskMap.values()) {
+                CompletableFuture<Runnable> future = task.executeAsync(executor);
+                if (future != null) {
+                    futures.add(future);
+                }
+            }
+            try {
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+            } catch (CompletionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw ex;
+            }
+            for (CompletableFuture<Runnable> future : futures) {
+                future.join().run();
+            }
+            taskMap.values().removeIf(FetcherTask::isCompleted);
+        }
+    }
+
+    /**
+     * Parallel fetching requires other connections, it is only allowed
+     * when the current connection is not in a transaction. The fetcher
+     * contexts created by the parallel loading are always sequential.
+     */
+    private boolean isParallelizable() {
+        if (IN_PARALLEL_LOADING_LOCAL.get() != null) {
+            return false;
+        }
+        try {
+            return con.getAutoCommit();
+        } catch (SQLException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Execute the parallel loading of {@link FetcherTask}, whatever the executor
+     * uses the current thread or not, the nested object fetching of loaded objects
+     * is handled by a new independent fetcher context.
+     */
+    static <R> R isolate(Supplier<R> block) {
+        FetcherContext oldCtx = FETCHER_CONTEXT_LOCAL.get();
+        Boolean oldLoading = IN_PARALLEL_LOADING_LOCAL.get();
+        FETCHER_CONTEXT_LOCAL.remove();
+        IN_PARALLEL_LOADING_LOCAL.set(Boolean.TRUE);
+        try {
+            return block.get();
+        } finally {
+            if (oldCtx != null) {
+                FETCHER_CONTEXT_LOCAL.set(oldCtx);
+            }
+            if (oldLoading == null) {
+                IN_PARALLEL_LOADING_LOCAL.remove();
+            }
+        }
+    }
+
     static void setVisibility(DraftSpi draft, FetcherImplementor<?> fetcher) {
         for (PropId shownPropId : fetcher.__shownPropIds()) {
             draft.__show(shownPropId, true);
@@ -1,13 +1,12 @@
 package org.babyfish.jimmer.sql.fetcher.impl;
 
-import org.babyfish.jimmer.meta.EmbeddedLevel;
-import org.babyfish.jimmer.meta.ImmutableProp;
-import org.babyfish.jimmer.meta.PropId;
-import org.babyfish.jimmer.meta.TargetLevel;
+import org.babyfish.jimmer.ImmutableObjects;
+import org.babyfish.jimmer.meta.*;
 import org.babyfish.jimmer.runtime.DraftContext;
 import org.babyfish.jimmer.runtime.DraftSpi;
 import org.babyfish.jimmer.runtime.ImmutableSpi;
 import org.babyfish.jimmer.runtime.Internal;
+import org.babyfish.jimmer.sql.fetcher.BatchSizeStrategy;
 import org.babyfish.jimmer.sql.fetcher.Fetcher;
 import org.babyfish.jimmer.sql.fetcher.Field;
 import org.babyfish.jimmer.sql.fetcher.RecursionStrategy;
@@ -15,6 +14,7 @@ import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 
 import java.sql.Connection;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 class FetcherTask {
@@ -23,9 +23,9 @@ class FetcherTask {
 
     private final JSqlClientImplementor sqlClient;
 
-    private final Field field;
+    private final FetchPath path;
 
-    private final int batchSize;
+    private final Field field;
 
     private final DataLoader dataLoader;
 
@@ -40,8 +40,8 @@ class FetcherTask {
     ) {
         this.cache = cache;
         this.sqlClient = sqlClient;
+        this.path = path;
         this.field = field;
-        this.batchSize = determineBatchSize();
         this.dataLoader = new DataLoader(sqlClient, con, path, field);
     }
 
@@ -66,9 +66,75 @@ class FetcherTask {
     }
 
     public boolean execute() {
+        Map<Object, TaskData> handledMap = pollHandledMap();
+        if (handledMap != null) {
+            long start = System.nanoTime();
+            Map<ImmutableSpi, ?> loadedMap = dataLoader.load(
+                    handledMap
+                            .values()
+                            .stream()
+                            .map(it -> it.getDrafts().get(0))
+                            .collect(Collectors.toList())
+            );
+            onLoaded(handledMap.size(), loadedMap, System.nanoTime() - start);
+            for (TaskData taskData : handledMap.values()) {
+                Object value = loadedMap.get(taskData.getDrafts().get(0));
+                afterLoad(taskData, value, true);
+            }
+        }
+        return pendingMap.isEmpty();
+    }
+
+    /**
+     * Load the next batch by another thread with another connection.
+     *
+     * <p>Drafts are not thread-safe, so the loader only reads the immutable snapshots
+     * of the drafts, and the returned action which modifies the drafts must be
+     * executed by the thread of fetcher context.</p>
+     *
+     * @return The future of the action which sets the loaded values into drafts,
+     * or null if there is nothing to load.
+     */
+    public CompletableFuture<Runnable> executeAsync(java.util.concurrent.Executor executor) {
+        Map<Object, TaskData> handledMap = pollHandledMap();
+        if (handledMap == null) {
+            return null;
+        }
+        List<TaskData> taskDataList = new ArrayList<>(handledMap.values());
+        List<ImmutableSpi> snapshots = new ArrayList<>(taskDataList.size());
+        for (TaskData taskData : taskDataList) {
+            snapshots.add(snapshot(taskData.getDrafts().get(0)));
+        }
+        return CompletableFuture
+                .supplyAsync(
+                        () -> FetcherContext.isolate(() ->
+                                sqlClient
+                                        .getSlaveConnectionManager(false)
+                                        .execute(con -> {
+                                            long start = System.nanoTime();
+                                            Map<ImmutableSpi, ?> loadedMap =
+                                                    new DataLoader(sqlClient, con, path, field).load(snapshots);
+                                            onLoaded(snapshots.size(), loadedMap, System.nanoTime() - start);
+                                            return loadedMap;
+                                        })
+                        ),
+                        executor
+                )
+                .thenApply(loadedMap -> () -> {
+                    for (int i = 0; i < snapshots.size(); i++) {
+                        afterLoad(taskDataList.get(i), loadedMap.get(snapshots.get(i)), true);
+                    }
+                });
+    }
+
+    /**
+     * @return The entries to be loaded, or null if there is nothing to load.
+     */
+    private Map<Object, TaskData> pollHandledMap() {
         if (pendingMap.isEmpty()) {
-            return true;
+            return null;
         }
+        int batchSize = determineBatchSize();
         Map<Object, TaskData> handledMap;
         if (pendingMap.size() > batchSize) {
             Iterator<Map.Entry<Object, TaskData>> itr =
@@ -102,23 +168,38 @@ class FetcherTask {
                 handledEntryItr.remove();
             }
         }
-        if (!handledMap.isEmpty()) {
-            Map<ImmutableSpi, ?> loadedMap = dataLoader.load(
-                    handledMap
-                            .values()
-                            .stream()
-                            .map(it -> it.getDrafts().get(0))
-                            .collect(Collectors.toList())
-            );
-            for (Map.Entry<Object, TaskData> e : handledMap.entrySet()) {
-                TaskData taskData = e.getValue();
-                Object value = loadedMap.get(taskData.getDrafts().get(0));
-                afterLoad(taskData, value, true);
-            }
-        }
+        return handledMap.isEmpty() ? null : handledMap;
+    }
+
+    public boolean isCompleted() {
         return pendingMap.isEmpty();
     }
 
+    /**
+     * Only the id and the foreign key are required by the data loader
+     */
+    private ImmutableSpi snapshot(DraftSpi draft) {
+        ImmutableType type = draft.__type();
+        PropId idPropId = type.getIdProp().getId();
+        ImmutableProp prop = field.getProp();
+        Object id = draft.__get(idPropId);
+        boolean fkLoaded = prop.isColumnDefinition() && draft.__isLoaded(prop.getId());
+        Object targetId = fkLoaded ? Ids.idOf((ImmutableSpi) draft.__get(prop.getId())) : null;
+        return Internal.requiresNewDraftContext(ctx -> {
+            DraftSpi snapshot = (DraftSpi) Internal.createDraft(ctx, type, null);
+            snapshot.__set(idPropId, id);
+            if (fkLoaded) {
+                snapshot.__set(
+                        prop.getId(),
+                        targetId != null ?
+                                ImmutableObjects.makeIdOnly(prop.getTargetType(), targetId) :
+                                null
+                );
+            }
+            return (ImmutableSpi) ctx.resolveObject((Object) snapshot);
+        });
+    }
+
     private boolean isLoaded(DraftSpi draft) {
         if (!isLoaded(draft, field)) {
             return false;
@@ -191,14 +272,41 @@ class FetcherTask {
     private int determineBatchSize() {
         int size = field.getBatchSize();
         if (size == 0) {
-            if (field.getProp().isReferenceList(TargetLevel.PERSISTENT)) {
-                return sqlClient.getDefaultListBatchSize();
+            int defaultSize = field.getProp().isReferenceList(TargetLevel.PERSISTENT) ?
+                    sqlClient.getDefaultListBatchSize() :
+                    sqlClient.getDefaultBatchSize();
+            BatchSizeStrategy strategy = sqlClient.getBatchSizeStrategy();
+            if (strategy == null) {
+                return defaultSize;
             }
-            return sqlClient.getDefaultBatchSize();
+            int maxSize = Math.max(sqlClient.getDialect().getMaxInListSize(), 1);
+            return Math.max(
+                    Math.min(strategy.getBatchSize(field.getProp(), defaultSize, maxSize), maxSize),
+                    1
+            );
         }
         return size;
     }
 
+    private void onLoaded(int batchSize, Map<ImmutableSpi, ?> loadedMap, long nanos) {
+        if (field.getBatchSize() != 0) {
+            return;
+        }
+        BatchSizeStrategy strategy = sqlClient.getBatchSizeStrategy();
+        if (strategy == null) {
+            return;
+        }
+        int rowCount = 0;
+        for (Object value : loadedMap.values()) {
+            if (value instanceof List<?>) {
+                rowCount += ((List<?>) value).size();
+            } else if (value != null) {
+                rowCount++;
+            }
+        }
+        strategy.onLoaded(field.getProp(), batchSize, rowCount, nanos);
+    }
+
     private void setDraftProp(DraftSpi draft, Object value, Field field) {
         PropId propId = field.getProp().getId();
         if (value == null && field.getProp().isReferenceList(TargetLevel.ENTITY)) {
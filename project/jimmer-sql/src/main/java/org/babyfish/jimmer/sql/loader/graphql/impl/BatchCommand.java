@@ -3,6 +3,7 @@ package org.babyfish.jimmer.sql.loader.graphql.impl;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.runtime.ImmutableSpi;
 import org.babyfish.jimmer.sql.ast.Executable;
+import org.babyfish.jimmer.sql.ast.impl.util.AsyncExecutions;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.fetcher.FieldFilter;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
@@ -12,6 +13,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletionStage;
 
 class BatchCommand<S, T> implements Executable<Map<S, T>> {
 
@@ -50,6 +52,11 @@ class BatchCommand<S, T> implements Executable<Map<S, T>> {
                 .execute(con == null ? this.con : con, this::executeImpl);
     }
 
+    @Override
+    public CompletionStage<Map<S, T>> executeAsync(Connection con) {
+        return AsyncExecutions.supplyAsync(sqlClient, () -> execute(con));
+    }
+
     @SuppressWarnings("unchecked")
     private Map<S, T> executeImpl(Connection con) {
         Map<S, T> resultMap = (Map<S, T>) new DataLoader(
@@ -3,12 +3,14 @@ package org.babyfish.jimmer.sql.loader.graphql.impl;
 import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.runtime.ImmutableSpi;
 import org.babyfish.jimmer.sql.ast.Executable;
+import org.babyfish.jimmer.sql.ast.impl.util.AsyncExecutions;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.fetcher.FieldFilter;
 import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
 
 import java.sql.Connection;
 import java.util.Collections;
+import java.util.concurrent.CompletionStage;
 
 class SingleCommand<T> implements Executable<T> {
 
@@ -55,6 +57,11 @@ class SingleCommand<T> implements Executable<T> {
                 .execute(con == null ? this.con : con, this::executeImpl);
     }
 
+    @Override
+    public CompletionStage<T> executeAsync(Connection con) {
+        return AsyncExecutions.supplyAsync(sqlClient, () -> execute(con));
+    }
+
     @SuppressWarnings("unchecked")
     private T executeImpl(Connection con) {
         T result = (T) new DataLoader(
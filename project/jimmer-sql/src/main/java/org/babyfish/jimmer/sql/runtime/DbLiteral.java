@@ -112,25 +112,10 @@ public interface DbLiteral {
 
         @Override
         public void setParameter(PreparedStatement stmt, ParameterIndex index, JSqlClientImplementor sqlClient) throws Exception {
-            Object value = this.value;
-            ScalarProvider<Object, Object> scalarProvider = null;
-            if (value != null && !converted) {
-                scalarProvider = sqlClient.getScalarProvider(prop);
-                if (scalarProvider != null) {
-                    try {
-                        value = toSql(value, scalarProvider, sqlClient.getDialect());
-                    } catch (Exception ex) {
-                        throw new ExecutionException(
-                                "The value \"" +
-                                        value +
-                                        "\" cannot be converted by the scalar provider \"" +
-                                        scalarProvider +
-                                        "\""
-                        );
-                    }
-                }
-            }
+            Object value = toSqlValue(sqlClient);
             if (value == null) {
+                ScalarProvider<Object, Object> scalarProvider =
+                        this.value != null && !converted ? sqlClient.getScalarProvider(prop) : null;
                 stmt.setNull(
                         index.get(),
                         JdbcTypes.toJdbcType(
@@ -149,6 +134,32 @@ public interface DbLiteral {
             }
         }
 
+        /**
+         * Get the value accepted by JDBC, the scalar provider
+         * of the property is applied if the value is not converted.
+         */
+        public Object toSqlValue(JSqlClientImplementor sqlClient) {
+            Object value = this.value;
+            if (value == null || converted) {
+                return value;
+            }
+            ScalarProvider<Object, Object> scalarProvider = sqlClient.getScalarProvider(prop);
+            if (scalarProvider == null) {
+                return value;
+            }
+            try {
+                return toSql(value, scalarProvider, sqlClient.getDialect());
+            } catch (Exception ex) {
+                throw new ExecutionException(
+                        "The value \"" +
+                                value +
+                                "\" cannot be converted by the scalar provider \"" +
+                                scalarProvider +
+                                "\""
+                );
+            }
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
@@ -0,0 +1,74 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The default executor of asynchronous executions such as
+ * {@link org.babyfish.jimmer.sql.ast.Executable#executeAsync()}.
+ *
+ * <p>If the JDK supports virtual threads(JDK 21+), each task is executed
+ * by a new virtual thread; otherwise, tasks are executed by a cached pool
+ * of daemon threads.</p>
+ */
+public final class DefaultAsyncExecutor implements java.util.concurrent.Executor {
+
+    public static final DefaultAsyncExecutor INSTANCE = new DefaultAsyncExecutor();
+
+    private final ExecutorService executorService;
+
+    private final boolean virtualThreadUsed;
+
+    private DefaultAsyncExecutor() {
+        ExecutorService virtualThreadExecutorService = createVirtualThreadExecutorService();
+        if (virtualThreadExecutorService != null) {
+            executorService = virtualThreadExecutorService;
+            virtualThreadUsed = true;
+        } else {
+            executorService = Executors.newCachedThreadPool(new DaemonThreadFactory());
+            virtualThreadUsed = false;
+        }
+    }
+
+    public boolean isVirtualThreadUsed() {
+        return virtualThreadUsed;
+    }
+
+    @Override
+    public void execute(@NotNull Runnable command) {
+        executorService.execute(command);
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultAsyncExecutor{" +
+                "virtualThreadUsed=" + virtualThreadUsed +
+                '}';
+    }
+
+    private static ExecutorService createVirtualThreadExecutorService() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            return null;
+        }
+    }
+
+    private static class DaemonThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(@NotNull Runnable r) {
+            Thread thread = new Thread(r, "jimmer-async-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -20,7 +20,7 @@ public class DefaultExecutor implements Executor {
     DefaultExecutor() {
     }
 
-    private static void setParameters(
+    static void setParameters(
             PreparedStatement stmt,
             List<Object> variables,
             JSqlClientImplementor sqlClient
@@ -7,11 +7,14 @@ import org.babyfish.jimmer.sql.DraftInterceptor;
 import org.babyfish.jimmer.sql.DraftPreProcessor;
 import org.babyfish.jimmer.sql.JSqlClient;
 import org.babyfish.jimmer.sql.TransientResolver;
+import org.babyfish.jimmer.sql.ast.impl.query.QueryShapeCache;
+import org.babyfish.jimmer.sql.ast.query.CountStrategy;
 import org.babyfish.jimmer.sql.cache.CacheDisableConfig;
 import org.babyfish.jimmer.sql.cache.CacheOperator;
 import org.babyfish.jimmer.sql.di.StrategyProvider;
 import org.babyfish.jimmer.sql.dialect.Dialect;
 import org.babyfish.jimmer.sql.event.TriggerType;
+import org.babyfish.jimmer.sql.fetcher.BatchSizeStrategy;
 import org.babyfish.jimmer.sql.fetcher.ReferenceFetchType;
 import org.babyfish.jimmer.sql.filter.FilterConfig;
 import org.babyfish.jimmer.sql.loader.graphql.Loaders;
@@ -66,6 +69,17 @@ public interface JSqlClientImplementor extends JSqlClient, SqlContext {
 
     int getDefaultListBatchSize();
 
+    @Nullable
+    java.util.concurrent.Executor getFetcherExecutor();
+
+    @Nullable
+    BatchSizeStrategy getBatchSizeStrategy();
+
+    @Nullable
+    QueryShapeCache getQueryShapeCache();
+
+    java.util.concurrent.Executor getAsyncExecutor();
+
     boolean isInListPaddingEnabled();
 
     boolean isExpandedInListPaddingEnabled();
@@ -78,6 +92,10 @@ public interface JSqlClientImplementor extends JSqlClient, SqlContext {
 
     boolean isBatchForbidden(boolean dumbBatchAcceptable);
 
+    boolean isMultiValuesInsertEnabled();
+
+    CountStrategy getCountStrategy();
+
     boolean isUpsertWithUniqueConstraintSupported(ImmutableType type);
 
     boolean isConstraintViolationTranslatable();
@@ -2,15 +2,19 @@ package org.babyfish.jimmer.sql.runtime;
 
 import org.babyfish.jimmer.runtime.Internal;
 import org.babyfish.jimmer.sql.ast.Selection;
+import org.babyfish.jimmer.sql.exception.ExecutionException;
 import org.babyfish.jimmer.sql.fetcher.impl.FetcherUtil;
 import org.jetbrains.annotations.Nullable;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.util.ArrayList;
-import java.util.List;
+import java.sql.SQLException;
+import java.util.*;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class Selectors {
 
@@ -58,6 +62,64 @@ public class Selectors {
         return rows;
     }
 
+    /**
+     * Select rows whose trailing columns are not a part of the result,
+     * such as the sort keys of keyset pagination.
+     *
+     * @param keySelections The selections of trailing columns
+     * @param keysList Receives the values of trailing columns of each row
+     */
+    @SuppressWarnings("unchecked")
+    public static <R> List<R> select(
+            JSqlClientImplementor sqlClient,
+            Connection con,
+            String sql,
+            List<Object> variables,
+            @Nullable List<Integer> variablePositions,
+            List<Selection<?>> selections,
+            List<Selection<?>> keySelections,
+            List<Object[]> keysList,
+            ExecutionPurpose purpose
+    ) {
+        List<R> rows = sqlClient.getExecutor().execute(
+                new Executor.Args<>(
+                        sqlClient,
+                        con,
+                        sql,
+                        variables,
+                        variablePositions,
+                        purpose,
+                        null,
+                        null,
+                        (stmt, args) -> {
+                            Reader<?> reader = Readers.createReader(sqlClient, selections);
+                            List<Reader<?>> keyReaders = new ArrayList<>(keySelections.size());
+                            for (Selection<?> keySelection : keySelections) {
+                                keyReaders.add(Readers.createReader(sqlClient, Collections.singletonList(keySelection)));
+                            }
+                            return Internal.usingSqlDraftContext(draftCtx -> {
+                                Reader.Context ctx = new Reader.Context(draftCtx, sqlClient);
+                                List<R> results = new ArrayList<>();
+                                try (ResultSet resultSet = stmt.executeQuery()) {
+                                    while (resultSet.next()) {
+                                        results.add((R)reader.read(resultSet, ctx));
+                                        Object[] keys = new Object[keyReaders.size()];
+                                        for (int i = 0; i < keys.length; i++) {
+                                            keys[i] = keyReaders.get(i).read(resultSet, ctx);
+                                        }
+                                        keysList.add(keys);
+                                        ctx.resetCol();
+                                    }
+                                }
+                                return results;
+                            });
+                        }
+                )
+        );
+        FetcherUtil.fetch(sqlClient, con, selections, rows);
+        return rows;
+    }
+
     @SuppressWarnings("unchecked")
     public static <R> void forEach(
             JSqlClientImplementor sqlClient,
@@ -115,4 +177,231 @@ public class Selectors {
             Cursors.setCurrentCursorId(oldCursorId);
         }
     }
+
+    /**
+     * Open a JDBC cursor and return it as a lazy stream.
+     *
+     * <p>The result set is kept open until the stream is exhausted or closed,
+     * rows are read batch by batch and the associated objects of each batch
+     * are fetched by {@link FetcherUtil} before the rows of that batch are
+     * returned to the caller. The returned stream must be closed by the caller.</p>
+     *
+     * <p>Like {@link #forEach}, the cursor is reported by
+     * {@link Executor#openCursor}, and it is closed by {@link Executor#execute}
+     * whose arguments have the closing cursor id.</p>
+     */
+    public static <R> Stream<R> stream(
+            JSqlClientImplementor sqlClient,
+            Connection con,
+            String sql,
+            List<Object> variables,
+            @Nullable List<Integer> variablePositions,
+            List<Selection<?>> selections,
+            ExecutionPurpose purpose,
+            int batchSize
+    ) {
+        CursorIterator<R> iterator = new CursorIterator<>(
+                sqlClient,
+                con,
+                sql,
+                variables,
+                variablePositions,
+                selections,
+                purpose,
+                batchSize
+        );
+        iterator.open();
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+                .onClose(iterator::close);
+    }
+
+    private static class CursorIterator<R> implements Iterator<R> {
+
+        private final JSqlClientImplementor sqlClient;
+
+        private final Connection con;
+
+        private final String sql;
+
+        private final List<Object> variables;
+
+        @Nullable
+        private final List<Integer> variablePositions;
+
+        private final List<Selection<?>> selections;
+
+        private final ExecutionPurpose purpose;
+
+        private final int batchSize;
+
+        private final Reader<?> reader;
+
+        private final long cursorId;
+
+        private PreparedStatement statement;
+
+        private ResultSet resultSet;
+
+        private List<R> batch = Collections.emptyList();
+
+        private int index;
+
+        CursorIterator(
+                JSqlClientImplementor sqlClient,
+                Connection con,
+                String sql,
+                List<Object> variables,
+                @Nullable List<Integer> variablePositions,
+                List<Selection<?>> selections,
+                ExecutionPurpose purpose,
+                int batchSize
+        ) {
+            this.sqlClient = sqlClient;
+            this.con = con;
+            this.sql = sql;
+            this.variables = variables;
+            this.variablePositions = variablePositions;
+            this.selections = selections;
+            this.purpose = purpose;
+            this.batchSize = batchSize;
+            this.reader = Readers.createReader(sqlClient, selections);
+            this.cursorId = CURSOR_ID_SEQUENCE.incrementAndGet();
+        }
+
+        void open() {
+            sqlClient.getExecutor().openCursor(
+                    cursorId,
+                    sql,
+                    variables,
+                    variablePositions,
+                    purpose,
+                    ExecutorContext.create(sqlClient),
+                    sqlClient
+            );
+            try {
+                statement = createStatement(con, sql);
+                DefaultExecutor.setParameters(statement, variables, sqlClient);
+                resultSet = statement.executeQuery();
+            } catch (Exception ex) {
+                close(ex);
+            }
+        }
+
+        /**
+         * The statement factory of the cursor, the statement is closed
+         * by the executor when the cursor is closed.
+         */
+        private PreparedStatement createStatement(Connection con, String sql) throws SQLException {
+            PreparedStatement stmt = con.prepareStatement(
+                    sql,
+                    ResultSet.TYPE_FORWARD_ONLY,
+                    ResultSet.CONCUR_READ_ONLY
+            );
+            stmt.setFetchSize(batchSize);
+            return stmt;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (index < batch.size()) {
+                return true;
+            }
+            if (resultSet == null) {
+                return false;
+            }
+            batch = nextBatch();
+            index = 0;
+            return !batch.isEmpty();
+        }
+
+        @Override
+        public R next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return batch.get(index++);
+        }
+
+        @SuppressWarnings("unchecked")
+        private List<R> nextBatch() {
+            List<R> rows;
+            try {
+                rows = Internal.usingSqlDraftContext(draftContext -> {
+                    Reader.Context ctx = new Reader.Context(draftContext, sqlClient);
+                    List<R> results = new ArrayList<>();
+                    while (results.size() < batchSize && resultSet.next()) {
+                        results.add((R) reader.read(resultSet, ctx));
+                        ctx.resetCol();
+                    }
+                    return results;
+                });
+            } catch (Exception ex) {
+                close(ex);
+                throw new AssertionError("Internal bug");
+            }
+            if (rows.size() < batchSize) {
+                close();
+            }
+            Long oldCursorId = Cursors.setCurrentCursorId(cursorId);
+            try {
+                FetcherUtil.fetch(sqlClient, con, selections, rows);
+            } finally {
+                Cursors.setCurrentCursorId(oldCursorId);
+            }
+            return rows;
+        }
+
+        void close() {
+            close(null);
+        }
+
+        /**
+         * Close the cursor by the executor, if the failure is specified,
+         * it is thrown by the executor so that it can be logged and translated.
+         */
+        private void close(@Nullable Exception failure) {
+            ResultSet rs = resultSet;
+            PreparedStatement stmt = statement;
+            resultSet = null;
+            statement = null;
+            if (stmt == null) {
+                if (failure != null) {
+                    throw new ExecutionException("Cannot open the cursor: " + sql, failure);
+                }
+                return;
+            }
+            sqlClient.getExecutor().execute(
+                    new Executor.Args<Void>(
+                            sqlClient,
+                            con,
+                            sql,
+                            variables,
+                            variablePositions,
+                            purpose,
+                            (c, s) -> stmt,
+                            (s, args) -> {
+                                if (rs != null) {
+                                    rs.close();
+                                }
+                                if (failure instanceof SQLException) {
+                                    throw (SQLException) failure;
+                                }
+                                if (failure instanceof RuntimeException) {
+                                    throw (RuntimeException) failure;
+                                }
+                                if (failure != null) {
+                                    throw new ExecutionException("Cannot read the cursor: " + sql, failure);
+                                }
+                                return null;
+                            },
+                            cursorId
+                    )
+            );
+            if (failure != null) {
+                // The executor does not execute the closing callback
+                throw new ExecutionException("Cannot read the cursor: " + sql, failure);
+            }
+        }
+    }
 }
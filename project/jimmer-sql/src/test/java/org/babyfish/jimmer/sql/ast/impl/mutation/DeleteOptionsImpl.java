@@ -75,6 +75,11 @@ class DeleteOptionsImpl implements DeleteOptions {
         return sqlClient.isMutationTransactionRequired();
     }
 
+    @Override
+    public boolean isRecursiveCteUsed() {
+        return false;
+    }
+
     @Override
     public Triggers getTriggers() {
         return null;
@@ -999,6 +999,80 @@ class MiddleTableOperatorTest extends AbstractMutationTest {
         );
     }
 
+    @Test
+    public void testReplaceWithoutUpsert() {
+        connectAndExpect(
+                con -> {
+                    MiddleTableOperator operator = operator(
+                            getSqlClient(it -> it.setDialect(new H2Dialect() {
+                                @Override
+                                public boolean isUpsertSupported() {
+                                    return false;
+                                }
+                            })),
+                            con,
+                            BookProps.AUTHORS.unwrap()
+                    );
+                    operator.replace(
+                            RetainIdPairs.of(
+                                    new Tuple2<>(learningGraphQLId1, alexId),
+                                    new Tuple2<>(learningGraphQLId1, danId),
+                                    new Tuple2<>(learningGraphQLId2, alexId),
+                                    new Tuple2<>(learningGraphQLId2, danId)
+                            )
+                    );
+                    assertAuthorIds(
+                            con,
+                            false,
+                            learningGraphQLId1,
+                            new UUID[] { alexId, danId }
+                    );
+                    assertAuthorIds(
+                            con,
+                            false,
+                            learningGraphQLId2,
+                            new UUID[] { alexId, danId }
+                    );
+                    return operator.affectedRowCount;
+                },
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql(
+                                "delete from BOOK_AUTHOR_MAPPING " +
+                                        "where " +
+                                        "--->BOOK_ID = ? " +
+                                        "and " +
+                                        "--->not (AUTHOR_ID = any(?))"
+                        );
+                        it.batchVariables(0, learningGraphQLId1, new Object[]{alexId, danId});
+                        it.batchVariables(1, learningGraphQLId2, new Object[]{alexId, danId});
+                    });
+                    ctx.statement(it -> {
+                        it.sql(
+                                "select BOOK_ID, AUTHOR_ID " +
+                                        "from BOOK_AUTHOR_MAPPING " +
+                                        "where (BOOK_ID, AUTHOR_ID) in ((?, ?), (?, ?), (?, ?), (?, ?))"
+                        );
+                        it.variables(
+                                learningGraphQLId1, alexId,
+                                learningGraphQLId1, danId,
+                                learningGraphQLId2, alexId,
+                                learningGraphQLId2, danId
+                        );
+                    });
+                    ctx.statement(it -> {
+                        it.sql("insert into BOOK_AUTHOR_MAPPING(BOOK_ID, AUTHOR_ID) values(?, ?)");
+                        it.batchVariables(0, learningGraphQLId1, danId);
+                        it.batchVariables(1, learningGraphQLId2, danId);
+                    });
+                    ctx.value(map -> {
+                        Assertions.assertEquals(1, map.size());
+                        Assertions.assertEquals(4, map.get(AffectedTable.of(BookProps.AUTHORS)));
+                    });
+                }
+        );
+    }
+
     public void testReplaceByMySql() {
 
         NativeDatabases.assumeNativeDatabase();
@@ -307,6 +307,50 @@ public class PreHandlerTest extends AbstractQueryTest {
         );
     }
 
+    @Test
+    public void testUpdateWithIdAndInterceptorWhenLookupSkipped() {
+        Book book1 = BookDraft.$.produce(draft -> {
+            draft.setId(graphQLInActionId1);
+            draft.setPrice(new BigDecimal("59.9"));
+        });
+        Book book2 = BookDraft.$.produce(draft -> {
+            draft.setId(graphQLInActionId2);
+            draft.setPrice(new BigDecimal("59.9"));
+        });
+        Book book3 = BookDraft.$.produce(draft -> {
+            draft.setId(UUID.fromString("bbcdb5f0-8d48-4f31-87fe-90de54e3898a"));
+            draft.setPrice(new BigDecimal("59.9"));
+        });
+        execute(
+                new Book[] { book1, book2, book3 },
+                builder -> {
+                    builder.setDialect(new NoAnyEqualityDialect());
+                    builder.addDraftInterceptor(new SetPriceInterceptor());
+                },
+                PreHandlerTest::lookupSkippedUpdateOnlySaveContext,
+                ctx -> {
+                    // No trigger, the interceptor accepts null original objects
+                },
+                handler -> {
+                    assertContentEquals(
+                            "{[id, price]: [" +
+                                    "--->{" +
+                                    "--->--->\"id\":\"a62f7aa3-9490-4612-98b5-98aae0e77120\"," +
+                                    "--->--->\"price\":100" +
+                                    "--->}, {" +
+                                    "--->--->\"id\":\"e37a8344-73bb-4b23-ba76-82eac11f03e6\"," +
+                                    "--->--->\"price\":100" +
+                                    "--->}, {" +
+                                    "--->--->\"id\":\"bbcdb5f0-8d48-4f31-87fe-90de54e3898a\"," +
+                                    "--->--->\"price\":100" +
+                                    "--->}" +
+                                    "]}",
+                            handler.updatedMap()
+                    );
+                }
+        );
+    }
+
     @Test
     public void testUpdateWithIdAndChildren() {
         Book book1 = BookDraft.$.produce(draft -> {
@@ -409,6 +453,52 @@ public class PreHandlerTest extends AbstractQueryTest {
         );
     }
 
+    @Test
+    public void testUpdateWithIdAndTriggerWhenLookupSkipped() {
+        Book book1 = BookDraft.$.produce(draft -> {
+            draft.setId(graphQLInActionId1);
+            draft.setName("SQL in Action");
+        });
+        Book book2 = BookDraft.$.produce(draft -> {
+            draft.setId(graphQLInActionId2);
+            draft.setName("Java in Action");
+        });
+        Book book3 = BookDraft.$.produce(draft -> {
+            draft.setId(UUID.fromString("bbcdb5f0-8d48-4f31-87fe-90de54e3898a"));
+            draft.setName("Java in Action");
+        });
+        execute(
+                new Book[] { book1, book2, book3 },
+                builder -> {
+                    builder.setDialect(new NoAnyEqualityDialect());
+                    builder.setTriggerType(TriggerType.TRANSACTION_ONLY);
+                },
+                PreHandlerTest::lookupSkippedUpdateOnlySaveContext,
+                ctx -> {
+                    // The trigger requires old objects, lookup cannot be skipped
+                    ctx.sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.PRICE, tb_1_.STORE_ID " +
+                                    "from BOOK tb_1_ " +
+                                    "where tb_1_.ID in (?, ?, ?)"
+                    ).variables(graphQLInActionId1, graphQLInActionId2, book3.id());
+                },
+                handler -> {
+                    assertContentEquals(
+                            "{[id, name]: [" +
+                                    "--->{" +
+                                    "--->--->\"id\":\"a62f7aa3-9490-4612-98b5-98aae0e77120\"," +
+                                    "--->--->\"name\":\"SQL in Action\"" +
+                                    "--->}, {" +
+                                    "--->--->\"id\":\"e37a8344-73bb-4b23-ba76-82eac11f03e6\"," +
+                                    "--->--->\"name\":\"Java in Action\"" +
+                                    "--->}" +
+                                    "]}",
+                            handler.updatedMap()
+                    );
+                }
+        );
+    }
+
     @Test
     public void testUpdateWithKeyAndProcessor() {
         Book book1 = BookDraft.$.produce(draft -> {
@@ -862,6 +952,61 @@ public class PreHandlerTest extends AbstractQueryTest {
         );
     }
 
+    @Test
+    public void testUpsertWithIdAndTriggerWhenLookupSkipped() {
+        Book book1 = BookDraft.$.produce(draft -> {
+            draft.setId(graphQLInActionId1);
+            draft.setName("SQL in Action+");
+        });
+        Book book2 = BookDraft.$.produce(draft -> {
+            draft.setId(graphQLInActionId2);
+            draft.setName("GraphQL in Action+");
+        });
+        Book book3 = BookDraft.$.produce(draft -> {
+            draft.setId(UUID.fromString("3589bfb2-b44d-4b1c-b5d1-1572285b6dc1"));
+            draft.setName("Java in Action");
+        });
+        execute(
+                new Book[] { book1, book2, book3 },
+                builder -> {
+                    builder.setDialect(new NoAnyEqualityDialect());
+                    builder.setTriggerType(TriggerType.TRANSACTION_ONLY);
+                },
+                PreHandlerTest::lookupSkippedSaveContext,
+                ctx -> {
+                    // The trigger requires old objects, lookup cannot be skipped
+                    ctx.sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.PRICE, tb_1_.STORE_ID " +
+                                    "from BOOK tb_1_ " +
+                                    "where tb_1_.ID in (?, ?, ?)"
+                    ).variables(graphQLInActionId1, graphQLInActionId2, book3.id());
+                },
+                handler -> {
+                    assertContentEquals(
+                            "{[id, name]: [" +
+                                    "--->{" +
+                                    "--->--->\"id\":\"3589bfb2-b44d-4b1c-b5d1-1572285b6dc1\"," +
+                                    "--->--->\"name\":\"Java in Action\"" +
+                                    "--->}" +
+                                    "]}",
+                            handler.insertedMap()
+                    );
+                    assertContentEquals(
+                            "{[id, name]: [" +
+                                    "--->{" +
+                                    "--->--->\"id\":\"a62f7aa3-9490-4612-98b5-98aae0e77120\"," +
+                                    "--->--->\"name\":\"SQL in Action+\"" +
+                                    "--->}, {" +
+                                    "--->--->\"id\":\"e37a8344-73bb-4b23-ba76-82eac11f03e6\"," +
+                                    "--->--->\"name\":\"GraphQL in Action+\"" +
+                                    "--->}" +
+                                    "]}",
+                            handler.updatedMap()
+                    );
+                }
+        );
+    }
+
     @Test
     public void testUpsertWithKeyAndProcessor() {
         Book book1 = BookDraft.$.produce(draft -> {
@@ -1354,6 +1499,81 @@ public class PreHandlerTest extends AbstractQueryTest {
         );
     }
 
+    @Test
+    public void testMixedShapeByMergedLookup() {
+        Book book1 = BookDraft.$.produce(draft -> {
+            draft.setId(graphQLInActionId1);
+        });
+        Book book2 = BookDraft.$.produce(draft -> {
+            draft.setId(UUID.fromString("7e152125-7b3e-4194-ad67-6de7aab4a7f9"));
+            draft.setPrice(new BigDecimal("59.9"));
+        });
+        Book book3 = BookDraft.$.produce(draft -> {
+            draft.setName("GraphQL in Action");
+            draft.setEdition(2);
+            draft.setPrice(new BigDecimal("59.9"));
+        });
+        Book book4 = BookDraft.$.produce(draft -> {
+            draft.setName("Java in Action");
+            draft.setEdition(2);
+            draft.setPrice(new BigDecimal("59.9"));
+        });
+        setAutoIds(
+                Book.class,
+                UUID.fromString("3589bfb2-b44d-4b1c-b5d1-1572285b6dc1")
+        );
+        execute(
+                new Book[] { book1, book2, book3, book4 },
+                builder -> {
+                    builder.setDialect(new NoAnyEqualityDialect());
+                    builder.addDraftInterceptor(new SetPriceInterceptor());
+                },
+                PreHandlerTest::mergedLookupSaveContext,
+                ctx -> {
+                    // The lookups by id and by key are merged, only one statement
+                    ctx.sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.PRICE " +
+                                    "from BOOK tb_1_ " +
+                                    "where tb_1_.ID = ? " +
+                                    "or (tb_1_.NAME, tb_1_.EDITION) in ((?, ?), (?, ?))"
+                    ).variables(
+                            UUID.fromString("7e152125-7b3e-4194-ad67-6de7aab4a7f9"),
+                            "GraphQL in Action", 2,
+                            "Java in Action", 2
+                    );
+                },
+                handler -> {
+                    assertContentEquals(
+                            "{[id, price]: [" +
+                                    "--->{" +
+                                    "--->--->\"id\":\"7e152125-7b3e-4194-ad67-6de7aab4a7f9\"," +
+                                    "--->--->\"price\":100" +
+                                    "--->}" +
+                                    "], [id, name, edition, price]: [" +
+                                    "--->{" +
+                                    "--->--->\"id\":\"3589bfb2-b44d-4b1c-b5d1-1572285b6dc1\"," +
+                                    "--->--->\"name\":\"Java in Action\"," +
+                                    "--->--->\"edition\":2," +
+                                    "--->--->\"price\":100" +
+                                    "--->}" +
+                                    "]}",
+                            handler.insertedMap()
+                    );
+                    assertContentEquals(
+                            "{[id, price]: [" +
+                                    "--->{" +
+                                    "--->--->\"id\":\"e37a8344-73bb-4b23-ba76-82eac11f03e6\"," +
+                                    "--->--->\"name\":\"GraphQL in Action\"," +
+                                    "--->--->\"edition\":2," +
+                                    "--->--->\"price\":181.00" +
+                                    "--->}" +
+                                    "]}",
+                            handler.updatedMap()
+                    );
+                }
+        );
+    }
+
     private <T> void execute(
             T[] entities,
             Consumer<JSqlClient.Builder> builderCfgBlock,
@@ -1418,6 +1638,37 @@ public class PreHandlerTest extends AbstractQueryTest {
         );
     }
 
+    private static SaveContext mergedLookupSaveContext(JSqlClientImplementor sqlClient, Connection con) {
+        SaveOptionsImpl options = new SaveOptionsImpl(sqlClient);
+        options.idAndKeyLookupMerged = true;
+        return new SaveContext(
+                options,
+                con,
+                ImmutableType.get(Book.class)
+        );
+    }
+
+    private static SaveContext lookupSkippedSaveContext(JSqlClientImplementor sqlClient, Connection con) {
+        SaveOptionsImpl options = new SaveOptionsImpl(sqlClient);
+        options.lookupSkipped = true;
+        return new SaveContext(
+                options,
+                con,
+                ImmutableType.get(Book.class)
+        );
+    }
+
+    private static SaveContext lookupSkippedUpdateOnlySaveContext(JSqlClientImplementor sqlClient, Connection con) {
+        SaveOptionsImpl options = new SaveOptionsImpl(sqlClient);
+        options.mode = SaveMode.UPDATE_ONLY;
+        options.lookupSkipped = true;
+        return new SaveContext(
+                options,
+                con,
+                ImmutableType.get(Book.class)
+        );
+    }
+
     private static class NoAnyEqualityDialect extends H2Dialect {
         @Override
         public boolean isAnyEqualityOfArraySupported() {
@@ -25,6 +25,10 @@ public class SaveOptionsImpl implements SaveOptions {
 
     UserOptimisticLock<?, ?> userOptimisticLock;
 
+    boolean idAndKeyLookupMerged;
+
+    boolean lookupSkipped;
+
     public SaveOptionsImpl(JSqlClientImplementor sqlClient) {
         this.sqlClient = sqlClient;
     }
@@ -122,6 +126,26 @@ public class SaveOptionsImpl implements SaveOptions {
         return sqlClient.isBatchForbidden(false);
     }
 
+    @Override
+    public boolean isBulkInsertEnabled() {
+        return false;
+    }
+
+    @Override
+    public boolean isIdAndKeyLookupMerged() {
+        return idAndKeyLookupMerged;
+    }
+
+    @Override
+    public boolean isLookupSkipped() {
+        return lookupSkipped;
+    }
+
+    @Override
+    public boolean isChangedPropsOnly() {
+        return false;
+    }
+
     @Override
     public boolean isConstraintViolationTranslatable() {
         return sqlClient.isConstraintViolationTranslatable();
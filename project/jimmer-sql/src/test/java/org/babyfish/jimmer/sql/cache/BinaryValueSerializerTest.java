@@ -0,0 +1,83 @@
+package org.babyfish.jimmer.sql.cache;
+
+import org.babyfish.jimmer.DraftObjects;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.model.Book;
+import org.babyfish.jimmer.sql.model.BookDraft;
+import org.babyfish.jimmer.sql.model.BookProps;
+import org.babyfish.jimmer.sql.model.BookStoreProps;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+import static org.babyfish.jimmer.sql.common.Constants.*;
+
+public class BinaryValueSerializerTest {
+
+    @Test
+    public void testObject() {
+        Book book = BookDraft.$.produce(draft -> {
+            draft.setId(learningGraphQLId1);
+            draft.setName("Learning GraphQL");
+            draft.setEdition(1);
+            draft.setPrice(new BigDecimal("45.00"));
+            draft.applyStore(store -> store.setId(oreillyId));
+            draft.addIntoAuthors(author -> author.setId(eveId));
+            draft.addIntoAuthors(author -> author.setId(alexId));
+        });
+        CacheValueSerializer<Book> binarySerializer = new BinaryValueSerializer<>(ImmutableType.get(Book.class));
+        CacheValueSerializer<Book> jsonSerializer = new ValueSerializer<>(ImmutableType.get(Book.class));
+        byte[] bytes = binarySerializer.serialize(book);
+        Assertions.assertEquals(book, binarySerializer.deserialize(bytes));
+        Assertions.assertTrue(bytes.length * 2 < jsonSerializer.serialize(book).length);
+    }
+
+    @Test
+    public void testView() {
+        Book book = BookDraft.$.produce(draft -> {
+            draft.setId(learningGraphQLId1);
+            draft.setStoreId(oreillyId);
+            DraftObjects.hide(draft, BookProps.STORE);
+            DraftObjects.show(draft, BookProps.STORE_ID);
+        });
+        CacheValueSerializer<Book> serializer = new BinaryValueSerializer<>(ImmutableType.get(Book.class));
+        Book deserializedBook = serializer.deserialize(serializer.serialize(book));
+        Assertions.assertEquals(book.toString(), deserializedBook.toString());
+    }
+
+    @Test
+    public void testIdList() {
+        CacheValueSerializer<List<UUID>> serializer = new BinaryValueSerializer<>(BookStoreProps.BOOKS.unwrap());
+        List<UUID> ids = Arrays.asList(learningGraphQLId1, learningGraphQLId2, learningGraphQLId3);
+        byte[] bytes = serializer.serialize(ids);
+        Assertions.assertEquals(ids, serializer.deserialize(bytes));
+        Assertions.assertEquals(1 + 3 * 16, bytes.length - 1 - varIntSize(bytes, 1));
+    }
+
+    @Test
+    public void testNullAndMiss() {
+        CacheValueSerializer<Book> serializer = new BinaryValueSerializer<>(ImmutableType.get(Book.class));
+        byte[] nullBytes = serializer.serialize(null);
+        Assertions.assertNull(serializer.deserialize(nullBytes));
+
+        // The data written by another format is considered as cache miss
+        byte[] otherBytes = new ValueSerializer<Book>(ImmutableType.get(Book.class)).serialize(
+                BookDraft.$.produce(draft -> draft.setId(learningGraphQLId1))
+        );
+        Map<String, Book> map = serializer.deserialize(
+                Arrays.asList("a", "b", "c"),
+                Arrays.asList(nullBytes, otherBytes, null)
+        );
+        Assertions.assertEquals(Collections.singletonMap("a", null), map);
+    }
+
+    private static int varIntSize(byte[] bytes, int offset) {
+        int size = 1;
+        while ((bytes[offset + size - 1] & 0x80) != 0) {
+            size++;
+        }
+        return size;
+    }
+}
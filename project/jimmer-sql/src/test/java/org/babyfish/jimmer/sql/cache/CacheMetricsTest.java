@@ -0,0 +1,106 @@
+package org.babyfish.jimmer.sql.cache;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.cache.chain.ChainCacheBuilder;
+import org.babyfish.jimmer.sql.cache.chain.SimpleBinder;
+import org.babyfish.jimmer.sql.common.AbstractTest;
+import org.babyfish.jimmer.sql.model.Book;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+public class CacheMetricsTest extends AbstractTest {
+
+    @Test
+    public void testLevels() {
+        RecordingMetrics metrics = new RecordingMetrics();
+        JSqlClient sqlClient = getSqlClient(it -> it.setCacheMetrics(metrics));
+        MapBinder level1 = new MapBinder();
+        level1.setAll(Collections.singletonMap(1L, "value-1"));
+        Cache<Long, String> cache = new ChainCacheBuilder<Long, String>()
+                .add(new MapBinder())
+                .add(level1)
+                .build();
+        CacheLoader<Long, String> loader = keys -> {
+            Map<Long, String> map = new HashMap<>();
+            for (Long key : keys) {
+                map.put(key, "value-" + key);
+            }
+            return map;
+        };
+        jdbc(con -> {
+            CacheEnvironment<Long, String> env = new CacheEnvironment<>(sqlClient, con, loader, false);
+            cache.getAll(Arrays.asList(1L, 2L, 3L), env);
+            cache.getAll(Arrays.asList(1L, 2L, 3L), env);
+        });
+        Assertions.assertEquals(
+                "[" +
+                        "load(2), hits(1, 1), misses(1, 2), hits(0, 0), misses(0, 3), " +
+                        "hits(0, 3)" +
+                        "]",
+                metrics.records.toString()
+        );
+    }
+
+    private static class RecordingMetrics implements CacheMetrics {
+
+        final List<String> records = new ArrayList<>();
+
+        @Override
+        public void recordHits(@NotNull ImmutableType type, @Nullable ImmutableProp prop, int level, int count) {
+            records.add("hits(" + level + ", " + count + ")");
+        }
+
+        @Override
+        public void recordMisses(@NotNull ImmutableType type, @Nullable ImmutableProp prop, int level, int count) {
+            records.add("misses(" + level + ", " + count + ")");
+        }
+
+        @Override
+        public void recordLoad(@NotNull ImmutableType type, @Nullable ImmutableProp prop, int batchSize, long nanos) {
+            records.add("load(" + batchSize + ")");
+        }
+    }
+
+    private static class MapBinder implements SimpleBinder<Long, String> {
+
+        private final Map<Long, String> map = new HashMap<>();
+
+        @Override
+        public @Nullable ImmutableType type() {
+            return ImmutableType.get(Book.class);
+        }
+
+        @Override
+        public @Nullable ImmutableProp prop() {
+            return null;
+        }
+
+        @Override
+        public Map<Long, String> getAll(Collection<Long> keys) {
+            Map<Long, String> resultMap = new HashMap<>();
+            for (Long key : keys) {
+                String value = map.get(key);
+                if (value != null) {
+                    resultMap.put(key, value);
+                }
+            }
+            return resultMap;
+        }
+
+        @Override
+        public void setAll(Map<Long, String> map) {
+            this.map.putAll(map);
+        }
+
+        @Override
+        public void deleteAll(Collection<Long> keys, Object reason) {
+            map.keySet().removeAll(keys);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.babyfish.jimmer.sql.cache;
+
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.common.CacheImpl;
+import org.babyfish.jimmer.sql.model.BookStore;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.babyfish.jimmer.sql.common.Constants.*;
+
+public class CacheWarmerTest extends AbstractQueryTest {
+
+    @Test
+    public void testWarm() {
+        Map<Object, byte[]> bookStoreMap = new HashMap<>();
+        JSqlClient sqlClient = getSqlClient(builder -> {
+            builder.setCaches(cfg ->
+                    cfg.setCacheFactory(
+                            new CacheFactory() {
+                                @Override
+                                public Cache<?, ?> createObjectCache(ImmutableType type) {
+                                    if (type.getJavaClass() == BookStore.class) {
+                                        return new CacheImpl<>(type, bookStoreMap);
+                                    }
+                                    return null;
+                                }
+                            }
+                    )
+            );
+        });
+        List<String> progresses = new ArrayList<>();
+        CacheWarmer warmer = CacheWarmer
+                .newBuilder()
+                .add(BookStore.class)
+                .batchSize(1)
+                .progressListener((type, fetcher, warmedCount, completed) ->
+                        progresses.add(type.getJavaClass().getSimpleName() + ':' + warmedCount + ':' + completed)
+                )
+                .build();
+        jdbc(con -> warmer.warm(sqlClient, con));
+        Assertions.assertEquals(
+                "[BookStore:1:false, BookStore:2:true]",
+                progresses.toString()
+        );
+        Assertions.assertEquals(
+                new HashSet<>(Arrays.asList(oreillyId, manningId)),
+                bookStoreMap.keySet()
+        );
+    }
+
+    @Test
+    public void testIgnoreTypeWithoutObjectCache() {
+        List<String> progresses = new ArrayList<>();
+        CacheWarmer warmer = CacheWarmer
+                .newBuilder()
+                .add(BookStore.class)
+                .progressListener((type, fetcher, warmedCount, completed) ->
+                        progresses.add(type.getJavaClass().getSimpleName())
+                )
+                .build();
+        jdbc(con -> warmer.warm(getSqlClient(), con));
+        Assertions.assertTrue(progresses.isEmpty());
+    }
+}
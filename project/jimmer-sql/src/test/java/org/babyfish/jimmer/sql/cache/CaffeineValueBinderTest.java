@@ -0,0 +1,129 @@
+package org.babyfish.jimmer.sql.cache;
+
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.cache.caffeine.CaffeineValueBinder;
+import org.babyfish.jimmer.sql.cache.chain.ChainCacheBuilder;
+import org.babyfish.jimmer.sql.common.AbstractTest;
+import org.babyfish.jimmer.sql.model.BookProps;
+import org.babyfish.jimmer.sql.model.BookStore;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.babyfish.jimmer.sql.common.Constants.*;
+
+public class CaffeineValueBinderTest extends AbstractTest {
+
+    @Test
+    public void testRefreshAfterWrite() {
+        CaffeineValueBinder<UUID, String> binder = CaffeineValueBinder
+                .<UUID, String>forObject(ImmutableType.get(BookStore.class))
+                .duration(Duration.ofMinutes(1))
+                .refreshAfterWrite(Duration.ofMillis(50))
+                // Refresh synchronously so that the test is deterministic
+                .executor(Runnable::run)
+                .build();
+        Cache<UUID, String> cache = new ChainCacheBuilder<UUID, String>()
+                .add(binder)
+                .build();
+        JSqlClient sqlClient = getSqlClient(it -> it.setConnectionManager(testConnectionManager()));
+        AtomicInteger loadCount = new AtomicInteger();
+        List<Connection> loadingConnections = new ArrayList<>();
+        Set<UUID> keys = Collections.singleton(oreillyId);
+        jdbc(con -> {
+            CacheEnvironment<UUID, String> env = new CacheEnvironment<>(
+                    sqlClient,
+                    con,
+                    loader(con, loadCount, loadingConnections),
+                    c -> loader(c, loadCount, loadingConnections),
+                    false
+            );
+            Assertions.assertEquals(
+                    Collections.singletonMap(oreillyId, "Version-1"),
+                    cache.getAll(keys, env)
+            );
+            sleep(100);
+            // The stale value is returned, and the entry is refreshed
+            Assertions.assertEquals(
+                    Collections.singletonMap(oreillyId, "Version-1"),
+                    cache.getAll(keys, env)
+            );
+            Assertions.assertEquals(
+                    Collections.singletonMap(oreillyId, "Version-2"),
+                    cache.getAll(keys, env)
+            );
+            Assertions.assertEquals(2, loadingConnections.size());
+            Assertions.assertSame(con, loadingConnections.get(0));
+            Assertions.assertNotSame(con, loadingConnections.get(1));
+        });
+    }
+
+    @Test
+    public void testRefreshAfterWriteWithoutRebindableLoader() {
+        CaffeineValueBinder<UUID, String> binder = CaffeineValueBinder
+                .<UUID, String>forProp(BookProps.NAME.unwrap())
+                .duration(Duration.ofMinutes(1))
+                .refreshAfterWrite(Duration.ofMillis(50))
+                .executor(Runnable::run)
+                .build();
+        Cache<UUID, String> cache = new ChainCacheBuilder<UUID, String>()
+                .add(binder)
+                .build();
+        AtomicInteger loadCount = new AtomicInteger();
+        List<Connection> loadingConnections = new ArrayList<>();
+        Set<UUID> keys = Collections.singleton(learningGraphQLId1);
+        jdbc(con -> {
+            CacheEnvironment<UUID, String> env = new CacheEnvironment<>(
+                    getSqlClient(),
+                    con,
+                    loader(con, loadCount, loadingConnections),
+                    false
+            );
+            Assertions.assertEquals(
+                    Collections.singletonMap(learningGraphQLId1, "Version-1"),
+                    cache.getAll(keys, env)
+            );
+            sleep(100);
+            // The entry cannot be refreshed in background, it is removed
+            Assertions.assertEquals(
+                    Collections.singletonMap(learningGraphQLId1, "Version-1"),
+                    cache.getAll(keys, env)
+            );
+            // and loaded by the next reader
+            Assertions.assertEquals(
+                    Collections.singletonMap(learningGraphQLId1, "Version-2"),
+                    cache.getAll(keys, env)
+            );
+            Assertions.assertEquals(Arrays.asList(con, con), loadingConnections);
+        });
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    private static CacheLoader<UUID, String> loader(
+            Connection con,
+            AtomicInteger loadCount,
+            List<Connection> loadingConnections
+    ) {
+        return keys -> {
+            loadingConnections.add(con);
+            String value = "Version-" + loadCount.incrementAndGet();
+            Map<UUID, String> map = new HashMap<>();
+            for (UUID key : keys) {
+                map.put(key, value);
+            }
+            return map;
+        };
+    }
+}
@@ -0,0 +1,135 @@
+package org.babyfish.jimmer.sql.cache;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.cache.chain.ChainCacheBuilder;
+import org.babyfish.jimmer.sql.cache.chain.LockableBinder;
+import org.babyfish.jimmer.sql.common.AbstractTest;
+import org.babyfish.jimmer.sql.model.Book;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LocalCacheLockerTest extends AbstractTest {
+
+    @Test
+    public void testCoalesceMisses() throws Exception {
+        Cache<Long, String> cache = new ChainCacheBuilder<Long, String>()
+                .add(new MapBinder().hardLock(new LocalCacheLocker(), Duration.ofSeconds(10)))
+                .build();
+        AtomicInteger loadTimes = new AtomicInteger();
+        CacheLoader<Long, String> loader = keys -> {
+            loadTimes.incrementAndGet();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException ex) {
+                throw new RuntimeException(ex);
+            }
+            Map<Long, String> map = new HashMap<>();
+            for (Long key : keys) {
+                map.put(key, "value-" + key);
+            }
+            return map;
+        };
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Map<Long, String>>> futures = new ArrayList<>();
+            jdbc(con -> {
+                // The loader of this test does not use the connection
+                CacheEnvironment<Long, String> env =
+                        new CacheEnvironment<>(getSqlClient(), con, loader, false);
+                for (int i = 0; i < 8; i++) {
+                    futures.add(executorService.submit(() -> cache.getAll(Arrays.asList(1L, 2L), env)));
+                }
+            });
+            for (Future<Map<Long, String>> future : futures) {
+                Map<Long, String> map = future.get();
+                Assertions.assertEquals("value-1", map.get(1L));
+                Assertions.assertEquals("value-2", map.get(2L));
+            }
+        } finally {
+            executorService.shutdown();
+        }
+        Assertions.assertEquals(1, loadTimes.get());
+    }
+
+    @Test
+    public void testSoftLockTimeout() throws Exception {
+        LocalCacheLocker locker = new LocalCacheLocker(1);
+        MapBinder binder = new MapBinder();
+        CountDownLatch lockedLatch = new CountDownLatch(1);
+        CountDownLatch releaseLatch = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            try {
+                locker.locking(binder, Collections.singleton(1L), null, Duration.ofSeconds(10), locked -> {
+                    lockedLatch.countDown();
+                    try {
+                        releaseLatch.await();
+                    } catch (InterruptedException ex) {
+                        throw new RuntimeException(ex);
+                    }
+                });
+            } catch (Exception ex) {
+                throw new RuntimeException(ex);
+            }
+        });
+        thread.start();
+        try {
+            lockedLatch.await();
+            List<Boolean> lockedList = new ArrayList<>();
+            locker.locking(binder, Collections.singleton(2L), Duration.ofMillis(10), Duration.ofSeconds(10), lockedList::add);
+            Assertions.assertEquals(Collections.singletonList(false), lockedList);
+        } finally {
+            releaseLatch.countDown();
+            thread.join();
+        }
+    }
+
+    private static class MapBinder implements LockableBinder<Long, String> {
+
+        private final Map<Long, String> map = new ConcurrentHashMap<>();
+
+        @Override
+        public @NotNull String keyPrefix() {
+            return "Test-";
+        }
+
+        @Override
+        public @Nullable ImmutableType type() {
+            return ImmutableType.get(Book.class);
+        }
+
+        @Override
+        public @Nullable ImmutableProp prop() {
+            return null;
+        }
+
+        @Override
+        public Map<Long, String> getAll(Collection<Long> keys) {
+            Map<Long, String> resultMap = new HashMap<>();
+            for (Long key : keys) {
+                String value = map.get(key);
+                if (value != null) {
+                    resultMap.put(key, value);
+                }
+            }
+            return resultMap;
+        }
+
+        @Override
+        public void setAll(Map<Long, String> map) {
+            this.map.putAll(map);
+        }
+
+        @Override
+        public void deleteAll(Collection<Long> keys, Object reason) {
+            map.keySet().removeAll(keys);
+        }
+    }
+}
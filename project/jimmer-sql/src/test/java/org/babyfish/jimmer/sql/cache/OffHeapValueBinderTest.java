@@ -0,0 +1,118 @@
+package org.babyfish.jimmer.sql.cache;
+
+import org.babyfish.jimmer.sql.cache.chain.ChainCacheBuilder;
+import org.babyfish.jimmer.sql.cache.offheap.OffHeapValueBinder;
+import org.babyfish.jimmer.sql.common.AbstractTest;
+import org.babyfish.jimmer.sql.model.BookProps;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.babyfish.jimmer.sql.common.Constants.*;
+
+public class OffHeapValueBinderTest extends AbstractTest {
+
+    @Test
+    public void testLoadAndDelete() {
+        OffHeapValueBinder<UUID, UUID> binder = OffHeapValueBinder
+                .<UUID, UUID>forProp(BookProps.STORE.unwrap())
+                .capacity(1024 * 1024)
+                .segmentCount(4)
+                .build();
+        Cache<UUID, UUID> cache = new ChainCacheBuilder<UUID, UUID>()
+                .add(binder)
+                .build();
+        List<Collection<UUID>> loadedKeys = new ArrayList<>();
+        CacheLoader<UUID, UUID> loader = keys -> {
+            loadedKeys.add(new ArrayList<>(keys));
+            Map<UUID, UUID> map = new HashMap<>();
+            for (UUID key : keys) {
+                if (!key.equals(learningGraphQLId3)) {
+                    map.put(key, oreillyId);
+                }
+            }
+            return map;
+        };
+        List<UUID> bookIds = Arrays.asList(learningGraphQLId1, learningGraphQLId2, learningGraphQLId3);
+        jdbc(con -> {
+            CacheEnvironment<UUID, UUID> env = new CacheEnvironment<>(getSqlClient(), con, loader, false);
+            Map<UUID, UUID> expected = new HashMap<>();
+            expected.put(learningGraphQLId1, oreillyId);
+            expected.put(learningGraphQLId2, oreillyId);
+            expected.put(learningGraphQLId3, null);
+            Assertions.assertEquals(expected, cache.getAll(bookIds, env));
+            Assertions.assertEquals(expected, cache.getAll(bookIds, env));
+            Assertions.assertEquals(1, loadedKeys.size());
+            Assertions.assertEquals(3, binder.size());
+            cache.deleteAll(Collections.singleton(learningGraphQLId1), null);
+            Assertions.assertEquals(expected, cache.getAll(bookIds, env));
+            Assertions.assertEquals(2, loadedKeys.size());
+            Assertions.assertEquals(Collections.singletonList(learningGraphQLId1), loadedKeys.get(1));
+        });
+    }
+
+    @Test
+    public void testEvict() {
+        OffHeapValueBinder<Long, UUID> binder = OffHeapValueBinder
+                .<Long, UUID>forProp(BookProps.STORE.unwrap())
+                .capacity(1024)
+                .segmentCount(1)
+                .build();
+        Cache<Long, UUID> cache = new ChainCacheBuilder<Long, UUID>()
+                .add(binder)
+                .build();
+        CacheLoader<Long, UUID> loader = keys -> {
+            Map<Long, UUID> map = new HashMap<>();
+            for (Long key : keys) {
+                map.put(key, oreillyId);
+            }
+            return map;
+        };
+        jdbc(con -> {
+            CacheEnvironment<Long, UUID> env = new CacheEnvironment<>(getSqlClient(), con, loader, false);
+            for (long i = 0; i < 1000; i++) {
+                Assertions.assertEquals(oreillyId, cache.getAll(Collections.singleton(i), env).get(i));
+            }
+        });
+        Assertions.assertTrue(binder.size() > 0);
+        Assertions.assertTrue(binder.size() < 1000);
+    }
+
+    @Test
+    public void testInvalidateDuringLoading() {
+        OffHeapValueBinder<UUID, UUID> binder = OffHeapValueBinder
+                .<UUID, UUID>forProp(BookProps.STORE.unwrap())
+                .capacity(1024 * 1024)
+                .segmentCount(1)
+                .build();
+        Cache<UUID, UUID> cache = new ChainCacheBuilder<UUID, UUID>()
+                .add(binder)
+                .build();
+        List<Collection<UUID>> loadedKeys = new ArrayList<>();
+        CacheLoader<UUID, UUID> loader = keys -> {
+            loadedKeys.add(new ArrayList<>(keys));
+            Map<UUID, UUID> map = new HashMap<>();
+            for (UUID key : keys) {
+                map.put(key, oreillyId);
+            }
+            if (loadedKeys.size() == 1) {
+                // The data is changed and invalidated after it is read by this loader
+                cache.deleteAll(Collections.singleton(learningGraphQLId1), null);
+            }
+            return map;
+        };
+        List<UUID> bookIds = Collections.singletonList(learningGraphQLId1);
+        jdbc(con -> {
+            CacheEnvironment<UUID, UUID> env = new CacheEnvironment<>(getSqlClient(), con, loader, false);
+            Map<UUID, UUID> expected = Collections.singletonMap(learningGraphQLId1, oreillyId);
+            Assertions.assertEquals(expected, cache.getAll(bookIds, env));
+            // The stale value is not cached
+            Assertions.assertEquals(0, binder.size());
+            Assertions.assertEquals(expected, cache.getAll(bookIds, env));
+            Assertions.assertEquals(1, binder.size());
+            Assertions.assertEquals(expected, cache.getAll(bookIds, env));
+            Assertions.assertEquals(2, loadedKeys.size());
+        });
+    }
+}
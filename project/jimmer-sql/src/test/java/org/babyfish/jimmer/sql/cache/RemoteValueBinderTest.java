@@ -0,0 +1,129 @@
+package org.babyfish.jimmer.sql.cache;
+
+import org.babyfish.jimmer.sql.cache.spi.AbstractRemoteValueBinder;
+import org.babyfish.jimmer.sql.model.BookProps;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.*;
+
+import static org.babyfish.jimmer.sql.common.Constants.*;
+
+public class RemoteValueBinderTest {
+
+    @Test
+    public void testNegativeDuration() {
+        MapBinder binder = new MapBinder(Duration.ofSeconds(1), 0);
+        Map<UUID, UUID> map = new LinkedHashMap<>();
+        map.put(learningGraphQLId1, oreillyId);
+        map.put(learningGraphQLId2, null);
+        binder.setAll(map);
+        long positiveMillis = binder.expireMillisMap.get("Book.store-" + learningGraphQLId1);
+        long negativeMillis = binder.expireMillisMap.get("Book.store-" + learningGraphQLId2);
+        Assertions.assertTrue(positiveMillis > 30 * 60 * 1000L * 90 / 100, "positive expiration");
+        Assertions.assertTrue(negativeMillis <= 1000L * 110 / 100, "negative expiration");
+        Map<UUID, UUID> cachedMap = binder.getAll(Arrays.asList(learningGraphQLId1, learningGraphQLId2));
+        Assertions.assertEquals(map, cachedMap);
+    }
+
+    @Test
+    public void testSlotGroups() {
+        MapBinder binder = new MapBinder(null, 4);
+        List<UUID> bookIds = Arrays.asList(
+                learningGraphQLId1, learningGraphQLId2, learningGraphQLId3,
+                graphQLInActionId1, graphQLInActionId2, graphQLInActionId3
+        );
+        Map<UUID, UUID> map = new LinkedHashMap<>();
+        for (UUID bookId : bookIds) {
+            map.put(bookId, bookId.equals(learningGraphQLId3) ? null : oreillyId);
+        }
+        binder.setAll(map);
+        binder.readKeyGroups.clear();
+        Map<UUID, UUID> cachedMap = binder.getAll(bookIds);
+        Assertions.assertEquals(map, cachedMap);
+        Assertions.assertTrue(binder.readKeyGroups.size() > 1);
+        // All slot groups are sent by one pipeline
+        Assertions.assertEquals(1, binder.writeRoundTripCount);
+        Assertions.assertEquals(1, binder.readRoundTripCount);
+        int keyCount = 0;
+        for (Collection<String> keys : binder.readKeyGroups) {
+            Set<String> hashTags = new HashSet<>();
+            for (String key : keys) {
+                Assertions.assertTrue(key.startsWith("Book.store-{Book.store-"));
+                hashTags.add(key.substring(key.indexOf('{'), key.indexOf('}') + 1));
+            }
+            Assertions.assertEquals(1, hashTags.size());
+            keyCount += keys.size();
+        }
+        Assertions.assertEquals(bookIds.size(), keyCount);
+    }
+
+    private static class MapBinder extends AbstractRemoteValueBinder<UUID, UUID> {
+
+        final Map<String, byte[]> valueMap = new HashMap<>();
+
+        final Map<String, Long> expireMillisMap = new HashMap<>();
+
+        final List<Collection<String>> readKeyGroups = new ArrayList<>();
+
+        int readRoundTripCount;
+
+        int writeRoundTripCount;
+
+        MapBinder(Duration negativeDuration, int slotGroupCount) {
+            super(
+                    null,
+                    BookProps.STORE.unwrap(),
+                    null,
+                    null,
+                    null,
+                    Duration.ofMinutes(30),
+                    10,
+                    negativeDuration,
+                    slotGroupCount
+            );
+        }
+
+        @Override
+        protected List<byte[]> read(Collection<String> keys) {
+            readKeyGroups.add(keys);
+            List<byte[]> values = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                values.add(valueMap.get(key));
+            }
+            return values;
+        }
+
+        @Override
+        protected void write(Map<String, byte[]> map) {
+            valueMap.putAll(map);
+            for (Map.Entry<String, byte[]> e : map.entrySet()) {
+                expireMillisMap.put(e.getKey(), nextExpireMillis(e.getValue()));
+            }
+        }
+
+        @Override
+        protected List<List<byte[]>> readGroups(List<Collection<String>> keyGroups) {
+            readRoundTripCount++;
+            return super.readGroups(keyGroups);
+        }
+
+        @Override
+        protected void writeGroups(List<Map<String, byte[]>> maps) {
+            writeRoundTripCount++;
+            super.writeGroups(maps);
+        }
+
+        @Override
+        protected void deleteAllSerializedKeys(List<String> serializedKeys) {
+            valueMap.keySet().removeAll(serializedKeys);
+        }
+
+        @Override
+        protected boolean matched(@Nullable Object reason) {
+            return false;
+        }
+    }
+}
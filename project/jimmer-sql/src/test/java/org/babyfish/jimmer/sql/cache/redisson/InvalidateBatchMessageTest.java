@@ -0,0 +1,147 @@
+package org.babyfish.jimmer.sql.cache.redisson;
+
+import org.babyfish.jimmer.sql.cache.CacheTracker;
+import org.babyfish.jimmer.sql.cache.spi.AbstractCacheTracker;
+import org.babyfish.jimmer.sql.common.Constants;
+import org.babyfish.jimmer.sql.common.Tests;
+import org.babyfish.jimmer.sql.model.BookProps;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.time.Duration;
+import java.util.*;
+
+public class InvalidateBatchMessageTest extends Tests {
+
+    @Test
+    public void testMerge() {
+        BatchRecorder tracker = new BatchRecorder(Duration.ofHours(1), 100);
+        CacheTracker.Publisher publisher = tracker.publisher();
+        publisher.invalidate(
+                new CacheTracker.InvalidateEvent(
+                        BookProps.ID.unwrap().getDeclaringType(),
+                        Arrays.asList(Constants.graphQLInActionId1, Constants.graphQLInActionId2)
+                )
+        );
+        publisher.invalidate(
+                new CacheTracker.InvalidateEvent(
+                        BookProps.AUTHORS.unwrap(),
+                        Collections.singletonList(Constants.graphQLInActionId1)
+                )
+        );
+        publisher.invalidate(
+                new CacheTracker.InvalidateEvent(
+                        BookProps.ID.unwrap().getDeclaringType(),
+                        Arrays.asList(Constants.graphQLInActionId2, Constants.graphQLInActionId3)
+                )
+        );
+        assertContentEquals("[]", tracker.batches.toString());
+        tracker.flush();
+        assertContentEquals(
+                "[[" +
+                        "--->org.babyfish.jimmer.sql.model.Book[" +
+                        "--->--->a62f7aa3-9490-4612-98b5-98aae0e77120, " +
+                        "--->--->e37a8344-73bb-4b23-ba76-82eac11f03e6, " +
+                        "--->--->780bdf07-05af-48bf-9be9-f8c65236fecc" +
+                        "--->], " +
+                        "--->org.babyfish.jimmer.sql.model.Book.authors[" +
+                        "--->--->a62f7aa3-9490-4612-98b5-98aae0e77120" +
+                        "--->]" +
+                        "]]",
+                tracker.batches.toString()
+        );
+    }
+
+    @Test
+    public void testMaxBatchSize() {
+        BatchRecorder tracker = new BatchRecorder(Duration.ofHours(1), 2);
+        CacheTracker.Publisher publisher = tracker.publisher();
+        publisher.invalidate(
+                new CacheTracker.InvalidateEvent(
+                        BookProps.ID.unwrap().getDeclaringType(),
+                        Collections.singletonList(Constants.graphQLInActionId1)
+                )
+        );
+        assertContentEquals("[]", tracker.batches.toString());
+        publisher.invalidate(
+                new CacheTracker.InvalidateEvent(
+                        BookProps.ID.unwrap().getDeclaringType(),
+                        Collections.singletonList(Constants.graphQLInActionId2)
+                )
+        );
+        assertContentEquals(
+                "[[" +
+                        "--->org.babyfish.jimmer.sql.model.Book[" +
+                        "--->--->a62f7aa3-9490-4612-98b5-98aae0e77120, " +
+                        "--->--->e37a8344-73bb-4b23-ba76-82eac11f03e6" +
+                        "--->]" +
+                        "]]",
+                tracker.batches.toString()
+        );
+    }
+
+    @Test
+    public void testSerialization() throws IOException, ClassNotFoundException {
+        byte[] arr;
+        try (ByteArrayOutputStream bout = new ByteArrayOutputStream()) {
+            ObjectOutputStream out = new ObjectOutputStream(bout);
+            out.writeObject(
+                    new InvalidateBatchMessage(
+                            UUID.randomUUID(),
+                            Arrays.asList(
+                                    new CacheTracker.InvalidateEvent(
+                                            BookProps.ID.unwrap().getDeclaringType(),
+                                            Arrays.asList(
+                                                    Constants.graphQLInActionId1,
+                                                    Constants.graphQLInActionId2
+                                            )
+                                    ),
+                                    new CacheTracker.InvalidateEvent(
+                                            BookProps.AUTHORS.unwrap(),
+                                            Collections.singletonList(Constants.graphQLInActionId3)
+                                    )
+                            )
+                    )
+            );
+            out.flush();
+            arr = bout.toByteArray();
+        }
+
+        List<CacheTracker.InvalidateEvent> events;
+        try (ObjectInputStream reader = new ObjectInputStream(new ByteArrayInputStream(arr))) {
+            InvalidateBatchMessage message = (InvalidateBatchMessage) reader.readObject();
+            events = message.toEvents();
+        }
+        assertContentEquals(
+                "[" +
+                        "--->org.babyfish.jimmer.sql.model.Book[" +
+                        "--->--->a62f7aa3-9490-4612-98b5-98aae0e77120, " +
+                        "--->--->e37a8344-73bb-4b23-ba76-82eac11f03e6" +
+                        "--->], " +
+                        "--->org.babyfish.jimmer.sql.model.Book.authors[" +
+                        "--->--->780bdf07-05af-48bf-9be9-f8c65236fecc" +
+                        "--->]" +
+                        "]",
+                events.toString()
+        );
+    }
+
+    private static class BatchRecorder extends AbstractCacheTracker {
+
+        final List<Collection<InvalidateEvent>> batches = new ArrayList<>();
+
+        BatchRecorder(Duration batchWindow, int maxBatchSize) {
+            super(batchWindow, maxBatchSize);
+        }
+
+        @Override
+        protected void publishInvalidationEvent(InvalidateEvent event) {
+            batches.add(Collections.singletonList(event));
+        }
+
+        @Override
+        protected void publishInvalidationEvents(Collection<InvalidateEvent> events) {
+            batches.add(events);
+        }
+    }
+}
@@ -51,7 +51,7 @@ public abstract class AbstractTransactionCacheOperatorTest extends AbstractTest
             );
             cfg.setDialect(dialect());
             cfg.setTriggerType(TriggerType.TRANSACTION_ONLY);
-            cfg.setCacheOperator(new TransactionCacheOperator());
+            cfg.setCacheOperator(createOperator());
             cfg.setCacheFactory(new CacheFactory() {
                 @Override
                 public Cache<?, ?> createObjectCache(@NotNull ImmutableType type) {
@@ -94,11 +94,15 @@ public abstract class AbstractTransactionCacheOperatorTest extends AbstractTest
 
     protected void assume() {}
 
+    protected TransactionCacheOperator createOperator() {
+        return new TransactionCacheOperator();
+    }
+
     protected abstract DataSource dataSource();
 
     protected abstract Dialect dialect();
 
-    private void assertDeletedKeys(Class<?> type, Object ... keys) {
+    protected void assertDeletedKeys(Class<?> type, Object ... keys) {
         List<?> list = typeKeyMap.get(ImmutableType.get(type));
         Assertions.assertEquals(Arrays.asList(keys), list != null ? list : Collections.emptyList());
     }
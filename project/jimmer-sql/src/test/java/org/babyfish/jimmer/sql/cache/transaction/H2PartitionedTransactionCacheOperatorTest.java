@@ -0,0 +1,39 @@
+package org.babyfish.jimmer.sql.cache.transaction;
+
+import org.babyfish.jimmer.sql.cache.TransactionCacheOperator;
+import org.babyfish.jimmer.sql.model.Book;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.babyfish.jimmer.sql.common.Constants.*;
+
+public class H2PartitionedTransactionCacheOperatorTest extends H2TransactionCacheOperatorTest {
+
+    private ScheduledExecutorService drainExecutor;
+
+    @Override
+    protected TransactionCacheOperator createOperator() {
+        drainExecutor = Executors.newSingleThreadScheduledExecutor();
+        return TransactionCacheOperator
+                .newBuilder()
+                .partition(1)
+                .drainExecutor(drainExecutor)
+                .build();
+    }
+
+    @Test
+    public void testFlushAsync() throws InterruptedException {
+        getSqlClient().getCaches().getObjectCache(Book.class).deleteAll(Arrays.asList(learningGraphQLId1, learningGraphQLId2));
+        assertDeletedKeys(Book.class);
+        ((TransactionCacheOperator)((JSqlClientImplementor)getSqlClient()).getCacheOperator()).flushAsync();
+        drainExecutor.shutdown();
+        Assertions.assertTrue(drainExecutor.awaitTermination(10, TimeUnit.SECONDS));
+        assertDeletedKeys(Book.class, learningGraphQLId1, learningGraphQLId2);
+    }
+}
@@ -0,0 +1,108 @@
+package org.babyfish.jimmer.sql.fetcher;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.ast.query.TypedRootQuery;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.model.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+public class BatchSizeStrategyTest extends AbstractQueryTest {
+
+    @Test
+    public void testStrategy() {
+        RecordingStrategy strategy = new RecordingStrategy();
+        JSqlClient sqlClient = getSqlClient(it -> it.setBatchSizeStrategy(strategy));
+        jdbc(con -> {
+            List<BookStore> expected = query(getSqlClient(), UnaryOperator.identity()).execute(con);
+            List<BookStore> actual = query(sqlClient, UnaryOperator.identity()).execute(con);
+            Assertions.assertEquals(expected.toString(), actual.toString());
+        });
+        Assertions.assertEquals(Arrays.asList(1, 1), strategy.batchSizes);
+        Assertions.assertEquals(
+                12,
+                strategy.rowCounts.stream().mapToInt(Integer::intValue).sum()
+        );
+    }
+
+    @Test
+    public void testExplicitBatchSize() {
+        RecordingStrategy strategy = new RecordingStrategy();
+        JSqlClient sqlClient = getSqlClient(it -> it.setBatchSizeStrategy(strategy));
+        jdbc(con -> {
+            List<BookStore> expected = query(getSqlClient(), it -> it.batch(2)).execute(con);
+            List<BookStore> actual = query(sqlClient, it -> it.batch(2)).execute(con);
+            Assertions.assertEquals(expected.toString(), actual.toString());
+        });
+        Assertions.assertTrue(strategy.batchSizes.isEmpty());
+    }
+
+    @Test
+    public void testAdaptiveStrategy() {
+        ImmutableProp prop = BookStoreProps.BOOKS.unwrap();
+        AdaptiveBatchSizeStrategy strategy =
+                new AdaptiveBatchSizeStrategy(4, 100, Duration.ofSeconds(10));
+        Assertions.assertNull(strategy.getCurrentBatchSize(prop));
+        Assertions.assertEquals(16, strategy.getBatchSize(prop, 16, 1000));
+
+        // Too many rows, shrink at most half
+        strategy.onLoaded(prop, 16, 1600, Duration.ofMillis(1).toNanos());
+        Assertions.assertEquals(8, strategy.getBatchSize(prop, 16, 1000));
+
+        // Full batch with few rows, grow at most double
+        strategy.onLoaded(prop, 8, 8, Duration.ofMillis(1).toNanos());
+        Assertions.assertEquals(16, strategy.getBatchSize(prop, 16, 1000));
+
+        // Too slow, shrink
+        strategy.onLoaded(prop, 16, 16, Duration.ofSeconds(15).toNanos());
+        Assertions.assertEquals(10, strategy.getBatchSize(prop, 16, 1000));
+
+        // Bounded by database
+        Assertions.assertEquals(5, strategy.getBatchSize(prop, 16, 5));
+    }
+
+    private static TypedRootQuery<BookStore> query(
+            JSqlClient sqlClient,
+            UnaryOperator<ListFieldConfig<Book, BookTable>> configurer
+    ) {
+        BookStoreTable table = BookStoreTable.$;
+        return sqlClient
+                .createQuery(table)
+                .orderBy(table.name().asc())
+                .select(
+                        table.fetch(
+                                BookStoreFetcher.$
+                                        .name()
+                                        .books(
+                                                BookFetcher.$.name().edition(),
+                                                configurer::apply
+                                        )
+                        )
+                );
+    }
+
+    private static class RecordingStrategy implements BatchSizeStrategy {
+
+        final List<Integer> batchSizes = new ArrayList<>();
+
+        final List<Integer> rowCounts = new ArrayList<>();
+
+        @Override
+        public int getBatchSize(ImmutableProp prop, int defaultBatchSize, int maxBatchSize) {
+            return 1;
+        }
+
+        @Override
+        public void onLoaded(ImmutableProp prop, int batchSize, int rowCount, long nanos) {
+            batchSizes.add(batchSize);
+            rowCounts.add(rowCount);
+        }
+    }
+}
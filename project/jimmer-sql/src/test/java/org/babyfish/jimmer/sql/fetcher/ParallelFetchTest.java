@@ -0,0 +1,166 @@
+package org.babyfish.jimmer.sql.fetcher;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.ast.query.TypedRootQuery;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.model.*;
+import org.babyfish.jimmer.sql.runtime.DefaultExecutor;
+import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
+import org.babyfish.jimmer.sql.runtime.Executor;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ParallelFetchTest extends AbstractQueryTest {
+
+    @Test
+    public void testParallelFetch() {
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            JSqlClient parallelSqlClient = getSqlClient(it -> {
+                it.setExecutor(DefaultExecutor.INSTANCE);
+                it.setConnectionManager(testConnectionManager());
+                it.setFetcherExecutor(executorService);
+            });
+            jdbc(con -> {
+                List<Book> expected = query(getSqlClient()).execute(con);
+                List<Book> actual = query(parallelSqlClient).execute(con);
+                Assertions.assertEquals(expected.toString(), actual.toString());
+            });
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelFetchByCurrentThread() {
+        JSqlClient parallelSqlClient = getSqlClient(it -> {
+            it.setConnectionManager(testConnectionManager());
+            it.setFetcherExecutor(Runnable::run);
+        });
+        jdbc(con -> {
+            List<Book> expected = query(getSqlClient()).execute(con);
+            List<Book> actual = query(parallelSqlClient).execute(con);
+            Assertions.assertEquals(expected.toString(), actual.toString());
+        });
+    }
+
+    @Test
+    public void testFetcherTasksOverlap() {
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        AtomicInteger statementCount = new AtomicInteger();
+        AtomicInteger activeCount = new AtomicInteger();
+        AtomicInteger maxActiveCount = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(2);
+        Executor executor = new Executor() {
+            @Override
+            public <R> R execute(@NotNull Args<R> args) {
+                if (statementCount.incrementAndGet() == 1) {
+                    // The root query is not executed by fetcher tasks
+                    return DefaultExecutor.INSTANCE.execute(args);
+                }
+                maxActiveCount.accumulateAndGet(activeCount.incrementAndGet(), Math::max);
+                try {
+                    // The first two loading statements wait for each other,
+                    // it only takes effect when they are executed concurrently
+                    latch.countDown();
+                    latch.await(5, TimeUnit.SECONDS);
+                    return DefaultExecutor.INSTANCE.execute(args);
+                } catch (InterruptedException ex) {
+                    throw new RuntimeException(ex);
+                } finally {
+                    activeCount.decrementAndGet();
+                }
+            }
+
+            @Override
+            public BatchContext executeBatch(
+                    @NotNull Connection con,
+                    @NotNull String sql,
+                    @Nullable ImmutableProp generatedIdProp,
+                    @NotNull ExecutionPurpose purpose,
+                    @NotNull JSqlClientImplementor sqlClient
+            ) {
+                return DefaultExecutor.INSTANCE.executeBatch(con, sql, generatedIdProp, purpose, sqlClient);
+            }
+        };
+        try {
+            JSqlClient parallelSqlClient = getSqlClient(it -> {
+                it.setExecutor(executor);
+                it.setConnectionManager(testConnectionManager());
+                it.setFetcherExecutor(executorService);
+            });
+            jdbc(con -> {
+                List<Book> expected = query(getSqlClient()).execute(con);
+                List<Book> actual = query(parallelSqlClient).execute(con);
+                Assertions.assertEquals(expected.toString(), actual.toString());
+            });
+        } finally {
+            executorService.shutdown();
+        }
+        Assertions.assertEquals(0, latch.getCount());
+        Assertions.assertTrue(maxActiveCount.get() >= 2);
+    }
+
+    @Test
+    public void testSequentialFetchInTransaction() {
+        AtomicInteger submittedCount = new AtomicInteger();
+        JSqlClient parallelSqlClient = getSqlClient(it -> {
+            it.setConnectionManager(testConnectionManager());
+            it.setFetcherExecutor(command -> {
+                submittedCount.incrementAndGet();
+                command.run();
+            });
+        });
+        jdbc(con -> {
+            query(parallelSqlClient).execute(con);
+        });
+        Assertions.assertTrue(submittedCount.get() > 0);
+
+        submittedCount.set(0);
+        jdbc(null, true, con -> {
+            List<Book> expected = query(getSqlClient()).execute(con);
+            List<Book> actual = query(parallelSqlClient).execute(con);
+            Assertions.assertEquals(expected.toString(), actual.toString());
+        });
+        // `autoCommit` is false, other connections cannot see the transaction
+        Assertions.assertEquals(0, submittedCount.get());
+    }
+
+    private static TypedRootQuery<Book> query(JSqlClient sqlClient) {
+        BookTable table = BookTable.$;
+        return sqlClient
+                .createQuery(table)
+                .orderBy(table.name().asc(), table.edition().asc())
+                .select(
+                        table.fetch(
+                                BookFetcher.$
+                                        .allScalarFields()
+                                        .store(
+                                                BookStoreFetcher.$
+                                                        .allScalarFields()
+                                                        .books(
+                                                                BookFetcher.$.name(),
+                                                                it -> it.batch(2)
+                                                        )
+                                        )
+                                        .authors(
+                                                AuthorFetcher.$
+                                                        .allScalarFields(),
+                                                it -> it.batch(3)
+                                        )
+                        )
+                );
+    }
+}
@@ -0,0 +1,75 @@
+package org.babyfish.jimmer.sql.mutation;
+
+import org.babyfish.jimmer.sql.ast.mutation.QueryReason;
+import org.babyfish.jimmer.sql.ast.mutation.SaveMode;
+import org.babyfish.jimmer.sql.common.AbstractMutationTest;
+import org.babyfish.jimmer.sql.common.Constants;
+import org.babyfish.jimmer.sql.dialect.H2Dialect;
+import org.babyfish.jimmer.sql.model.Immutables;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+public class ChangedPropsOnlyTest extends AbstractMutationTest {
+
+    @Test
+    public void testUpdateChangedPropsOnly() {
+        executeAndExpectResult(
+                getSqlClient(it -> it.setDialect(new H2Dialect()))
+                        .saveEntitiesCommand(
+                                Arrays.asList(
+                                        Immutables.createBook(draft -> {
+                                            draft.setId(Constants.graphQLInActionId1);
+                                            draft.setName("GraphQL in Action");
+                                            draft.setEdition(1);
+                                            draft.setPrice(new BigDecimal("82.00"));
+                                        }),
+                                        Immutables.createBook(draft -> {
+                                            draft.setId(Constants.graphQLInActionId2);
+                                            draft.setName("GraphQL in Action");
+                                            draft.setEdition(2);
+                                            draft.setPrice(new BigDecimal("83.00"));
+                                        }),
+                                        Immutables.createBook(draft -> {
+                                            draft.setId(Constants.graphQLInActionId3);
+                                            draft.setName("GraphQL in Action+");
+                                            draft.setEdition(3);
+                                            draft.setPrice(new BigDecimal("80.00"));
+                                        })
+                                )
+                        )
+                        .setMode(SaveMode.UPDATE_ONLY)
+                        .setChangedPropsOnly(true),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.queryReason(QueryReason.CHANGED_PROPS_ONLY);
+                        it.sql(
+                                "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.PRICE " +
+                                        "from BOOK tb_1_ " +
+                                        "where tb_1_.ID = any(?)"
+                        );
+                        it.variables(
+                                (Object) new Object[] {
+                                        Constants.graphQLInActionId1,
+                                        Constants.graphQLInActionId2,
+                                        Constants.graphQLInActionId3
+                                }
+                        );
+                    });
+                    ctx.statement(it -> {
+                        it.sql("update BOOK set PRICE = ? where ID = ?");
+                        it.batchVariables(0, new BigDecimal("82.00"), Constants.graphQLInActionId1);
+                        it.batchVariables(1, new BigDecimal("83.00"), Constants.graphQLInActionId2);
+                    });
+                    ctx.statement(it -> {
+                        it.sql("update BOOK set NAME = ? where ID = ?");
+                        it.variables("GraphQL in Action+", Constants.graphQLInActionId3);
+                    });
+                    ctx.entity(it -> {});
+                    ctx.entity(it -> {});
+                    ctx.entity(it -> {});
+                }
+        );
+    }
+}
@@ -459,6 +459,97 @@ public class DeleteTest extends AbstractMutationTest {
         );
     }
 
+    @Test
+    public void deleteTreeByRecursiveCte() {
+        executeAndExpectResult(
+                getSqlClient().getEntities().deleteCommand(
+                        TreeNode.class,
+                        1L
+                ).setRecursiveCteUsed(),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql(
+                                "with recursive tree_(id_, depth_) as (" +
+                                        "select NODE_ID, 1 from TREE_NODE where PARENT_ID = ? " +
+                                        "union all " +
+                                        "select tb_1_.NODE_ID, tree_.depth_ + 1 " +
+                                        "from TREE_NODE tb_1_ " +
+                                        "inner join tree_ on tb_1_.PARENT_ID = tree_.id_ " +
+                                        "where tb_1_.NODE_ID <> ? and tree_.depth_ < ?" +
+                                        ") " +
+                                        "select max(depth_) from tree_"
+                        );
+                        it.variables(1L, 1L, 1000);
+                    });
+                    ctx.statement(it -> {
+                        it.sql(
+                                "with recursive tree_(id_, depth_) as (" +
+                                        "select NODE_ID, 1 from TREE_NODE where PARENT_ID = ? " +
+                                        "union all " +
+                                        "select tb_1_.NODE_ID, tree_.depth_ + 1 " +
+                                        "from TREE_NODE tb_1_ " +
+                                        "inner join tree_ on tb_1_.PARENT_ID = tree_.id_ " +
+                                        "where tb_1_.NODE_ID <> ? and tree_.depth_ < ?" +
+                                        ") " +
+                                        "delete from TREE_NODE " +
+                                        "where NODE_ID in (select id_ from tree_ where depth_ = ?)"
+                        );
+                        it.variables(1L, 1L, 1000, 4);
+                    });
+                    ctx.statement(it -> {
+                        it.sql(
+                                "with recursive tree_(id_, depth_) as (" +
+                                        "select NODE_ID, 1 from TREE_NODE where PARENT_ID = ? " +
+                                        "union all " +
+                                        "select tb_1_.NODE_ID, tree_.depth_ + 1 " +
+                                        "from TREE_NODE tb_1_ " +
+                                        "inner join tree_ on tb_1_.PARENT_ID = tree_.id_ " +
+                                        "where tb_1_.NODE_ID <> ? and tree_.depth_ < ?" +
+                                        ") " +
+                                        "delete from TREE_NODE " +
+                                        "where NODE_ID in (select id_ from tree_ where depth_ = ?)"
+                        );
+                        it.variables(1L, 1L, 1000, 3);
+                    });
+                    ctx.statement(it -> {
+                        it.sql(
+                                "with recursive tree_(id_, depth_) as (" +
+                                        "select NODE_ID, 1 from TREE_NODE where PARENT_ID = ? " +
+                                        "union all " +
+                                        "select tb_1_.NODE_ID, tree_.depth_ + 1 " +
+                                        "from TREE_NODE tb_1_ " +
+                                        "inner join tree_ on tb_1_.PARENT_ID = tree_.id_ " +
+                                        "where tb_1_.NODE_ID <> ? and tree_.depth_ < ?" +
+                                        ") " +
+                                        "delete from TREE_NODE " +
+                                        "where NODE_ID in (select id_ from tree_ where depth_ = ?)"
+                        );
+                        it.variables(1L, 1L, 1000, 2);
+                    });
+                    ctx.statement(it -> {
+                        it.sql(
+                                "with recursive tree_(id_, depth_) as (" +
+                                        "select NODE_ID, 1 from TREE_NODE where PARENT_ID = ? " +
+                                        "union all " +
+                                        "select tb_1_.NODE_ID, tree_.depth_ + 1 " +
+                                        "from TREE_NODE tb_1_ " +
+                                        "inner join tree_ on tb_1_.PARENT_ID = tree_.id_ " +
+                                        "where tb_1_.NODE_ID <> ? and tree_.depth_ < ?" +
+                                        ") " +
+                                        "delete from TREE_NODE " +
+                                        "where NODE_ID in (select id_ from tree_ where depth_ = ?)"
+                        );
+                        it.variables(1L, 1L, 1000, 1);
+                    });
+                    ctx.statement(it -> {
+                        it.sql("delete from TREE_NODE where NODE_ID = ?");
+                        it.variables(1L);
+                    });
+                    ctx.totalRowCount(24);
+                }
+        );
+    }
+
     @Test
     public void testLogicalDelete() {
         executeAndExpectResult(
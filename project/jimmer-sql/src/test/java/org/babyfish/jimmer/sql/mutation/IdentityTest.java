@@ -11,6 +11,7 @@ import org.babyfish.jimmer.sql.common.NativeDatabases;
 import org.babyfish.jimmer.sql.dialect.H2Dialect;
 import org.babyfish.jimmer.sql.dialect.MySqlDialect;
 import org.babyfish.jimmer.sql.dialect.PostgresDialect;
+import org.babyfish.jimmer.sql.dialect.SqlServerDialect;
 import org.babyfish.jimmer.sql.meta.impl.IdentityIdGenerator;
 import org.babyfish.jimmer.sql.model.BookStore;
 import org.babyfish.jimmer.sql.model.Gender;
@@ -19,6 +20,7 @@ import org.babyfish.jimmer.sql.model.hr.Department;
 import org.babyfish.jimmer.sql.model.hr.DepartmentDraft;
 import org.babyfish.jimmer.sql.runtime.DbLiteral;
 import org.babyfish.jimmer.sql.runtime.ScalarProvider;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import javax.sql.DataSource;
@@ -121,6 +123,193 @@ public class IdentityTest extends AbstractMutationTest {
         );
     }
 
+    @Test
+    public void testMultiValuesInsertH2() {
+
+        resetIdentity(null);
+
+        JSqlClient sqlClient = getSqlClient(it -> it.setDialect(new H2Dialect()).setMultiValuesInsertEnabled(true));
+        Department department1 = DepartmentDraft.$.produce(draft -> {
+            draft.setName("Develop");
+            draft.addIntoEmployees(emp -> {
+                emp.setName("Jacob");
+                emp.setGender(Gender.MALE);
+            });
+            draft.addIntoEmployees(emp -> {
+                emp.setName("Tania");
+                emp.setGender(Gender.FEMALE);
+            });
+        });
+        Department department2 = DepartmentDraft.$.produce(draft -> {
+            draft.setName("Sales");
+            draft.addIntoEmployees(emp -> {
+                emp.setName("Oakes");
+                emp.setGender(Gender.MALE);
+            });
+        });
+        executeAndExpectResult(
+                sqlClient.getEntities().saveEntitiesCommand(
+                                Arrays.asList(department1, department2)
+                        ).setTargetTransferModeAll(TargetTransferMode.ALLOWED)
+                        .setMode(SaveMode.INSERT_ONLY)
+                        .setAssociatedModeAll(AssociatedSaveMode.APPEND),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql("insert into DEPARTMENT(NAME, DELETED_MILLIS) values(?, ?), (?, ?)");
+                        it.variables("Develop", 0L, "Sales", 0L);
+                    });
+                    ctx.statement(it -> {
+                        it.sql(
+                                "insert into EMPLOYEE(NAME, GENDER, DELETED_MILLIS, DEPARTMENT_ID) " +
+                                        "values(?, ?, ?, ?), (?, ?, ?, ?), (?, ?, ?, ?)"
+                        );
+                        it.variables(
+                                "Jacob", "M", 0L, 100L,
+                                "Tania", "F", 0L, 100L,
+                                "Oakes", "M", 0L, 101L
+                        );
+                    });
+                    ctx.entity(it -> {
+                        it.modified(
+                                "{" +
+                                        "--->\"id\":\"100\"," +
+                                        "--->\"name\":\"Develop\"," +
+                                        "--->\"deletedMillis\":0," +
+                                        "--->\"employees\":[" +
+                                        "--->--->{" +
+                                        "--->--->--->\"id\":\"100\"," +
+                                        "--->--->--->\"name\":\"Jacob\"," +
+                                        "--->--->--->\"gender\":\"MALE\"," +
+                                        "--->--->--->\"deletedMillis\":0," +
+                                        "--->--->--->\"department\":{\"id\":\"100\"}" +
+                                        "--->--->},{" +
+                                        "--->--->--->\"id\":\"101\"," +
+                                        "--->--->--->\"name\":\"Tania\"," +
+                                        "--->--->--->\"gender\":\"FEMALE\"," +
+                                        "--->--->--->\"deletedMillis\":0," +
+                                        "--->--->--->\"department\":{\"id\":\"100\"}" +
+                                        "--->--->}" +
+                                        "--->]" +
+                                        "}"
+                        );
+                    });
+                    ctx.entity(it -> {
+                        it.modified(
+                                "{" +
+                                        "--->\"id\":\"101\"," +
+                                        "--->\"name\":\"Sales\"," +
+                                        "--->\"deletedMillis\":0," +
+                                        "--->\"employees\":[" +
+                                        "--->--->{" +
+                                        "--->--->--->\"id\":\"102\"," +
+                                        "--->--->--->\"name\":\"Oakes\"," +
+                                        "--->--->--->\"gender\":\"MALE\"," +
+                                        "--->--->--->\"deletedMillis\":0," +
+                                        "--->--->--->\"department\":{\"id\":\"101\"}" +
+                                        "--->--->}" +
+                                        "--->]" +
+                                        "}"
+                        );
+                    });
+                }
+        );
+    }
+
+    @Test
+    public void testMultiValuesInsertWithUnfetchableIds() {
+
+        // The ids returned by `output inserted.ID` of multi-row insert are not ordered,
+        // so SQL Server uses JDBC batch and each entity gets the id of its own row.
+        // The SQL shape of that fallback is verified by H2 with the same dialect flag.
+        Assertions.assertFalse(new SqlServerDialect().isMultiInsertionIdFetchable());
+
+        resetIdentity(null);
+
+        JSqlClient sqlClient = getSqlClient(
+                it -> it.setDialect(new MultiInsertionIdUnfetchableDialect()).setMultiValuesInsertEnabled(true)
+        );
+        Department department1 = DepartmentDraft.$.produce(draft -> {
+            draft.setName("Develop");
+            draft.addIntoEmployees(emp -> {
+                emp.setName("Jacob");
+                emp.setGender(Gender.MALE);
+            });
+            draft.addIntoEmployees(emp -> {
+                emp.setName("Tania");
+                emp.setGender(Gender.FEMALE);
+            });
+        });
+        Department department2 = DepartmentDraft.$.produce(draft -> {
+            draft.setName("Sales");
+            draft.addIntoEmployees(emp -> {
+                emp.setName("Oakes");
+                emp.setGender(Gender.MALE);
+            });
+        });
+        executeAndExpectResult(
+                sqlClient.getEntities().saveEntitiesCommand(
+                                Arrays.asList(department1, department2)
+                        ).setTargetTransferModeAll(TargetTransferMode.ALLOWED)
+                        .setMode(SaveMode.INSERT_ONLY)
+                        .setAssociatedModeAll(AssociatedSaveMode.APPEND),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql("insert into DEPARTMENT(NAME, DELETED_MILLIS) values(?, ?)");
+                        it.batchVariables(0, "Develop", 0L);
+                        it.batchVariables(1, "Sales", 0L);
+                    });
+                    ctx.statement(it -> {
+                        it.sql("insert into EMPLOYEE(NAME, GENDER, DELETED_MILLIS, DEPARTMENT_ID) values(?, ?, ?, ?)");
+                        it.batchVariables(0, "Jacob", "M", 0L, 100L);
+                        it.batchVariables(1, "Tania", "F", 0L, 100L);
+                        it.batchVariables(2, "Oakes", "M", 0L, 101L);
+                    });
+                    ctx.entity(it -> {
+                        it.modified(
+                                "{" +
+                                        "--->\"id\":\"100\"," +
+                                        "--->\"name\":\"Develop\"," +
+                                        "--->\"deletedMillis\":0," +
+                                        "--->\"employees\":[" +
+                                        "--->--->{" +
+                                        "--->--->--->\"id\":\"100\"," +
+                                        "--->--->--->\"name\":\"Jacob\"," +
+                                        "--->--->--->\"gender\":\"MALE\"," +
+                                        "--->--->--->\"deletedMillis\":0," +
+                                        "--->--->--->\"department\":{\"id\":\"100\"}" +
+                                        "--->--->},{" +
+                                        "--->--->--->\"id\":\"101\"," +
+                                        "--->--->--->\"name\":\"Tania\"," +
+                                        "--->--->--->\"gender\":\"FEMALE\"," +
+                                        "--->--->--->\"deletedMillis\":0," +
+                                        "--->--->--->\"department\":{\"id\":\"100\"}" +
+                                        "--->--->}" +
+                                        "--->]" +
+                                        "}"
+                        );
+                    });
+                    ctx.entity(it -> {
+                        it.modified(
+                                "{" +
+                                        "--->\"id\":\"101\"," +
+                                        "--->\"name\":\"Sales\"," +
+                                        "--->\"deletedMillis\":0," +
+                                        "--->\"employees\":[" +
+                                        "--->--->{" +
+                                        "--->--->--->\"id\":\"102\"," +
+                                        "--->--->--->\"name\":\"Oakes\"," +
+                                        "--->--->--->\"gender\":\"MALE\"," +
+                                        "--->--->--->\"deletedMillis\":0," +
+                                        "--->--->--->\"department\":{\"id\":\"101\"}" +
+                                        "--->--->}" +
+                                        "--->]" +
+                                        "}"
+                        );
+                    });
+                }
+        );
+    }
+
     @Test
     public void testInsertMySql() {
 
@@ -1388,4 +1577,11 @@ public class IdentityTest extends AbstractMutationTest {
             }
         });
     }
+
+    private static class MultiInsertionIdUnfetchableDialect extends H2Dialect {
+        @Override
+        public boolean isMultiInsertionIdFetchable() {
+            return false;
+        }
+    }
 }
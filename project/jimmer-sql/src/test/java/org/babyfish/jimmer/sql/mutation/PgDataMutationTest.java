@@ -2,16 +2,20 @@ package org.babyfish.jimmer.sql.mutation;
 
 import org.babyfish.jimmer.sql.JSqlClient;
 import org.babyfish.jimmer.sql.ast.mutation.SaveMode;
+import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
 import org.babyfish.jimmer.sql.ast.tuple.Tuple3;
 import org.babyfish.jimmer.sql.common.AbstractMutationTest;
 import org.babyfish.jimmer.sql.common.NativeDatabases;
+import org.babyfish.jimmer.sql.dialect.PostgresDialect;
 import org.babyfish.jimmer.sql.model.Immutables;
 import org.babyfish.jimmer.sql.model.pg.PgDateTime;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
 import java.time.ZoneOffset;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 
 public class PgDataMutationTest extends AbstractMutationTest {
 
@@ -77,4 +81,50 @@ public class PgDataMutationTest extends AbstractMutationTest {
                 }
         );
     }
+
+    @Test
+    public void testBulkInsert() {
+
+        NativeDatabases.assumeNativeDatabase();
+
+        Date now = new Date(2024, 3, 29, 13, 59, 59);
+        PgDateTime dt1 = Immutables.createPgDateTime(draft -> {
+            draft.setId(1L);
+            draft.setDate(LocalDate.of(2024, 3, 29));
+            draft.setDateTime(now);
+        });
+        PgDateTime dt2 = Immutables.createPgDateTime(draft -> {
+            draft.setId(2L);
+            draft.setDate(LocalDate.of(2024, 3, 30));
+            draft.setDateTime(now);
+        });
+        connectAndExpect(
+                NativeDatabases.POSTGRES_DATA_SOURCE,
+                con -> {
+                    JSqlClient sqlClient = getSqlClient(it -> it.setDialect(new PostgresDialect()));
+                    int affectedRowCount = sqlClient
+                            .getEntities()
+                            .forConnection(con)
+                            .saveEntitiesCommand(Arrays.asList(dt1, dt2))
+                            .setMode(SaveMode.INSERT_ONLY)
+                            .setBulkInsertEnabled(true)
+                            .execute()
+                            .getTotalAffectedRowCount();
+                    List<PgDateTime> rows = sqlClient
+                            .getEntities()
+                            .forConnection(con)
+                            .findByIds(PgDateTime.class, Arrays.asList(1L, 2L));
+                    return new Tuple2<>(affectedRowCount, rows.size());
+                },
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql("copy PG_DATE_TIME(ID, dt, ts) from stdin with (format csv)");
+                    });
+                    ctx.statement(it -> {
+                        it.sql("select tb_1_.ID, tb_1_.dt, tb_1_.ts from PG_DATE_TIME tb_1_ where tb_1_.ID = any(?)");
+                    });
+                    ctx.value("Tuple2(_1=2, _2=2)");
+                }
+        );
+    }
 }
@@ -0,0 +1,105 @@
+package org.babyfish.jimmer.sql.query;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.ast.query.TypedRootQuery;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.common.Constants;
+import org.babyfish.jimmer.sql.model.*;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AsyncQueryTest extends AbstractQueryTest {
+
+    @Test
+    public void testExecuteAsync() {
+        jdbc(con -> {
+            List<Book> expected = query(getSqlClient()).execute(con);
+            List<Book> actual = query(getSqlClient())
+                    .executeAsync(con)
+                    .toCompletableFuture()
+                    .join();
+            Assertions.assertEquals(expected.toString(), actual.toString());
+        });
+    }
+
+    @Test
+    public void testForEachAsync() {
+        jdbc(con -> {
+            List<Book> expected = query(getSqlClient()).execute(con);
+            List<Book> actual = new ArrayList<>();
+            query(getSqlClient())
+                    .forEachAsync(con, 2, actual::add)
+                    .toCompletableFuture()
+                    .join();
+            Assertions.assertEquals(expected.toString(), actual.toString());
+        });
+    }
+
+    @Test
+    public void testCustomAsyncExecutor() {
+        AtomicInteger taskCount = new AtomicInteger();
+        JSqlClient sqlClient = getSqlClient(it -> {
+            it.setConnectionManager(testConnectionManager());
+            it.setAsyncExecutor(command -> {
+                taskCount.incrementAndGet();
+                new Thread(command).start();
+            });
+        });
+        Book book = sqlClient
+                .getEntities()
+                .findByIdAsync(BookFetcher.$.name().edition(), Constants.graphQLInActionId1)
+                .toCompletableFuture()
+                .join();
+        Assertions.assertEquals(
+                "{\"id\":\"" + Constants.graphQLInActionId1 + "\",\"name\":\"GraphQL in Action\",\"edition\":1}",
+                book.toString()
+        );
+        Assertions.assertEquals(1, taskCount.get());
+    }
+
+    @Test
+    public void testCustomAsyncExecutorOfLoader() {
+        AtomicInteger taskCount = new AtomicInteger();
+        JSqlClient sqlClient = getSqlClient(it -> {
+            it.setConnectionManager(testConnectionManager());
+            it.setAsyncExecutor(command -> {
+                taskCount.incrementAndGet();
+                new Thread(command).start();
+            });
+        });
+        Book book = BookDraft.$.produce(draft -> {
+            draft
+                    .setId(Constants.graphQLInActionId1)
+                    .applyStore(store -> store.setId(Constants.manningId));
+        });
+        BookStore store = ((JSqlClientImplementor) sqlClient)
+                .getLoaders()
+                .reference(BookTable.class, BookTable::store)
+                .loadCommand(book)
+                .executeAsync()
+                .toCompletableFuture()
+                .join();
+        Assertions.assertEquals("MANNING", store.name());
+        Assertions.assertEquals(1, taskCount.get());
+    }
+
+    private static TypedRootQuery<Book> query(JSqlClient sqlClient) {
+        BookTable table = BookTable.$;
+        return sqlClient
+                .createQuery(table)
+                .orderBy(table.name().asc(), table.edition().asc())
+                .select(
+                        table.fetch(
+                                BookFetcher.$
+                                        .name()
+                                        .edition()
+                                        .store(BookStoreFetcher.$.name())
+                        )
+                );
+    }
+}
@@ -0,0 +1,114 @@
+package org.babyfish.jimmer.sql.query;
+
+import org.babyfish.jimmer.Page;
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery;
+import org.babyfish.jimmer.sql.ast.query.CountStrategy;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.model.BookTable;
+import org.babyfish.jimmer.sql.runtime.DefaultExecutor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CountStrategyTest extends AbstractQueryTest {
+
+    @Test
+    public void testApproximateCount() {
+        ConfigurableRootQuery<BookTable, String> query =
+                getLambdaClient().createQuery(BookTable.class, (q, book) -> {
+                    q.orderBy(book.name(), book.edition());
+                    return q.select(book.name());
+                }).countStrategy(
+                        ctx -> CompletableFuture.completedFuture(CountStrategy.Result.approximate(100))
+                );
+        jdbc(con -> {
+            Page<String> page1 = query.fetchPage(1, 5, con);
+            Assertions.assertEquals(5, page1.getRows().size());
+            Assertions.assertEquals(100, page1.getTotalRowCount());
+            Assertions.assertEquals(20, page1.getTotalPageCount());
+            Assertions.assertTrue(page1.isTotalRowCountApproximate());
+
+            // The last page is not full, so the exact total is known
+            Page<String> page2 = query.fetchPage(2, 5, con);
+            Assertions.assertEquals(2, page2.getRows().size());
+            Assertions.assertEquals(12, page2.getTotalRowCount());
+            Assertions.assertEquals(3, page2.getTotalPageCount());
+            Assertions.assertFalse(page2.isTotalRowCountApproximate());
+        });
+    }
+
+    @Test
+    public void testCachedCount() {
+        AtomicInteger countTimes = new AtomicInteger();
+        CountStrategy countStrategy = CountStrategy.cached(
+                Duration.ofMinutes(1),
+                16,
+                ctx -> {
+                    countTimes.incrementAndGet();
+                    return CountStrategy.exact().count(ctx);
+                }
+        );
+        JSqlClient sqlClient = getSqlClient(it -> it.setCountStrategy(countStrategy));
+        BookTable table = BookTable.$;
+        jdbc(con -> {
+            Page<String> page1 = sqlClient
+                    .createQuery(table)
+                    .where(table.name().like("GraphQL"))
+                    .orderBy(table.name())
+                    .select(table.name())
+                    .fetchPage(0, 2, con);
+            Page<String> page2 = sqlClient
+                    .createQuery(table)
+                    .where(table.name().like("GraphQL"))
+                    .orderBy(table.name())
+                    .select(table.name())
+                    .fetchPage(1, 2, con);
+            Page<String> page3 = sqlClient
+                    .createQuery(table)
+                    .where(table.name().like("TypeScript"))
+                    .orderBy(table.name())
+                    .select(table.name())
+                    .fetchPage(0, 2, con);
+            Assertions.assertEquals(2, countTimes.get());
+            Assertions.assertEquals(6, page1.getTotalRowCount());
+            Assertions.assertFalse(page1.isTotalRowCountApproximate());
+            Assertions.assertEquals(6, page2.getTotalRowCount());
+            Assertions.assertTrue(page2.isTotalRowCountApproximate());
+            Assertions.assertEquals(6, page3.getTotalRowCount());
+            Assertions.assertFalse(page3.isTotalRowCountApproximate());
+        });
+    }
+
+    @Test
+    public void testParallelCount() {
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            JSqlClient sqlClient = getSqlClient(it -> {
+                it.setExecutor(DefaultExecutor.INSTANCE);
+                it.setConnectionManager(testConnectionManager());
+                it.setAsyncExecutor(executorService);
+                it.setCountStrategy(CountStrategy.parallel());
+            });
+            BookTable table = BookTable.$;
+            Page<String> page = sqlClient
+                    .createQuery(table)
+                    .orderBy(table.name(), table.edition())
+                    .select(table.name())
+                    .fetchPage(2, 5);
+            Assertions.assertEquals(
+                    "[Programming TypeScript, Programming TypeScript]",
+                    page.getRows().toString()
+            );
+            Assertions.assertEquals(12, page.getTotalRowCount());
+            Assertions.assertFalse(page.isTotalRowCountApproximate());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+}
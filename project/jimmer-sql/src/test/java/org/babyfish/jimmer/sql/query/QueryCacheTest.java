@@ -0,0 +1,214 @@
+package org.babyfish.jimmer.sql.query;
+
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.ast.mutation.SaveMode;
+import org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery;
+import org.babyfish.jimmer.sql.cache.CacheOperator;
+import org.babyfish.jimmer.sql.cache.QueryCache;
+import org.babyfish.jimmer.sql.cache.UsedCache;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.event.TriggerType;
+import org.babyfish.jimmer.sql.model.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import static org.babyfish.jimmer.sql.common.Constants.*;
+
+public class QueryCacheTest extends AbstractQueryTest {
+
+    @Test
+    public void testCachedRows() {
+        JSqlClient sqlClient = getSqlClient();
+        BookTable table = BookTable.$;
+        jdbc(con -> {
+            List<String> names1 = nameQuery(sqlClient).execute(con);
+            List<String> names2 = nameQuery(sqlClient).execute(con);
+            Assertions.assertEquals(names1, names2);
+            Assertions.assertEquals(1, getExecutions().size());
+
+            // Different parameters, different cached results
+            sqlClient
+                    .createQuery(table)
+                    .where(table.edition().eq(2))
+                    .select(table.name())
+                    .cacheable(Duration.ofMinutes(1))
+                    .execute(con);
+            Assertions.assertEquals(2, getExecutions().size());
+
+            // The change of book table evicts the cached results
+            sqlClient.getTriggers().fireEntityTableChange(
+                    book(new BigDecimal(80)),
+                    book(new BigDecimal(81)),
+                    null
+            );
+            nameQuery(sqlClient).execute(con);
+            Assertions.assertEquals(3, getExecutions().size());
+        });
+    }
+
+    @Test
+    public void testCachedIds() {
+        JSqlClient sqlClient = getSqlClient();
+        jdbc(con -> {
+            List<Book> books1 = bookQuery(sqlClient).execute(con);
+            clearExecutions();
+            List<Book> books2 = bookQuery(sqlClient).execute(con);
+            Assertions.assertEquals(books1.toString(), books2.toString());
+            Assertions.assertEquals(1, getExecutions().size());
+            // The cached ids are reloaded by id, not by the original filter
+            Assertions.assertFalse(getExecutions().get(0).getSql().contains("tb_1_.NAME = ?"));
+
+            // Unrelated table does not evict the cached ids
+            clearExecutions();
+            sqlClient.getTriggers().fireEntityTableChange(
+                    AuthorDraft.$.produce(draft -> draft.setId(alexId).setFirstName("Alex")),
+                    AuthorDraft.$.produce(draft -> draft.setId(alexId).setFirstName("Alexander")),
+                    null
+            );
+            bookQuery(sqlClient).execute(con);
+            Assertions.assertEquals(1, getExecutions().size());
+        });
+    }
+
+    @Test
+    public void testNonCacheable() {
+        JSqlClient sqlClient = getSqlClient();
+        BookTable table = BookTable.$;
+        jdbc(con -> {
+            for (int i = 0; i < 2; i++) {
+                sqlClient
+                        .createQuery(table)
+                        .where(table.name().eq("GraphQL in Action"))
+                        .select(table.name())
+                        .execute(con);
+            }
+            Assertions.assertEquals(2, getExecutions().size());
+        });
+    }
+
+    @Test
+    public void testInvalidationDeferredByOperator() {
+        List<Runnable> deferredInvalidations = new ArrayList<>();
+        JSqlClient sqlClient = getSqlClient(it -> it.setCacheOperator(
+                new CacheOperator() {
+                    @Override
+                    public void delete(UsedCache<Object, ?> cache, Object key, Object reason) {}
+                    @Override
+                    public void deleteAll(UsedCache<Object, ?> cache, Collection<Object> keys, Object reason) {}
+                    @Override
+                    public void invalidateQueryCache(QueryCache queryCache, ImmutableType type) {
+                        deferredInvalidations.add(() -> queryCache.invalidate(type));
+                    }
+                }
+        ));
+        jdbc(con -> {
+            nameQuery(sqlClient).execute(con);
+            sqlClient.getTriggers().fireEntityTableChange(
+                    book(new BigDecimal(80)),
+                    book(new BigDecimal(81)),
+                    null
+            );
+            // Not evicted before the operator executes the invalidation
+            nameQuery(sqlClient).execute(con);
+            Assertions.assertEquals(1, getExecutions().size());
+            Assertions.assertEquals(1, deferredInvalidations.size());
+
+            deferredInvalidations.forEach(Runnable::run);
+            nameQuery(sqlClient).execute(con);
+            Assertions.assertEquals(2, getExecutions().size());
+        });
+    }
+
+    @Test
+    public void testInvalidationSkippedAndCoalesced() {
+        List<ImmutableType> invalidatedTypes = new ArrayList<>();
+        JSqlClient sqlClient = getSqlClient(it -> it
+                .setTriggerType(TriggerType.TRANSACTION_ONLY)
+                .setCacheOperator(
+                        new CacheOperator() {
+                            @Override
+                            public void delete(UsedCache<Object, ?> cache, Object key, Object reason) {}
+                            @Override
+                            public void deleteAll(UsedCache<Object, ?> cache, Collection<Object> keys, Object reason) {}
+                            @Override
+                            public void invalidateQueryCache(QueryCache queryCache, ImmutableType type) {
+                                invalidatedTypes.add(type);
+                            }
+                        }
+                )
+        );
+        jdbc(null, true, con -> {
+            // No cacheable query has read the book table, nothing is saved by the operator
+            updatePrices(sqlClient, con, new BigDecimal(81));
+            Assertions.assertTrue(invalidatedTypes.isEmpty());
+
+            // 3 changed rows, but only one invalidation is saved by the operator
+            nameQuery(sqlClient).execute(con);
+            updatePrices(sqlClient, con, new BigDecimal(82));
+            Assertions.assertEquals(
+                    Collections.singletonList(ImmutableType.get(Book.class)),
+                    invalidatedTypes
+            );
+        });
+    }
+
+    @Test
+    public void testDisabledType() {
+        JSqlClient sqlClient = getSqlClient().caches(cfg -> cfg.disable(Book.class));
+        jdbc(con -> {
+            nameQuery(sqlClient).execute(con);
+            nameQuery(sqlClient).execute(con);
+            Assertions.assertEquals(2, getExecutions().size());
+        });
+    }
+
+    private static ConfigurableRootQuery<BookTable, String> nameQuery(JSqlClient sqlClient) {
+        BookTable table = BookTable.$;
+        return sqlClient
+                .createQuery(table)
+                .where(table.price().ge(new BigDecimal(50)))
+                .orderBy(table.name(), table.edition())
+                .select(table.name())
+                .cacheable(Duration.ofMinutes(1));
+    }
+
+    private static ConfigurableRootQuery<BookTable, Book> bookQuery(JSqlClient sqlClient) {
+        BookTable table = BookTable.$;
+        return sqlClient
+                .createQuery(table)
+                .where(table.name().eq("GraphQL in Action"))
+                .orderBy(table.edition().desc())
+                .select(table)
+                .cacheable(Duration.ofMinutes(1));
+    }
+
+    private static void updatePrices(JSqlClient sqlClient, Connection con, BigDecimal price) {
+        sqlClient
+                .saveEntitiesCommand(
+                        Arrays.asList(
+                                BookDraft.$.produce(draft -> draft.setId(graphQLInActionId1).setPrice(price)),
+                                BookDraft.$.produce(draft -> draft.setId(graphQLInActionId2).setPrice(price)),
+                                BookDraft.$.produce(draft -> draft.setId(graphQLInActionId3).setPrice(price))
+                        )
+                )
+                .setMode(SaveMode.UPDATE_ONLY)
+                .execute(con);
+    }
+
+    private static Book book(BigDecimal price) {
+        return BookDraft.$.produce(draft -> {
+            draft.setId(learningGraphQLId1);
+            draft.setPrice(price);
+        });
+    }
+}
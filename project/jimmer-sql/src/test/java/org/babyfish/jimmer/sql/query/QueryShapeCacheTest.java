@@ -0,0 +1,119 @@
+package org.babyfish.jimmer.sql.query;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.common.Constants;
+import org.babyfish.jimmer.sql.model.BookFetcher;
+import org.babyfish.jimmer.sql.runtime.JSqlClientImplementor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+public class QueryShapeCacheTest extends AbstractQueryTest {
+
+    @Test
+    public void testFindById() {
+        JSqlClient sqlClient = getSqlClient(it -> it.setQueryShapeCacheSize(16));
+        connectAndExpect(
+                con -> {
+                    sqlClient
+                            .getEntities()
+                            .forConnection(con)
+                            .findById(
+                                    BookFetcher.$.name().edition(),
+                                    Constants.learningGraphQLId1
+                            );
+                    return sqlClient
+                            .getEntities()
+                            .forConnection(con)
+                            .findById(
+                                    BookFetcher.$.name().edition(),
+                                    Constants.graphQLInActionId1
+                            );
+                },
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION " +
+                                    "from BOOK tb_1_ " +
+                                    "where tb_1_.ID = ?"
+                    ).variables(Constants.learningGraphQLId1);
+                    ctx.statement(1).sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION " +
+                                    "from BOOK tb_1_ " +
+                                    "where tb_1_.ID = ?"
+                    ).variables(Constants.graphQLInActionId1);
+                    ctx.rows(
+                            "[{" +
+                                    "--->\"id\":\"a62f7aa3-9490-4612-98b5-98aae0e77120\"," +
+                                    "--->\"name\":\"GraphQL in Action\"," +
+                                    "--->\"edition\":1" +
+                                    "}]"
+                    );
+                }
+        );
+        Assertions.assertEquals(
+                1,
+                ((JSqlClientImplementor) sqlClient).getQueryShapeCache().size()
+        );
+    }
+
+    @Test
+    public void testFindByIds() {
+        JSqlClient sqlClient = getSqlClient(it -> it.setQueryShapeCacheSize(16));
+        connectAndExpect(
+                con -> {
+                    sqlClient
+                            .getEntities()
+                            .forConnection(con)
+                            .findByIds(
+                                    BookFetcher.$.name(),
+                                    Arrays.asList(Constants.learningGraphQLId1, Constants.learningGraphQLId2)
+                            );
+                    return sqlClient
+                            .getEntities()
+                            .forConnection(con)
+                            .findByIds(
+                                    BookFetcher.$.name(),
+                                    Arrays.asList(Constants.graphQLInActionId1, Constants.graphQLInActionId2)
+                            );
+                },
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.ID, tb_1_.NAME " +
+                                    "from BOOK tb_1_ " +
+                                    "where tb_1_.ID in (?, ?)"
+                    ).variables(Constants.learningGraphQLId1, Constants.learningGraphQLId2);
+                    ctx.statement(1).sql(
+                            "select tb_1_.ID, tb_1_.NAME " +
+                                    "from BOOK tb_1_ " +
+                                    "where tb_1_.ID in (?, ?)"
+                    ).variables(Constants.graphQLInActionId1, Constants.graphQLInActionId2);
+                }
+        );
+        Assertions.assertEquals(
+                1,
+                ((JSqlClientImplementor) sqlClient).getQueryShapeCache().size()
+        );
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        Assertions.assertNull(
+                ((JSqlClientImplementor) getSqlClient()).getQueryShapeCache()
+        );
+    }
+
+    @Test
+    public void testSharedByDerivedClients() {
+        JSqlClientImplementor sqlClient =
+                (JSqlClientImplementor) getSqlClient(it -> it.setQueryShapeCacheSize(16));
+        JSqlClientImplementor derivedClient =
+                (JSqlClientImplementor) sqlClient.filters(cfg -> {});
+        Assertions.assertNotNull(sqlClient.getQueryShapeCache());
+        Assertions.assertSame(
+                sqlClient.getQueryShapeCache(),
+                derivedClient.getQueryShapeCache()
+        );
+    }
+}
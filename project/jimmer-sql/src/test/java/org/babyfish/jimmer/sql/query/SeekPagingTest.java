@@ -0,0 +1,76 @@
+package org.babyfish.jimmer.sql.query;
+
+import org.babyfish.jimmer.SeekPage;
+import org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery;
+import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.model.BookTable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SeekPagingTest extends AbstractQueryTest {
+
+    @Test
+    public void testSeekPages() {
+        ConfigurableRootQuery<BookTable, Tuple2<String, Integer>> query =
+                getLambdaClient().createQuery(BookTable.class, (q, book) -> {
+                    q.orderBy(book.name().asc(), book.edition().desc());
+                    return q.select(book.name(), book.edition());
+                });
+        jdbc(con -> {
+            List<Tuple2<String, Integer>> expectedRows = query.execute(con);
+            Assertions.assertEquals(12, expectedRows.size());
+
+            List<Tuple2<String, Integer>> rows = new ArrayList<>();
+            List<Integer> pageSizes = new ArrayList<>();
+            String cursor = null;
+            do {
+                SeekPage<Tuple2<String, Integer>> page = query.fetchSeekPage(cursor, 5, con);
+                rows.addAll(page.getRows());
+                pageSizes.add(page.getRows().size());
+                cursor = page.getNextCursor();
+            } while (cursor != null);
+
+            Assertions.assertEquals(expectedRows, rows);
+            Assertions.assertEquals("[5, 5, 2]", pageSizes.toString());
+        });
+    }
+
+    @Test
+    public void testReversedSeekPages() {
+        ConfigurableRootQuery<BookTable, Tuple2<String, Integer>> query =
+                getLambdaClient().createQuery(BookTable.class, (q, book) -> {
+                    q.orderBy(book.name().asc(), book.edition().desc());
+                    return q.select(book.name(), book.edition());
+                }).reverseSorting();
+        jdbc(con -> {
+            SeekPage<Tuple2<String, Integer>> page1 = query.fetchSeekPage(null, 2, con);
+            Assertions.assertEquals(
+                    "[Tuple2(_1=Programming TypeScript, _2=1), Tuple2(_1=Programming TypeScript, _2=2)]",
+                    page1.getRows().toString()
+            );
+            SeekPage<Tuple2<String, Integer>> page2 = query.fetchSeekPage(page1.getNextCursor(), 2, con);
+            Assertions.assertEquals(
+                    "[Tuple2(_1=Programming TypeScript, _2=3), Tuple2(_1=Learning GraphQL, _2=1)]",
+                    page2.getRows().toString()
+            );
+            Assertions.assertFalse(page2.isTail());
+        });
+    }
+
+    @Test
+    public void testIllegalCursor() {
+        ConfigurableRootQuery<BookTable, String> query =
+                getLambdaClient().createQuery(BookTable.class, (q, book) -> {
+                    q.orderBy(book.name());
+                    return q.select(book.name());
+                });
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> query.fetchSeekPage("WzFd", 5)
+        );
+    }
+}